@@ -0,0 +1,64 @@
+package com.drako.dk.fracciones;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+/**
+ * Compara la aritmética directa de fracciones mixtas con la conversión a fracciones impropias que se usaba antes.
+ * <p>
+ * Las mediciones no forman parte de las pruebas: el código de {@code src/bench/java} solo se compila con el perfil
+ * {@code benchmark} y se ejecuta manualmente:
+ * <pre>
+ * mvn -B -P benchmark test-compile
+ * java -cp target/classes:target/bench-classes com.drako.dk.fracciones.OperadorMixtaBenchmark
+ * </pre>
+ */
+public class OperadorMixtaBenchmark {
+
+    private static final int OPERANDOS = 1 << 12;
+    private static final int REPETICIONES = 500;
+
+    public static void main(String[] args) {
+        Random aleatorio = new Random(34);
+        FraccionMixta[] operandos = new FraccionMixta[OPERANDOS];
+        for (int i = 0; i < OPERANDOS; i++) {
+            int denominador = 1 + aleatorio.nextInt(100);
+            operandos[i] = new FraccionMixta(aleatorio.nextInt(denominador), denominador, aleatorio.nextInt(200) - 100);
+        }
+
+        BinaryOperator<FraccionMixta> conversionSuma = (a, b) -> Fraccion.convertToFraccionMixta(
+                Operador.suma(FraccionMixta.convertToFraccion(a), FraccionMixta.convertToFraccion(b)));
+        BinaryOperator<FraccionMixta> conversionProducto = (a, b) -> Fraccion.convertToFraccionMixta(
+                Operador.multiplicar(FraccionMixta.convertToFraccion(a), FraccionMixta.convertToFraccion(b)));
+
+        for (int ronda = 0; ronda < 2; ronda++) {
+            boolean imprimir = ronda == 1;
+            medir("suma (conversión)", conversionSuma, operandos, imprimir);
+            medir("suma (directa)", Operador::suma, operandos, imprimir);
+            medir("multiplicar (conversión)", conversionProducto, operandos, imprimir);
+            medir("multiplicar (directa)", Operador::multiplicar, operandos, imprimir);
+        }
+    }
+
+    private static void medir(String nombre, BinaryOperator<FraccionMixta> operacion, FraccionMixta[] operandos,
+                              boolean imprimir) {
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().getId();
+        long bytesInicio = hilos.getThreadAllocatedBytes(hilo);
+        long inicio = System.nanoTime();
+        int control = 0;
+        for (int r = 0; r < REPETICIONES; r++) {
+            for (int i = 1; i < operandos.length; i++) {
+                control += operacion.apply(operandos[i - 1], operandos[i]).getDenominador();
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = hilos.getThreadAllocatedBytes(hilo) - bytesInicio;
+        long operaciones = (long) REPETICIONES * (operandos.length - 1);
+        if (imprimir) {
+            System.out.printf("%-26s %8.1f ns/op %8.1f B/op (%d)%n", nombre, (double) nanos / operaciones,
+                    (double) bytes / operaciones, control);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.drako.dk.fracciones;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Almacén columnar de fracciones en disco, de solo lectura, que se mapea en memoria para leer sin copiar.
+ * <p>
+ * El archivo guarda las fracciones en bloques con una columna de numeradores, con signo, y otra de denominadores,
+ * siempre positivos. El índice guarda el valor mínimo y máximo de cada bloque, comparados de forma exacta como números
+ * racionales, de modo que {@link #buscar(Fraccion, Fraccion, LongConsumer)} descarta los bloques que no pueden
+ * contener valores del rango sin leerlos. Los archivos se escriben con {@link EscritorFracciones}; el formato se
+ * describe en {@link FormatoAlmacen}.
+ * <p>
+ * Las lecturas no modifican el estado de la instancia, por lo que puede compartirse entre varios hilos. Al abrir el
+ * archivo se valida el CRC de todos los segmentos del índice; {@link #abrir(Path, boolean)} también puede validar el de
+ * los bloques.
+ * <p>
+ * {@link #close()} libera las regiones mapeadas en cuanto termina la última lectura en curso.
+ */
+public final class AlmacenFracciones implements AutoCloseable {
+
+    /**
+     * El tamaño máximo de cada región mapeada del archivo.
+     */
+    private static final long TAMANO_REGION = 1L << 30;
+
+    /**
+     * El bit del estado que indica que el almacén está cerrado.
+     */
+    private static final int CERRADO = 1;
+
+    /**
+     * El incremento del estado por cada lectura en curso.
+     */
+    private static final int LECTURA = 2;
+
+    private final FormatoAlmacen.Bloque[] bloques;
+    private final long[] inicios;
+    private final MappedByteBuffer[] regiones;
+    private final AtomicInteger estado = new AtomicInteger();
+    private final int[] regionDeBloque;
+    private final int[] desplazamientoDeBloque;
+    private final long tamano;
+
+    private AlmacenFracciones(List<FormatoAlmacen.Bloque> indice, FileChannel canal) throws IOException {
+        this.bloques = indice.toArray(new FormatoAlmacen.Bloque[0]);
+        this.inicios = new long[bloques.length];
+        this.regionDeBloque = new int[bloques.length];
+        this.desplazamientoDeBloque = new int[bloques.length];
+
+        List<MappedByteBuffer> mapeadas = new ArrayList<>();
+        long total = 0;
+        int i = 0;
+        try {
+            while (i < bloques.length) {
+                // Cada región abarca bloques consecutivos del archivo y no excede TAMANO_REGION.
+                long inicioRegion = bloques[i].posicion;
+                long finRegion = inicioRegion;
+                int primero = i;
+                while (i < bloques.length
+                        && (i == primero || bloques[i].posicion + bloques[i].cantidad * 8L - inicioRegion <= TAMANO_REGION)) {
+                    inicios[i] = total;
+                    total += bloques[i].cantidad;
+                    regionDeBloque[i] = mapeadas.size();
+                    desplazamientoDeBloque[i] = (int) (bloques[i].posicion - inicioRegion);
+                    finRegion = Math.max(finRegion, bloques[i].posicion + bloques[i].cantidad * 8L);
+                    i++;
+                }
+                MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, inicioRegion, finRegion - inicioRegion);
+                region.order(FormatoAlmacen.ORDEN);
+                mapeadas.add(region);
+            }
+        } catch (IOException | RuntimeException e) {
+            mapeadas.forEach(LiberadorBuffers::liberar);
+            throw e;
+        }
+        this.regiones = mapeadas.toArray(new MappedByteBuffer[0]);
+        this.tamano = total;
+    }
+
+    /**
+     * Abre un almacén de fracciones y mapea en memoria sus datos confirmados. Se valida el CRC del índice, pero no el de
+     * los bloques.
+     *
+     * @param archivo La ruta del archivo.
+     * @return El almacén abierto.
+     * @throws IOException Si ocurre un error de E/S, el archivo no es un almacén de fracciones o su índice está dañado.
+     */
+    public static AlmacenFracciones abrir(Path archivo) throws IOException {
+        return abrir(archivo, false);
+    }
+
+    /**
+     * Abre un almacén de fracciones y mapea en memoria sus datos confirmados.
+     *
+     * @param archivo          La ruta del archivo.
+     * @param verificarBloques Si debe validarse también el CRC de todos los bloques, lo que lee el archivo completo.
+     * @return El almacén abierto.
+     * @throws IOException Si ocurre un error de E/S, el archivo no es un almacén de fracciones o su índice o alguno de
+     *                     sus bloques está dañado.
+     */
+    public static AlmacenFracciones abrir(Path archivo, boolean verificarBloques) throws IOException {
+        AlmacenFracciones almacen;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            almacen = new AlmacenFracciones(FormatoAlmacen.leerIndice(canal).bloques, canal);
+        }
+        if (verificarBloques && !almacen.verificar()) {
+            almacen.close();
+            throw new IOException("El contenido de un bloque no coincide con su CRC");
+        }
+        return almacen;
+    }
+
+    /**
+     * Obtiene el número de fracciones del almacén.
+     *
+     * @return El número de fracciones.
+     */
+    public long getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el número de bloques del almacén.
+     *
+     * @return El número de bloques.
+     */
+    public int getNumeroBloques() {
+        return bloques.length;
+    }
+
+    /**
+     * Obtiene el índice de la primera fracción de un bloque.
+     *
+     * @param bloque El número de bloque.
+     * @return El índice global de su primera fracción.
+     */
+    public long getInicioBloque(int bloque) {
+        return inicios[bloque];
+    }
+
+    /**
+     * Obtiene el número de fracciones de un bloque.
+     *
+     * @param bloque El número de bloque.
+     * @return El número de fracciones del bloque.
+     */
+    public int getTamanoBloque(int bloque) {
+        return bloques[bloque].cantidad;
+    }
+
+    /**
+     * Obtiene el valor mínimo de un bloque.
+     *
+     * @param bloque El número de bloque.
+     * @return La menor fracción del bloque.
+     */
+    public Fraccion getMinimo(int bloque) {
+        return new Fraccion(bloques[bloque].numeradorMinimo, bloques[bloque].denominadorMinimo);
+    }
+
+    /**
+     * Obtiene el valor máximo de un bloque.
+     *
+     * @param bloque El número de bloque.
+     * @return La mayor fracción del bloque.
+     */
+    public Fraccion getMaximo(int bloque) {
+        return new Fraccion(bloques[bloque].numeradorMaximo, bloques[bloque].denominadorMaximo);
+    }
+
+    /**
+     * Obtiene el numerador de una fracción, con signo.
+     *
+     * @param indice El índice de la fracción.
+     * @return El numerador con signo.
+     */
+    public int getNumerador(long indice) {
+        int bloque = bloque(indice);
+        adquirir();
+        try {
+            return leer(bloque, (int) (indice - inicios[bloque]));
+        } finally {
+            soltar();
+        }
+    }
+
+    /**
+     * Obtiene el denominador de una fracción, siempre positivo.
+     *
+     * @param indice El índice de la fracción.
+     * @return El denominador.
+     */
+    public int getDenominador(long indice) {
+        int bloque = bloque(indice);
+        adquirir();
+        try {
+            return leer(bloque, bloques[bloque].cantidad + (int) (indice - inicios[bloque]));
+        } finally {
+            soltar();
+        }
+    }
+
+    /**
+     * Obtiene una fracción del almacén.
+     *
+     * @param indice El índice de la fracción.
+     * @return Una nueva instancia de Fraccion con el valor almacenado.
+     */
+    public Fraccion get(long indice) {
+        int bloque = bloque(indice);
+        int entero = (int) (indice - inicios[bloque]);
+        int numerador, denominador;
+        adquirir();
+        try {
+            numerador = leer(bloque, entero);
+            denominador = leer(bloque, bloques[bloque].cantidad + entero);
+        } finally {
+            soltar();
+        }
+        return new Fraccion(numerador, denominador);
+    }
+
+    /**
+     * Busca las fracciones comprendidas en un rango cerrado. Los bloques cuyo mínimo y máximo quedan fuera del rango se
+     * descartan sin leerlos y los que quedan dentro por completo se entregan sin comparar cada fracción.
+     *
+     * @param desde      El límite inferior del rango, incluido.
+     * @param hasta      El límite superior del rango, incluido.
+     * @param consumidor La función que recibe el índice de cada fracción encontrada, en orden creciente.
+     * @return El número de fracciones encontradas.
+     */
+    public long buscar(Fraccion desde, Fraccion hasta, LongConsumer consumidor) {
+        Fraccion inferior = desde.getFraccionWithSign();
+        Fraccion superior = hasta.getFraccionWithSign();
+        int ni = inferior.numerador, di = inferior.denominador;
+        int ns = superior.numerador, ds = superior.denominador;
+        long encontradas = 0;
+        adquirir();
+        try {
+            for (int b = 0; b < bloques.length; b++) {
+                FormatoAlmacen.Bloque bloque = bloques[b];
+                if (FormatoAlmacen.comparar(bloque.numeradorMaximo, bloque.denominadorMaximo, ni, di) < 0
+                        || FormatoAlmacen.comparar(bloque.numeradorMinimo, bloque.denominadorMinimo, ns, ds) > 0) {
+                    continue;
+                }
+                boolean completo =
+                        FormatoAlmacen.comparar(bloque.numeradorMinimo, bloque.denominadorMinimo, ni, di) >= 0
+                        && FormatoAlmacen.comparar(bloque.numeradorMaximo, bloque.denominadorMaximo, ns, ds) <= 0;
+                for (int i = 0; i < bloque.cantidad; i++) {
+                    if (!completo) {
+                        int n = leer(b, i);
+                        int d = leer(b, bloque.cantidad + i);
+                        if (FormatoAlmacen.comparar(n, d, ni, di) < 0 || FormatoAlmacen.comparar(n, d, ns, ds) > 0) {
+                            continue;
+                        }
+                    }
+                    consumidor.accept(inicios[b] + i);
+                    encontradas++;
+                }
+            }
+        } finally {
+            soltar();
+        }
+        return encontradas;
+    }
+
+    /**
+     * Copia un rango de fracciones del almacén a una columna fuera del heap.
+     *
+     * @param desde   El índice de la primera fracción a copiar.
+     * @param destino La columna de destino; se copian tantas fracciones como su tamaño.
+     * @throws IndexOutOfBoundsException Si el rango excede el almacén.
+     */
+    public void copiar(long desde, ColumnaFracciones destino) {
+        if (desde < 0 || desde + destino.getTamano() > tamano) {
+            throw new IndexOutOfBoundsException("Rango fuera del almacén");
+        }
+        for (long i = 0; i < destino.getTamano(); i++) {
+            destino.set(i, getNumerador(desde + i), getDenominador(desde + i));
+        }
+    }
+
+    /**
+     * Verifica el CRC de todos los bloques.
+     *
+     * @return {@code true} si el contenido de todos los bloques coincide con su CRC.
+     */
+    public boolean verificar() {
+        CRC32 crc = new CRC32();
+        adquirir();
+        try {
+            for (int b = 0; b < bloques.length; b++) {
+                ByteBuffer datos = regiones[regionDeBloque[b]].duplicate();
+                datos.position(desplazamientoDeBloque[b]).limit(desplazamientoDeBloque[b] + bloques[b].cantidad * 8);
+                crc.reset();
+                crc.update(datos);
+                if ((int) crc.getValue() != bloques[b].crc) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            soltar();
+        }
+    }
+
+    /**
+     * Cierra el almacén. Las operaciones posteriores lanzan {@link IllegalStateException}.
+     * <p>
+     * Las lecturas que ya estaban en curso terminan sobre memoria válida. Las regiones mapeadas se liberan en este
+     * momento si no hay lecturas en curso, o al terminar la última de ellas, sin esperar al recolector de basura.
+     */
+    @Override
+    public void close() {
+        if (estado.getAndUpdate(actual -> actual | CERRADO) == 0) {
+            liberarRegiones();
+        }
+    }
+
+    /**
+     * Indica si las regiones mapeadas del almacén ya se liberaron.
+     *
+     * @return {@code true} si el almacén está cerrado y ninguna lectura sigue en curso.
+     */
+    boolean isLiberado() {
+        return estado.get() == CERRADO;
+    }
+
+    private int bloque(long indice) {
+        if (indice < 0 || indice >= tamano) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de [0, " + tamano + ")");
+        }
+        int bloque = Arrays.binarySearch(inicios, indice);
+        return bloque >= 0 ? bloque : -bloque - 2;
+    }
+
+    private int leer(int bloque, int entero) {
+        return regiones[regionDeBloque[bloque]].getInt(desplazamientoDeBloque[bloque] + entero * Integer.BYTES);
+    }
+
+    /**
+     * Registra una lectura en curso. El estado guarda en su bit más bajo si el almacén está cerrado y en el resto el
+     * número de lecturas en curso; cada llamada debe emparejarse con {@link #soltar()} en un bloque {@code finally}.
+     */
+    private void adquirir() {
+        while (true) {
+            int actual = estado.get();
+            if ((actual & CERRADO) != 0) {
+                throw new IllegalStateException("El almacén está cerrado");
+            }
+            if (actual + LECTURA < 0) {
+                throw new IllegalStateException("Demasiadas lecturas en curso sobre el almacén");
+            }
+            if (estado.compareAndSet(actual, actual + LECTURA)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Termina una lectura. Si el almacén se cerró y era la última lectura en curso, libera las regiones mapeadas.
+     */
+    private void soltar() {
+        if (estado.addAndGet(-LECTURA) == CERRADO) {
+            liberarRegiones();
+        }
+    }
+
+    private void liberarRegiones() {
+        for (MappedByteBuffer region : regiones) {
+            LiberadorBuffers.liberar(region);
+        }
+    }
+}
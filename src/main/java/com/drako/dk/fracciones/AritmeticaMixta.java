@@ -0,0 +1,237 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+
+/**
+ * Esta clase implementa la aritmética de fracciones mixtas sin convertirlas en fracciones impropias.
+ * <p>
+ * Cada operando se trata como una parte entera y una fracción propia: la suma y la resta combinan las partes enteras y
+ * las fracciones por separado y llevan el acarreo, la multiplicación distribuye los productos entre ambas partes y solo
+ * la fracción resultante se reduce. Los productos se calculan en {@code long}, de modo que las partes enteras grandes
+ * no desbordan el cálculo intermedio; si el resultado no cabe en una fracción mixta se lanza una excepción.
+ */
+final class AritmeticaMixta {
+
+    private AritmeticaMixta() {
+    }
+
+    /**
+     * Realiza la suma o la resta de dos fracciones mixtas.
+     *
+     * @param f1     La primera fracción mixta.
+     * @param f2     La segunda fracción mixta.
+     * @param restar {@code true} para calcular f1 - f2, {@code false} para calcular f1 + f2.
+     * @return La fracción mixta resultante, reducida.
+     * @throws ArithmeticException Si algún denominador es cero o el resultado excede el rango de FraccionMixta.
+     */
+    static FraccionMixta suma(FraccionMixta f1, FraccionMixta f2, boolean restar) {
+        long d1 = denominador(f1);
+        long d2 = denominador(f2);
+        long n1 = f1.numerador;
+        long n2 = f2.numerador;
+        long e1 = f1.getEntero();
+        long e2 = f2.getEntero();
+        if (n1 >= d1) {
+            e1 += n1 / d1;
+            n1 %= d1;
+        }
+        if (n2 >= d2) {
+            e2 += n2 / d2;
+            n2 %= d2;
+        }
+        boolean negativo1 = f1.signo == Fraccion.Signo.NEGATIVE;
+        boolean negativo2 = (f2.signo == Fraccion.Signo.NEGATIVE) != restar;
+
+        long denominador = d1 * d2;
+        long a = n1 * d2;
+        long b = n2 * d1;
+
+        if (negativo1 == negativo2) {
+            long entero = e1 + e2;
+            long numerador = a + b;
+            if (numerador >= denominador) {
+                entero++;
+                numerador -= denominador;
+            }
+            return construir(negativo1, entero, numerador, denominador);
+        }
+
+        long entero = e1 - e2;
+        long numerador = a - b;
+        if (numerador < 0) {
+            entero--;
+            numerador += denominador;
+        }
+        if (entero < 0) {
+            entero = -entero;
+            if (numerador > 0) {
+                entero--;
+                numerador = denominador - numerador;
+            }
+            return construir(!negativo1, entero, numerador, denominador);
+        }
+        return construir(negativo1, entero, numerador, denominador);
+    }
+
+    /**
+     * Realiza la multiplicación de dos fracciones mixtas distribuyendo el producto
+     * (e1 + n1/d1)(e2 + n2/d2) = e1·e2 + e1·n2/d2 + e2·n1/d1 + n1·n2/(d1·d2).
+     * Cada término fraccionario es menor que d1·d2, por lo que las sumas con acarreo no desbordan un {@code long}.
+     *
+     * @param f1 La primera fracción mixta.
+     * @param f2 La segunda fracción mixta.
+     * @return La fracción mixta resultante, reducida.
+     * @throws ArithmeticException Si algún denominador es cero o el resultado excede el rango de FraccionMixta.
+     */
+    static FraccionMixta multiplicar(FraccionMixta f1, FraccionMixta f2) {
+        long d1 = denominador(f1);
+        long d2 = denominador(f2);
+        long n1 = f1.numerador;
+        long n2 = f2.numerador;
+        long e1 = f1.getEntero();
+        long e2 = f2.getEntero();
+        if (n1 >= d1) {
+            e1 += n1 / d1;
+            n1 %= d1;
+        }
+        if (n2 >= d2) {
+            e2 += n2 / d2;
+            n2 %= d2;
+        }
+        boolean negativo = (f1.signo == Fraccion.Signo.NEGATIVE) != (f2.signo == Fraccion.Signo.NEGATIVE);
+
+        long producto1 = e1 * n2;
+        long producto2 = e2 * n1;
+        long entero;
+        try {
+            entero = Math.addExact(Math.addExact(Math.multiplyExact(e1, e2), producto1 / d2), producto2 / d1);
+        } catch (ArithmeticException e) {
+            throw desbordamiento();
+        }
+
+        long denominador = d1 * d2;
+        long numerador = (producto1 % d2) * d1 + (producto2 % d1) * d2;
+        if (numerador >= denominador) {
+            entero++;
+            numerador -= denominador;
+        }
+        numerador += n1 * n2;
+        if (numerador >= denominador) {
+            entero++;
+            numerador -= denominador;
+        }
+        return construir(negativo, entero, numerador, denominador);
+    }
+
+    /**
+     * Realiza la división de dos fracciones mixtas. El cociente de las fracciones impropias se simplifica de forma
+     * cruzada antes de multiplicar y solo recurre a {@link BigInteger} si los productos exceden un {@code long}.
+     *
+     * @param f1 La fracción mixta que se dividirá.
+     * @param f2 La fracción mixta por la cual se dividirá.
+     * @return La fracción mixta resultante, reducida.
+     * @throws ArithmeticException Si se divide entre cero o el resultado excede el rango de FraccionMixta.
+     */
+    static FraccionMixta division(FraccionMixta f1, FraccionMixta f2) {
+        long d1 = denominador(f1);
+        long d2 = denominador(f2);
+        long impropio1 = (long) f1.getEntero() * d1 + f1.numerador;
+        long impropio2 = (long) f2.getEntero() * d2 + f2.numerador;
+        if (impropio2 == 0) {
+            throw new ArithmeticException("División entre cero");
+        }
+        boolean negativo = (f1.signo == Fraccion.Signo.NEGATIVE) != (f2.signo == Fraccion.Signo.NEGATIVE);
+
+        long mcd1 = mcd(impropio1, impropio2);
+        long mcd2 = mcd(d1, d2);
+        long a = impropio1 / mcd1;
+        long b = d2 / mcd2;
+        long c = d1 / mcd2;
+        long d = impropio2 / mcd1;
+
+        long numerador, denominador;
+        try {
+            numerador = Math.multiplyExact(a, b);
+            denominador = Math.multiplyExact(c, d);
+        } catch (ArithmeticException e) {
+            FraccionGrande cociente = new FraccionGrande(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)),
+                    BigInteger.valueOf(c).multiply(BigInteger.valueOf(d)));
+            if (cociente.getDenominador().bitLength() > 31) {
+                throw desbordamiento();
+            }
+            BigInteger[] division = cociente.getNumerador().divideAndRemainder(cociente.getDenominador());
+            if (division[0].bitLength() > 31) {
+                throw desbordamiento();
+            }
+            return construir(negativo, division[0].longValue(), division[1].longValue(), cociente.getDenominador().longValue());
+        }
+        return construir(negativo, numerador / denominador, numerador % denominador, denominador);
+    }
+
+    /**
+     * Reduce una fracción mixta trasladando a la parte entera el exceso del numerador y reduciendo solo la parte
+     * fraccionaria. Conserva el signo de la fracción original.
+     *
+     * @param fraccion La fracción mixta a reducir.
+     * @return La fracción mixta reducida.
+     * @throws ArithmeticException Si el denominador es cero o el resultado excede el rango de FraccionMixta.
+     */
+    static FraccionMixta reducir(FraccionMixta fraccion) {
+        long denominador = denominador(fraccion);
+        long entero = (long) fraccion.getEntero() + fraccion.numerador / denominador;
+        long numerador = fraccion.numerador % denominador;
+        if (numerador == 0) {
+            return new FraccionMixta(0, 1, fraccion.signo, verificar(entero));
+        }
+        long mcd = mcd(numerador, denominador);
+        return new FraccionMixta((int) (numerador / mcd), verificar(denominador / mcd), fraccion.signo, verificar(entero));
+    }
+
+    /**
+     * Construye la fracción mixta resultante a partir de su parte entera y su fracción propia, reduciendo la fracción.
+     * Un resultado igual a cero siempre es positivo.
+     *
+     * @param negativo    Indica si el resultado es negativo.
+     * @param entero      La parte entera, no negativa.
+     * @param numerador   El numerador de la fracción propia, no negativo y menor que el denominador.
+     * @param denominador El denominador de la fracción propia.
+     * @return La fracción mixta resultante.
+     */
+    private static FraccionMixta construir(boolean negativo, long entero, long numerador, long denominador) {
+        Fraccion.Signo signo = negativo && (entero != 0 || numerador != 0) ? Fraccion.Signo.NEGATIVE : Fraccion.Signo.POSITIVE;
+        if (numerador == 0) {
+            return new FraccionMixta(0, 1, signo, verificar(entero));
+        }
+        long mcd = mcd(numerador, denominador);
+        return new FraccionMixta((int) (numerador / mcd), verificar(denominador / mcd), signo, verificar(entero));
+    }
+
+    /**
+     * Calcula el MCD de dos valores no negativos usando la división de 32 bits cuando ambos caben en un {@code int},
+     * que es notablemente más rápida que la de 64 bits.
+     */
+    private static long mcd(long a, long b) {
+        if ((a | b) >>> 31 == 0) {
+            return Operador.mcd((int) a, (int) b);
+        }
+        return Operador.mcd(a, b);
+    }
+
+    private static long denominador(FraccionMixta fraccion) {
+        if (fraccion.denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        return fraccion.denominador;
+    }
+
+    private static int verificar(long valor) {
+        if (valor > Integer.MAX_VALUE) {
+            throw desbordamiento();
+        }
+        return (int) valor;
+    }
+
+    private static ArithmeticException desbordamiento() {
+        return new ArithmeticException("El resultado excede el rango de FraccionMixta");
+    }
+}
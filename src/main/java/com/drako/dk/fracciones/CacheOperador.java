@@ -0,0 +1,394 @@
+package com.drako.dk.fracciones;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Caché acotada de resultados de {@link Operador} para cargas que repiten los mismos operandos.
+ * <p>
+ * Cada entrada se identifica por la operación y los operandos reducidos y empaquetados en dos {@code long}, con el
+ * signo en el numerador, y guarda el resultado reducido. Así, operandos equivalentes como 1/2 y 2/4 comparten la misma
+ * entrada, y el resultado se calcula siempre a partir de los operandos reducidos. Cada consulta busca primero con los
+ * operandos tal como llegan, sin calcular ningún máximo común divisor, y solo los reduce si no los encuentra: los
+ * operandos ya reducidos, como los resultados de {@link Operador}, aciertan sin ese costo.
+ * <p>
+ * La caché es asociativa por conjuntos: la clave elige un conjunto de {@link #VIAS} entradas y, al llenarse, se
+ * desaloja una de ellas con el algoritmo del reloj (segunda oportunidad). Los conjuntos se reparten entre varios
+ * {@link StampedLock}; las consultas usan lecturas optimistas, por lo que un acierto no toma ningún candado ni repite
+ * la aritmética.
+ * <p>
+ * La caché no es global: cada contexto o punto de llamada crea la suya con la capacidad que le convenga. Las
+ * instancias son seguras para hilos.
+ */
+public final class CacheOperador {
+
+    /**
+     * El número de entradas de cada conjunto.
+     */
+    public static final int VIAS = 8;
+
+    private static final int MAXIMO_CANDADOS = 64;
+
+    private static final byte SUMA = 1;
+    private static final byte RESTA = 2;
+    private static final byte MULTIPLICAR = 3;
+    private static final byte DIVISION = 4;
+
+    private final int mascaraConjuntos;
+    private final StampedLock[] candados;
+
+    // Una entrada por posición; operaciones[i] == 0 indica que la posición está libre.
+    private final byte[] operaciones;
+    private final long[] claves1;
+    private final long[] claves2;
+    private final int[] numeradores;
+    private final int[] denominadores;
+    private final boolean[] negativos;
+    // Los bits de referencia se escriben sin candado: perder una escritura solo afecta la elección del desalojo.
+    private final boolean[] referenciadas;
+    private final byte[] manecillas;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    /**
+     * Crea una caché con la capacidad indicada, redondeada hacia arriba a un múltiplo de {@link #VIAS} cuyo número de
+     * conjuntos es potencia de 2.
+     *
+     * @param capacidad El número mínimo de resultados que puede guardar la caché.
+     * @throws IllegalArgumentException Si la capacidad no es positiva o es demasiado grande.
+     */
+    public CacheOperador(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 28) {
+            throw new IllegalArgumentException("Capacidad de caché inválida: " + capacidad);
+        }
+        int conjuntos = Integer.highestOneBit(Math.max(1, (capacidad + VIAS - 1) / VIAS) * 2 - 1);
+        int entradas = conjuntos * VIAS;
+        this.mascaraConjuntos = conjuntos - 1;
+        this.candados = new StampedLock[Math.min(conjuntos, MAXIMO_CANDADOS)];
+        for (int i = 0; i < candados.length; i++) {
+            candados[i] = new StampedLock();
+        }
+        this.operaciones = new byte[entradas];
+        this.claves1 = new long[entradas];
+        this.claves2 = new long[entradas];
+        this.numeradores = new int[entradas];
+        this.denominadores = new int[entradas];
+        this.negativos = new boolean[entradas];
+        this.referenciadas = new boolean[entradas];
+        this.manecillas = new byte[conjuntos];
+    }
+
+    /**
+     * Realiza la suma de dos fracciones, reutilizando el resultado si ya está en la caché.
+     *
+     * @param f1 La primera fracción a sumar.
+     * @param f2 La segunda fracción a sumar.
+     * @return La fracción resultante de la suma, igual a la de {@link Operador#suma(Fraccion, Fraccion)}.
+     */
+    public Fraccion suma(Fraccion f1, Fraccion f2) {
+        return operar(SUMA, f1, f2);
+    }
+
+    /**
+     * Realiza la resta de dos fracciones, reutilizando el resultado si ya está en la caché.
+     *
+     * @param f1 La fracción de la cual se restará.
+     * @param f2 La fracción que se restará.
+     * @return La fracción resultante de la resta, igual a la de {@link Operador#resta(Fraccion, Fraccion)}.
+     */
+    public Fraccion resta(Fraccion f1, Fraccion f2) {
+        return operar(RESTA, f1, f2);
+    }
+
+    /**
+     * Realiza la multiplicación de dos fracciones, reutilizando el resultado si ya está en la caché.
+     *
+     * @param f1 La primera fracción a multiplicar.
+     * @param f2 La segunda fracción a multiplicar.
+     * @return La fracción resultante de la multiplicación, igual a la de
+     * {@link Operador#multiplicar(Fraccion, Fraccion)}.
+     */
+    public Fraccion multiplicar(Fraccion f1, Fraccion f2) {
+        return operar(MULTIPLICAR, f1, f2);
+    }
+
+    /**
+     * Realiza la división de dos fracciones, reutilizando el resultado si ya está en la caché.
+     *
+     * @param f1 La fracción que se dividirá.
+     * @param f2 La fracción por la cual se dividirá.
+     * @return La fracción resultante de la división, igual a la de {@link Operador#division(Fraccion, Fraccion)}.
+     */
+    public Fraccion division(Fraccion f1, Fraccion f2) {
+        return operar(DIVISION, f1, f2);
+    }
+
+    /**
+     * Evalúa una operación binaria entre dos fracciones, reutilizando el resultado si ya está en la caché.
+     *
+     * @param operador El operador: {@code '+'}, {@code '-'}, {@code '*'}, {@code '/'} o {@code ':'}.
+     * @param f1       La primera fracción.
+     * @param f2       La segunda fracción.
+     * @return La fracción resultante de la operación.
+     * @throws IllegalArgumentException Si el operador no es válido.
+     * @see Evaluador#operar(char, Fraccion, Fraccion)
+     */
+    public Fraccion operar(char operador, Fraccion f1, Fraccion f2) {
+        switch (operador) {
+            case '+':
+                return operar(SUMA, f1, f2);
+            case '-':
+                return operar(RESTA, f1, f2);
+            case '*':
+                return operar(MULTIPLICAR, f1, f2);
+            case '/':
+            case ':':
+                return operar(DIVISION, f1, f2);
+            default:
+                throw new IllegalArgumentException("Operador no válido: " + operador);
+        }
+    }
+
+    /**
+     * Obtiene el número de operaciones resueltas desde la caché.
+     *
+     * @return El número de aciertos.
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * Obtiene el número de operaciones que no estaban en la caché y se calcularon.
+     *
+     * @return El número de fallos.
+     */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Obtiene el número de resultados desalojados para dejar lugar a otros.
+     *
+     * @return El número de desalojos.
+     */
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    /**
+     * Obtiene la proporción de operaciones resueltas desde la caché.
+     *
+     * @return La tasa de aciertos entre 0 y 1, o 0 si aún no hay operaciones.
+     */
+    public double getTasaAciertos() {
+        long a = aciertos.sum();
+        long total = a + fallos.sum();
+        return total == 0 ? 0 : (double) a / total;
+    }
+
+    /**
+     * Obtiene el número máximo de resultados que puede guardar la caché.
+     *
+     * @return La capacidad de la caché.
+     */
+    public int getCapacidad() {
+        return operaciones.length;
+    }
+
+    /**
+     * Elimina todos los resultados guardados y reinicia las métricas.
+     */
+    public void limpiar() {
+        for (int conjunto = 0; conjunto <= mascaraConjuntos; conjunto++) {
+            StampedLock candado = candados[conjunto & (candados.length - 1)];
+            long sello = candado.writeLock();
+            try {
+                for (int i = conjunto * VIAS; i < (conjunto + 1) * VIAS; i++) {
+                    operaciones[i] = 0;
+                    referenciadas[i] = false;
+                }
+            } finally {
+                candado.unlockWrite(sello);
+            }
+        }
+        aciertos.reset();
+        fallos.reset();
+        desalojos.reset();
+    }
+
+    /**
+     * Devuelve las métricas de la caché en texto.
+     *
+     * @return Una cadena con la capacidad, los aciertos, los fallos, los desalojos y la tasa de aciertos.
+     */
+    @Override
+    public String toString() {
+        return String.format("CacheOperador[capacidad=%d, aciertos=%d, fallos=%d, desalojos=%d, tasa=%.3f]",
+                getCapacidad(), getAciertos(), getFallos(), getDesalojos(), getTasaAciertos());
+    }
+
+    private Fraccion operar(byte operacion, Fraccion f1, Fraccion f2) {
+        if (f1 instanceof FraccionMixta) {
+            f1 = FraccionMixta.convertToFraccion((FraccionMixta) f1);
+        }
+        if (f2 instanceof FraccionMixta) {
+            f2 = FraccionMixta.convertToFraccion((FraccionMixta) f2);
+        }
+        long clave1 = empaquetar(f1);
+        long clave2 = empaquetar(f2);
+        Fraccion resultado = consultar(operacion, clave1, clave2);
+        if (resultado == null) {
+            // Los operandos sin reducir nunca forman una clave, así que se reducen y se busca de nuevo.
+            long reducida1 = reducir(clave1);
+            long reducida2 = reducir(clave2);
+            if (reducida1 != clave1 || reducida2 != clave2) {
+                clave1 = reducida1;
+                clave2 = reducida2;
+                resultado = consultar(operacion, clave1, clave2);
+            }
+        }
+        if (resultado != null) {
+            aciertos.increment();
+            return resultado;
+        }
+
+        fallos.increment();
+        resultado = calcular(operacion, desempaquetar(clave1), desempaquetar(clave2));
+        int conjunto = conjunto(operacion, clave1, clave2);
+        StampedLock candado = candados[conjunto & (candados.length - 1)];
+        long sello = candado.writeLock();
+        try {
+            if (buscar(conjunto, operacion, clave1, clave2) < 0) {
+                int posicion = victima(conjunto);
+                operaciones[posicion] = operacion;
+                claves1[posicion] = clave1;
+                claves2[posicion] = clave2;
+                numeradores[posicion] = resultado.numerador;
+                denominadores[posicion] = resultado.denominador;
+                negativos[posicion] = resultado.signo == Fraccion.Signo.NEGATIVE;
+                referenciadas[posicion] = false;
+            }
+        } finally {
+            candado.unlockWrite(sello);
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca el resultado de una operación con una lectura optimista y, si un escritor modifica el conjunto durante la
+     * lectura, la repite bajo el candado de lectura.
+     *
+     * @return Una copia del resultado guardado, o {@code null} si no está.
+     */
+    private Fraccion consultar(byte operacion, long clave1, long clave2) {
+        int conjunto = conjunto(operacion, clave1, clave2);
+        StampedLock candado = candados[conjunto & (candados.length - 1)];
+
+        long sello = candado.tryOptimisticRead();
+        int posicion = buscar(conjunto, operacion, clave1, clave2);
+        Fraccion resultado = posicion < 0 ? null
+                : new Fraccion(numeradores[posicion], denominadores[posicion],
+                negativos[posicion] ? Fraccion.Signo.NEGATIVE : Fraccion.Signo.POSITIVE);
+        if (!candado.validate(sello)) {
+            sello = candado.readLock();
+            try {
+                posicion = buscar(conjunto, operacion, clave1, clave2);
+                resultado = posicion < 0 ? null
+                        : new Fraccion(numeradores[posicion], denominadores[posicion],
+                        negativos[posicion] ? Fraccion.Signo.NEGATIVE : Fraccion.Signo.POSITIVE);
+            } finally {
+                candado.unlockRead(sello);
+            }
+        }
+        if (resultado != null) {
+            referenciadas[posicion] = true;
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca una entrada en un conjunto.
+     *
+     * @return La posición de la entrada, o -1 si no está.
+     */
+    private int buscar(int conjunto, byte operacion, long clave1, long clave2) {
+        int inicio = conjunto * VIAS;
+        for (int i = inicio; i < inicio + VIAS; i++) {
+            if (operaciones[i] == operacion && claves1[i] == clave1 && claves2[i] == clave2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Elige la posición de un conjunto donde guardar una entrada nueva: la primera libre o, si no hay, la primera sin
+     * referencia a partir de la manecilla del reloj, quitando la referencia a las que va pasando. Requiere el candado
+     * de escritura.
+     */
+    private int victima(int conjunto) {
+        int inicio = conjunto * VIAS;
+        for (int i = inicio; i < inicio + VIAS; i++) {
+            if (operaciones[i] == 0) {
+                return i;
+            }
+        }
+        int manecilla = manecillas[conjunto];
+        while (referenciadas[inicio + manecilla]) {
+            referenciadas[inicio + manecilla] = false;
+            manecilla = (manecilla + 1) % VIAS;
+        }
+        manecillas[conjunto] = (byte) ((manecilla + 1) % VIAS);
+        desalojos.increment();
+        return inicio + manecilla;
+    }
+
+    private int conjunto(byte operacion, long clave1, long clave2) {
+        long h = clave1 * 0x9E3779B97F4A7C15L + clave2 + operacion;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (h ^ (h >>> 33)) & mascaraConjuntos;
+    }
+
+    /**
+     * Empaqueta una fracción en un {@code long} con el numerador con signo en los 32 bits altos y el denominador en los
+     * bajos.
+     */
+    private static long empaquetar(Fraccion fraccion) {
+        int numerador = fraccion.signo == Fraccion.Signo.NEGATIVE ? -fraccion.numerador : fraccion.numerador;
+        return (long) numerador << 32 | (fraccion.denominador & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reduce una fracción empaquetada. Las fracciones con denominador cero quedan sin reducir.
+     */
+    private static long reducir(long clave) {
+        int numerador = (int) (clave >> 32);
+        int denominador = (int) clave;
+        if (denominador == 0) {
+            return clave;
+        }
+        int mcd = Operador.mcd(numerador, denominador);
+        return (long) (numerador / mcd) << 32 | ((denominador / mcd) & 0xFFFFFFFFL);
+    }
+
+    private static Fraccion desempaquetar(long clave) {
+        return new Fraccion((int) (clave >> 32), (int) clave);
+    }
+
+    private static Fraccion calcular(byte operacion, Fraccion f1, Fraccion f2) {
+        switch (operacion) {
+            case SUMA:
+                return Operador.suma(f1, f2);
+            case RESTA:
+                return Operador.resta(f1, f2);
+            case MULTIPLICAR:
+                return Operador.multiplicar(f1, f2);
+            default:
+                return Operador.division(f1, f2);
+        }
+    }
+}
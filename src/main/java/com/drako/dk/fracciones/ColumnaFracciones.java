@@ -0,0 +1,521 @@
+package com.drako.dk.fracciones;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Columna de fracciones almacenada fuera del heap, en memoria directa.
+ * <p>
+ * Los numeradores, con signo, y los denominadores, siempre positivos, se guardan como {@code int} en dos regiones de
+ * memoria directa divididas en bloques de {@value #ELEMENTOS_POR_BLOQUE} elementos, de modo que una columna puede
+ * contener miles de millones de fracciones sin que el recolector de basura recorra su contenido.
+ * <p>
+ * {@link #rebanada(long, long)} devuelve una vista sobre un rango de la columna que comparte la misma memoria sin
+ * copiarla, para repartir el trabajo entre varios hilos. Los accesos por índice no modifican el estado de los buffers,
+ * por lo que varios hilos pueden operar a la vez sobre rangos disjuntos.
+ * <p>
+ * {@link #close()} invalida la columna y sus rebanadas: las operaciones posteriores lanzan
+ * {@link IllegalStateException}. Las operaciones que ya estaban en curso terminan sobre memoria válida, y la memoria
+ * directa se libera de forma explícita, sin esperar al recolector, en cuanto termina la última de ellas.
+ */
+public final class ColumnaFracciones implements AutoCloseable {
+
+    /**
+     * El número de fracciones de cada bloque de memoria directa.
+     */
+    public static final int ELEMENTOS_POR_BLOQUE = 1 << 27;
+
+    private static final int DESPLAZAMIENTO = 27;
+    private static final int MASCARA = ELEMENTOS_POR_BLOQUE - 1;
+
+    /**
+     * El estado compartido entre una columna y sus rebanadas.
+     */
+    private final Memoria memoria;
+
+    /**
+     * La posición del primer elemento de esta vista dentro de la memoria.
+     */
+    private final long inicio;
+
+    /**
+     * El número de elementos de esta vista.
+     */
+    private final long tamano;
+
+    /**
+     * Indica si esta instancia es la dueña de la memoria.
+     */
+    private final boolean duena;
+
+    /**
+     * Reserva una columna de fracciones inicializadas en 0/1.
+     *
+     * @param tamano El número de fracciones.
+     * @throws IllegalArgumentException Si el tamaño es negativo.
+     */
+    public ColumnaFracciones(long tamano) {
+        if (tamano < 0) {
+            throw new IllegalArgumentException("El tamaño no puede ser negativo");
+        }
+        int bloques = (int) ((tamano + MASCARA) >>> DESPLAZAMIENTO);
+        ByteBuffer[] numeradores = new ByteBuffer[bloques];
+        ByteBuffer[] denominadores = new ByteBuffer[bloques];
+        try {
+            for (int i = 0; i < bloques; i++) {
+                int elementos = (int) Math.min(ELEMENTOS_POR_BLOQUE, tamano - ((long) i << DESPLAZAMIENTO));
+                numeradores[i] = ByteBuffer.allocateDirect(elementos * Integer.BYTES).order(ByteOrder.nativeOrder());
+                denominadores[i] = ByteBuffer.allocateDirect(elementos * Integer.BYTES).order(ByteOrder.nativeOrder());
+                for (int j = 0; j < elementos; j++) {
+                    denominadores[i].putInt(j * Integer.BYTES, 1);
+                }
+            }
+        } catch (OutOfMemoryError e) {
+            liberar(numeradores);
+            liberar(denominadores);
+            throw e;
+        }
+        this.memoria = new Memoria(new Bloques(numeradores, denominadores));
+        this.inicio = 0;
+        this.tamano = tamano;
+        this.duena = true;
+    }
+
+    private ColumnaFracciones(Memoria memoria, long inicio, long tamano) {
+        this.memoria = memoria;
+        this.inicio = inicio;
+        this.tamano = tamano;
+        this.duena = false;
+    }
+
+    /**
+     * Crea una columna con las fracciones dadas.
+     *
+     * @param fracciones Las fracciones a copiar en la columna.
+     * @return La nueva columna.
+     */
+    public static ColumnaFracciones de(Fraccion... fracciones) {
+        ColumnaFracciones columna = new ColumnaFracciones(fracciones.length);
+        for (int i = 0; i < fracciones.length; i++) {
+            columna.set(i, fracciones[i]);
+        }
+        return columna;
+    }
+
+    /**
+     * Obtiene el número de fracciones de la columna.
+     *
+     * @return El tamaño de la columna.
+     */
+    public long getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el numerador de una fracción, con signo.
+     *
+     * @param indice El índice de la fracción.
+     * @return El numerador con signo.
+     */
+    public int getNumerador(long indice) {
+        long posicion = posicion(indice);
+        Bloques bloques = memoria.adquirir();
+        try {
+            return bloques.leerNumerador(posicion);
+        } finally {
+            memoria.soltar();
+        }
+    }
+
+    /**
+     * Obtiene el denominador de una fracción, siempre positivo.
+     *
+     * @param indice El índice de la fracción.
+     * @return El denominador.
+     */
+    public int getDenominador(long indice) {
+        long posicion = posicion(indice);
+        Bloques bloques = memoria.adquirir();
+        try {
+            return bloques.leerDenominador(posicion);
+        } finally {
+            memoria.soltar();
+        }
+    }
+
+    /**
+     * Obtiene una fracción de la columna.
+     *
+     * @param indice El índice de la fracción.
+     * @return Una nueva instancia de Fraccion con el valor almacenado.
+     */
+    public Fraccion get(long indice) {
+        return new Fraccion(getNumerador(indice), getDenominador(indice));
+    }
+
+    /**
+     * Asigna una fracción de la columna.
+     *
+     * @param indice   El índice de la fracción.
+     * @param fraccion La fracción a guardar.
+     * @throws ArithmeticException Si el denominador es cero.
+     */
+    public void set(long indice, Fraccion fraccion) {
+        Fraccion conSigno = fraccion.getFraccionWithSign();
+        set(indice, conSigno.numerador, conSigno.denominador);
+    }
+
+    /**
+     * Asigna una fracción de la columna a partir de su numerador y denominador. El signo se traslada al numerador.
+     *
+     * @param indice      El índice de la fracción.
+     * @param numerador   El numerador de la fracción.
+     * @param denominador El denominador de la fracción.
+     * @throws ArithmeticException Si el denominador es cero o el valor no puede representarse con el signo en el
+     *                             numerador, lo que incluye un numerador igual a {@link Integer#MIN_VALUE}.
+     */
+    public void set(long indice, int numerador, int denominador) {
+        if (denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        // Fraccion guarda el valor absoluto del numerador, que para Integer.MIN_VALUE no cabe en un int.
+        if (numerador == Integer.MIN_VALUE || denominador == Integer.MIN_VALUE) {
+            throw desbordamiento();
+        }
+        if (denominador < 0) {
+            numerador = -numerador;
+            denominador = -denominador;
+        }
+        long posicion = posicion(indice);
+        Bloques bloques = memoria.adquirir();
+        try {
+            bloques.escribir(posicion, numerador, denominador);
+        } finally {
+            memoria.soltar();
+        }
+    }
+
+    /**
+     * Crea una vista sobre un rango de la columna que comparte su memoria. Los cambios en la vista se reflejan en la
+     * columna y viceversa. Cerrar la vista no libera la memoria.
+     *
+     * @param desde El índice inicial, incluido.
+     * @param hasta El índice final, excluido.
+     * @return La vista del rango indicado.
+     * @throws IndexOutOfBoundsException Si el rango no está dentro de la columna.
+     */
+    public ColumnaFracciones rebanada(long desde, long hasta) {
+        if (desde < 0 || hasta > tamano || desde > hasta) {
+            throw new IndexOutOfBoundsException("Rango [" + desde + ", " + hasta + ") fuera de [0, " + tamano + ")");
+        }
+        memoria.verificarAbierta();
+        return new ColumnaFracciones(memoria, inicio + desde, hasta - desde);
+    }
+
+    /**
+     * Reduce en su lugar todas las fracciones de la columna.
+     */
+    public void reducir() {
+        Bloques bloques = memoria.adquirir();
+        try {
+            for (long i = 0; i < tamano; i++) {
+                long posicion = inicio + i;
+                escribirReducida(bloques, posicion, bloques.leerNumerador(posicion), bloques.leerDenominador(posicion));
+            }
+        } finally {
+            memoria.soltar();
+        }
+    }
+
+    /**
+     * Suma elemento a elemento dos columnas y guarda los resultados reducidos en una columna de destino.
+     * El destino puede ser una de las columnas de entrada.
+     *
+     * @param a       La primera columna.
+     * @param b       La segunda columna.
+     * @param destino La columna donde se guardan los resultados.
+     * @throws ArithmeticException      Si algún resultado reducido no cabe en un {@code int}.
+     * @throws IllegalArgumentException Si las columnas tienen tamaños distintos.
+     */
+    public static void suma(ColumnaFracciones a, ColumnaFracciones b, ColumnaFracciones destino) {
+        operar(a, b, destino, '+');
+    }
+
+    /**
+     * Resta elemento a elemento dos columnas y guarda los resultados reducidos en una columna de destino.
+     *
+     * @param a       La columna minuendo.
+     * @param b       La columna sustraendo.
+     * @param destino La columna donde se guardan los resultados.
+     * @throws ArithmeticException      Si algún resultado reducido no cabe en un {@code int}.
+     * @throws IllegalArgumentException Si las columnas tienen tamaños distintos.
+     */
+    public static void resta(ColumnaFracciones a, ColumnaFracciones b, ColumnaFracciones destino) {
+        operar(a, b, destino, '-');
+    }
+
+    /**
+     * Multiplica elemento a elemento dos columnas y guarda los resultados reducidos en una columna de destino.
+     *
+     * @param a       La primera columna.
+     * @param b       La segunda columna.
+     * @param destino La columna donde se guardan los resultados.
+     * @throws ArithmeticException      Si algún resultado reducido no cabe en un {@code int}.
+     * @throws IllegalArgumentException Si las columnas tienen tamaños distintos.
+     */
+    public static void multiplicar(ColumnaFracciones a, ColumnaFracciones b, ColumnaFracciones destino) {
+        operar(a, b, destino, '*');
+    }
+
+    /**
+     * Divide elemento a elemento dos columnas y guarda los resultados reducidos en una columna de destino.
+     *
+     * @param a       La columna dividendo.
+     * @param b       La columna divisor.
+     * @param destino La columna donde se guardan los resultados.
+     * @throws ArithmeticException      Si algún divisor es cero o algún resultado reducido no cabe en un {@code int}.
+     * @throws IllegalArgumentException Si las columnas tienen tamaños distintos.
+     */
+    public static void division(ColumnaFracciones a, ColumnaFracciones b, ColumnaFracciones destino) {
+        operar(a, b, destino, ':');
+    }
+
+    /**
+     * Compara elemento a elemento dos columnas de forma exacta, mediante productos cruzados en {@code long}.
+     *
+     * @param a         La primera columna.
+     * @param b         La segunda columna.
+     * @param resultado El arreglo donde se guarda -1, 0 o 1 por cada par de fracciones.
+     * @throws IllegalArgumentException Si las columnas tienen tamaños distintos o el arreglo es más corto que ellas.
+     */
+    public static void comparar(ColumnaFracciones a, ColumnaFracciones b, byte[] resultado) {
+        verificarTamanos(a, b, a);
+        if (resultado.length < a.tamano) {
+            throw new IllegalArgumentException("El arreglo de resultados es más corto que las columnas");
+        }
+        Bloques ba = a.memoria.adquirir();
+        try {
+            Bloques bb = b.memoria.adquirir();
+            try {
+                for (int i = 0; i < a.tamano; i++) {
+                    long pa = a.inicio + i;
+                    long pb = b.inicio + i;
+                    resultado[i] = (byte) Long.compare((long) ba.leerNumerador(pa) * bb.leerDenominador(pb),
+                            (long) bb.leerNumerador(pb) * ba.leerDenominador(pa));
+                }
+            } finally {
+                b.memoria.soltar();
+            }
+        } finally {
+            a.memoria.soltar();
+        }
+    }
+
+    /**
+     * Cierra la columna. Si la instancia es una rebanada no se cierra nada. Después de cerrar la columna, cualquier
+     * operación sobre ella o sus rebanadas lanza {@link IllegalStateException}. La memoria directa se libera en este
+     * momento si no hay operaciones en curso, o al terminar la última de ellas.
+     */
+    @Override
+    public void close() {
+        if (duena) {
+            memoria.cerrar();
+        }
+    }
+
+    private static void operar(ColumnaFracciones a, ColumnaFracciones b, ColumnaFracciones destino, char operador) {
+        verificarTamanos(a, b, destino);
+        Bloques ba = a.memoria.adquirir();
+        try {
+            Bloques bb = b.memoria.adquirir();
+            try {
+                Bloques bd = destino.memoria.adquirir();
+                try {
+                    operar(a, ba, b, bb, destino, bd, operador);
+                } finally {
+                    destino.memoria.soltar();
+                }
+            } finally {
+                b.memoria.soltar();
+            }
+        } finally {
+            a.memoria.soltar();
+        }
+    }
+
+    private static void operar(ColumnaFracciones a, Bloques ba, ColumnaFracciones b, Bloques bb,
+                               ColumnaFracciones destino, Bloques bd, char operador) {
+        for (long i = 0; i < a.tamano; i++) {
+            long pa = a.inicio + i;
+            long pb = b.inicio + i;
+            long n1 = ba.leerNumerador(pa);
+            long d1 = ba.leerDenominador(pa);
+            long n2 = bb.leerNumerador(pb);
+            long d2 = bb.leerDenominador(pb);
+            long numerador, denominador;
+            switch (operador) {
+                case '+':
+                    numerador = n1 * d2 + n2 * d1;
+                    denominador = d1 * d2;
+                    break;
+                case '-':
+                    numerador = n1 * d2 - n2 * d1;
+                    denominador = d1 * d2;
+                    break;
+                case '*':
+                    numerador = n1 * n2;
+                    denominador = d1 * d2;
+                    break;
+                default:
+                    if (n2 == 0) {
+                        throw new ArithmeticException("División entre cero");
+                    }
+                    numerador = n1 * d2;
+                    denominador = d1 * n2;
+                    if (denominador < 0) {
+                        numerador = -numerador;
+                        denominador = -denominador;
+                    }
+            }
+            escribirReducida(bd, destino.inicio + i, numerador, denominador);
+        }
+    }
+
+    private static void verificarTamanos(ColumnaFracciones a, ColumnaFracciones b, ColumnaFracciones destino) {
+        if (a.tamano != b.tamano || a.tamano != destino.tamano) {
+            throw new IllegalArgumentException("Las columnas deben tener el mismo tamaño");
+        }
+    }
+
+    private long posicion(long indice) {
+        if (indice < 0 || indice >= tamano) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de [0, " + tamano + ")");
+        }
+        return inicio + indice;
+    }
+
+    /**
+     * Reduce una fracción calculada en {@code long}, con denominador positivo, y la escribe en la posición indicada.
+     */
+    private static void escribirReducida(Bloques bloques, long posicion, long numerador, long denominador) {
+        long mcd = Operador.mcd(numerador, denominador);
+        numerador /= mcd;
+        denominador /= mcd;
+        if (numerador != (int) numerador || denominador != (int) denominador || numerador == Integer.MIN_VALUE) {
+            throw desbordamiento();
+        }
+        bloques.escribir(posicion, (int) numerador, (int) denominador);
+    }
+
+    private static ArithmeticException desbordamiento() {
+        return new ArithmeticException("El resultado excede el rango de ColumnaFracciones");
+    }
+
+    private static void liberar(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer != null) {
+                LiberadorBuffers.liberar(buffer);
+            }
+        }
+    }
+
+    /**
+     * Indica si la memoria directa de la columna ya se liberó.
+     *
+     * @return {@code true} si la columna está cerrada y ninguna operación sigue en curso.
+     */
+    boolean isLiberada() {
+        return memoria.estado.get() == Memoria.CERRADA;
+    }
+
+    /**
+     * El estado compartido entre una columna y sus rebanadas. Cada operación adquiere los bloques antes de usarlos y
+     * los suelta al terminar; el estado guarda en su bit más bajo si la columna está cerrada y en el resto el número de
+     * operaciones en curso. Quien deja el estado cerrado y sin operaciones, ya sea {@link #cerrar()} o la última
+     * operación al soltar, libera la memoria.
+     */
+    private static final class Memoria {
+
+        static final int CERRADA = 1;
+        static final int OPERACION = 2;
+
+        private final Bloques bloques;
+        private final AtomicInteger estado = new AtomicInteger();
+
+        Memoria(Bloques bloques) {
+            this.bloques = bloques;
+        }
+
+        Bloques adquirir() {
+            while (true) {
+                int actual = estado.get();
+                if ((actual & CERRADA) != 0) {
+                    throw cerrada();
+                }
+                if (actual + OPERACION < 0) {
+                    throw new IllegalStateException("Demasiadas operaciones en curso sobre la columna");
+                }
+                if (estado.compareAndSet(actual, actual + OPERACION)) {
+                    return bloques;
+                }
+            }
+        }
+
+        void soltar() {
+            if (estado.addAndGet(-OPERACION) == CERRADA) {
+                bloques.liberar();
+            }
+        }
+
+        void verificarAbierta() {
+            if ((estado.get() & CERRADA) != 0) {
+                throw cerrada();
+            }
+        }
+
+        void cerrar() {
+            if (estado.getAndUpdate(actual -> actual | CERRADA) == 0) {
+                bloques.liberar();
+            }
+        }
+
+        private static IllegalStateException cerrada() {
+            return new IllegalStateException("La columna está cerrada");
+        }
+    }
+
+    /**
+     * Los bloques de memoria directa de una columna.
+     */
+    private static final class Bloques {
+
+        private final ByteBuffer[] numeradores;
+        private final ByteBuffer[] denominadores;
+
+        Bloques(ByteBuffer[] numeradores, ByteBuffer[] denominadores) {
+            this.numeradores = numeradores;
+            this.denominadores = denominadores;
+        }
+
+        int leerNumerador(long posicion) {
+            return numeradores[(int) (posicion >>> DESPLAZAMIENTO)].getInt((int) (posicion & MASCARA) * Integer.BYTES);
+        }
+
+        int leerDenominador(long posicion) {
+            return denominadores[(int) (posicion >>> DESPLAZAMIENTO)].getInt((int) (posicion & MASCARA) * Integer.BYTES);
+        }
+
+        void escribir(long posicion, int numerador, int denominador) {
+            int bloque = (int) (posicion >>> DESPLAZAMIENTO);
+            int desplazamiento = (int) (posicion & MASCARA) * Integer.BYTES;
+            numeradores[bloque].putInt(desplazamiento, numerador);
+            denominadores[bloque].putInt(desplazamiento, denominador);
+        }
+
+        void liberar() {
+            ColumnaFracciones.liberar(numeradores);
+            ColumnaFracciones.liberar(denominadores);
+        }
+    }
+}
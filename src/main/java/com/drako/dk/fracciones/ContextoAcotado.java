@@ -0,0 +1,365 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contexto de aritmética con denominador acotado, para cálculos iterativos en los que las fracciones exactas crecen sin
+ * límite.
+ * <p>
+ * Cada operación calcula el resultado exacto con {@code long} a partir de los operandos y lo redondea a la fracción más
+ * cercana con denominador no mayor que el máximo del contexto, usando {@link SternBrocot}. Si el contexto tiene una
+ * tolerancia, el resultado es en cambio la fracción de menor denominador a esa distancia del valor exacto, buscada
+ * entre las semiconvergentes de su fracción continua, lo que mantiene los operandos tan pequeños como la precisión
+ * pedida permite. Así los resultados siempre caben en {@link Fraccion} y el costo por operación no crece con el número
+ * de iteraciones.
+ * <p>
+ * El contexto registra cuántos resultados se redondearon, el error de redondeo máximo y la suma de los valores absolutos
+ * de los errores de redondeo introducidos. Esta suma acota el error total de una secuencia de sumas y restas; en las
+ * multiplicaciones y divisiones el error de los operandos además se propaga. Las instancias son seguras para hilos.
+ */
+public final class ContextoAcotado {
+
+    /**
+     * El margen relativo dentro del cual la distancia calculada con {@code double} no basta para compararla con la
+     * tolerancia.
+     */
+    private static final double MARGEN_TOLERANCIA = 0x1p-48;
+
+    private final int maxDenominador;
+    private final double tolerancia;
+
+    private final LongAdder operaciones = new LongAdder();
+    private final LongAdder redondeos = new LongAdder();
+    private final DoubleAdder errorAcumulado = new DoubleAdder();
+    private final DoubleAccumulator errorMaximo = new DoubleAccumulator(Math::max, 0);
+
+    /**
+     * Crea un contexto que redondea cada resultado a la fracción más cercana con denominador acotado.
+     *
+     * @param maxDenominador El mayor denominador permitido.
+     * @throws IllegalArgumentException Si el denominador máximo no es positivo.
+     */
+    public ContextoAcotado(int maxDenominador) {
+        this(maxDenominador, 0);
+    }
+
+    /**
+     * Crea un contexto que redondea cada resultado a la fracción de menor denominador que no se aleja del valor exacto
+     * más que la tolerancia. Si esa fracción excede el denominador máximo, se usa la más cercana con denominador
+     * acotado.
+     *
+     * @param maxDenominador El mayor denominador permitido.
+     * @param tolerancia     El error máximo deseado por operación, o 0 para usar siempre la fracción más cercana.
+     * @throws IllegalArgumentException Si el denominador máximo no es positivo o la tolerancia es negativa o no finita.
+     */
+    public ContextoAcotado(int maxDenominador, double tolerancia) {
+        if (maxDenominador < 1) {
+            throw new IllegalArgumentException("El denominador máximo debe ser positivo");
+        }
+        if (!(tolerancia >= 0) || Double.isInfinite(tolerancia)) {
+            throw new IllegalArgumentException("La tolerancia debe ser finita y no negativa: " + tolerancia);
+        }
+        this.maxDenominador = maxDenominador;
+        this.tolerancia = tolerancia;
+    }
+
+    /**
+     * Obtiene el mayor denominador permitido.
+     *
+     * @return El denominador máximo.
+     */
+    public int getMaxDenominador() {
+        return maxDenominador;
+    }
+
+    /**
+     * Obtiene la tolerancia del contexto.
+     *
+     * @return El error máximo deseado por operación, o 0 si se usa siempre la fracción más cercana.
+     */
+    public double getTolerancia() {
+        return tolerancia;
+    }
+
+    /**
+     * Realiza la suma de dos fracciones y redondea el resultado.
+     *
+     * @param f1 La primera fracción a sumar.
+     * @param f2 La segunda fracción a sumar.
+     * @return La suma redondeada, reducida.
+     * @throws ArithmeticException Si la parte entera de la suma excede el rango de Fraccion.
+     */
+    public Fraccion suma(Fraccion f1, Fraccion f2) {
+        return redondearSuma(OrdenamientoFracciones.numerador(f1), f1.denominador,
+                OrdenamientoFracciones.numerador(f2), f2.denominador);
+    }
+
+    /**
+     * Realiza la resta de dos fracciones y redondea el resultado.
+     *
+     * @param f1 La fracción de la cual se restará.
+     * @param f2 La fracción que se restará.
+     * @return La resta redondeada, reducida.
+     * @throws ArithmeticException Si la parte entera de la resta excede el rango de Fraccion.
+     */
+    public Fraccion resta(Fraccion f1, Fraccion f2) {
+        return redondearSuma(OrdenamientoFracciones.numerador(f1), f1.denominador,
+                -OrdenamientoFracciones.numerador(f2), f2.denominador);
+    }
+
+    /**
+     * Realiza la multiplicación de dos fracciones y redondea el resultado.
+     *
+     * @param f1 La primera fracción a multiplicar.
+     * @param f2 La segunda fracción a multiplicar.
+     * @return El producto redondeado, reducido.
+     * @throws ArithmeticException Si el producto de los numeradores excede un long, lo que solo puede ocurrir con
+     *                             fracciones mixtas, o la parte entera del producto excede el rango de Fraccion.
+     */
+    public Fraccion multiplicar(Fraccion f1, Fraccion f2) {
+        return redondear(Math.multiplyExact(OrdenamientoFracciones.numerador(f1), OrdenamientoFracciones.numerador(f2)),
+                (long) f1.denominador * f2.denominador);
+    }
+
+    /**
+     * Realiza la división de dos fracciones y redondea el resultado.
+     *
+     * @param f1 La fracción que se dividirá.
+     * @param f2 La fracción por la cual se dividirá.
+     * @return El cociente redondeado, reducido.
+     * @throws ArithmeticException Si el divisor es cero, algún producto cruzado excede un long, lo que solo puede
+     *                             ocurrir con fracciones mixtas, o la parte entera del cociente excede el rango de
+     *                             Fraccion.
+     */
+    public Fraccion division(Fraccion f1, Fraccion f2) {
+        return redondear(Math.multiplyExact(OrdenamientoFracciones.numerador(f1), (long) f2.denominador),
+                Math.multiplyExact((long) f1.denominador, OrdenamientoFracciones.numerador(f2)));
+    }
+
+    /**
+     * Redondea una fracción al contexto.
+     *
+     * @param fraccion La fracción a redondear.
+     * @return La fracción redondeada, reducida.
+     */
+    public Fraccion redondear(Fraccion fraccion) {
+        return redondear(OrdenamientoFracciones.numerador(fraccion), fraccion.denominador);
+    }
+
+    /**
+     * Redondea numerador/denominador al contexto y registra el error de redondeo.
+     *
+     * @param numerador   El numerador del valor exacto.
+     * @param denominador El denominador del valor exacto.
+     * @return La fracción redondeada, reducida.
+     * @throws ArithmeticException Si el denominador es cero o la parte entera del valor excede el rango de Fraccion.
+     */
+    public Fraccion redondear(long numerador, long denominador) {
+        if (denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        if (denominador < 0) {
+            numerador = Math.negateExact(numerador);
+            denominador = Math.negateExact(denominador);
+        }
+        return redondear(Math.floorDiv(numerador, denominador), Math.floorMod(numerador, denominador), denominador);
+    }
+
+    /**
+     * Redondea n1/d1 + n2/d2, con denominadores positivos. Los denominadores de una Fraccion caben en un int, por lo
+     * que su producto cabe en un long; si el numerador exacto no cabe, lo que puede ocurrir con fracciones mixtas aunque
+     * el resultado esté en rango, la parte entera y el resto se calculan con BigInteger.
+     */
+    private Fraccion redondearSuma(long n1, long d1, long n2, long d2) {
+        long denominador = d1 * d2;
+        long numerador;
+        try {
+            numerador = Math.addExact(Math.multiplyExact(n1, d2), Math.multiplyExact(n2, d1));
+        } catch (ArithmeticException e) {
+            BigInteger exacto = BigInteger.valueOf(n1).multiply(BigInteger.valueOf(d2))
+                    .add(BigInteger.valueOf(n2).multiply(BigInteger.valueOf(d1)));
+            BigInteger[] division = exacto.divideAndRemainder(BigInteger.valueOf(denominador));
+            BigInteger entero = division[0];
+            long resto = division[1].longValue();
+            if (resto < 0) {
+                entero = entero.subtract(BigInteger.ONE);
+                resto += denominador;
+            }
+            if (entero.bitLength() >= Long.SIZE) {
+                throw new ArithmeticException("La parte entera " + entero + " excede el rango de Fraccion");
+            }
+            return redondear(entero.longValue(), resto, denominador);
+        }
+        return redondear(numerador, denominador);
+    }
+
+    /**
+     * Redondea entero + resto/denominador, con 0 ≤ resto < denominador.
+     */
+    private Fraccion redondear(long entero, long resto, long denominador) {
+        if (entero <= Integer.MIN_VALUE || entero >= Integer.MAX_VALUE) {
+            throw new ArithmeticException("La parte entera " + entero + " excede el rango de Fraccion");
+        }
+        // El numerador del resultado también debe caber en un int: |entero + 1| · denominador ≤ Integer.MAX_VALUE.
+        long limite = Math.min(maxDenominador, Integer.MAX_VALUE / (Math.abs(entero) + 1));
+        long[] resultado = new long[2];
+        aproximar(resto, denominador, limite, resultado);
+        long total = entero * resultado[1] + resultado[0];
+        operaciones.increment();
+        if (resultado[1] != denominador || resultado[0] != resto) {
+            double error = Math.abs(diferencia(resto, denominador, resultado[0], resultado[1]));
+            if (error != 0) {
+                redondeos.increment();
+                errorAcumulado.add(error);
+                errorMaximo.accumulate(error);
+            }
+        }
+        return new Fraccion((int) total, (int) resultado[1]);
+    }
+
+    /**
+     * Obtiene el número de operaciones realizadas en el contexto.
+     *
+     * @return El número de operaciones.
+     */
+    public long getOperaciones() {
+        return operaciones.sum();
+    }
+
+    /**
+     * Obtiene el número de resultados que no eran exactos y se redondearon.
+     *
+     * @return El número de redondeos.
+     */
+    public long getRedondeos() {
+        return redondeos.sum();
+    }
+
+    /**
+     * Obtiene la suma de los valores absolutos de los errores de redondeo.
+     *
+     * @return El error acumulado.
+     */
+    public double getErrorAcumulado() {
+        return errorAcumulado.sum();
+    }
+
+    /**
+     * Obtiene el mayor error de redondeo de una sola operación.
+     *
+     * @return El error máximo observado.
+     */
+    public double getErrorMaximo() {
+        return errorMaximo.get();
+    }
+
+    /**
+     * Reinicia el registro de operaciones y errores.
+     */
+    public void reiniciar() {
+        operaciones.reset();
+        redondeos.reset();
+        errorAcumulado.reset();
+        errorMaximo.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ContextoAcotado[maxDenominador=" + maxDenominador + ", tolerancia=" + tolerancia
+                + ", redondeos=" + getRedondeos() + ", errorAcumulado=" + getErrorAcumulado() + "]";
+    }
+
+    /**
+     * Aproxima p/q, con 0 ≤ p < q, con denominador no mayor que el límite según la política del contexto, y escribe el
+     * numerador y el denominador reducidos.
+     */
+    private void aproximar(long p, long q, long limite, long[] resultado) {
+        if (tolerancia > 0 && menorDentroDeTolerancia(p, q, limite, resultado)) {
+            return;
+        }
+        SternBrocot.fraccionMasCercana(p, q, limite, resultado);
+    }
+
+    /**
+     * Busca la fracción de menor denominador a distancia no mayor que la tolerancia de p/q. La distancia decrece de
+     * forma monótona a lo largo de las semiconvergentes de cada cociente parcial, por lo que basta una búsqueda binaria
+     * dentro del primer tramo que alcanza la tolerancia.
+     *
+     * @return {@code false} si esa fracción excede el límite del denominador.
+     */
+    private boolean menorDentroDeTolerancia(long p, long q, long limite, long[] resultado) {
+        long numerador = p, denominador = q;
+        long p0 = 0, q0 = 1, p1 = 1, q1 = 0;
+        boolean primero = true;
+        while (q != 0) {
+            long a = p / q;
+            long maximo = q1 == 0 ? a : Math.min(a, (limite - q0) / q1);
+            if (maximo >= (primero ? 0 : 1) && dentro(numerador, denominador, p0 + maximo * p1, q0 + maximo * q1)) {
+                long bajo = primero ? 0 : 1;
+                long alto = maximo;
+                while (bajo < alto) {
+                    long medio = (bajo + alto) >>> 1;
+                    if (dentro(numerador, denominador, p0 + medio * p1, q0 + medio * q1)) {
+                        alto = medio;
+                    } else {
+                        bajo = medio + 1;
+                    }
+                }
+                resultado[0] = p0 + bajo * p1;
+                resultado[1] = q0 + bajo * q1;
+                return true;
+            }
+            if (maximo < a) {
+                return false;
+            }
+            long p2 = a * p1 + p0;
+            long q2 = a * q1 + q0;
+            p0 = p1;
+            q0 = q1;
+            p1 = p2;
+            q1 = q2;
+            long r = p - a * q;
+            p = q;
+            q = r;
+            primero = false;
+        }
+        resultado[0] = p1;
+        resultado[1] = q1;
+        return true;
+    }
+
+    /**
+     * Indica si a/b está a distancia no mayor que la tolerancia de p/q. La distancia aproximada de {@link #diferencia}
+     * decide los casos claros; cuando queda a pocos ulps de la tolerancia, la comparación se hace de forma exacta.
+     */
+    private boolean dentro(long p, long q, long a, long b) {
+        double distancia = Math.abs(diferencia(p, q, a, b));
+        if (distancia < tolerancia * (1 - MARGEN_TOLERANCIA)) {
+            return true;
+        }
+        if (distancia > tolerancia * (1 + MARGEN_TOLERANCIA)) {
+            return false;
+        }
+        BigInteger numerador = BigInteger.valueOf(p).multiply(BigInteger.valueOf(b))
+                .subtract(BigInteger.valueOf(a).multiply(BigInteger.valueOf(q))).abs();
+        BigInteger denominador = BigInteger.valueOf(q).multiply(BigInteger.valueOf(b));
+        return new BigDecimal(numerador).compareTo(new BigDecimal(tolerancia).multiply(new BigDecimal(denominador))) <= 0;
+    }
+
+    /**
+     * Calcula p/q - a/b con el numerador p·b - a·q exacto en 128 bits, para que el error de redondeo no se pierda por
+     * cancelación.
+     */
+    private static double diferencia(long p, long q, long a, long b) {
+        long bajo1 = p * b, alto1 = Math.multiplyHigh(p, b);
+        long bajo2 = a * q, alto2 = Math.multiplyHigh(a, q);
+        long bajo = bajo1 - bajo2;
+        long alto = alto1 - alto2 - (Long.compareUnsigned(bajo1, bajo2) < 0 ? 1 : 0);
+        double numerador = alto * 0x1p64 + ((double) (bajo >>> 11) * 0x1p11 + (bajo & 0x7FF));
+        return numerador / ((double) q * b);
+    }
+}
@@ -0,0 +1,242 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Contexto de aritmética de denominador fijo. Todas las fracciones de un contexto se expresan como un número entero de
+ * unidades 1/B, donde B es la base del contexto, por ejemplo 64 para dieciseisavos de pulgada o 100 para centavos.
+ * <p>
+ * La suma y la resta de {@link FraccionFija} son sumas y restas de {@code long} sin multiplicar denominadores ni
+ * calcular el MCD. La multiplicación y la división reescalan el resultado a la base y, si no es exacto, lo redondean
+ * con el modo del contexto. La reducción solo ocurre al convertir a {@link Fraccion}.
+ */
+public final class ContextoFijo {
+
+    /**
+     * La base del contexto, es decir, el número de unidades que forman un entero.
+     */
+    private final long base;
+
+    /**
+     * El modo de redondeo usado cuando un resultado no es múltiplo exacto de 1/B.
+     */
+    private final RoundingMode redondeo;
+
+    /**
+     * Crea un contexto que exige resultados exactos.
+     *
+     * @param base La base del contexto.
+     * @throws IllegalArgumentException Si la base no es positiva.
+     */
+    public ContextoFijo(long base) {
+        this(base, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Crea un contexto con el modo de redondeo indicado.
+     *
+     * @param base     La base del contexto.
+     * @param redondeo El modo de redondeo para los resultados que no son múltiplos exactos de 1/B.
+     * @throws IllegalArgumentException Si la base no es positiva.
+     */
+    public ContextoFijo(long base, RoundingMode redondeo) {
+        if (base < 1) {
+            throw new IllegalArgumentException("La base debe ser positiva");
+        }
+        this.base = base;
+        this.redondeo = Objects.requireNonNull(redondeo);
+    }
+
+    /**
+     * Obtiene la base del contexto.
+     *
+     * @return La base del contexto.
+     */
+    public long getBase() {
+        return base;
+    }
+
+    /**
+     * Obtiene el modo de redondeo del contexto.
+     *
+     * @return El modo de redondeo.
+     */
+    public RoundingMode getRedondeo() {
+        return redondeo;
+    }
+
+    /**
+     * Crea una fracción de este contexto a partir de su número de unidades.
+     *
+     * @param unidades El número de unidades 1/B.
+     * @return La fracción de denominador fijo.
+     */
+    public FraccionFija deUnidades(long unidades) {
+        return new FraccionFija(this, unidades);
+    }
+
+    /**
+     * Crea una fracción de este contexto a partir de un número entero.
+     *
+     * @param entero El número entero.
+     * @return La fracción de denominador fijo.
+     * @throws ArithmeticException Si el número de unidades excede el rango de {@code long}.
+     */
+    public FraccionFija valueOf(long entero) {
+        return new FraccionFija(this, multiplicar(entero, base));
+    }
+
+    /**
+     * Convierte una fracción en una fracción de este contexto.
+     *
+     * @param numerador   El numerador de la fracción.
+     * @param denominador El denominador de la fracción.
+     * @return La fracción de denominador fijo, redondeada con el modo del contexto si no es exacta.
+     * @throws ArithmeticException Si el denominador es cero, si el modo es {@link RoundingMode#UNNECESSARY} y la
+     *                             fracción no es múltiplo de 1/B, o si el resultado excede el rango de {@code long}.
+     */
+    public FraccionFija valueOf(long numerador, long denominador) {
+        return new FraccionFija(this, escalar(numerador, base, denominador));
+    }
+
+    /**
+     * Convierte una fracción en una fracción de este contexto.
+     *
+     * @param fraccion La fracción a convertir.
+     * @return La fracción de denominador fijo, redondeada con el modo del contexto si no es exacta.
+     * @throws ArithmeticException Si el modo es {@link RoundingMode#UNNECESSARY} y la fracción no es múltiplo de 1/B.
+     */
+    public FraccionFija valueOf(Fraccion fraccion) {
+        Fraccion conSigno = fraccion.getFraccionWithSign();
+        return valueOf(conSigno.numerador, conSigno.denominador);
+    }
+
+    /**
+     * Suma las unidades de varias fracciones de este contexto sin crear instancias intermedias.
+     *
+     * @param unidades Las unidades a sumar.
+     * @return La fracción con la suma de las unidades.
+     * @throws ArithmeticException Si la suma excede el rango de {@code long}.
+     */
+    public FraccionFija sumar(long[] unidades) {
+        long total = 0;
+        for (long valor : unidades) {
+            total = Math.addExact(total, valor);
+        }
+        return new FraccionFija(this, total);
+    }
+
+    /**
+     * Calcula a·b/c redondeado con el modo del contexto. Usa aritmética de {@code long} y solo recurre a
+     * {@link BigInteger} si el producto intermedio no cabe.
+     *
+     * @param a El primer factor.
+     * @param b El segundo factor.
+     * @param c El divisor.
+     * @return El cociente redondeado.
+     * @throws ArithmeticException Si el divisor es cero, si se requiere redondeo y el modo es
+     *                             {@link RoundingMode#UNNECESSARY}, o si el resultado excede el rango de {@code long}.
+     */
+    long escalar(long a, long b, long c) {
+        if (c == 0) {
+            throw new ArithmeticException("División entre cero");
+        }
+        long hi = Math.multiplyHigh(a, b);
+        long lo = a * b;
+        if (((hi == 0 && lo >= 0) || (hi == -1 && lo < 0)) && c != Long.MIN_VALUE) {
+            if (c == -1 && lo == Long.MIN_VALUE) {
+                throw desbordamiento();
+            }
+            long cociente = lo / c;
+            long resto = lo - cociente * c;
+            if (resto == 0) {
+                return cociente;
+            }
+            long mitad = Math.abs(resto) - (Math.abs(c) - Math.abs(resto));
+            int signo = (lo < 0) == (c < 0) ? 1 : -1;
+            return incrementar(signo, Long.signum(mitad), cociente) ? cociente + signo : cociente;
+        }
+        BigInteger[] division = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divideAndRemainder(BigInteger.valueOf(c));
+        BigInteger cociente = division[0];
+        if (division[1].signum() != 0) {
+            int signo = a < 0 ^ b < 0 ^ c < 0 ? -1 : 1;
+            int mitad = division[1].abs().shiftLeft(1).compareTo(BigInteger.valueOf(c).abs());
+            if (incrementar(signo, mitad, cociente.testBit(0) ? 1 : 0)) {
+                cociente = cociente.add(BigInteger.valueOf(signo));
+            }
+        }
+        if (cociente.bitLength() > 63) {
+            throw desbordamiento();
+        }
+        return cociente.longValue();
+    }
+
+    /**
+     * Multiplica dos valores de {@code long} verificando el desbordamiento.
+     */
+    long multiplicar(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw desbordamiento();
+        }
+    }
+
+    /**
+     * Determina si un cociente truncado debe alejarse de cero según el modo de redondeo del contexto.
+     *
+     * @param signo    El signo del cociente exacto, 1 o -1.
+     * @param mitad    La comparación del resto descartado con la mitad del divisor: negativa, cero o positiva.
+     * @param cociente El cociente truncado; solo se usa su paridad.
+     * @return {@code true} si el cociente debe incrementarse en magnitud.
+     */
+    private boolean incrementar(int signo, int mitad, long cociente) {
+        switch (redondeo) {
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return signo > 0;
+            case FLOOR:
+                return signo < 0;
+            case HALF_UP:
+                return mitad >= 0;
+            case HALF_DOWN:
+                return mitad > 0;
+            case HALF_EVEN:
+                return mitad > 0 || (mitad == 0 && (cociente & 1) != 0);
+            default:
+                throw new ArithmeticException("El resultado no es múltiplo exacto de 1/" + base);
+        }
+    }
+
+    private static ArithmeticException desbordamiento() {
+        return new ArithmeticException("El resultado excede el rango de FraccionFija");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ContextoFijo that = (ContextoFijo) o;
+        return base == that.base && redondeo == that.redondeo;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(base, redondeo);
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena del contexto.
+     *
+     * @return Una cadena con la unidad y el modo de redondeo. Ejemplo: "1/64 HALF_EVEN".
+     */
+    @Override
+    public String toString() {
+        return "1/" + base + " " + redondeo;
+    }
+}
@@ -0,0 +1,198 @@
+package com.drako.dk.fracciones;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Escribe fracciones al final de un archivo de {@link AlmacenFracciones}.
+ * <p>
+ * Las fracciones se acumulan en un bloque en memoria y se escriben al archivo cuando el bloque se llena, junto con el
+ * valor mínimo y máximo del bloque. Los datos solo son visibles para los lectores después de {@link #confirmar()}, que
+ * sincroniza los bloques con el disco antes de escribir un segmento del índice con las entradas de los bloques nuevos.
+ * Si el proceso termina antes, el archivo conserva el estado de la última confirmación.
+ */
+public final class EscritorFracciones implements AutoCloseable {
+
+    /**
+     * El número de fracciones por bloque por defecto.
+     */
+    public static final int TAMANO_BLOQUE = 1 << 16;
+
+    private final FileChannel canal;
+    private final List<FormatoAlmacen.Bloque> nuevos = new ArrayList<>();
+    private final int[] numeradores;
+    private final int[] denominadores;
+    private final ByteBuffer buffer;
+    private int cantidad;
+    private int minimo;
+    private int maximo;
+    private long posicion;
+    private long pieAnterior;
+    private long tamano;
+    private boolean pendiente;
+
+    /**
+     * Abre un almacén para agregar fracciones, creándolo si no existe, con el tamaño de bloque por defecto.
+     *
+     * @param archivo La ruta del archivo.
+     * @throws IOException Si ocurre un error de E/S o el archivo existente no es un almacén de fracciones.
+     */
+    public EscritorFracciones(Path archivo) throws IOException {
+        this(archivo, TAMANO_BLOQUE);
+    }
+
+    /**
+     * Abre un almacén para agregar fracciones, creándolo si no existe.
+     *
+     * @param archivo      La ruta del archivo.
+     * @param tamanoBloque El número máximo de fracciones por bloque.
+     * @throws IOException              Si ocurre un error de E/S o el archivo existente no es un almacén de fracciones.
+     * @throws IllegalArgumentException Si el tamaño de bloque no es positivo o excede el máximo de un bloque.
+     */
+    public EscritorFracciones(Path archivo, int tamanoBloque) throws IOException {
+        if (tamanoBloque < 1 || tamanoBloque > Integer.MAX_VALUE / 8) {
+            throw new IllegalArgumentException("Tamaño de bloque inválido: " + tamanoBloque);
+        }
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (canal.size() == 0) {
+                FormatoAlmacen.escribirCabecera(canal);
+                this.pieAnterior = -1;
+                this.pendiente = true;
+            } else {
+                FormatoAlmacen.Indice indice = FormatoAlmacen.leerIndice(canal);
+                for (FormatoAlmacen.Bloque bloque : indice.bloques) {
+                    tamano += bloque.cantidad;
+                }
+                this.pieAnterior = indice.posicionPie;
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        // Una escritura interrumpida puede dejar el final del archivo desalineado.
+        this.posicion = (canal.size() + 3) & ~3L;
+        this.numeradores = new int[tamanoBloque];
+        this.denominadores = new int[tamanoBloque];
+        this.buffer = ByteBuffer.allocateDirect(tamanoBloque * 8).order(FormatoAlmacen.ORDEN);
+    }
+
+    /**
+     * Obtiene el número de fracciones del almacén, incluidas las que aún no se confirman.
+     *
+     * @return El número de fracciones.
+     */
+    public long getTamano() {
+        return tamano + cantidad;
+    }
+
+    /**
+     * Agrega una fracción al almacén.
+     *
+     * @param fraccion La fracción a agregar.
+     * @throws IOException Si ocurre un error al escribir un bloque completo.
+     */
+    public void agregar(Fraccion fraccion) throws IOException {
+        Fraccion conSigno = fraccion.getFraccionWithSign();
+        agregar(conSigno.numerador, conSigno.denominador);
+    }
+
+    /**
+     * Agrega una fracción al almacén a partir de su numerador y denominador. El signo se traslada al numerador.
+     *
+     * @param numerador   El numerador de la fracción.
+     * @param denominador El denominador de la fracción.
+     * @throws IOException         Si ocurre un error al escribir un bloque completo.
+     * @throws ArithmeticException Si el denominador es cero o el valor no puede representarse con el signo en el
+     *                             numerador, lo que incluye un numerador igual a {@link Integer#MIN_VALUE}.
+     */
+    public void agregar(int numerador, int denominador) throws IOException {
+        if (denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        // Ni Fraccion ni ColumnaFracciones admiten Integer.MIN_VALUE, así que el almacén no podría leerlo ni copiarlo.
+        if (numerador == Integer.MIN_VALUE || denominador == Integer.MIN_VALUE) {
+            throw new ArithmeticException("La fracción excede el rango del almacén");
+        }
+        if (denominador < 0) {
+            numerador = -numerador;
+            denominador = -denominador;
+        }
+        numeradores[cantidad] = numerador;
+        denominadores[cantidad] = denominador;
+        if (cantidad == 0) {
+            minimo = 0;
+            maximo = 0;
+        } else {
+            if (FormatoAlmacen.comparar(numerador, denominador, numeradores[minimo], denominadores[minimo]) < 0) {
+                minimo = cantidad;
+            }
+            if (FormatoAlmacen.comparar(numerador, denominador, numeradores[maximo], denominadores[maximo]) > 0) {
+                maximo = cantidad;
+            }
+        }
+        cantidad++;
+        if (cantidad == numeradores.length) {
+            escribirBloque();
+        }
+    }
+
+    /**
+     * Escribe el bloque en curso, sincroniza los datos con el disco y escribe un segmento del índice con su pie, de
+     * modo que todas las fracciones agregadas hasta ahora queden visibles y sobrevivan a una terminación abrupta del
+     * proceso.
+     *
+     * @throws IOException Si ocurre un error de E/S.
+     */
+    public void confirmar() throws IOException {
+        if (cantidad > 0) {
+            escribirBloque();
+        }
+        if (!pendiente) {
+            return;
+        }
+        canal.force(false);
+        ByteBuffer segmento = FormatoAlmacen.construirSegmento(nuevos, posicion, pieAnterior);
+        FormatoAlmacen.escribir(canal, segmento, posicion);
+        canal.force(false);
+        pieAnterior = posicion + segmento.limit() - FormatoAlmacen.TAMANO_PIE;
+        posicion += segmento.limit();
+        nuevos.clear();
+        pendiente = false;
+    }
+
+    /**
+     * Confirma las fracciones pendientes y cierra el archivo.
+     *
+     * @throws IOException Si ocurre un error de E/S.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            confirmar();
+        } finally {
+            canal.close();
+        }
+    }
+
+    private void escribirBloque() throws IOException {
+        buffer.clear();
+        buffer.asIntBuffer().put(numeradores, 0, cantidad).put(denominadores, 0, cantidad);
+        buffer.limit(cantidad * 8);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        FormatoAlmacen.escribir(canal, buffer, posicion);
+        nuevos.add(new FormatoAlmacen.Bloque(posicion, cantidad, (int) crc.getValue(),
+                numeradores[minimo], denominadores[minimo], numeradores[maximo], denominadores[maximo]));
+        posicion += cantidad * 8L;
+        tamano += cantidad;
+        cantidad = 0;
+        pendiente = true;
+    }
+}
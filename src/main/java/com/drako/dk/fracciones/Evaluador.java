@@ -0,0 +1,187 @@
+package com.drako.dk.fracciones;
+
+/**
+ * Esta clase evalúa expresiones aritméticas con fracciones escritas en texto, utilizando los métodos de {@link Operador}.
+ * <p>
+ * Una expresión puede contener fracciones en el formato aceptado por {@link Fraccion#Fraccion(String)} escritas sin
+ * espacios (por ejemplo "3/4", "-5/6", "7" o la fracción mixta "2/1/4"), los operadores {@code +}, {@code -},
+ * {@code *} y {@code :}, la función {@code raiz(...)} y paréntesis. La división también puede escribirse con
+ * {@code /} siempre que esté separada por espacios o seguida de un paréntesis, por ejemplo "1/2 / 3/4". La
+ * multiplicación y la división tienen mayor precedencia que la suma y la resta. Los paréntesis, las raíces y los
+ * signos unarios pueden anidarse hasta {@link #MAX_ANIDAMIENTO} niveles.
+ */
+public final class Evaluador {
+
+    /**
+     * El mayor número de paréntesis, raíces y signos unarios que pueden anidarse en una expresión.
+     */
+    public static final int MAX_ANIDAMIENTO = 256;
+
+    private final String expresion;
+    private int posicion;
+    private int profundidad;
+
+    private Evaluador(String expresion) {
+        this.expresion = expresion;
+    }
+
+    /**
+     * Evalúa una expresión y devuelve la fracción resultante reducida.
+     *
+     * @param expresion La expresión a evaluar. Ejemplo: "1/2 + 1/3 * (3/4 - 1/4)".
+     * @return La fracción resultante de evaluar la expresión.
+     * @throws NumberFormatException Si la expresión no tiene un formato válido o excede el anidamiento máximo.
+     * @throws ArithmeticException   Si alguna operación no está definida, como la raíz de una fracción negativa.
+     */
+    public static Fraccion evaluar(String expresion) throws NumberFormatException {
+        Evaluador evaluador = new Evaluador(expresion);
+        Fraccion resultado = evaluador.expresion();
+        evaluador.omitirEspacios();
+        if (evaluador.posicion < expresion.length()) {
+            throw evaluador.error("Carácter inesperado '" + expresion.charAt(evaluador.posicion) + "'");
+        }
+        return resultado.reducir();
+    }
+
+    /**
+     * Evalúa una operación binaria entre dos fracciones.
+     *
+     * @param operador El operador: {@code '+'}, {@code '-'}, {@code '*'}, {@code '/'} o {@code ':'}.
+     * @param f1       La primera fracción.
+     * @param f2       La segunda fracción.
+     * @return La fracción resultante de la operación.
+     * @throws IllegalArgumentException Si el operador no es válido.
+     */
+    public static Fraccion operar(char operador, Fraccion f1, Fraccion f2) {
+        switch (operador) {
+            case '+':
+                return Operador.suma(f1, f2);
+            case '-':
+                return Operador.resta(f1, f2);
+            case '*':
+                return Operador.multiplicar(f1, f2);
+            case '/':
+            case ':':
+                return Operador.division(f1, f2);
+            default:
+                throw new IllegalArgumentException("Operador no válido: " + operador);
+        }
+    }
+
+    private Fraccion expresion() {
+        Fraccion resultado = termino();
+        while (true) {
+            omitirEspacios();
+            char c = actual();
+            if (c == '+' || c == '-') {
+                posicion++;
+                resultado = operar(c, resultado, termino());
+            } else {
+                return resultado;
+            }
+        }
+    }
+
+    private Fraccion termino() {
+        Fraccion resultado = factor();
+        while (true) {
+            omitirEspacios();
+            char c = actual();
+            if (c == '*' || c == ':' || c == '/') {
+                posicion++;
+                resultado = operar(c, resultado, factor());
+            } else {
+                return resultado;
+            }
+        }
+    }
+
+    private Fraccion factor() {
+        omitirEspacios();
+        char c = actual();
+        if (c == '(') {
+            posicion++;
+            entrar();
+            Fraccion resultado = expresion();
+            esperar(')');
+            profundidad--;
+            return resultado;
+        }
+        if (c == '-' && posicion + 1 < expresion.length() && !Character.isDigit(expresion.charAt(posicion + 1))) {
+            posicion++;
+            entrar();
+            Fraccion resultado = Operador.resta(new Fraccion(), factor());
+            profundidad--;
+            return resultado;
+        }
+        if (expresion.startsWith("raiz", posicion)) {
+            posicion += 4;
+            omitirEspacios();
+            esperar('(');
+            entrar();
+            Fraccion radicando = expresion();
+            esperar(')');
+            profundidad--;
+            return Operador.raiz(radicando);
+        }
+        return literal();
+    }
+
+    /**
+     * Abre un nivel de anidamiento, de modo que una expresión anidada en exceso se rechace antes de desbordar la pila.
+     */
+    private void entrar() {
+        if (++profundidad > MAX_ANIDAMIENTO) {
+            throw error("La expresión excede el anidamiento máximo de " + MAX_ANIDAMIENTO + " niveles");
+        }
+    }
+
+    private Fraccion literal() {
+        int inicio = posicion;
+        if (actual() == '-') {
+            posicion++;
+        }
+        leerDigitos();
+        while (actual() == '/' && posicion + 1 < expresion.length()
+                && (Character.isDigit(expresion.charAt(posicion + 1)) || expresion.charAt(posicion + 1) == '-')) {
+            posicion++;
+            if (actual() == '-') {
+                posicion++;
+            }
+            leerDigitos();
+        }
+        return new Fraccion(expresion.substring(inicio, posicion));
+    }
+
+    private void leerDigitos() {
+        int inicio = posicion;
+        while (Character.isDigit(actual())) {
+            posicion++;
+        }
+        if (inicio == posicion) {
+            throw error("Se esperaba un número");
+        }
+    }
+
+    private void esperar(char esperado) {
+        omitirEspacios();
+        if (actual() != esperado) {
+            throw error("Se esperaba '" + esperado + "'");
+        }
+        posicion++;
+    }
+
+    private void omitirEspacios() {
+        while (posicion < expresion.length() && Character.isWhitespace(expresion.charAt(posicion))) {
+            posicion++;
+        }
+    }
+
+    private char actual() {
+        return posicion < expresion.length() ? expresion.charAt(posicion) : '\0';
+    }
+
+    private NumberFormatException error(String mensaje) {
+        return new NumberFormatException(mensaje + " en la posición " + posicion + " de \"" + expresion + "\"");
+    }
+}
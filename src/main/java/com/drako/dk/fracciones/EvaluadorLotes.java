@@ -0,0 +1,630 @@
+package com.drako.dk.fracciones;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluador por lotes de archivos de expresiones y punto de entrada de línea de comandos de la librería.
+ * <p>
+ * Cada línea de la entrada es una expresión aceptada por {@link Evaluador}; las líneas vacías y las que empiezan con
+ * {@code #} se omiten. La evaluación es una tubería de tres etapas unidas por colas acotadas: un hilo lector agrupa las
+ * líneas en lotes, varios hilos evaluadores procesan los lotes en paralelo y el hilo que llama escribe los resultados en
+ * el orden de la entrada. El número de lotes en vuelo está limitado, por lo que la memoria utilizada no depende del
+ * tamaño de la entrada. Una expresión inválida produce la línea {@code ERROR: <mensaje>} sin detener el proceso.
+ * <p>
+ * Uso desde la línea de comandos:
+ * <pre>
+ * java -jar dk-fracciones.jar [-o salida] [-f formato] [-d decimales] [-h hilos] [-l tamañoLote] [-q] [archivo ...]
+ * </pre>
+ * Sin archivos, o con el archivo {@code -}, se lee la entrada estándar. Los formatos son {@code fraccion} (por
+ * defecto), {@code mixta}, {@code decimal}, {@code periodico} y {@code tsv}, que escribe la expresión y su resultado
+ * separados por un tabulador. Al terminar se escribe un resumen de rendimiento en la salida de errores, salvo con
+ * {@code -q}.
+ */
+public final class EvaluadorLotes {
+
+    /**
+     * El número de líneas por lote por defecto.
+     */
+    public static final int TAMANO_LOTE = 1024;
+
+    /**
+     * El número de decimales por defecto del formato decimal.
+     */
+    public static final int DECIMALES = 10;
+
+    private static final int TAMANO_BUFFER = 1 << 20;
+
+    /**
+     * El tiempo máximo que el escritor espera un lote antes de revisar si alguna etapa falló.
+     */
+    private static final long ESPERA_FALLO_MS = 100;
+
+    private static final Lote FIN = new Lote(-1, new String[0], 0);
+
+    /**
+     * El formato de cada línea de resultado.
+     */
+    public enum Formato {
+        /**
+         * La fracción reducida. Ejemplo: "7/4".
+         */
+        FRACCION,
+        /**
+         * La fracción mixta. Ejemplo: "1 3/4".
+         */
+        MIXTA,
+        /**
+         * El valor con un número fijo de decimales. Ejemplo: "1.7500000000".
+         */
+        DECIMAL,
+        /**
+         * La expansión decimal exacta con el periodo entre paréntesis. Ejemplo: "0.1(6)".
+         */
+        PERIODICO,
+        /**
+         * La expresión y la fracción separadas por un tabulador.
+         */
+        TSV
+    }
+
+    private final int hilos;
+    private final int tamanoLote;
+    private final Formato formato;
+    private final int decimales;
+
+    /**
+     * Crea un evaluador con un hilo evaluador por procesador, el tamaño de lote por defecto y formato de fracción.
+     */
+    public EvaluadorLotes() {
+        this(Runtime.getRuntime().availableProcessors(), TAMANO_LOTE, Formato.FRACCION, DECIMALES);
+    }
+
+    /**
+     * Crea un evaluador por lotes.
+     *
+     * @param hilos      El número de hilos evaluadores.
+     * @param tamanoLote El número máximo de líneas por lote.
+     * @param formato    El formato de los resultados.
+     * @param decimales  El número de decimales del formato {@link Formato#DECIMAL}.
+     * @throws IllegalArgumentException Si el número de hilos o el tamaño de lote no son positivos, o los decimales son
+     *                                  negativos.
+     */
+    public EvaluadorLotes(int hilos, int tamanoLote, Formato formato, int decimales) {
+        if (hilos < 1 || tamanoLote < 1) {
+            throw new IllegalArgumentException("El número de hilos y el tamaño del lote deben ser positivos");
+        }
+        if (decimales < 0) {
+            throw new IllegalArgumentException("El número de decimales no puede ser negativo");
+        }
+        this.hilos = hilos;
+        this.tamanoLote = tamanoLote;
+        this.formato = formato;
+        this.decimales = decimales;
+    }
+
+    /**
+     * Evalúa todas las líneas de una entrada y escribe los resultados en orden. La salida se vacía cuando el
+     * escritor alcanza a los evaluadores, de modo que una entrada interactiva recibe sus resultados sin esperar al
+     * final; la salida no se cierra.
+     *
+     * @param entrada La entrada de expresiones.
+     * @param salida  La salida de resultados.
+     * @return El resumen de la ejecución.
+     * @throws IOException      Si ocurre un error al leer o escribir.
+     * @throws RuntimeException Si el hilo lector o algún hilo evaluador falla de forma inesperada; el
+     *                          {@link Error} que detenga a alguno de ellos se relanza tal cual.
+     */
+    public Resumen procesar(Reader entrada, Writer salida) throws IOException {
+        BufferedReader lector = entrada instanceof BufferedReader
+                ? (BufferedReader) entrada : new BufferedReader(entrada, TAMANO_BUFFER);
+        BufferedWriter escritor = salida instanceof BufferedWriter
+                ? (BufferedWriter) salida : new BufferedWriter(salida, TAMANO_BUFFER);
+        Resumen resumen = new Resumen();
+        long inicio = System.nanoTime();
+
+        // Cada lote ocupa un permiso desde que se lee hasta que se escribe, lo que acota también los lotes que esperan
+        // su turno en el escritor.
+        int ventana = 4 * hilos;
+        Semaphore enVuelo = new Semaphore(ventana);
+        BlockingQueue<Lote> pendientes = new ArrayBlockingQueue<>(ventana);
+        BlockingQueue<Lote> evaluados = new ArrayBlockingQueue<>(ventana + hilos);
+        // El primer fallo de cualquier etapa detiene al escritor y se relanza al terminar.
+        AtomicReference<Throwable> fallo = new AtomicReference<>();
+
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos + 1, tarea -> {
+            Thread hilo = new Thread(tarea, "dk-fracciones-lotes-" + contador.getAndIncrement());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        try {
+            ejecutor.execute(() -> {
+                try {
+                    leer(lector, enVuelo, pendientes);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException | RuntimeException | Error e) {
+                    fallo.compareAndSet(null, e);
+                }
+                try {
+                    pendientes.put(FIN);
+                } catch (InterruptedException ignored) {
+                    // El escritor canceló la tubería.
+                }
+            });
+            for (int i = 0; i < hilos; i++) {
+                ejecutor.execute(() -> evaluar(pendientes, evaluados, resumen, fallo));
+            }
+            escribir(escritor, enVuelo, evaluados, resumen, fallo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("La evaluación fue interrumpida", e);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        Throwable error = fallo.get();
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error != null) {
+            throw (Error) error;
+        }
+        resumen.nanos = System.nanoTime() - inicio;
+        return resumen;
+    }
+
+    /**
+     * Punto de entrada de la línea de comandos.
+     *
+     * @param argumentos Las opciones y los archivos de entrada.
+     */
+    public static void main(String[] argumentos) {
+        int codigo = ejecutar(argumentos, System.in, System.out, System.err);
+        if (codigo != 0) {
+            System.exit(codigo);
+        }
+    }
+
+    /**
+     * Ejecuta la línea de comandos con los flujos indicados.
+     *
+     * @param argumentos Las opciones y los archivos de entrada.
+     * @param entrada    La entrada estándar.
+     * @param salida     La salida estándar.
+     * @param errores    La salida de errores, donde se escriben los mensajes de uso y el resumen.
+     * @return 0 si la evaluación terminó, 1 si ocurrió un error de E/S o 2 si los argumentos no son válidos.
+     */
+    public static int ejecutar(String[] argumentos, InputStream entrada, OutputStream salida, PrintStream errores) {
+        int hilos = Runtime.getRuntime().availableProcessors();
+        int tamanoLote = TAMANO_LOTE;
+        int decimales = DECIMALES;
+        Formato formato = Formato.FRACCION;
+        Path archivoSalida = null;
+        boolean silencioso = false;
+        List<String> archivos = new ArrayList<>();
+        EvaluadorLotes evaluador;
+        try {
+            for (int i = 0; i < argumentos.length; i++) {
+                String argumento = argumentos[i];
+                switch (argumento) {
+                    case "-o":
+                        archivoSalida = Path.of(valor(argumentos, ++i, argumento));
+                        break;
+                    case "-f":
+                        formato = Formato.valueOf(valor(argumentos, ++i, argumento).toUpperCase(Locale.ROOT));
+                        break;
+                    case "-d":
+                        decimales = Integer.parseInt(valor(argumentos, ++i, argumento));
+                        break;
+                    case "-h":
+                        hilos = Integer.parseInt(valor(argumentos, ++i, argumento));
+                        break;
+                    case "-l":
+                        tamanoLote = Integer.parseInt(valor(argumentos, ++i, argumento));
+                        break;
+                    case "-q":
+                        silencioso = true;
+                        break;
+                    default:
+                        if (argumento.startsWith("-") && !argumento.equals("-")) {
+                            throw new IllegalArgumentException("Opción desconocida: " + argumento);
+                        }
+                        archivos.add(argumento);
+                }
+            }
+            evaluador = new EvaluadorLotes(hilos, tamanoLote, formato, decimales);
+        } catch (IllegalArgumentException e) {
+            errores.println("ERROR: " + e.getMessage());
+            errores.println("Uso: java -jar dk-fracciones.jar [-o salida] [-f fraccion|mixta|decimal|periodico|tsv]"
+                    + " [-d decimales] [-h hilos] [-l tamañoLote] [-q] [archivo ...]");
+            return 2;
+        }
+        if (archivos.isEmpty()) {
+            archivos.add("-");
+        }
+
+        try (Reader lector = new InputStreamReader(new EntradaConcatenada(archivos, entrada), StandardCharsets.UTF_8);
+             Writer escritor = new OutputStreamWriter(archivoSalida == null
+                     ? new SalidaSinCierre(salida) : Files.newOutputStream(archivoSalida), StandardCharsets.UTF_8)) {
+            Resumen resumen = evaluador.procesar(lector, escritor);
+            if (!silencioso) {
+                errores.print(resumen);
+            }
+            return 0;
+        } catch (IOException e) {
+            errores.println("ERROR: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void leer(BufferedReader lector, Semaphore enVuelo, BlockingQueue<Lote> pendientes)
+            throws IOException, InterruptedException {
+        long secuencia = 0;
+        String[] lineas = new String[tamanoLote];
+        int cantidad = 0;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            if (linea.isBlank() || linea.charAt(0) == '#') {
+                continue;
+            }
+            lineas[cantidad++] = linea;
+            // Un lote incompleto se envía si no hay más datos disponibles, para no retener una entrada interactiva.
+            if (cantidad == tamanoLote || !lector.ready()) {
+                enVuelo.acquire();
+                pendientes.put(new Lote(secuencia++, lineas, cantidad));
+                lineas = new String[tamanoLote];
+                cantidad = 0;
+            }
+        }
+        if (cantidad > 0) {
+            enVuelo.acquire();
+            pendientes.put(new Lote(secuencia, lineas, cantidad));
+        }
+    }
+
+    private void evaluar(BlockingQueue<Lote> pendientes, BlockingQueue<Lote> evaluados, Resumen resumen,
+                         AtomicReference<Throwable> fallo) {
+        try {
+            while (true) {
+                Lote lote = pendientes.take();
+                if (lote == FIN) {
+                    // Se devuelve la marca para los demás evaluadores.
+                    pendientes.put(FIN);
+                    return;
+                }
+                long inicio = System.nanoTime();
+                int errores = 0;
+                for (int i = 0; i < lote.cantidad; i++) {
+                    String linea = lote.lineas[i];
+                    try {
+                        lote.lineas[i] = formatear(linea, Evaluador.evaluar(linea));
+                    } catch (RuntimeException e) {
+                        lote.lineas[i] = "ERROR: " + e.getMessage();
+                        errores++;
+                    } catch (StackOverflowError e) {
+                        // Una expresión anidada en exceso solo invalida su propia línea.
+                        lote.lineas[i] = "ERROR: La expresión está anidada en exceso";
+                        errores++;
+                    }
+                }
+                resumen.nanosEvaluacion.add(System.nanoTime() - inicio);
+                resumen.errores.add(errores);
+                evaluados.put(lote);
+            }
+        } catch (InterruptedException e) {
+            // El escritor canceló la tubería.
+        } catch (RuntimeException | Error e) {
+            fallo.compareAndSet(null, e);
+        } finally {
+            // La cola de evaluados tiene lugar para todos los lotes en vuelo y la marca de cada evaluador, por lo que
+            // la marca siempre se entrega sin esperar.
+            evaluados.offer(FIN);
+        }
+    }
+
+    private void escribir(BufferedWriter escritor, Semaphore enVuelo, BlockingQueue<Lote> evaluados, Resumen resumen,
+                          AtomicReference<Throwable> fallo) throws IOException, InterruptedException {
+        Map<Long, Lote> enEspera = new HashMap<>();
+        long siguiente = 0;
+        int terminados = 0;
+        while (terminados < hilos) {
+            Lote lote = evaluados.poll(ESPERA_FALLO_MS, TimeUnit.MILLISECONDS);
+            if (fallo.get() != null) {
+                // Los lotes de una etapa que falló nunca llegarán; procesar relanza el fallo.
+                return;
+            }
+            if (lote == null) {
+                continue;
+            }
+            if (lote == FIN) {
+                terminados++;
+                continue;
+            }
+            enEspera.put(lote.secuencia, lote);
+            while ((lote = enEspera.remove(siguiente)) != null) {
+                for (int i = 0; i < lote.cantidad; i++) {
+                    escritor.write(lote.lineas[i]);
+                    escritor.write('\n');
+                }
+                long latencia = System.nanoTime() - lote.leido;
+                resumen.lineas.add(lote.cantidad);
+                resumen.lotes.increment();
+                resumen.latenciaTotal.add(latencia);
+                resumen.latenciaMaxima.accumulate(latencia);
+                enVuelo.release();
+                siguiente++;
+            }
+            if (evaluados.isEmpty()) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+    }
+
+    private String formatear(String expresion, Fraccion resultado) {
+        switch (formato) {
+            case MIXTA:
+                return Fraccion.convertToFraccionMixta(resultado).toString();
+            case DECIMAL:
+                return new ExpansionDecimal(resultado).toString(decimales);
+            case PERIODICO:
+                return new ExpansionDecimal(resultado).toString();
+            case TSV:
+                return expresion + '\t' + resultado;
+            default:
+                return resultado.toString();
+        }
+    }
+
+    private static String valor(String[] argumentos, int indice, String opcion) {
+        if (indice >= argumentos.length) {
+            throw new IllegalArgumentException("La opción " + opcion + " requiere un valor");
+        }
+        return argumentos[indice];
+    }
+
+    /**
+     * Un grupo de líneas consecutivas de la entrada. El evaluador reemplaza cada línea por su resultado.
+     */
+    private static final class Lote {
+        final long secuencia;
+        final String[] lineas;
+        final int cantidad;
+        final long leido = System.nanoTime();
+
+        Lote(long secuencia, String[] lineas, int cantidad) {
+            this.secuencia = secuencia;
+            this.lineas = lineas;
+            this.cantidad = cantidad;
+        }
+    }
+
+    /**
+     * El resumen de rendimiento de una ejecución.
+     */
+    public static final class Resumen {
+
+        private final LongAdder lineas = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder lotes = new LongAdder();
+        private final LongAdder nanosEvaluacion = new LongAdder();
+        private final LongAdder latenciaTotal = new LongAdder();
+        private final LongAccumulator latenciaMaxima = new LongAccumulator(Math::max, 0);
+        private long nanos;
+
+        private Resumen() {
+        }
+
+        /**
+         * Obtiene el número de expresiones evaluadas, incluidas las que produjeron un error.
+         *
+         * @return El número de expresiones evaluadas.
+         */
+        public long getLineas() {
+            return lineas.sum();
+        }
+
+        /**
+         * Obtiene el número de expresiones que produjeron un error.
+         *
+         * @return El número de errores.
+         */
+        public long getErrores() {
+            return errores.sum();
+        }
+
+        /**
+         * Obtiene el tiempo total de la ejecución.
+         *
+         * @return El tiempo total en nanosegundos.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Obtiene el número de expresiones evaluadas por segundo.
+         *
+         * @return El rendimiento en líneas por segundo.
+         */
+        public double getLineasPorSegundo() {
+            return nanos == 0 ? 0 : getLineas() * 1e9 / nanos;
+        }
+
+        /**
+         * Obtiene el tiempo promedio de evaluación de una expresión, sin contar la lectura ni la escritura.
+         *
+         * @return El tiempo promedio en nanosegundos.
+         */
+        public long getEvaluacionPromedioNanos() {
+            long total = getLineas();
+            return total == 0 ? 0 : nanosEvaluacion.sum() / total;
+        }
+
+        /**
+         * Obtiene la latencia promedio de un lote desde que se lee hasta que se escribe.
+         *
+         * @return La latencia promedio en nanosegundos.
+         */
+        public long getLatenciaPromedioNanos() {
+            long total = lotes.sum();
+            return total == 0 ? 0 : latenciaTotal.sum() / total;
+        }
+
+        /**
+         * Obtiene la mayor latencia observada de un lote desde que se lee hasta que se escribe.
+         *
+         * @return La latencia máxima en nanosegundos.
+         */
+        public long getLatenciaMaximaNanos() {
+            return latenciaMaxima.get();
+        }
+
+        /**
+         * Devuelve el resumen en texto, una métrica por línea.
+         *
+         * @return El resumen de la ejecución.
+         */
+        @Override
+        public String toString() {
+            return "lineas " + getLineas() + '\n'
+                    + "errores " + getErrores() + '\n'
+                    + "lotes " + lotes.sum() + '\n'
+                    + "tiempo_ms " + nanos / 1_000_000 + '\n'
+                    + "lineas_por_s " + Math.round(getLineasPorSegundo()) + '\n'
+                    + "evaluacion_promedio_ns " + getEvaluacionPromedioNanos() + '\n'
+                    + "latencia_lote_promedio_ns " + getLatenciaPromedioNanos() + '\n'
+                    + "latencia_lote_maxima_ns " + getLatenciaMaximaNanos() + '\n';
+        }
+    }
+
+    /**
+     * Flujo que lee en orden los archivos indicados, donde {@code -} representa la entrada estándar. Cada archivo se
+     * abre al llegar a él y se cierra al terminar, y entre archivos se inserta un salto de línea.
+     */
+    private static final class EntradaConcatenada extends InputStream {
+
+        private final List<String> archivos;
+        private final InputStream estandar;
+        private InputStream actual;
+        private int siguiente;
+        private boolean separar;
+
+        EntradaConcatenada(List<String> archivos, InputStream estandar) {
+            this.archivos = archivos;
+            this.estandar = estandar;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int desplazamiento, int longitud) throws IOException {
+            if (longitud == 0) {
+                return 0;
+            }
+            while (true) {
+                if (separar) {
+                    separar = false;
+                    b[desplazamiento] = '\n';
+                    return 1;
+                }
+                if (actual == null) {
+                    if (siguiente == archivos.size()) {
+                        return -1;
+                    }
+                    String archivo = archivos.get(siguiente++);
+                    actual = archivo.equals("-") ? estandar : Files.newInputStream(Path.of(archivo));
+                }
+                int n = actual.read(b, desplazamiento, longitud);
+                if (n >= 0) {
+                    return n;
+                }
+                cerrarActual();
+                separar = siguiente < archivos.size();
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            return actual == null ? 0 : actual.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            cerrarActual();
+        }
+
+        private void cerrarActual() throws IOException {
+            if (actual != null && actual != estandar) {
+                actual.close();
+            }
+            actual = null;
+        }
+    }
+
+    /**
+     * Flujo de salida que vacía pero no cierra el flujo subyacente, para no cerrar la salida estándar.
+     */
+    private static final class SalidaSinCierre extends OutputStream {
+
+        private final OutputStream salida;
+
+        SalidaSinCierre(OutputStream salida) {
+            this.salida = salida;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            salida.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int desplazamiento, int longitud) throws IOException {
+            salida.write(b, desplazamiento, longitud);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            salida.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            salida.flush();
+        }
+    }
+}
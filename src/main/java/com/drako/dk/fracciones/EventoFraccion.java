@@ -0,0 +1,49 @@
+package com.drako.dk.fracciones;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Clase base de los eventos de Java Flight Recorder emitidos por las operaciones con fracciones.
+ */
+abstract class EventoFraccion extends Event {
+
+    /**
+     * El nombre de la operación realizada.
+     */
+    @Label("Operación")
+    String operacion;
+
+    /**
+     * La longitud en bits del primer operando.
+     */
+    @Label("Bits del primer operando")
+    int bitsOperando1;
+
+    /**
+     * La longitud en bits del segundo operando, o 0 si la operación es unaria.
+     */
+    @Label("Bits del segundo operando")
+    int bitsOperando2;
+
+    /**
+     * La longitud en bits del resultado.
+     */
+    @Label("Bits del resultado")
+    int bitsResultado;
+
+    /**
+     * Asigna los datos de la operación al evento.
+     *
+     * @param operacion     La operación realizada.
+     * @param bitsOperando1 La longitud en bits del primer operando.
+     * @param bitsOperando2 La longitud en bits del segundo operando.
+     * @param bitsResultado La longitud en bits del resultado.
+     */
+    void asignar(Metricas.Operacion operacion, int bitsOperando1, int bitsOperando2, int bitsResultado) {
+        this.operacion = operacion.name();
+        this.bitsOperando1 = bitsOperando1;
+        this.bitsOperando2 = bitsOperando2;
+        this.bitsResultado = bitsResultado;
+    }
+}
@@ -0,0 +1,19 @@
+package com.drako.dk.fracciones;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento de Java Flight Recorder que se emite cuando una operación con fracciones excede el umbral de duración.
+ * El umbral por defecto es de 1 ms y puede modificarse en la configuración de la grabación.
+ */
+@Name("com.drako.dk.fracciones.OperacionLenta")
+@Label("Operación lenta con fracciones")
+@Category("DKFracciones")
+@Description("Operación con fracciones cuya duración excede el umbral configurado")
+@Threshold("1 ms")
+public final class EventoOperacionLenta extends EventoFraccion {
+}
@@ -0,0 +1,17 @@
+package com.drako.dk.fracciones;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de Java Flight Recorder que se emite cuando una operación con fracciones involucra operandos o resultados
+ * cuya longitud en bits alcanza el umbral definido por la propiedad del sistema {@code dk.fracciones.jfr.bits}.
+ */
+@Name("com.drako.dk.fracciones.OperandosGrandes")
+@Label("Operación con operandos grandes")
+@Category("DKFracciones")
+@Description("Operación con fracciones cuyos operandos o resultado alcanzan el umbral de longitud en bits")
+public final class EventoOperandosGrandes extends EventoFraccion {
+}
@@ -0,0 +1,132 @@
+package com.drako.dk.fracciones;
+
+/**
+ * Esta clase agrupa la emisión de los eventos de Java Flight Recorder de la librería.
+ * Cuando no hay una grabación activa, los eventos no están habilitados y su costo es prácticamente nulo.
+ */
+final class EventosJfr {
+
+    /**
+     * La longitud en bits a partir de la cual se emite un {@link EventoOperandosGrandes}.
+     */
+    static final int UMBRAL_BITS = Integer.getInteger("dk.fracciones.jfr.bits", 28);
+
+    /**
+     * Instancias que solo se usan para consultar si cada tipo de evento está habilitado; nunca se emiten.
+     */
+    private static final EventoOperacionLenta SONDA_LENTA = new EventoOperacionLenta();
+    private static final EventoOperandosGrandes SONDA_GRANDES = new EventoOperandosGrandes();
+
+    private EventosJfr() {
+    }
+
+    /**
+     * Inicia la medición de la duración de una operación. Si el evento de operación lenta no está habilitado no se crea
+     * ningún objeto.
+     *
+     * @return El evento de operación lenta ya iniciado, o {@code null} si no está habilitado.
+     */
+    static EventoOperacionLenta iniciar() {
+        if (!SONDA_LENTA.isEnabled()) {
+            return null;
+        }
+        EventoOperacionLenta evento = new EventoOperacionLenta();
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Finaliza la medición de una operación binaria y emite los eventos que correspondan. La longitud en bits de las
+     * fracciones solo se calcula si algún evento se va a emitir.
+     *
+     * @param evento    El evento devuelto por {@link #iniciar()}.
+     * @param operacion La operación realizada.
+     * @param f1        La primera fracción.
+     * @param f2        La segunda fracción.
+     * @param resultado La fracción resultante.
+     */
+    static void finalizar(EventoOperacionLenta evento, Metricas.Operacion operacion, Fraccion f1, Fraccion f2, Fraccion resultado) {
+        EventoOperacionLenta lenta = terminar(evento);
+        if (lenta != null || SONDA_GRANDES.isEnabled()) {
+            emitir(lenta, operacion, bits(f1), bits(f2), bits(resultado));
+        }
+    }
+
+    /**
+     * Finaliza la medición de una operación unaria y emite los eventos que correspondan.
+     *
+     * @param evento    El evento devuelto por {@link #iniciar()}.
+     * @param operacion La operación realizada.
+     * @param f1        La fracción operada.
+     * @param resultado La fracción resultante.
+     */
+    static void finalizar(EventoOperacionLenta evento, Metricas.Operacion operacion, Fraccion f1, Fraccion resultado) {
+        EventoOperacionLenta lenta = terminar(evento);
+        if (lenta != null || SONDA_GRANDES.isEnabled()) {
+            emitir(lenta, operacion, bits(f1), 0, bits(resultado));
+        }
+    }
+
+    /**
+     * Finaliza la medición de una operación cuyos operandos son enteros, como el análisis de una cadena.
+     *
+     * @param evento    El evento devuelto por {@link #iniciar()}.
+     * @param operacion La operación realizada.
+     * @param operando1 El primer operando.
+     * @param operando2 El segundo operando.
+     * @param resultado La fracción resultante.
+     */
+    static void finalizar(EventoOperacionLenta evento, Metricas.Operacion operacion, long operando1, long operando2, Fraccion resultado) {
+        EventoOperacionLenta lenta = terminar(evento);
+        if (lenta != null || SONDA_GRANDES.isEnabled()) {
+            emitir(lenta, operacion, Metricas.longitudBits(operando1), Metricas.longitudBits(operando2), bits(resultado));
+        }
+    }
+
+    /**
+     * Termina la medición y devuelve el evento solo si su duración excede el umbral de la grabación.
+     */
+    private static EventoOperacionLenta terminar(EventoOperacionLenta evento) {
+        if (evento == null) {
+            return null;
+        }
+        evento.end();
+        return evento.shouldCommit() ? evento : null;
+    }
+
+    private static void emitir(EventoOperacionLenta lenta, Metricas.Operacion operacion, int bitsOperando1, int bitsOperando2, int bitsResultado) {
+        if (lenta != null) {
+            lenta.asignar(operacion, bitsOperando1, bitsOperando2, bitsResultado);
+            lenta.commit();
+        }
+        if (Math.max(Math.max(bitsOperando1, bitsOperando2), bitsResultado) >= UMBRAL_BITS && SONDA_GRANDES.isEnabled()) {
+            EventoOperandosGrandes grande = new EventoOperandosGrandes();
+            grande.asignar(operacion, bitsOperando1, bitsOperando2, bitsResultado);
+            grande.commit();
+        }
+    }
+
+    /**
+     * Calcula la longitud en bits del mayor término de una fracción.
+     *
+     * @param fraccion La fracción.
+     * @return La longitud en bits del mayor de sus términos.
+     */
+    static int bits(Fraccion fraccion) {
+        return Metricas.longitudBits(magnitud(fraccion));
+    }
+
+    /**
+     * Obtiene el mayor término de una fracción, incluida la parte entera si es una fracción mixta.
+     *
+     * @param fraccion La fracción.
+     * @return El mayor valor absoluto entre sus términos.
+     */
+    static long magnitud(Fraccion fraccion) {
+        long magnitud = Math.max(Math.abs((long) fraccion.numerador), Math.abs((long) fraccion.denominador));
+        if (fraccion instanceof FraccionMixta) {
+            magnitud = Math.max(magnitud, Math.abs((long) ((FraccionMixta) fraccion).getEntero()));
+        }
+        return magnitud;
+    }
+}
@@ -0,0 +1,355 @@
+package com.drako.dk.fracciones;
+
+import java.math.RoundingMode;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Clase para representar la expansión decimal exacta de una fracción.
+ * <p>
+ * Los dígitos se generan uno a uno mediante división larga con enteros primitivos, sin crear instancias de
+ * {@link java.math.BigDecimal}. La longitud del anteperiodo se obtiene de los factores 2 y 5 del denominador y la del
+ * periodo como el orden multiplicativo de 10 módulo el resto del denominador, de modo que dar formato a N dígitos o a la
+ * notación periódica "0.1(6)" toma tiempo proporcional al número de dígitos escritos.
+ */
+public class ExpansionDecimal {
+
+    /**
+     * Indica si el valor es negativo.
+     */
+    private final boolean negativo;
+
+    /**
+     * La parte entera del valor absoluto.
+     */
+    private final long entero;
+
+    /**
+     * El numerador de la parte fraccionaria, menor que el denominador.
+     */
+    private final long numerador;
+
+    /**
+     * El denominador de la parte fraccionaria, reducido.
+     */
+    private final long denominador;
+
+    /**
+     * El número de dígitos decimales que preceden al periodo.
+     */
+    private final int preperiodo;
+
+    /**
+     * El número de dígitos del periodo, o 0 si la expansión es finita.
+     */
+    private final int periodo;
+
+    /**
+     * Construye la expansión decimal de una fracción.
+     *
+     * @param fraccion La fracción a expandir.
+     */
+    public ExpansionDecimal(Fraccion fraccion) {
+        this(fraccion.signo, fraccion.numerador, fraccion.denominador);
+    }
+
+    /**
+     * Construye la expansión decimal de una fracción mixta.
+     *
+     * @param fraccion La fracción mixta a expandir.
+     */
+    public ExpansionDecimal(FraccionMixta fraccion) {
+        this(fraccion.signo, (long) fraccion.getEntero() * fraccion.denominador + fraccion.numerador, fraccion.denominador);
+    }
+
+    private ExpansionDecimal(Fraccion.Signo signo, long numerador, long denominador) {
+        if (denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        numerador = Math.abs(numerador);
+        denominador = Math.abs(denominador);
+        long mcd = Operador.mcd(numerador, denominador);
+        numerador /= mcd;
+        denominador /= mcd;
+
+        this.negativo = signo == Fraccion.Signo.NEGATIVE && numerador != 0;
+        this.entero = numerador / denominador;
+        this.numerador = numerador % denominador;
+        this.denominador = denominador;
+
+        long resto = denominador;
+        int dos = Long.numberOfTrailingZeros(resto);
+        resto >>= dos;
+        int cinco = 0;
+        while (resto % 5 == 0) {
+            resto /= 5;
+            cinco++;
+        }
+        this.preperiodo = Math.max(dos, cinco);
+        this.periodo = this.numerador == 0 ? 0 : (int) ordenMultiplicativo(10, resto);
+    }
+
+    /**
+     * Obtiene el número de dígitos decimales que preceden a la parte periódica.
+     *
+     * @return La longitud del anteperiodo.
+     */
+    public int getPreperiodo() {
+        return preperiodo;
+    }
+
+    /**
+     * Obtiene el número de dígitos de la parte periódica.
+     *
+     * @return La longitud del periodo, o 0 si la expansión decimal es finita.
+     */
+    public int getPeriodo() {
+        return periodo;
+    }
+
+    /**
+     * Indica si la expansión decimal es finita.
+     *
+     * @return {@code true} si la expansión es finita, {@code false} si es periódica.
+     */
+    public boolean isFinita() {
+        return periodo == 0;
+    }
+
+    /**
+     * Devuelve un iterador perezoso sobre los dígitos decimales que siguen al punto.
+     * Si la expansión es finita, el iterador termina después del último dígito distinto de cero; si es periódica,
+     * el iterador no termina.
+     *
+     * @return Un iterador de los dígitos decimales.
+     */
+    public PrimitiveIterator.OfInt digitos() {
+        return new PrimitiveIterator.OfInt() {
+            private long resto = numerador;
+
+            @Override
+            public boolean hasNext() {
+                return resto != 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (resto == 0) {
+                    throw new NoSuchElementException();
+                }
+                long producto = resto * 10;
+                resto = producto % denominador;
+                return (int) (producto / denominador);
+            }
+        };
+    }
+
+    /**
+     * Da formato al valor con un número fijo de decimales, redondeando hacia el valor más cercano y, en caso de
+     * empate, alejándose de cero.
+     *
+     * @param decimales El número de dígitos después del punto.
+     * @return El valor con el número de decimales indicado. Ejemplo: "0.167".
+     */
+    public String toString(int decimales) {
+        return toString(decimales, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Da formato al valor con un número fijo de decimales usando el modo de redondeo indicado.
+     *
+     * @param decimales El número de dígitos después del punto.
+     * @param redondeo  El modo de redondeo.
+     * @return El valor con el número de decimales indicado.
+     * @throws ArithmeticException      Si el modo es {@link RoundingMode#UNNECESSARY} y el valor no es exacto.
+     * @throws IllegalArgumentException Si el número de decimales es negativo.
+     */
+    public String toString(int decimales, RoundingMode redondeo) {
+        if (decimales < 0) {
+            throw new IllegalArgumentException("El número de decimales no puede ser negativo");
+        }
+        char[] digitos = new char[decimales];
+        long resto = numerador;
+        for (int i = 0; i < decimales; i++) {
+            long producto = resto * 10;
+            digitos[i] = (char) ('0' + producto / denominador);
+            resto = producto % denominador;
+        }
+
+        long parteEntera = entero;
+        if (incrementar(redondeo, resto, decimales == 0 ? entero : digitos[decimales - 1] - '0')) {
+            int i = decimales - 1;
+            while (i >= 0 && digitos[i] == '9') {
+                digitos[i--] = '0';
+            }
+            if (i >= 0) {
+                digitos[i]++;
+            } else {
+                parteEntera++;
+            }
+        }
+
+        boolean cero = parteEntera == 0;
+        for (int i = 0; i < decimales && cero; i++) {
+            cero = digitos[i] == '0';
+        }
+        StringBuilder sb = new StringBuilder(decimales + 21);
+        if (negativo && !cero) {
+            sb.append('-');
+        }
+        sb.append(parteEntera);
+        if (decimales > 0) {
+            sb.append('.').append(digitos);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Devuelve la expansión decimal exacta en notación periódica, donde la parte que se repite va entre paréntesis.
+     *
+     * @return La expansión decimal exacta. Ejemplos: "0.25", "0.1(6)", "-2.(142857)" o "3".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(preperiodo + periodo + 24);
+        if (negativo) {
+            sb.append('-');
+        }
+        sb.append(entero);
+        if (numerador == 0) {
+            return sb.toString();
+        }
+        sb.append('.');
+        PrimitiveIterator.OfInt iterador = digitos();
+        for (int i = 0; i < preperiodo && iterador.hasNext(); i++) {
+            sb.append((char) ('0' + iterador.nextInt()));
+        }
+        if (periodo > 0) {
+            sb.append('(');
+            for (int i = 0; i < periodo; i++) {
+                sb.append((char) ('0' + iterador.nextInt()));
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Determina si el último dígito debe incrementarse según el modo de redondeo y el resto descartado.
+     *
+     * @param redondeo    El modo de redondeo.
+     * @param resto       El resto de la división larga después del último dígito, sobre el denominador.
+     * @param ultimo      El último dígito conservado.
+     * @return {@code true} si el valor absoluto debe incrementarse en una unidad del último dígito.
+     */
+    private boolean incrementar(RoundingMode redondeo, long resto, long ultimo) {
+        if (resto == 0) {
+            return false;
+        }
+        int comparacion = Long.compare(resto, denominador - resto);
+        switch (redondeo) {
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return !negativo;
+            case FLOOR:
+                return negativo;
+            case HALF_UP:
+                return comparacion >= 0;
+            case HALF_DOWN:
+                return comparacion > 0;
+            case HALF_EVEN:
+                return comparacion > 0 || (comparacion == 0 && ultimo % 2 != 0);
+            default:
+                throw new ArithmeticException("Se requiere redondeo para representar el valor con los decimales indicados");
+        }
+    }
+
+    /**
+     * Calcula el orden multiplicativo de una base módulo m, es decir, el menor k > 0 tal que base^k ≡ 1 (mod m).
+     * Se parte de la función de Carmichael de m, obtenida por factorización, y se eliminan sus factores primos mientras
+     * la potencia siga siendo 1.
+     *
+     * @param base La base, coprima con m.
+     * @param m    El módulo, positivo.
+     * @return El orden multiplicativo, o 0 si m es 1.
+     */
+    static long ordenMultiplicativo(long base, long m) {
+        if (m == 1) {
+            return 0;
+        }
+        long lambda = carmichael(m);
+        long orden = lambda;
+        long restante = lambda;
+        for (long p = 2; p * p <= restante; p++) {
+            if (restante % p == 0) {
+                while (restante % p == 0) {
+                    restante /= p;
+                }
+                while (orden % p == 0 && potenciaModular(base, orden / p, m) == 1) {
+                    orden /= p;
+                }
+            }
+        }
+        if (restante > 1) {
+            while (orden % restante == 0 && potenciaModular(base, orden / restante, m) == 1) {
+                orden /= restante;
+            }
+        }
+        return orden;
+    }
+
+    /**
+     * Calcula la función de Carmichael de un número, el exponente del grupo multiplicativo módulo ese número.
+     *
+     * @param m El número, positivo.
+     * @return El valor de la función de Carmichael.
+     */
+    private static long carmichael(long m) {
+        long lambda = 1;
+        for (long p = 2; p * p <= m; p++) {
+            if (m % p == 0) {
+                long potencia = 1;
+                int exponente = 0;
+                while (m % p == 0) {
+                    m /= p;
+                    potencia *= p;
+                    exponente++;
+                }
+                long valor = potencia / p * (p - 1);
+                if (p == 2 && exponente >= 3) {
+                    valor /= 2;
+                }
+                lambda = lambda / Operador.mcd(lambda, valor) * valor;
+            }
+        }
+        if (m > 1) {
+            lambda = lambda / Operador.mcd(lambda, m - 1) * (m - 1);
+        }
+        return lambda;
+    }
+
+    /**
+     * Calcula base^exponente módulo m por exponenciación binaria. El módulo debe ser menor que 2^31 para que los
+     * productos intermedios quepan en un {@code long}.
+     *
+     * @param base      La base.
+     * @param exponente El exponente, no negativo.
+     * @param m         El módulo.
+     * @return El resultado de la potencia modular.
+     */
+    private static long potenciaModular(long base, long exponente, long m) {
+        long resultado = 1 % m;
+        base %= m;
+        while (exponente > 0) {
+            if ((exponente & 1) == 1) {
+                resultado = resultado * base % m;
+            }
+            base = base * base % m;
+            exponente >>= 1;
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,270 @@
+package com.drako.dk.fracciones;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Describe el formato de los archivos de {@link AlmacenFracciones} y {@link EscritorFracciones}.
+ * <p>
+ * Todos los valores se escriben en orden little-endian y todas las estructuras empiezan en posiciones múltiplo de 4:
+ * <pre>
+ * cabecera  : magia (long) | versión (int) | reservado (int)                                   16 bytes
+ * bloque    : numeradores (int × n) | denominadores (int × n)                                   8n bytes
+ * entrada   : posición (long) | n (int) | crc (int) | mínimo (int, int) | máximo (int, int)      32 bytes
+ * segmento  : entradas de los bloques nuevos | pie
+ * pie       : posición del segmento (long) | posición del pie anterior (long) | número de entradas (int)
+ *             | crc del segmento (int) | magia (long)                                           32 bytes
+ * </pre>
+ * Los bloques y los segmentos del índice solo se agregan al final del archivo y nunca se sobrescriben. Cada
+ * confirmación escribe un segmento con las entradas de los bloques escritos desde la confirmación anterior, cuyo pie
+ * apunta al pie anterior, o vale -1 en el primero; el índice completo es la concatenación de la cadena de segmentos, de
+ * modo que confirmar con frecuencia no hace crecer el archivo más que el número de bloques. El CRC de cada pie cubre
+ * sus entradas y los primeros 20 bytes del pie. Si el proceso termina a la mitad de una escritura, al abrir el archivo
+ * se busca hacia atrás el último pie cuyo segmento tenga un CRC correcto y los datos posteriores se ignoran; en cambio,
+ * un segmento dañado dentro de la cadena de ese pie indica un archivo corrupto.
+ */
+final class FormatoAlmacen {
+
+    static final long MAGIA_CABECERA = 0x3130434152464B44L;
+    static final long MAGIA_PIE = 0x3130454950464B44L;
+    static final int VERSION = 2;
+    static final int TAMANO_CABECERA = 16;
+    static final int TAMANO_ENTRADA = 32;
+    static final int TAMANO_PIE = 32;
+    static final ByteOrder ORDEN = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int VENTANA_BUSQUEDA = 1 << 20;
+
+    private FormatoAlmacen() {
+    }
+
+    /**
+     * La entrada del índice que describe un bloque.
+     */
+    static final class Bloque {
+        final long posicion;
+        final int cantidad;
+        final int crc;
+        final int numeradorMinimo;
+        final int denominadorMinimo;
+        final int numeradorMaximo;
+        final int denominadorMaximo;
+
+        Bloque(long posicion, int cantidad, int crc, int numeradorMinimo, int denominadorMinimo,
+               int numeradorMaximo, int denominadorMaximo) {
+            this.posicion = posicion;
+            this.cantidad = cantidad;
+            this.crc = crc;
+            this.numeradorMinimo = numeradorMinimo;
+            this.denominadorMinimo = denominadorMinimo;
+            this.numeradorMaximo = numeradorMaximo;
+            this.denominadorMaximo = denominadorMaximo;
+        }
+    }
+
+    /**
+     * El índice confirmado de un archivo.
+     */
+    static final class Indice {
+        final List<Bloque> bloques;
+        final long posicionPie;
+
+        Indice(List<Bloque> bloques, long posicionPie) {
+            this.bloques = bloques;
+            this.posicionPie = posicionPie;
+        }
+    }
+
+    /**
+     * Un segmento del índice leído y validado.
+     */
+    private static final class Segmento {
+        final List<Bloque> bloques;
+        final long posicion;
+        final long pieAnterior;
+
+        Segmento(List<Bloque> bloques, long posicion, long pieAnterior) {
+            this.bloques = bloques;
+            this.posicion = posicion;
+            this.pieAnterior = pieAnterior;
+        }
+    }
+
+    /**
+     * Compara dos fracciones con denominador positivo de forma exacta mediante productos cruzados.
+     *
+     * @return Un valor negativo, cero o positivo si la primera fracción es menor, igual o mayor que la segunda.
+     */
+    static int comparar(int n1, int d1, int n2, int d2) {
+        return Long.compare((long) n1 * d2, (long) n2 * d1);
+    }
+
+    /**
+     * Escribe la cabecera al inicio de un archivo vacío.
+     */
+    static void escribirCabecera(FileChannel canal) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA).order(ORDEN);
+        cabecera.putLong(MAGIA_CABECERA).putInt(VERSION).putInt(0).flip();
+        escribir(canal, cabecera, 0);
+    }
+
+    /**
+     * Lee el índice descrito por el último pie válido del archivo, validando el CRC de todos los segmentos de su cadena.
+     *
+     * @param canal El canal del archivo.
+     * @return Los bloques confirmados y la posición de su pie; la lista está vacía y la posición vale -1 si el archivo
+     * aún no tiene ningún pie válido.
+     * @throws IOException Si ocurre un error de lectura, el archivo no tiene el formato esperado o algún segmento
+     *                     anterior del índice está dañado.
+     */
+    static Indice leerIndice(FileChannel canal) throws IOException {
+        long tamano = canal.size();
+        ByteBuffer cabecera = leer(canal, 0, TAMANO_CABECERA);
+        if (cabecera == null || cabecera.getLong(0) != MAGIA_CABECERA) {
+            throw new IOException("El archivo no es un almacén de fracciones");
+        }
+        if (cabecera.getInt(8) != VERSION) {
+            throw new IOException("Versión de almacén no soportada: " + cabecera.getInt(8));
+        }
+
+        long posicionPie = tamano - TAMANO_PIE;
+        Segmento ultimo = leerSegmento(canal, posicionPie);
+        // Si el final del archivo no es un pie válido, se busca hacia atrás el último que lo sea.
+        long fin = tamano;
+        while (ultimo == null && fin > TAMANO_CABECERA) {
+            long inicio = Math.max(TAMANO_CABECERA, fin - VENTANA_BUSQUEDA);
+            ByteBuffer ventana = leer(canal, inicio, (int) (fin - inicio));
+            for (long p = (fin - Long.BYTES) & ~3L; ultimo == null && p >= inicio; p -= 4) {
+                if (ventana.getLong((int) (p - inicio)) == MAGIA_PIE) {
+                    posicionPie = p + Long.BYTES - TAMANO_PIE;
+                    ultimo = leerSegmento(canal, posicionPie);
+                }
+            }
+            if (inicio == TAMANO_CABECERA) {
+                break;
+            }
+            fin = inicio + Long.BYTES;
+        }
+        if (ultimo == null) {
+            return new Indice(new ArrayList<>(), -1);
+        }
+
+        List<Segmento> cadena = new ArrayList<>();
+        cadena.add(ultimo);
+        int total = ultimo.bloques.size();
+        for (Segmento segmento = ultimo; segmento.pieAnterior >= 0; ) {
+            Segmento anterior = leerSegmento(canal, segmento.pieAnterior);
+            if (anterior == null || segmento.pieAnterior + TAMANO_PIE > segmento.posicion) {
+                throw new IOException("Segmento del índice dañado en la posición " + segmento.pieAnterior);
+            }
+            cadena.add(anterior);
+            total += anterior.bloques.size();
+            segmento = anterior;
+        }
+        List<Bloque> bloques = new ArrayList<>(total);
+        for (int i = cadena.size() - 1; i >= 0; i--) {
+            bloques.addAll(cadena.get(i).bloques);
+        }
+        return new Indice(bloques, posicionPie);
+    }
+
+    /**
+     * Construye el segmento del índice que describe los bloques nuevos y su pie.
+     *
+     * @param bloques          Los bloques escritos desde la confirmación anterior.
+     * @param posicionSegmento La posición del archivo donde se escribirá el segmento.
+     * @param pieAnterior      La posición del pie de la confirmación anterior, o -1 si no hay.
+     * @return El buffer listo para escribirse.
+     */
+    static ByteBuffer construirSegmento(List<Bloque> bloques, long posicionSegmento, long pieAnterior) {
+        ByteBuffer buffer = ByteBuffer.allocate(bloques.size() * TAMANO_ENTRADA + TAMANO_PIE).order(ORDEN);
+        for (Bloque bloque : bloques) {
+            buffer.putLong(bloque.posicion).putInt(bloque.cantidad).putInt(bloque.crc)
+                    .putInt(bloque.numeradorMinimo).putInt(bloque.denominadorMinimo)
+                    .putInt(bloque.numeradorMaximo).putInt(bloque.denominadorMaximo);
+        }
+        buffer.putLong(posicionSegmento).putLong(pieAnterior).putInt(bloques.size());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue()).putLong(MAGIA_PIE).flip();
+        return buffer;
+    }
+
+    /**
+     * Escribe todo el contenido de un buffer en la posición indicada.
+     */
+    static void escribir(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicion += canal.write(buffer, posicion);
+        }
+    }
+
+    /**
+     * Lee y valida el pie que empieza en la posición indicada y el segmento que describe.
+     *
+     * @return El segmento, o {@code null} si el pie o sus entradas no son válidos.
+     */
+    private static Segmento leerSegmento(FileChannel canal, long posicionPie) throws IOException {
+        if (posicionPie < TAMANO_CABECERA) {
+            return null;
+        }
+        ByteBuffer pie = leer(canal, posicionPie, TAMANO_PIE);
+        if (pie == null || pie.getLong(24) != MAGIA_PIE) {
+            return null;
+        }
+        long posicionSegmento = pie.getLong(0);
+        long pieAnterior = pie.getLong(8);
+        int numeroBloques = pie.getInt(16);
+        if (numeroBloques < 0 || posicionSegmento < TAMANO_CABECERA || pieAnterior < -1
+                || posicionSegmento + (long) numeroBloques * TAMANO_ENTRADA != posicionPie) {
+            return null;
+        }
+        ByteBuffer segmento = leer(canal, posicionSegmento, numeroBloques * TAMANO_ENTRADA + 20);
+        if (segmento == null) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(segmento.duplicate());
+        if ((int) crc.getValue() != pie.getInt(20)) {
+            return null;
+        }
+        List<Bloque> bloques = new ArrayList<>(numeroBloques);
+        for (int i = 0; i < numeroBloques; i++) {
+            int base = i * TAMANO_ENTRADA;
+            Bloque bloque = new Bloque(segmento.getLong(base), segmento.getInt(base + 8), segmento.getInt(base + 12),
+                    segmento.getInt(base + 16), segmento.getInt(base + 20), segmento.getInt(base + 24),
+                    segmento.getInt(base + 28));
+            // Un bloque siempre se escribe, alineado, antes del segmento que lo describe.
+            if (bloque.cantidad < 1 || bloque.cantidad > Integer.MAX_VALUE / 8 || (bloque.posicion & 3) != 0
+                    || bloque.posicion < TAMANO_CABECERA || bloque.posicion + bloque.cantidad * 8L > posicionSegmento
+                    || bloque.denominadorMinimo <= 0 || bloque.denominadorMaximo <= 0) {
+                return null;
+            }
+            bloques.add(bloque);
+        }
+        return new Segmento(bloques, posicionSegmento, pieAnterior);
+    }
+
+    /**
+     * Lee un rango del archivo.
+     *
+     * @return El buffer con los bytes leídos, o {@code null} si el rango excede el final del archivo.
+     */
+    private static ByteBuffer leer(FileChannel canal, long posicion, int longitud) throws IOException {
+        if (posicion < 0 || posicion + longitud > canal.size()) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(longitud).order(ORDEN);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicion + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -69,6 +69,9 @@ public class Fraccion {
     public Fraccion(float numero) {
         Integer[] valores = getValuesFromDecimal(numero);
         initialize(valores[0], valores[1]);
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(Metricas.Operacion.CONVERSION_DECIMAL, Math.max(this.numerador, this.denominador));
+        }
     }
 
     /**
@@ -78,6 +81,7 @@ public class Fraccion {
      * @throws NumberFormatException Si la cadena no puede ser analizada correctamente.
      */
     public Fraccion(String fraccion) throws NumberFormatException {
+        EventoOperacionLenta evento = EventosJfr.iniciar();
         Integer[] valores = getValuesFromString(fraccion);
         int numerador, denominador;
         if (valores.length > 2) {
@@ -94,6 +98,10 @@ public class Fraccion {
             denominador = valores[1];
         }
         initialize(numerador, denominador);
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(Metricas.Operacion.PARSEO, Math.max(this.numerador, this.denominador));
+        }
+        EventosJfr.finalizar(evento, Metricas.Operacion.PARSEO, numerador, denominador, this);
     }
 
     /**
@@ -117,6 +125,10 @@ public class Fraccion {
      * @return Una nueva instancia de Fraccion que representa la fracción reducida.
      */
     public Fraccion reducir() {
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(Metricas.Operacion.REDUCIR, Math.max(this.numerador, this.denominador));
+        }
+        EventoOperacionLenta evento = EventosJfr.iniciar();
         int mcd = Operador.mcd(this.numerador, this.denominador);
         int nuevoNumerador = this.numerador / mcd;
         int nuevoDenominador = this.denominador / mcd;
@@ -126,6 +138,7 @@ public class Fraccion {
         fr.setDenominador(nuevoDenominador);
         fr.setSigno(signo);
 
+        EventosJfr.finalizar(evento, Metricas.Operacion.REDUCIR, this, fr);
         return fr;
     }
 
@@ -0,0 +1,353 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para representar una fracción en forma de fracción continua simple [a0; a1, a2, ..., an].
+ * <p>
+ * Los cocientes parciales se guardan en un arreglo de {@code long} en forma canónica: a1..an son positivos y el último
+ * es mayor que 1 si hay más de uno, de modo que cada número racional tiene una única representación. Las convergentes
+ * y las semiconvergentes se generan de forma perezosa con la recurrencia p(k) = a(k)·p(k-1) + p(k-2), y la comparación
+ * de dos fracciones recorre sus cocientes parciales sin multiplicar numeradores por denominadores. Las instancias son
+ * inmutables.
+ */
+public final class FraccionContinua implements Comparable<FraccionContinua> {
+
+    /**
+     * Los cocientes parciales en forma canónica.
+     */
+    private final long[] cocientes;
+
+    /**
+     * Construye la fracción continua de una fracción.
+     *
+     * @param fraccion La fracción.
+     */
+    public FraccionContinua(Fraccion fraccion) {
+        this(OrdenamientoFracciones.numerador(fraccion), fraccion.denominador);
+    }
+
+    /**
+     * Construye la fracción continua de numerador/denominador.
+     *
+     * @param numerador   El numerador.
+     * @param denominador El denominador.
+     * @throws ArithmeticException Si el denominador es cero.
+     */
+    public FraccionContinua(long numerador, long denominador) {
+        this.cocientes = Operador.cocientesParciales(numerador, denominador);
+    }
+
+    private FraccionContinua(long[] cocientes) {
+        this.cocientes = cocientes;
+    }
+
+    /**
+     * Crea una fracción continua a partir de sus cocientes parciales. Si el último cociente es 1 se suma al anterior
+     * para obtener la forma canónica.
+     *
+     * @param cocientes Los cocientes parciales [a0; a1, ..., an].
+     * @return La fracción continua.
+     * @throws IllegalArgumentException Si no hay cocientes o alguno distinto del primero no es positivo.
+     */
+    public static FraccionContinua deCocientes(long... cocientes) {
+        if (cocientes.length == 0) {
+            throw new IllegalArgumentException("Se requiere al menos un cociente parcial");
+        }
+        for (int i = 1; i < cocientes.length; i++) {
+            if (cocientes[i] < 1) {
+                throw new IllegalArgumentException("Los cocientes parciales a partir del segundo deben ser positivos");
+            }
+        }
+        long[] copia = cocientes.clone();
+        int longitud = copia.length;
+        if (longitud > 1 && copia[longitud - 1] == 1) {
+            copia[longitud - 2] = Math.addExact(copia[longitud - 2], 1);
+            longitud--;
+        }
+        return new FraccionContinua(longitud == copia.length ? copia : Arrays.copyOf(copia, longitud));
+    }
+
+    /**
+     * Obtiene el número de cocientes parciales.
+     *
+     * @return El número de cocientes parciales.
+     */
+    public int getLongitud() {
+        return cocientes.length;
+    }
+
+    /**
+     * Obtiene un cociente parcial.
+     *
+     * @param indice El índice del cociente, empezando en 0.
+     * @return El cociente parcial.
+     */
+    public long getCociente(int indice) {
+        return cocientes[indice];
+    }
+
+    /**
+     * Obtiene una copia de los cocientes parciales.
+     *
+     * @return Los cocientes parciales [a0; a1, ..., an].
+     */
+    public long[] getCocientes() {
+        return cocientes.clone();
+    }
+
+    /**
+     * Devuelve un iterador perezoso sobre las convergentes p(k)/q(k), de la primera a la fracción completa.
+     * Cada convergente es la mejor aproximación con denominador no mayor que el suyo.
+     *
+     * @return Un iterador de las convergentes, reducidas.
+     * @throws ArithmeticException Al avanzar, si una convergente no cabe en una fracción.
+     */
+    public Iterator<Fraccion> convergentes() {
+        return new Iterator<>() {
+            private final Recurrencia recurrencia = new Recurrencia();
+            private int k;
+
+            @Override
+            public boolean hasNext() {
+                return k < cocientes.length;
+            }
+
+            @Override
+            public Fraccion next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                recurrencia.avanzar(cocientes[k++]);
+                return crear(recurrencia.p, recurrencia.q);
+            }
+        };
+    }
+
+    /**
+     * Devuelve un iterador perezoso sobre las convergentes y las semiconvergentes en orden creciente de denominador.
+     * Entre las convergentes k-1 y k se generan las fracciones intermedias (p(k-2) + m·p(k-1))/(q(k-2) + m·q(k-1))
+     * para m = 1, ..., a(k) - 1, seguidas de la convergente k.
+     *
+     * @return Un iterador de las convergentes y semiconvergentes, reducidas.
+     * @throws ArithmeticException Al avanzar, si alguna fracción no cabe en una fracción.
+     */
+    public Iterator<Fraccion> semiconvergentes() {
+        return new Iterator<>() {
+            private final Recurrencia recurrencia = new Recurrencia();
+            private int k;
+            private long m = 1;
+
+            @Override
+            public boolean hasNext() {
+                return k < cocientes.length;
+            }
+
+            @Override
+            public Fraccion next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (k == 0 || m >= cocientes[k]) {
+                    recurrencia.avanzar(cocientes[k++]);
+                    m = 1;
+                    return crear(recurrencia.p, recurrencia.q);
+                }
+                long p = Math.addExact(recurrencia.pAnterior, Math.multiplyExact(m, recurrencia.p));
+                long q = Math.addExact(recurrencia.qAnterior, Math.multiplyExact(m, recurrencia.q));
+                m++;
+                return crear(p, q);
+            }
+        };
+    }
+
+    /**
+     * Convierte la fracción continua en una instancia de Fraccion.
+     *
+     * @return La fracción equivalente, reducida.
+     * @throws ArithmeticException Si el numerador o el denominador no caben en un {@code int}.
+     */
+    public Fraccion toFraccion() {
+        Recurrencia recurrencia = new Recurrencia();
+        for (long cociente : cocientes) {
+            recurrencia.avanzar(cociente);
+        }
+        return crear(recurrencia.p, recurrencia.q);
+    }
+
+    /**
+     * Convierte la fracción continua en una fracción de precisión arbitraria.
+     *
+     * @return La fracción equivalente.
+     */
+    public FraccionGrande toFraccionGrande() {
+        BigInteger p = BigInteger.ONE;
+        BigInteger q = BigInteger.ZERO;
+        BigInteger pAnterior = BigInteger.ZERO;
+        BigInteger qAnterior = BigInteger.ONE;
+        for (long cociente : cocientes) {
+            BigInteger a = BigInteger.valueOf(cociente);
+            BigInteger siguienteP = a.multiply(p).add(pAnterior);
+            BigInteger siguienteQ = a.multiply(q).add(qAnterior);
+            pAnterior = p;
+            qAnterior = q;
+            p = siguienteP;
+            q = siguienteQ;
+        }
+        return new FraccionGrande(p, q);
+    }
+
+    /**
+     * Compara dos fracciones continuas recorriendo sus cocientes parciales. En el primer cociente distinto, un valor
+     * mayor en posición par indica una fracción mayor y en posición impar una menor; si una secuencia termina antes,
+     * su cola es menor que la de la otra en esa posición.
+     *
+     * @param otra La fracción continua a comparar.
+     * @return Un valor negativo, cero o positivo si esta fracción es menor, igual o mayor que la otra.
+     */
+    @Override
+    public int compareTo(FraccionContinua otra) {
+        int longitud = Math.min(cocientes.length, otra.cocientes.length);
+        for (int i = 0; i < longitud; i++) {
+            if (cocientes[i] != otra.cocientes[i]) {
+                int comparacion = Long.compare(cocientes[i], otra.cocientes[i]);
+                return i % 2 == 0 ? comparacion : -comparacion;
+            }
+        }
+        return compararLongitudes(cocientes.length, otra.cocientes.length);
+    }
+
+    /**
+     * Compara dos fracciones de forma exacta generando a la vez los cocientes parciales de ambas y deteniéndose en el
+     * primero distinto, sin productos cruzados ni arreglos intermedios.
+     *
+     * @param f1 La primera fracción.
+     * @param f2 La segunda fracción.
+     * @return Un valor negativo, cero o positivo si la primera fracción es menor, igual o mayor que la segunda.
+     * @throws ArithmeticException Si algún denominador es cero.
+     */
+    public static int comparar(Fraccion f1, Fraccion f2) {
+        return comparar(OrdenamientoFracciones.numerador(f1), f1.denominador,
+                OrdenamientoFracciones.numerador(f2), f2.denominador);
+    }
+
+    /**
+     * Compara n1/d1 con n2/d2 de forma exacta recorriendo a la vez sus cocientes parciales.
+     *
+     * @param n1 El numerador de la primera fracción.
+     * @param d1 El denominador de la primera fracción.
+     * @param n2 El numerador de la segunda fracción.
+     * @param d2 El denominador de la segunda fracción.
+     * @return Un valor negativo, cero o positivo si la primera fracción es menor, igual o mayor que la segunda.
+     * @throws ArithmeticException Si algún denominador es cero.
+     */
+    public static int comparar(long n1, long d1, long n2, long d2) {
+        if (d1 == 0 || d2 == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        if (d1 < 0) {
+            n1 = Math.negateExact(n1);
+            d1 = Math.negateExact(d1);
+        }
+        if (d2 < 0) {
+            n2 = Math.negateExact(n2);
+            d2 = Math.negateExact(d2);
+        }
+        long a1 = Math.floorDiv(n1, d1);
+        long a2 = Math.floorDiv(n2, d2);
+        if (a1 != a2) {
+            return Long.compare(a1, a2);
+        }
+        // Se compara la cola: x = a + r/d, y en cada paso se invierte el resto y cambia el sentido de la comparación.
+        long r1 = Math.floorMod(n1, d1);
+        long r2 = Math.floorMod(n2, d2);
+        int i = 0;
+        while (true) {
+            if (r1 == 0 || r2 == 0) {
+                if (r1 == 0 && r2 == 0) {
+                    return 0;
+                }
+                int resultado = r1 == 0 ? -1 : 1;
+                return i % 2 == 0 ? resultado : -resultado;
+            }
+            // Siguiente cociente de d/r.
+            long q1 = d1 / r1;
+            long q2 = d2 / r2;
+            i++;
+            if (q1 != q2) {
+                int resultado = Long.compare(q1, q2);
+                return i % 2 == 0 ? resultado : -resultado;
+            }
+            long siguiente1 = d1 - q1 * r1;
+            long siguiente2 = d2 - q2 * r2;
+            d1 = r1;
+            d2 = r2;
+            r1 = siguiente1;
+            r2 = siguiente2;
+        }
+    }
+
+    private static int compararLongitudes(int longitud1, int longitud2) {
+        if (longitud1 == longitud2) {
+            return 0;
+        }
+        // La secuencia más corta termina en la posición n = min - 1 y su cola ahí es menor.
+        int resultado = longitud1 < longitud2 ? -1 : 1;
+        return (Math.min(longitud1, longitud2) - 1) % 2 == 0 ? resultado : -resultado;
+    }
+
+    private static Fraccion crear(long p, long q) {
+        if (p != (int) p || q != (int) q) {
+            throw new ArithmeticException("La fracción " + p + "/" + q + " excede el rango de Fraccion");
+        }
+        return new Fraccion((int) p, (int) q);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(cocientes, ((FraccionContinua) o).cocientes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(cocientes);
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de la fracción continua.
+     *
+     * @return Una cadena con los cocientes parciales. Ejemplos: "[0; 2, 3]" o "[4]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[").append(cocientes[0]);
+        for (int i = 1; i < cocientes.length; i++) {
+            sb.append(i == 1 ? "; " : ", ").append(cocientes[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * El estado de la recurrencia de las convergentes, con p(-1)/q(-1) = 1/0 y p(-2)/q(-2) = 0/1.
+     */
+    private static final class Recurrencia {
+        long p = 1;
+        long q = 0;
+        long pAnterior = 0;
+        long qAnterior = 1;
+
+        void avanzar(long a) {
+            long siguienteP = Math.addExact(Math.multiplyExact(a, p), pAnterior);
+            long siguienteQ = Math.addExact(Math.multiplyExact(a, q), qAnterior);
+            pAnterior = p;
+            qAnterior = q;
+            p = siguienteP;
+            q = siguienteQ;
+        }
+    }
+}
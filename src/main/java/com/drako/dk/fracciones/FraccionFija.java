@@ -0,0 +1,199 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Clase para representar fracciones de denominador fijo como un número entero de unidades 1/B de un
+ * {@link ContextoFijo}. Las instancias son inmutables.
+ * <p>
+ * Solo pueden operarse entre sí fracciones del mismo contexto. La suma y la resta son operaciones de {@code long}; la
+ * multiplicación y la división reescalan a la base del contexto y redondean con su modo de redondeo.
+ */
+public final class FraccionFija implements Comparable<FraccionFija> {
+
+    /**
+     * El contexto al que pertenece la fracción.
+     */
+    private final ContextoFijo contexto;
+
+    /**
+     * El valor de la fracción expresado en unidades 1/B.
+     */
+    private final long unidades;
+
+    FraccionFija(ContextoFijo contexto, long unidades) {
+        this.contexto = contexto;
+        this.unidades = unidades;
+    }
+
+    /**
+     * Obtiene el contexto de la fracción.
+     *
+     * @return El contexto de la fracción.
+     */
+    public ContextoFijo getContexto() {
+        return contexto;
+    }
+
+    /**
+     * Obtiene el valor de la fracción en unidades 1/B.
+     *
+     * @return El número de unidades.
+     */
+    public long getUnidades() {
+        return unidades;
+    }
+
+    /**
+     * Realiza la suma de esta fracción con otra del mismo contexto.
+     *
+     * @param otra La fracción a sumar.
+     * @return La fracción resultante de la suma.
+     * @throws ArithmeticException      Si el resultado excede el rango de {@code long}.
+     * @throws IllegalArgumentException Si las fracciones pertenecen a contextos distintos.
+     */
+    public FraccionFija suma(FraccionFija otra) {
+        verificarContexto(otra);
+        return new FraccionFija(contexto, Math.addExact(unidades, otra.unidades));
+    }
+
+    /**
+     * Realiza la resta de otra fracción del mismo contexto a esta fracción.
+     *
+     * @param otra La fracción a restar.
+     * @return La fracción resultante de la resta.
+     * @throws ArithmeticException      Si el resultado excede el rango de {@code long}.
+     * @throws IllegalArgumentException Si las fracciones pertenecen a contextos distintos.
+     */
+    public FraccionFija resta(FraccionFija otra) {
+        verificarContexto(otra);
+        return new FraccionFija(contexto, Math.subtractExact(unidades, otra.unidades));
+    }
+
+    /**
+     * Realiza la multiplicación de esta fracción por otra del mismo contexto: (a/B)(b/B) = (a·b/B)/B.
+     *
+     * @param otra La fracción por la cual se multiplicará.
+     * @return La fracción resultante, redondeada con el modo del contexto.
+     * @throws ArithmeticException      Si se requiere redondeo y el contexto es exacto, o si el resultado excede el
+     *                                  rango de {@code long}.
+     * @throws IllegalArgumentException Si las fracciones pertenecen a contextos distintos.
+     */
+    public FraccionFija multiplicar(FraccionFija otra) {
+        verificarContexto(otra);
+        return new FraccionFija(contexto, contexto.escalar(unidades, otra.unidades, contexto.getBase()));
+    }
+
+    /**
+     * Realiza la multiplicación de esta fracción por un número entero. El resultado siempre es exacto.
+     *
+     * @param factor El número entero.
+     * @return La fracción resultante de la multiplicación.
+     * @throws ArithmeticException Si el resultado excede el rango de {@code long}.
+     */
+    public FraccionFija multiplicar(long factor) {
+        return new FraccionFija(contexto, contexto.multiplicar(unidades, factor));
+    }
+
+    /**
+     * Realiza la división de esta fracción entre otra del mismo contexto: (a/B)/(b/B) = (a·B/b)/B.
+     *
+     * @param otra La fracción por la cual se dividirá.
+     * @return La fracción resultante, redondeada con el modo del contexto.
+     * @throws ArithmeticException      Si la otra fracción es cero, si se requiere redondeo y el contexto es exacto, o
+     *                                  si el resultado excede el rango de {@code long}.
+     * @throws IllegalArgumentException Si las fracciones pertenecen a contextos distintos.
+     */
+    public FraccionFija division(FraccionFija otra) {
+        verificarContexto(otra);
+        return new FraccionFija(contexto, contexto.escalar(unidades, contexto.getBase(), otra.unidades));
+    }
+
+    /**
+     * Cambia la fracción a otro contexto, redondeando con el modo del contexto de destino.
+     *
+     * @param destino El contexto de destino.
+     * @return La fracción equivalente en el contexto de destino.
+     * @throws ArithmeticException Si se requiere redondeo y el contexto de destino es exacto.
+     */
+    public FraccionFija convertir(ContextoFijo destino) {
+        return new FraccionFija(destino, destino.escalar(unidades, destino.getBase(), contexto.getBase()));
+    }
+
+    /**
+     * Convierte esta fracción en una instancia de Fraccion reducida.
+     *
+     * @return La fracción equivalente.
+     * @throws ArithmeticException Si el numerador o el denominador reducidos no caben en un {@code int}.
+     */
+    public Fraccion toFraccion() {
+        long mcd = Operador.mcd(unidades, contexto.getBase());
+        long numerador = unidades / mcd;
+        long denominador = contexto.getBase() / mcd;
+        if (numerador != (int) numerador || denominador != (int) denominador || numerador == Integer.MIN_VALUE) {
+            throw new ArithmeticException("La fracción " + this + " excede el rango de Fraccion");
+        }
+        return new Fraccion((int) numerador, (int) denominador);
+    }
+
+    /**
+     * Convierte esta fracción en una fracción de precisión arbitraria.
+     *
+     * @return La fracción equivalente, reducida.
+     */
+    public FraccionGrande toFraccionGrande() {
+        return new FraccionGrande(BigInteger.valueOf(unidades), BigInteger.valueOf(contexto.getBase()));
+    }
+
+    /**
+     * Convierte la fracción en un número de punto flotante de doble precisión.
+     *
+     * @return El valor aproximado de la fracción.
+     */
+    public double toDouble() {
+        return (double) unidades / contexto.getBase();
+    }
+
+    private void verificarContexto(FraccionFija otra) {
+        if (!contexto.equals(otra.contexto)) {
+            throw new IllegalArgumentException("Las fracciones pertenecen a contextos distintos");
+        }
+    }
+
+    /**
+     * Compara esta fracción con otra del mismo contexto.
+     *
+     * @param otra La fracción a comparar.
+     * @return Un valor negativo, cero o positivo si esta fracción es menor, igual o mayor que la otra.
+     * @throws IllegalArgumentException Si las fracciones pertenecen a contextos distintos.
+     */
+    @Override
+    public int compareTo(FraccionFija otra) {
+        verificarContexto(otra);
+        return Long.compare(unidades, otra.unidades);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FraccionFija that = (FraccionFija) o;
+        return unidades == that.unidades && contexto.equals(that.contexto);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(contexto, unidades);
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de la fracción reducida.
+     *
+     * @return Una cadena que representa la fracción. Ejemplos: "3/8", "-5" o "21/64".
+     */
+    @Override
+    public String toString() {
+        return toFraccionGrande().toString();
+    }
+}
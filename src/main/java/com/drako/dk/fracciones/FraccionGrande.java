@@ -0,0 +1,229 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Clase para representar fracciones con numerador y denominador de precisión arbitraria.
+ * Se utiliza cuando los resultados intermedios exceden el rango de {@link Fraccion}. Las instancias son inmutables y
+ * siempre están reducidas, con el signo en el numerador y el denominador positivo.
+ */
+public final class FraccionGrande implements Comparable<FraccionGrande> {
+
+    /**
+     * La fracción cero.
+     */
+    public static final FraccionGrande CERO = new FraccionGrande(BigInteger.ZERO, BigInteger.ONE);
+
+    /**
+     * La fracción uno.
+     */
+    public static final FraccionGrande UNO = new FraccionGrande(BigInteger.ONE, BigInteger.ONE);
+
+    private static final BigInteger INT_MINIMO = BigInteger.valueOf(Integer.MIN_VALUE);
+    private static final BigInteger INT_MAXIMO = BigInteger.valueOf(Integer.MAX_VALUE);
+
+    /**
+     * El numerador de la fracción, con signo.
+     */
+    private final BigInteger numerador;
+
+    /**
+     * El denominador de la fracción, siempre positivo.
+     */
+    private final BigInteger denominador;
+
+    /**
+     * Construye una fracción a partir del numerador y denominador dados y la reduce.
+     *
+     * @param numerador   El numerador de la fracción.
+     * @param denominador El denominador de la fracción.
+     * @throws ArithmeticException Si el denominador es cero.
+     */
+    public FraccionGrande(BigInteger numerador, BigInteger denominador) {
+        if (denominador.signum() == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        if (denominador.signum() < 0) {
+            numerador = numerador.negate();
+            denominador = denominador.negate();
+        }
+        BigInteger mcd = numerador.gcd(denominador);
+        if (!mcd.equals(BigInteger.ONE)) {
+            numerador = numerador.divide(mcd);
+            denominador = denominador.divide(mcd);
+        }
+        this.numerador = numerador;
+        this.denominador = denominador;
+    }
+
+    /**
+     * Construye una fracción a partir del numerador y denominador dados y la reduce.
+     *
+     * @param numerador   El numerador de la fracción.
+     * @param denominador El denominador de la fracción.
+     * @throws ArithmeticException Si el denominador es cero.
+     */
+    public FraccionGrande(long numerador, long denominador) {
+        this(BigInteger.valueOf(numerador), BigInteger.valueOf(denominador));
+    }
+
+    /**
+     * Convierte una fracción en una fracción de precisión arbitraria.
+     *
+     * @param fraccion La fracción a convertir.
+     * @return La fracción de precisión arbitraria equivalente.
+     */
+    public static FraccionGrande valueOf(Fraccion fraccion) {
+        Fraccion conSigno = fraccion.getFraccionWithSign();
+        return new FraccionGrande(conSigno.numerador, conSigno.denominador);
+    }
+
+    /**
+     * Obtiene el numerador de la fracción, con signo.
+     *
+     * @return El numerador de la fracción.
+     */
+    public BigInteger getNumerador() {
+        return numerador;
+    }
+
+    /**
+     * Obtiene el denominador de la fracción, siempre positivo.
+     *
+     * @return El denominador de la fracción.
+     */
+    public BigInteger getDenominador() {
+        return denominador;
+    }
+
+    /**
+     * Obtiene el signo de la fracción.
+     *
+     * @return -1, 0 o 1 según la fracción sea negativa, cero o positiva.
+     */
+    public int signum() {
+        return numerador.signum();
+    }
+
+    /**
+     * Realiza la suma de esta fracción con otra.
+     *
+     * @param otra La fracción a sumar.
+     * @return La fracción resultante de la suma.
+     */
+    public FraccionGrande suma(FraccionGrande otra) {
+        return new FraccionGrande(numerador.multiply(otra.denominador).add(otra.numerador.multiply(denominador)),
+                denominador.multiply(otra.denominador));
+    }
+
+    /**
+     * Realiza la resta de otra fracción a esta fracción.
+     *
+     * @param otra La fracción a restar.
+     * @return La fracción resultante de la resta.
+     */
+    public FraccionGrande resta(FraccionGrande otra) {
+        return new FraccionGrande(numerador.multiply(otra.denominador).subtract(otra.numerador.multiply(denominador)),
+                denominador.multiply(otra.denominador));
+    }
+
+    /**
+     * Realiza la multiplicación de esta fracción por otra.
+     *
+     * @param otra La fracción por la cual se multiplicará.
+     * @return La fracción resultante de la multiplicación.
+     */
+    public FraccionGrande multiplicar(FraccionGrande otra) {
+        return new FraccionGrande(numerador.multiply(otra.numerador), denominador.multiply(otra.denominador));
+    }
+
+    /**
+     * Realiza la división de esta fracción entre otra.
+     *
+     * @param otra La fracción por la cual se dividirá.
+     * @return La fracción resultante de la división.
+     * @throws ArithmeticException Si la otra fracción es cero.
+     */
+    public FraccionGrande division(FraccionGrande otra) {
+        return new FraccionGrande(numerador.multiply(otra.denominador), denominador.multiply(otra.numerador));
+    }
+
+    /**
+     * Convierte esta fracción en una instancia de Fraccion.
+     *
+     * @return La fracción equivalente.
+     * @throws ArithmeticException Si el numerador o el denominador no caben en un {@code int}.
+     */
+    public Fraccion toFraccion() {
+        if (!cabeEnInt()) {
+            throw new ArithmeticException("La fracción " + this + " excede el rango de Fraccion");
+        }
+        return new Fraccion(numerador.intValue(), denominador.intValue());
+    }
+
+    /**
+     * Indica si la fracción puede representarse con una instancia de Fraccion.
+     *
+     * @return {@code true} si el numerador y el denominador caben en un {@code int}.
+     */
+    public boolean cabeEnInt() {
+        return numerador.compareTo(INT_MINIMO) > 0 && numerador.compareTo(INT_MAXIMO) <= 0 && denominador.compareTo(INT_MAXIMO) <= 0;
+    }
+
+    /**
+     * Convierte la fracción en un número de punto flotante de doble precisión.
+     *
+     * @return El valor aproximado de la fracción.
+     */
+    public double toDouble() {
+        int desplazamientoNumerador = Math.max(0, numerador.bitLength() - 62);
+        int desplazamientoDenominador = Math.max(0, denominador.bitLength() - 62);
+        double valor = numerador.shiftRight(desplazamientoNumerador).doubleValue()
+                / denominador.shiftRight(desplazamientoDenominador).doubleValue();
+        return Math.scalb(valor, desplazamientoNumerador - desplazamientoDenominador);
+    }
+
+    @Override
+    public int compareTo(FraccionGrande otra) {
+        return numerador.multiply(otra.denominador).compareTo(otra.numerador.multiply(denominador));
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de la fracción, en el formato "numerador/denominador" o solo el
+     * numerador si la fracción es un número entero.
+     *
+     * @return Una cadena que representa la fracción.
+     */
+    @Override
+    public String toString() {
+        if (denominador.equals(BigInteger.ONE)) {
+            return numerador.toString();
+        }
+        return numerador + "/" + denominador;
+    }
+
+    /**
+     * Compara si un objeto recibido es igual a este objeto.
+     *
+     * @param o El objeto a comparar.
+     * @return {@code true} si son iguales, {@code false} si son diferentes.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FraccionGrande that = (FraccionGrande) o;
+        return numerador.equals(that.numerador) && denominador.equals(that.denominador);
+    }
+
+    /**
+     * Devuelve un código hash para esta fracción.
+     *
+     * @return El código hash calculado para esta fracción.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(numerador, denominador);
+    }
+}
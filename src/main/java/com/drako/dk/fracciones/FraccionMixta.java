@@ -98,13 +98,13 @@ public class FraccionMixta extends Fraccion {
 
     /**
      * Reduce la fracción mixta a su forma irreducible.
+     * El exceso del numerador se traslada a la parte entera y solo se reduce la parte fraccionaria.
      *
      * @return Una nueva instancia de FraccionMixta que representa la fracción mixta reducida.
      */
     @Override
     public FraccionMixta reducir() {
-        Fraccion fraccion = convertToFraccion(this).reducir();
-        return Fraccion.convertToFraccionMixta(fraccion);
+        return AritmeticaMixta.reducir(this);
     }
 
     /**
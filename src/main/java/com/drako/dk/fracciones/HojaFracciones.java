@@ -0,0 +1,386 @@
+package com.drako.dk.fracciones;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Hoja de cálculo de fracciones exactas con recálculo incremental.
+ * <p>
+ * Cada celda tiene un nombre y contiene un valor de entrada o una fórmula sobre otras celdas. Las celdas forman un grafo
+ * de dependencias acíclico en el que cada celda tiene un nivel: 0 para las entradas y uno más que el mayor nivel de sus
+ * dependencias para las fórmulas. Al cambiar una entrada solo se recalculan las celdas afectadas, nivel por nivel; las
+ * celdas de un mismo nivel no dependen entre sí, por lo que se recalculan en paralelo cuando son suficientes. Si el
+ * valor de una celda no cambia, sus dependientes no se recalculan.
+ * <p>
+ * Si una fórmula lanza una excepción, por ejemplo al dividir entre cero, la celda queda en estado de error y el error se
+ * propaga a las celdas que dependen de ella hasta que se corrija.
+ * <p>
+ * Las instancias no son seguras para hilos: la hoja debe modificarse y consultarse desde un solo hilo a la vez.
+ */
+public final class HojaFracciones {
+
+    /**
+     * El número mínimo de celdas de un nivel para recalcularlas en paralelo.
+     */
+    public static final int UMBRAL_PARALELO = 256;
+
+    private final Map<String, Celda> celdas = new HashMap<>();
+    private final List<List<Celda>> porNivel = new ArrayList<>();
+    private long recalculos;
+
+    /**
+     * Define una celda de entrada o cambia su valor, y recalcula las celdas afectadas. Si la celda tenía una fórmula,
+     * la fórmula se reemplaza por el valor.
+     *
+     * @param nombre El nombre de la celda.
+     * @param valor  El valor de la celda.
+     * @return El número de celdas recalculadas, sin contar la celda definida.
+     */
+    public int definir(String nombre, Fraccion valor) {
+        return actualizar(Map.of(nombre, valor));
+    }
+
+    /**
+     * Define una celda cuyo valor es una operación binaria entre otras dos celdas, evaluada con
+     * {@link Evaluador#operar(char, Fraccion, Fraccion)}.
+     *
+     * @param nombre   El nombre de la celda.
+     * @param operador El operador: {@code '+'}, {@code '-'}, {@code '*'}, {@code '/'} o {@code ':'}.
+     * @param celda1   El nombre de la celda del primer operando.
+     * @param celda2   El nombre de la celda del segundo operando.
+     * @return El número de celdas recalculadas, sin contar la celda definida.
+     * @throws IllegalArgumentException Si el operador no es válido, alguna celda no existe o se forma un ciclo.
+     */
+    public int definir(String nombre, char operador, String celda1, String celda2) {
+        if ("+-*/:".indexOf(operador) < 0) {
+            throw new IllegalArgumentException("Operador no válido: " + operador);
+        }
+        return definir(nombre, valores -> Evaluador.operar(operador, valores[0], valores[1]), celda1, celda2);
+    }
+
+    /**
+     * Define una celda con una fórmula sobre otras celdas y recalcula las celdas afectadas.
+     *
+     * @param nombre       El nombre de la celda.
+     * @param formula      La función que recibe los valores de las dependencias, en orden, y devuelve el de la celda.
+     *                     Debe ser pura y puede ejecutarse en cualquier hilo.
+     * @param dependencias Los nombres de las celdas de las que depende la fórmula, que deben existir.
+     * @return El número de celdas recalculadas, sin contar la celda definida.
+     * @throws IllegalArgumentException Si alguna dependencia no existe o la fórmula forma un ciclo.
+     */
+    public int definir(String nombre, Function<Fraccion[], Fraccion> formula, String... dependencias) {
+        Celda celda = celdas.get(nombre);
+        Celda[] nuevas = new Celda[dependencias.length];
+        for (int i = 0; i < dependencias.length; i++) {
+            nuevas[i] = celdas.get(dependencias[i]);
+            if (nuevas[i] == null) {
+                throw new IllegalArgumentException("La celda " + dependencias[i] + " no existe");
+            }
+            if (celda != null && depende(nuevas[i], celda)) {
+                throw new IllegalArgumentException("La fórmula de " + nombre + " forma un ciclo con " + dependencias[i]);
+            }
+        }
+        if (celda == null) {
+            celda = new Celda(nombre);
+            celdas.put(nombre, celda);
+        }
+        enlazar(celda, formula, nuevas);
+        return recalcular(Collections.singletonList(celda));
+    }
+
+    /**
+     * Cambia el valor de varias celdas de entrada a la vez y recalcula una sola vez las celdas afectadas. Las celdas
+     * que no existen se crean.
+     *
+     * @param valores Los nuevos valores por nombre de celda.
+     * @return El número de celdas recalculadas, sin contar las celdas definidas.
+     */
+    public int actualizar(Map<String, Fraccion> valores) {
+        List<Celda> cambiadas = new ArrayList<>(valores.size());
+        for (Map.Entry<String, Fraccion> entrada : valores.entrySet()) {
+            Celda celda = celdas.computeIfAbsent(entrada.getKey(), Celda::new);
+            if (celda.formula != null) {
+                enlazar(celda, null, new Celda[0]);
+            }
+            Fraccion valor = entrada.getValue();
+            celda.valorEntrada = (valor instanceof FraccionMixta
+                    ? FraccionMixta.convertToFraccion((FraccionMixta) valor) : valor).reducir();
+            cambiadas.add(celda);
+        }
+        return recalcular(cambiadas);
+    }
+
+    /**
+     * Obtiene el valor de una celda.
+     *
+     * @param nombre El nombre de la celda.
+     * @return Una copia del valor de la celda, reducido.
+     * @throws IllegalArgumentException Si la celda no existe.
+     * @throws ArithmeticException      Si la celda está en estado de error.
+     */
+    public Fraccion getValor(String nombre) {
+        Celda celda = celda(nombre);
+        if (celda.error != null) {
+            throw new ArithmeticException("Error en la celda " + nombre + ": " + celda.error);
+        }
+        return new Fraccion(celda.valor.numerador, celda.valor.denominador, celda.valor.signo);
+    }
+
+    /**
+     * Indica si una celda está en estado de error.
+     *
+     * @param nombre El nombre de la celda.
+     * @return {@code true} si la fórmula de la celda o de alguna de sus dependencias falló.
+     * @throws IllegalArgumentException Si la celda no existe.
+     */
+    public boolean isError(String nombre) {
+        return celda(nombre).error != null;
+    }
+
+    /**
+     * Indica si existe una celda.
+     *
+     * @param nombre El nombre de la celda.
+     * @return {@code true} si la celda existe.
+     */
+    public boolean contiene(String nombre) {
+        return celdas.containsKey(nombre);
+    }
+
+    /**
+     * Obtiene el número de celdas de la hoja.
+     *
+     * @return El número de celdas.
+     */
+    public int getTamano() {
+        return celdas.size();
+    }
+
+    /**
+     * Obtiene el número total de fórmulas evaluadas desde que se creó la hoja.
+     *
+     * @return El número de recálculos.
+     */
+    public long getRecalculos() {
+        return recalculos;
+    }
+
+    /**
+     * Reemplaza las dependencias y la fórmula de una celda y actualiza los niveles afectados.
+     */
+    private void enlazar(Celda celda, Function<Fraccion[], Fraccion> formula, Celda[] dependencias) {
+        for (Celda anterior : celda.dependencias) {
+            anterior.dependientes.remove(celda);
+        }
+        for (Celda dependencia : dependencias) {
+            dependencia.dependientes.add(celda);
+        }
+        celda.dependencias = dependencias;
+        celda.formula = formula;
+        celda.valorEntrada = null;
+
+        // Propaga el cambio de nivel a los descendientes; en un grafo acíclico el recorrido termina.
+        ArrayDeque<Celda> cola = new ArrayDeque<>();
+        cola.add(celda);
+        while (!cola.isEmpty()) {
+            Celda actual = cola.poll();
+            int nivel = 0;
+            for (Celda dependencia : actual.dependencias) {
+                nivel = Math.max(nivel, dependencia.nivel + 1);
+            }
+            if (nivel != actual.nivel || actual == celda) {
+                actual.nivel = nivel;
+                cola.addAll(actual.dependientes);
+            }
+        }
+    }
+
+    /**
+     * Indica si {@code celda} es {@code ancestro} o depende de él, directa o indirectamente.
+     */
+    private static boolean depende(Celda celda, Celda ancestro) {
+        if (celda.nivel < ancestro.nivel) {
+            return false;
+        }
+        ArrayDeque<Celda> pendientes = new ArrayDeque<>();
+        pendientes.add(ancestro);
+        List<Celda> visitadas = new ArrayList<>();
+        try {
+            while (!pendientes.isEmpty()) {
+                Celda actual = pendientes.poll();
+                if (actual == celda) {
+                    return true;
+                }
+                for (Celda dependiente : actual.dependientes) {
+                    // Una celda de nivel mayor que el buscado no puede llevar a él.
+                    if (!dependiente.marcada && dependiente.nivel <= celda.nivel) {
+                        dependiente.marcada = true;
+                        visitadas.add(dependiente);
+                        pendientes.add(dependiente);
+                    }
+                }
+            }
+            return false;
+        } finally {
+            visitadas.forEach(c -> c.marcada = false);
+        }
+    }
+
+    /**
+     * Recalcula las celdas indicadas y, nivel por nivel, las que dependen de alguna celda cuyo valor cambió.
+     *
+     * @return El número de celdas recalculadas además de las indicadas.
+     */
+    private int recalcular(List<Celda> iniciales) {
+        int minimo = Integer.MAX_VALUE;
+        for (Celda celda : iniciales) {
+            programar(celda);
+            minimo = Math.min(minimo, celda.nivel);
+        }
+        int recalculadas = -iniciales.size();
+        for (int nivel = minimo; nivel < porNivel.size(); nivel++) {
+            List<Celda> pendientes = porNivel.get(nivel);
+            if (pendientes.isEmpty()) {
+                continue;
+            }
+            porNivel.set(nivel, new ArrayList<>());
+            if (pendientes.size() >= UMBRAL_PARALELO) {
+                ForkJoinPool.commonPool().invoke(new Recalculo(pendientes, 0, pendientes.size()));
+            } else {
+                for (Celda celda : pendientes) {
+                    celda.evaluar();
+                }
+            }
+            recalculadas += pendientes.size();
+            recalculos += pendientes.size();
+            for (Celda celda : pendientes) {
+                celda.programada = false;
+                if (celda.cambio) {
+                    for (Celda dependiente : celda.dependientes) {
+                        programar(dependiente);
+                    }
+                }
+            }
+        }
+        return recalculadas;
+    }
+
+    private void programar(Celda celda) {
+        if (celda.programada) {
+            return;
+        }
+        celda.programada = true;
+        while (porNivel.size() <= celda.nivel) {
+            porNivel.add(new ArrayList<>());
+        }
+        porNivel.get(celda.nivel).add(celda);
+    }
+
+    private Celda celda(String nombre) {
+        Celda celda = celdas.get(nombre);
+        if (celda == null) {
+            throw new IllegalArgumentException("La celda " + nombre + " no existe");
+        }
+        return celda;
+    }
+
+    /**
+     * Una celda de la hoja.
+     */
+    private static final class Celda {
+        final String nombre;
+        final List<Celda> dependientes = new ArrayList<>();
+        Celda[] dependencias = new Celda[0];
+        Function<Fraccion[], Fraccion> formula;
+        Fraccion valorEntrada;
+        Fraccion valor = new Fraccion();
+        String error;
+        int nivel;
+        boolean programada;
+        boolean marcada;
+        boolean cambio;
+
+        Celda(String nombre) {
+            this.nombre = nombre;
+        }
+
+        /**
+         * Calcula el valor de la celda a partir de sus dependencias y registra si cambió.
+         */
+        void evaluar() {
+            Fraccion nuevo = null;
+            String nuevoError = null;
+            if (formula == null) {
+                nuevo = valorEntrada;
+            } else {
+                Fraccion[] valores = new Fraccion[dependencias.length];
+                for (int i = 0; i < valores.length && nuevoError == null; i++) {
+                    if (dependencias[i].error != null) {
+                        nuevoError = "depende de " + dependencias[i].nombre;
+                    } else {
+                        valores[i] = new Fraccion(dependencias[i].valor.numerador, dependencias[i].valor.denominador,
+                                dependencias[i].valor.signo);
+                    }
+                }
+                if (nuevoError == null) {
+                    try {
+                        Fraccion resultado = formula.apply(valores);
+                        // Operador.division no falla con divisor cero: devuelve una fracción con denominador cero.
+                        if (resultado.denominador == 0) {
+                            throw new ArithmeticException("El denominador no puede ser cero");
+                        }
+                        nuevo = (resultado instanceof FraccionMixta
+                                ? FraccionMixta.convertToFraccion((FraccionMixta) resultado) : resultado).reducir();
+                    } catch (RuntimeException e) {
+                        nuevoError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    }
+                }
+            }
+            if (nuevoError != null) {
+                cambio = !nuevoError.equals(error);
+                error = nuevoError;
+            } else {
+                cambio = error != null || OrdenamientoFracciones.COMPARADOR.compare(valor, nuevo) != 0;
+                error = null;
+                valor = nuevo;
+            }
+        }
+    }
+
+    /**
+     * Recalcula en paralelo un rango de las celdas de un mismo nivel.
+     */
+    private static final class Recalculo extends RecursiveAction {
+
+        private static final int TAMANO_MINIMO = 64;
+
+        private final List<Celda> celdas;
+        private final int desde;
+        private final int hasta;
+
+        Recalculo(List<Celda> celdas, int desde, int hasta) {
+            this.celdas = celdas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= TAMANO_MINIMO) {
+                for (int i = desde; i < hasta; i++) {
+                    celdas.get(i).evaluar();
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Recalculo(celdas, desde, medio), new Recalculo(celdas, medio, hasta));
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.drako.dk.fracciones;
+
+/**
+ * Índice precalculado de la sucesión de Farey de un orden dado para encontrar rápidamente la fracción más cercana a
+ * un número con denominador acotado.
+ * <p>
+ * La sucesión de Farey de orden n contiene, en orden creciente, todas las fracciones reducidas de [0, 1] con
+ * denominador no mayor que n. Se almacena en arreglos primitivos y cada consulta estima la posición por interpolación,
+ * ya que las fracciones están distribuidas de forma casi uniforme, y la corrige con una búsqueda exponencial y binaria,
+ * sin crear objetos. Para cotas demasiado grandes para precalcular se puede usar {@link SternBrocot}.
+ */
+public class IndiceFarey {
+
+    /**
+     * El orden de la sucesión, es decir, el mayor denominador.
+     */
+    private final int maxDenominador;
+
+    /**
+     * Los numeradores de la sucesión.
+     */
+    private final int[] numeradores;
+
+    /**
+     * Los denominadores de la sucesión.
+     */
+    private final int[] denominadores;
+
+    /**
+     * Los valores de cada fracción de la sucesión, usados para la búsqueda.
+     */
+    private final double[] valores;
+
+    /**
+     * Construye el índice de la sucesión de Farey del orden indicado.
+     *
+     * @param maxDenominador El orden de la sucesión, es decir, el mayor denominador permitido.
+     * @throws IllegalArgumentException Si el orden no es positivo o la sucesión es demasiado grande para un arreglo.
+     */
+    public IndiceFarey(int maxDenominador) {
+        if (maxDenominador < 1) {
+            throw new IllegalArgumentException("El denominador máximo debe ser positivo");
+        }
+        long longitud = longitud(maxDenominador);
+        if (longitud > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("La sucesión de Farey de orden " + maxDenominador + " es demasiado grande; use SternBrocot");
+        }
+        this.maxDenominador = maxDenominador;
+        this.numeradores = new int[(int) longitud];
+        this.denominadores = new int[(int) longitud];
+        this.valores = new double[(int) longitud];
+
+        long a = 0, b = 1, c = 1, d = maxDenominador;
+        guardar(0, 0, 1);
+        for (int i = 1; i < longitud; i++) {
+            guardar(i, (int) c, (int) d);
+            long k = (maxDenominador + b) / d;
+            long e = k * c - a;
+            long f = k * d - b;
+            a = c;
+            b = d;
+            c = e;
+            d = f;
+        }
+    }
+
+    private void guardar(int i, int numerador, int denominador) {
+        numeradores[i] = numerador;
+        denominadores[i] = denominador;
+        valores[i] = (double) numerador / denominador;
+    }
+
+    /**
+     * Calcula la longitud de la sucesión de Farey de un orden, 1 más la suma de la función φ de Euler hasta ese orden.
+     *
+     * @param n El orden de la sucesión.
+     * @return El número de fracciones de la sucesión.
+     */
+    private static long longitud(int n) {
+        int[] phi = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            phi[i] = i;
+        }
+        long total = 1;
+        for (int i = 1; i <= n; i++) {
+            if (i > 1 && phi[i] == i) {
+                for (int j = i; j <= n; j += i) {
+                    phi[j] -= phi[j] / i;
+                }
+            }
+            total += phi[i];
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el orden de la sucesión, es decir, el mayor denominador del índice.
+     *
+     * @return El denominador máximo.
+     */
+    public int getMaxDenominador() {
+        return maxDenominador;
+    }
+
+    /**
+     * Obtiene el número de fracciones de la sucesión.
+     *
+     * @return La longitud de la sucesión.
+     */
+    public int getTamano() {
+        return valores.length;
+    }
+
+    /**
+     * Obtiene el numerador de la fracción en una posición de la sucesión.
+     *
+     * @param indice La posición en la sucesión.
+     * @return El numerador de la fracción.
+     */
+    public int getNumerador(int indice) {
+        return numeradores[indice];
+    }
+
+    /**
+     * Obtiene el denominador de la fracción en una posición de la sucesión.
+     *
+     * @param indice La posición en la sucesión.
+     * @return El denominador de la fracción.
+     */
+    public int getDenominador(int indice) {
+        return denominadores[indice];
+    }
+
+    /**
+     * Encuentra la posición de la fracción de la sucesión más cercana a un número de [0, 1].
+     * En caso de empate se devuelve la fracción menor.
+     *
+     * @param x El número a aproximar, entre 0 y 1.
+     * @return La posición de la fracción más cercana.
+     * @throws IllegalArgumentException Si el número está fuera de [0, 1].
+     */
+    public int indiceMasCercano(double x) {
+        if (!(x >= 0 && x <= 1)) {
+            throw new IllegalArgumentException("El número debe estar entre 0 y 1: " + x);
+        }
+        int ultimo = valores.length - 1;
+        int estimado = (int) (x * ultimo);
+
+        int bajo, alto;
+        if (valores[estimado] <= x) {
+            int paso = 1;
+            bajo = estimado;
+            alto = estimado + paso;
+            while (alto < ultimo && valores[alto] <= x) {
+                bajo = alto;
+                paso <<= 1;
+                alto = estimado + paso;
+            }
+            alto = Math.min(alto, ultimo);
+        } else {
+            int paso = 1;
+            alto = estimado;
+            bajo = estimado - paso;
+            while (bajo > 0 && valores[bajo] > x) {
+                alto = bajo;
+                paso <<= 1;
+                bajo = estimado - paso;
+            }
+            bajo = Math.max(bajo, 0);
+        }
+        while (alto - bajo > 1) {
+            int medio = (bajo + alto) >>> 1;
+            if (valores[medio] <= x) {
+                bajo = medio;
+            } else {
+                alto = medio;
+            }
+        }
+        return x - valores[bajo] <= valores[alto] - x ? bajo : alto;
+    }
+
+    /**
+     * Encuentra la fracción con denominador acotado más cercana a un número.
+     *
+     * @param x El número a aproximar.
+     * @return La fracción reducida más cercana al número.
+     * @throws IllegalArgumentException Si el número no es finito.
+     * @throws ArithmeticException      Si el resultado no cabe en una fracción.
+     */
+    public Fraccion masCercana(double x) {
+        long[] resultado = new long[2];
+        masCercana(x, resultado);
+        return new Fraccion((int) resultado[0], (int) resultado[1]);
+    }
+
+    /**
+     * Encuentra las fracciones más cercanas a un arreglo de números sin crear objetos.
+     *
+     * @param valores       Los números a aproximar.
+     * @param numeradores   El arreglo donde se escriben los numeradores con signo.
+     * @param denominadores El arreglo donde se escriben los denominadores.
+     * @throws IllegalArgumentException Si algún número no es finito o los arreglos de salida son más cortos que el de entrada.
+     * @throws ArithmeticException      Si algún resultado no cabe en una fracción.
+     */
+    public void masCercanas(double[] valores, int[] numeradores, int[] denominadores) {
+        if (numeradores.length < valores.length || denominadores.length < valores.length) {
+            throw new IllegalArgumentException("Los arreglos de salida son más cortos que el de entrada");
+        }
+        long[] resultado = new long[2];
+        for (int i = 0; i < valores.length; i++) {
+            masCercana(valores[i], resultado);
+            numeradores[i] = (int) resultado[0];
+            denominadores[i] = (int) resultado[1];
+        }
+    }
+
+    private void masCercana(double x, long[] resultado) {
+        if (!Double.isFinite(x)) {
+            throw new IllegalArgumentException("El número debe ser finito: " + x);
+        }
+        double absoluto = Math.abs(x);
+        double entero = Math.floor(absoluto);
+        if (entero > Integer.MAX_VALUE) {
+            throw new ArithmeticException("El número " + x + " excede el rango de Fraccion");
+        }
+        int indice = indiceMasCercano(absoluto - entero);
+        long total = (long) entero * denominadores[indice] + numeradores[indice];
+        if (total > Integer.MAX_VALUE) {
+            throw new ArithmeticException("El número " + x + " excede el rango de Fraccion");
+        }
+        resultado[0] = x < 0 ? -total : total;
+        resultado[1] = denominadores[indice];
+    }
+}
@@ -0,0 +1,647 @@
+package com.drako.dk.fracciones;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codifica y decodifica fracciones en JSON directamente sobre {@link ByteBuffer}, sin árbol intermedio ni cadenas por
+ * campo.
+ * <p>
+ * Se admiten dos formas, que distinguen siempre una fracción mixta de una impropia:
+ * <ul>
+ *     <li>{@link Formato#CADENA}: {@code "-3/4"} para Fraccion y {@code "-1 1/2"} para FraccionMixta, como en
+ *     {@link FraccionMixta#toString()}. Al leer también se aceptan {@code "5"} y la forma {@code "1/1/2"} de
+ *     {@link FraccionMixta#FraccionMixta(String)}.</li>
+ *     <li>{@link Formato#OBJETO}: {@code {"n":-3,"d":4}} para Fraccion y {@code {"e":-1,"n":1,"d":2}} para
+ *     FraccionMixta. El signo va en el primer campo distinto de cero. Al leer, las claves pueden ir en cualquier orden y
+ *     {@code "d"} vale 1 si se omite.</li>
+ * </ul>
+ * Al leer se acepta además un número entero de JSON. Los valores se escriben sin reducir, de modo que una lectura
+ * devuelve exactamente los campos escritos. Los errores de sintaxis lanzan {@link NumberFormatException} con la
+ * posición del buffer donde se detectaron.
+ * <p>
+ * {@link Escritor} y {@link Lector} codifican y decodifican arreglos de cualquier tamaño sobre canales, a través de un
+ * buffer de {@value #TAMANO_BUFFER} bytes.
+ */
+public final class JsonFracciones {
+
+    /**
+     * La forma en que se escriben las fracciones.
+     */
+    public enum Formato {
+        /**
+         * Una cadena de JSON, por ejemplo {@code "3/4"} o {@code "1 1/2"}.
+         */
+        CADENA,
+        /**
+         * Un objeto de JSON, por ejemplo {@code {"n":3,"d":4}} o {@code {"e":1,"n":1,"d":2}}.
+         */
+        OBJETO
+    }
+
+    /**
+     * El tamaño del buffer de {@link Escritor} y {@link Lector}.
+     */
+    public static final int TAMANO_BUFFER = 64 * 1024;
+
+    /**
+     * La longitud máxima de un valor codificado más su coma: un objeto mixto negativo con tres enteros de diez dígitos.
+     */
+    private static final int LONGITUD_MAXIMA = 48;
+
+    private JsonFracciones() {
+    }
+
+    /**
+     * Escribe una fracción en un buffer a partir de su posición.
+     *
+     * @param fraccion La fracción a escribir.
+     * @param formato  La forma de la fracción.
+     * @param destino  El buffer de destino.
+     * @throws BufferOverflowException Si el buffer no tiene espacio; en ese caso su posición no cambia.
+     * @throws ArithmeticException     Si algún campo de la fracción es {@link Integer#MIN_VALUE}, cuyo valor absoluto
+     *                                 no cabe en un {@code int}; en ese caso no se escribe nada.
+     */
+    public static void escribir(Fraccion fraccion, Formato formato, ByteBuffer destino) {
+        verificarRango(fraccion);
+        int inicio = destino.position();
+        try {
+            escribirValor(fraccion, formato, destino);
+        } catch (BufferOverflowException e) {
+            destino.position(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Escribe un arreglo de fracciones en un buffer a partir de su posición.
+     *
+     * @param fracciones Las fracciones a escribir.
+     * @param formato    La forma de las fracciones.
+     * @param destino    El buffer de destino.
+     * @throws BufferOverflowException Si el buffer no tiene espacio; en ese caso su posición no cambia.
+     * @throws ArithmeticException     Si algún campo de alguna fracción es {@link Integer#MIN_VALUE}; en ese caso la
+     *                                 posición del buffer no cambia.
+     */
+    public static void escribirArreglo(Fraccion[] fracciones, Formato formato, ByteBuffer destino) {
+        int inicio = destino.position();
+        try {
+            destino.put((byte) '[');
+            for (int i = 0; i < fracciones.length; i++) {
+                verificarRango(fracciones[i]);
+                if (i > 0) {
+                    destino.put((byte) ',');
+                }
+                escribirValor(fracciones[i], formato, destino);
+            }
+            destino.put((byte) ']');
+        } catch (BufferOverflowException | ArithmeticException e) {
+            destino.position(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Lee una fracción de un buffer a partir de su posición, que avanza hasta el final del valor. El final del buffer
+     * se considera el final de la entrada.
+     *
+     * @param origen El buffer de origen.
+     * @return Una FraccionMixta si el valor tiene la forma mixta, o una Fraccion en otro caso.
+     * @throws NumberFormatException Si el contenido no es una fracción válida.
+     */
+    public static Fraccion leer(ByteBuffer origen) {
+        try {
+            return leerValor(origen, true);
+        } catch (BufferUnderflowException e) {
+            throw error(origen, "fin inesperado de la entrada");
+        }
+    }
+
+    /**
+     * Lee un arreglo de fracciones de un buffer a partir de su posición, que avanza hasta el final del arreglo. El
+     * final del buffer se considera el final de la entrada.
+     *
+     * @param origen El buffer de origen.
+     * @return Las fracciones del arreglo.
+     * @throws NumberFormatException Si el contenido no es un arreglo de fracciones válido.
+     */
+    public static Fraccion[] leerArreglo(ByteBuffer origen) {
+        List<Fraccion> fracciones = new ArrayList<>();
+        try {
+            esperar(origen, '[');
+            if (siguienteNoBlanco(origen, true) == ']') {
+                origen.get();
+                return new Fraccion[0];
+            }
+            do {
+                fracciones.add(leerValor(origen, true));
+            } while (separador(origen, true));
+        } catch (BufferUnderflowException e) {
+            throw error(origen, "fin inesperado de la entrada");
+        }
+        return fracciones.toArray(new Fraccion[0]);
+    }
+
+    private static void escribirValor(Fraccion fraccion, Formato formato, ByteBuffer destino) {
+        boolean negativo = fraccion.getSigno() == Fraccion.Signo.NEGATIVE;
+        int entero = fraccion instanceof FraccionMixta ? ((FraccionMixta) fraccion).getEntero() : 0;
+        int numerador = fraccion.numerador;
+        int denominador = fraccion.denominador;
+        boolean mixta = fraccion instanceof FraccionMixta;
+        // El signo se escribe solo si el valor es distinto de cero.
+        negativo &= entero != 0 || numerador != 0;
+        if (formato == Formato.CADENA) {
+            destino.put((byte) '"');
+            if (negativo) {
+                destino.put((byte) '-');
+            }
+            if (mixta) {
+                escribirEntero(entero, destino);
+                destino.put((byte) ' ');
+            }
+            escribirEntero(numerador, destino);
+            destino.put((byte) '/');
+            escribirEntero(denominador, destino);
+            destino.put((byte) '"');
+            return;
+        }
+        destino.put((byte) '{');
+        if (mixta) {
+            destino.put((byte) '"').put((byte) 'e').put((byte) '"').put((byte) ':');
+            if (negativo && entero != 0) {
+                destino.put((byte) '-');
+            }
+            escribirEntero(entero, destino);
+            destino.put((byte) ',');
+        }
+        destino.put((byte) '"').put((byte) 'n').put((byte) '"').put((byte) ':');
+        if (negativo && (!mixta || entero == 0)) {
+            destino.put((byte) '-');
+        }
+        escribirEntero(numerador, destino);
+        destino.put((byte) ',').put((byte) '"').put((byte) 'd').put((byte) '"').put((byte) ':');
+        escribirEntero(denominador, destino);
+        destino.put((byte) '}');
+    }
+
+    /**
+     * Verifica que los campos de una fracción puedan escribirse. Fraccion guarda el valor absoluto de cada campo, que
+     * para {@link Integer#MIN_VALUE} sigue siendo negativo y no puede leerse de vuelta.
+     */
+    private static void verificarRango(Fraccion fraccion) {
+        int entero = fraccion instanceof FraccionMixta ? ((FraccionMixta) fraccion).getEntero() : 0;
+        if (fraccion.numerador == Integer.MIN_VALUE || fraccion.denominador == Integer.MIN_VALUE
+                || entero == Integer.MIN_VALUE) {
+            throw new ArithmeticException("La fracción excede el rango de JsonFracciones");
+        }
+    }
+
+    /**
+     * Escribe los dígitos decimales de un entero no negativo sin crear cadenas.
+     */
+    private static void escribirEntero(int valor, ByteBuffer destino) {
+        int digitos = 1;
+        for (int limite = 10; digitos < 10 && valor >= limite; limite *= 10) {
+            digitos++;
+        }
+        int posicion = destino.position();
+        if (destino.remaining() < digitos) {
+            throw new BufferOverflowException();
+        }
+        for (int i = posicion + digitos - 1; i >= posicion; i--) {
+            destino.put(i, (byte) ('0' + valor % 10));
+            valor /= 10;
+        }
+        destino.position(posicion + digitos);
+    }
+
+    /**
+     * Lee un valor. Si {@code completo} es falso y el valor puede continuar más allá del final del buffer, lanza
+     * {@link BufferUnderflowException} para que el llamador lea más datos y lo intente de nuevo.
+     */
+    private static Fraccion leerValor(ByteBuffer origen, boolean completo) {
+        int c = siguienteNoBlanco(origen, completo);
+        if (c == '"') {
+            origen.get();
+            return leerCadena(origen);
+        }
+        if (c == '{') {
+            origen.get();
+            return leerObjeto(origen);
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            return new Fraccion((int) leerNumero(origen, completo), 1);
+        }
+        throw error(origen, c < 0 ? "fin inesperado de la entrada" : "se esperaba una fracción");
+    }
+
+    /**
+     * Lee el contenido de una cadena tras la comilla de apertura: "n", "n/d", "e n/d" o "e/n/d", con espacios
+     * opcionales al inicio y al final.
+     */
+    private static Fraccion leerCadena(ByteBuffer origen) {
+        saltarEspacios(origen);
+        Fraccion.Signo signo = Fraccion.Signo.POSITIVE;
+        if (mirar(origen) == '-') {
+            origen.get();
+            signo = Fraccion.Signo.NEGATIVE;
+        }
+        int primero = leerNatural(origen);
+        int c = origen.get();
+        if (c == ' ') {
+            saltarEspacios(origen);
+            if (mirar(origen) == '"') {
+                origen.get();
+                return new Fraccion(primero, 1, signo);
+            }
+            int numerador = leerNatural(origen);
+            consumir(origen, '/');
+            int denominador = leerNatural(origen);
+            cerrarCadena(origen);
+            return new FraccionMixta(numerador, denominador, signo, primero);
+        }
+        if (c == '"') {
+            return new Fraccion(primero, 1, signo);
+        }
+        if (c != '/') {
+            throw error(origen, "carácter inesperado en la fracción");
+        }
+        int segundo = leerNatural(origen);
+        if (mirar(origen) == '/') {
+            origen.get();
+            int denominador = leerNatural(origen);
+            cerrarCadena(origen);
+            return new FraccionMixta(segundo, denominador, signo, primero);
+        }
+        cerrarCadena(origen);
+        return new Fraccion(primero, segundo, signo);
+    }
+
+    private static void cerrarCadena(ByteBuffer origen) {
+        saltarEspacios(origen);
+        consumir(origen, '"');
+    }
+
+    private static void consumir(ByteBuffer origen, char esperado) {
+        if (origen.get() != esperado) {
+            origen.position(origen.position() - 1);
+            throw error(origen, "se esperaba '" + esperado + "'");
+        }
+    }
+
+    /**
+     * Lee el contenido de un objeto tras la llave de apertura. El objeto termina con su llave de cierre, así que el
+     * final del buffer nunca es el final del valor.
+     */
+    private static Fraccion leerObjeto(ByteBuffer origen) {
+        long entero = 0, numerador = 0, denominador = 1;
+        boolean hayEntero = false, hayNumerador = false, hayDenominador = false;
+        do {
+            esperar(origen, '"');
+            int clave = origen.get();
+            consumir(origen, '"');
+            esperar(origen, ':');
+            siguienteNoBlanco(origen, false);
+            long valor = leerNumero(origen, false);
+            if (clave == 'e' && !hayEntero) {
+                entero = valor;
+                hayEntero = true;
+            } else if (clave == 'n' && !hayNumerador) {
+                numerador = valor;
+                hayNumerador = true;
+            } else if (clave == 'd' && !hayDenominador) {
+                denominador = valor;
+                hayDenominador = true;
+            } else {
+                throw error(origen, "clave desconocida o repetida: " + (char) clave);
+            }
+        } while (separadorObjeto(origen));
+        if (!hayNumerador) {
+            throw error(origen, "falta el campo \"n\"");
+        }
+        if (hayEntero) {
+            if ((entero != 0 && numerador < 0) || denominador < 0) {
+                throw error(origen, "el signo debe ir solo en el primer campo distinto de cero");
+            }
+            Fraccion.Signo signo = entero < 0 || numerador < 0 ? Fraccion.Signo.NEGATIVE : Fraccion.Signo.POSITIVE;
+            return new FraccionMixta((int) Math.abs(numerador), (int) denominador, signo, (int) Math.abs(entero));
+        }
+        return new Fraccion((int) numerador, (int) denominador);
+    }
+
+    private static boolean separadorObjeto(ByteBuffer origen) {
+        int c = siguienteNoBlanco(origen, false);
+        origen.get();
+        if (c == ',') {
+            return true;
+        }
+        if (c != '}') {
+            throw error(origen, "se esperaba ',' o '}'");
+        }
+        return false;
+    }
+
+    /**
+     * Lee un entero con signo de JSON que debe caber en un {@code int} y cuyo valor absoluto no exceda
+     * {@link Integer#MAX_VALUE}.
+     */
+    private static long leerNumero(ByteBuffer origen, boolean completo) {
+        boolean negativo = false;
+        if (mirar(origen) == '-') {
+            origen.get();
+            negativo = true;
+        }
+        long valor = 0;
+        int digitos = 0;
+        int c;
+        while ((c = mirar(origen, completo)) >= '0' && c <= '9') {
+            origen.get();
+            valor = valor * 10 + (c - '0');
+            if (valor > Integer.MAX_VALUE) {
+                throw error(origen, "el entero excede el rango de Fraccion");
+            }
+            digitos++;
+        }
+        if (digitos == 0) {
+            throw error(origen, "se esperaba un dígito");
+        }
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Lee un entero sin signo dentro de una cadena, cuyo final siempre está delimitado por la comilla de cierre.
+     */
+    private static int leerNatural(ByteBuffer origen) {
+        long valor = 0;
+        int digitos = 0;
+        int c;
+        while ((c = mirar(origen)) >= '0' && c <= '9') {
+            origen.get();
+            valor = valor * 10 + (c - '0');
+            if (valor > Integer.MAX_VALUE) {
+                throw error(origen, "el entero excede el rango de Fraccion");
+            }
+            digitos++;
+        }
+        if (digitos == 0) {
+            throw error(origen, "se esperaba un dígito");
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Consume la coma entre dos elementos de un arreglo o el corchete de cierre.
+     *
+     * @return {@code true} si sigue otro elemento.
+     */
+    private static boolean separador(ByteBuffer origen, boolean completo) {
+        int c = siguienteNoBlanco(origen, completo);
+        if (c < 0) {
+            throw error(origen, "fin inesperado de la entrada");
+        }
+        origen.get();
+        if (c == ',') {
+            return true;
+        }
+        if (c != ']') {
+            throw error(origen, "se esperaba ',' o ']'");
+        }
+        return false;
+    }
+
+    private static void esperar(ByteBuffer origen, char esperado) {
+        if (siguienteNoBlanco(origen, false) != esperado) {
+            throw error(origen, "se esperaba '" + esperado + "'");
+        }
+        origen.get();
+    }
+
+    /**
+     * Salta los espacios en blanco de JSON y devuelve el siguiente byte sin consumirlo, o -1 al final de una entrada
+     * completa.
+     */
+    private static int siguienteNoBlanco(ByteBuffer origen, boolean completo) {
+        int c;
+        while ((c = mirar(origen, completo)) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            origen.get();
+        }
+        return c;
+    }
+
+    private static void saltarEspacios(ByteBuffer origen) {
+        while (mirar(origen) == ' ') {
+            origen.get();
+        }
+    }
+
+    private static int mirar(ByteBuffer origen) {
+        return mirar(origen, false);
+    }
+
+    private static int mirar(ByteBuffer origen, boolean completo) {
+        if (!origen.hasRemaining()) {
+            if (completo) {
+                return -1;
+            }
+            throw new BufferUnderflowException();
+        }
+        return origen.get(origen.position()) & 0xFF;
+    }
+
+    private static NumberFormatException error(ByteBuffer origen, String mensaje) {
+        return new NumberFormatException("JSON inválido en la posición " + origen.position() + ": " + mensaje);
+    }
+
+    /**
+     * Escribe un arreglo de JSON de fracciones en un canal a medida que se agregan, a través de un buffer propio.
+     * {@link #close()} cierra el arreglo, vacía el buffer y cierra el canal.
+     */
+    public static final class Escritor implements AutoCloseable {
+
+        private final WritableByteChannel canal;
+        private final Formato formato;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+        private long cantidad;
+
+        /**
+         * Crea un escritor sobre un canal.
+         *
+         * @param canal   El canal de destino.
+         * @param formato La forma de las fracciones.
+         */
+        public Escritor(WritableByteChannel canal, Formato formato) {
+            this.canal = canal;
+            this.formato = formato;
+            buffer.put((byte) '[');
+        }
+
+        /**
+         * Agrega una fracción al arreglo.
+         *
+         * @param fraccion La fracción a escribir.
+         * @throws IOException         Si ocurre un error de E/S al vaciar el buffer.
+         * @throws ArithmeticException Si algún campo de la fracción es {@link Integer#MIN_VALUE}; en ese caso no se
+         *                             escribe nada.
+         */
+        public void escribir(Fraccion fraccion) throws IOException {
+            verificarRango(fraccion);
+            if (buffer.remaining() < LONGITUD_MAXIMA + 1) {
+                vaciar();
+            }
+            if (cantidad++ > 0) {
+                buffer.put((byte) ',');
+            }
+            escribirValor(fraccion, formato, buffer);
+        }
+
+        /**
+         * Agrega varias fracciones al arreglo.
+         *
+         * @param fracciones Las fracciones a escribir.
+         * @throws IOException         Si ocurre un error de E/S al vaciar el buffer.
+         * @throws ArithmeticException Si algún campo de alguna fracción es {@link Integer#MIN_VALUE}; las fracciones
+         *                             anteriores a ella quedan escritas.
+         */
+        public void escribir(Fraccion[] fracciones) throws IOException {
+            for (Fraccion fraccion : fracciones) {
+                escribir(fraccion);
+            }
+        }
+
+        /**
+         * Obtiene el número de fracciones escritas.
+         *
+         * @return El número de fracciones.
+         */
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        /**
+         * Escribe en el canal el contenido del buffer.
+         *
+         * @throws IOException Si ocurre un error de E/S.
+         */
+        public void vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (canal) {
+                if (!buffer.hasRemaining()) {
+                    vaciar();
+                }
+                buffer.put((byte) ']');
+                vaciar();
+            }
+        }
+    }
+
+    /**
+     * Lee un arreglo de JSON de fracciones de un canal elemento a elemento, a través de un buffer propio, sin cargar
+     * el arreglo completo en memoria.
+     */
+    public static final class Lector implements AutoCloseable {
+
+        private final ReadableByteChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER).limit(0);
+        private boolean finCanal;
+        private boolean iniciado;
+        private boolean primero = true;
+        private boolean terminado;
+
+        /**
+         * Crea un lector sobre un canal.
+         *
+         * @param canal El canal de origen.
+         */
+        public Lector(ReadableByteChannel canal) {
+            this.canal = canal;
+        }
+
+        /**
+         * Lee la siguiente fracción del arreglo.
+         *
+         * @return La siguiente fracción, o {@code null} al final del arreglo.
+         * @throws IOException           Si ocurre un error de E/S.
+         * @throws NumberFormatException Si el contenido no es un arreglo de fracciones válido.
+         */
+        public Fraccion siguiente() throws IOException {
+            while (true) {
+                if (terminado) {
+                    return null;
+                }
+                buffer.mark();
+                try {
+                    if (!iniciado) {
+                        esperar(buffer, '[');
+                        iniciado = true;
+                        buffer.mark();
+                    }
+                    if (primero && siguienteNoBlanco(buffer, false) == ']') {
+                        buffer.get();
+                        terminado = true;
+                        return null;
+                    }
+                    Fraccion fraccion = leerValor(buffer, finCanal);
+                    terminado = !separador(buffer, finCanal);
+                    primero = false;
+                    return fraccion;
+                } catch (BufferUnderflowException e) {
+                    buffer.reset();
+                    if (finCanal) {
+                        throw error(buffer, "fin inesperado de la entrada");
+                    }
+                    llenar();
+                }
+            }
+        }
+
+        /**
+         * Lee hasta {@code cantidad} fracciones del arreglo.
+         *
+         * @param destino  El arreglo donde se guardan las fracciones.
+         * @param desde    La primera posición del arreglo de destino.
+         * @param cantidad El número máximo de fracciones a leer.
+         * @return El número de fracciones leídas, menor que {@code cantidad} solo al final del arreglo.
+         * @throws IOException           Si ocurre un error de E/S.
+         * @throws NumberFormatException Si el contenido no es un arreglo de fracciones válido.
+         */
+        public int leer(Fraccion[] destino, int desde, int cantidad) throws IOException {
+            int leidas = 0;
+            Fraccion fraccion;
+            while (leidas < cantidad && (fraccion = siguiente()) != null) {
+                destino[desde + leidas++] = fraccion;
+            }
+            return leidas;
+        }
+
+        private void llenar() throws IOException {
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                buffer.flip();
+                throw error(buffer, "valor demasiado largo");
+            }
+            if (canal.read(buffer) < 0) {
+                finCanal = true;
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.drako.dk.fracciones;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Libera de inmediato la memoria de los buffers directos y los archivos mapeados en memoria, sin esperar a que el
+ * recolector de basura los descarte.
+ * <p>
+ * Usa {@code sun.misc.Unsafe.invokeCleaner} cuando está disponible; en caso contrario la liberación queda a cargo del
+ * recolector. Un buffer liberado no debe volver a usarse.
+ */
+final class LiberadorBuffers {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method metodo = null;
+        try {
+            Class<?> clase = Class.forName("sun.misc.Unsafe");
+            Field campo = clase.getDeclaredField("theUnsafe");
+            campo.setAccessible(true);
+            unsafe = campo.get(null);
+            metodo = clase.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // La memoria se libera cuando el recolector descarte el buffer.
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = metodo;
+    }
+
+    private LiberadorBuffers() {
+    }
+
+    /**
+     * Libera la memoria de un buffer directo o mapeado.
+     *
+     * @param buffer El buffer a liberar.
+     */
+    static void liberar(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // La memoria se libera cuando el recolector descarte el buffer.
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.drako.dk.fracciones;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Esta clase registra métricas de uso de la librería: contadores por operación, histogramas de la longitud en bits de
+ * los operandos y de las iteraciones del MCD, y el número de resultados que desbordan el rango de {@code int}.
+ * <p>
+ * Las métricas se habilitan con la propiedad del sistema {@code dk.fracciones.metricas=true}. Como la bandera
+ * {@link #HABILITADAS} es una constante, cuando están deshabilitadas el compilador JIT elimina por completo las
+ * llamadas de registro de {@link Operador} y de los constructores. Cuando están habilitadas, se publican mediante
+ * JMX con el nombre {@value #NOMBRE_JMX} y pueden consultarse con {@link #instantanea()}.
+ * <p>
+ * El total de operaciones solo suma las operaciones aritméticas. La reducción, el análisis de texto y la conversión
+ * decimal se cuentan por separado, porque las operaciones aritméticas y el evaluador de expresiones las invocan
+ * internamente y sumarlas contaría dos veces una misma operación del usuario.
+ */
+public final class Metricas {
+
+    /**
+     * Enumeración de las operaciones que se contabilizan.
+     */
+    public enum Operacion {
+        SUMA(true), RESTA(true), MULTIPLICAR(true), DIVISION(true), RAIZ(true), POTENCIA(true),
+        REDUCIR(false), PARSEO(false), CONVERSION_DECIMAL(false);
+
+        private final boolean aritmetica;
+
+        Operacion(boolean aritmetica) {
+            this.aritmetica = aritmetica;
+        }
+
+        /**
+         * Indica si la operación es aritmética y se incluye en el total de operaciones.
+         *
+         * @return {@code true} si es una operación aritmética, o {@code false} si es una operación auxiliar.
+         */
+        public boolean isAritmetica() {
+            return aritmetica;
+        }
+    }
+
+    /**
+     * Indica si las métricas están habilitadas.
+     */
+    public static final boolean HABILITADAS = Boolean.getBoolean("dk.fracciones.metricas");
+
+    /**
+     * El nombre con el que se registra el MBean de métricas.
+     */
+    public static final String NOMBRE_JMX = "com.drako.dk.fracciones:type=Metricas";
+
+    /**
+     * El número de cubetas del histograma de longitud en bits; la última agrupa los operandos de 64 bits.
+     */
+    public static final int CUBETAS_BITS = 65;
+
+    /**
+     * El número de cubetas del histograma de iteraciones del MCD; la última agrupa los valores mayores.
+     */
+    public static final int CUBETAS_MCD = 96;
+
+    private static final LongAdder[] OPERACIONES = crearContadores(Operacion.values().length);
+    private static final LongAdder[] HISTOGRAMA_BITS = crearContadores(CUBETAS_BITS);
+    private static final LongAdder[] HISTOGRAMA_MCD = crearContadores(CUBETAS_MCD);
+    private static final LongAdder DESBORDAMIENTOS = new LongAdder();
+
+    static {
+        if (HABILITADAS) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(NOMBRE_JMX));
+            } catch (JMException ignored) {
+                // Otro cargador de clases ya registró las métricas.
+            }
+        }
+    }
+
+    private Metricas() {
+    }
+
+    /**
+     * Registra una operación sobre un operando.
+     *
+     * @param operacion La operación realizada.
+     * @param operando  El mayor valor absoluto involucrado en la operación.
+     */
+    public static void registrar(Operacion operacion, long operando) {
+        OPERACIONES[operacion.ordinal()].increment();
+        HISTOGRAMA_BITS[longitudBits(operando)].increment();
+    }
+
+    /**
+     * Registra una operación binaria sobre fracciones junto con su resultado sin reducir, calculado en {@code long}.
+     * Si el resultado no cabe en un {@code int} se contabiliza un desbordamiento.
+     *
+     * @param operacion   La operación realizada.
+     * @param f1          La primera fracción.
+     * @param f2          La segunda fracción.
+     * @param numerador   El numerador exacto del resultado sin reducir.
+     * @param denominador El denominador exacto del resultado sin reducir.
+     */
+    public static void registrar(Operacion operacion, Fraccion f1, Fraccion f2, long numerador, long denominador) {
+        long operando = Math.max(Math.max(Math.abs((long) f1.numerador), f1.denominador),
+                Math.max(Math.abs((long) f2.numerador), f2.denominador));
+        registrar(operacion, operando);
+        if (numerador != (int) numerador || denominador != (int) denominador) {
+            DESBORDAMIENTOS.increment();
+        }
+    }
+
+    /**
+     * Registra un desbordamiento del rango de {@code int}.
+     */
+    public static void registrarDesbordamiento() {
+        DESBORDAMIENTOS.increment();
+    }
+
+    /**
+     * Registra el número de iteraciones de un cálculo del MCD.
+     *
+     * @param iteraciones El número de iteraciones del algoritmo de Euclides.
+     */
+    public static void registrarMcd(int iteraciones) {
+        HISTOGRAMA_MCD[Math.min(iteraciones, CUBETAS_MCD - 1)].increment();
+    }
+
+    /**
+     * Obtiene una instantánea de las métricas actuales.
+     *
+     * @return Una instancia de Instantanea con los valores de los contadores en este momento.
+     */
+    public static Instantanea instantanea() {
+        return new Instantanea(System.nanoTime(), sumar(OPERACIONES), sumar(HISTOGRAMA_BITS), sumar(HISTOGRAMA_MCD), DESBORDAMIENTOS.sum());
+    }
+
+    /**
+     * Reinicia todos los contadores a cero.
+     */
+    public static void reiniciar() {
+        reiniciar(OPERACIONES);
+        reiniciar(HISTOGRAMA_BITS);
+        reiniciar(HISTOGRAMA_MCD);
+        DESBORDAMIENTOS.reset();
+    }
+
+    /**
+     * Calcula la longitud en bits del valor absoluto de un número.
+     *
+     * @param valor El número.
+     * @return La longitud en bits, entre 0 y 64.
+     */
+    static int longitudBits(long valor) {
+        return 64 - Long.numberOfLeadingZeros(Math.abs(valor));
+    }
+
+    private static LongAdder[] crearContadores(int cantidad) {
+        LongAdder[] contadores = new LongAdder[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            contadores[i] = new LongAdder();
+        }
+        return contadores;
+    }
+
+    private static long[] sumar(LongAdder[] contadores) {
+        long[] valores = new long[contadores.length];
+        for (int i = 0; i < contadores.length; i++) {
+            valores[i] = contadores[i].sum();
+        }
+        return valores;
+    }
+
+    private static long total(long[] operaciones) {
+        long total = 0;
+        for (Operacion operacion : Operacion.values()) {
+            if (operacion.aritmetica) {
+                total += operaciones[operacion.ordinal()];
+            }
+        }
+        return total;
+    }
+
+    private static void reiniciar(LongAdder[] contadores) {
+        for (LongAdder contador : contadores) {
+            contador.reset();
+        }
+    }
+
+    /**
+     * Instantánea inmutable de las métricas en un momento dado.
+     */
+    public static final class Instantanea {
+
+        private final long marcaTiempo;
+        private final long[] operaciones;
+        private final long[] histogramaBits;
+        private final long[] histogramaMcd;
+        private final long desbordamientos;
+
+        private Instantanea(long marcaTiempo, long[] operaciones, long[] histogramaBits, long[] histogramaMcd, long desbordamientos) {
+            this.marcaTiempo = marcaTiempo;
+            this.operaciones = operaciones;
+            this.histogramaBits = histogramaBits;
+            this.histogramaMcd = histogramaMcd;
+            this.desbordamientos = desbordamientos;
+        }
+
+        /**
+         * Obtiene el instante en que se tomó la instantánea, en nanosegundos de {@link System#nanoTime()}.
+         *
+         * @return La marca de tiempo de la instantánea.
+         */
+        public long getMarcaTiempo() {
+            return marcaTiempo;
+        }
+
+        /**
+         * Obtiene el número de veces que se realizó una operación.
+         *
+         * @param operacion La operación a consultar.
+         * @return El contador de la operación.
+         */
+        public long getOperaciones(Operacion operacion) {
+            return operaciones[operacion.ordinal()];
+        }
+
+        /**
+         * Obtiene los contadores de todas las operaciones.
+         *
+         * @return Un mapa con cada operación y su contador.
+         */
+        public Map<Operacion, Long> getOperaciones() {
+            Map<Operacion, Long> mapa = new EnumMap<>(Operacion.class);
+            for (Operacion operacion : Operacion.values()) {
+                mapa.put(operacion, operaciones[operacion.ordinal()]);
+            }
+            return mapa;
+        }
+
+        /**
+         * Obtiene el número total de operaciones aritméticas realizadas, sin las operaciones auxiliares.
+         *
+         * @return El total de operaciones aritméticas.
+         */
+        public long getTotalOperaciones() {
+            return total(operaciones);
+        }
+
+        /**
+         * Obtiene el histograma de la longitud en bits del mayor operando de cada operación.
+         *
+         * @return Una copia del histograma, donde el índice es la longitud en bits.
+         */
+        public long[] getHistogramaBits() {
+            return histogramaBits.clone();
+        }
+
+        /**
+         * Obtiene el histograma del número de iteraciones de cada cálculo del MCD.
+         *
+         * @return Una copia del histograma, donde el índice es el número de iteraciones.
+         */
+        public long[] getHistogramaMcd() {
+            return histogramaMcd.clone();
+        }
+
+        /**
+         * Obtiene el número de resultados que desbordaron el rango de {@code int}.
+         *
+         * @return El número de desbordamientos.
+         */
+        public long getDesbordamientos() {
+            return desbordamientos;
+        }
+
+        /**
+         * Calcula la tasa de operaciones por segundo transcurrida desde una instantánea anterior.
+         *
+         * @param anterior La instantánea anterior.
+         * @return El número de operaciones por segundo entre ambas instantáneas.
+         */
+        public double operacionesPorSegundo(Instantanea anterior) {
+            long nanos = marcaTiempo - anterior.marcaTiempo;
+            if (nanos <= 0) {
+                return 0;
+            }
+            return (getTotalOperaciones() - anterior.getTotalOperaciones()) * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * Implementación del MBean que expone las métricas mediante JMX.
+     */
+    private static final class Bean implements MetricasMXBean {
+
+        @Override
+        public Map<String, Long> getOperaciones() {
+            Map<String, Long> mapa = new LinkedHashMap<>();
+            for (Operacion operacion : Operacion.values()) {
+                mapa.put(operacion.name(), OPERACIONES[operacion.ordinal()].sum());
+            }
+            return mapa;
+        }
+
+        @Override
+        public long getTotalOperaciones() {
+            return total(sumar(OPERACIONES));
+        }
+
+        @Override
+        public long getDesbordamientos() {
+            return DESBORDAMIENTOS.sum();
+        }
+
+        @Override
+        public long[] getHistogramaBits() {
+            return sumar(HISTOGRAMA_BITS);
+        }
+
+        @Override
+        public long[] getHistogramaMcd() {
+            return sumar(HISTOGRAMA_MCD);
+        }
+
+        @Override
+        public void reiniciar() {
+            Metricas.reiniciar();
+        }
+    }
+}
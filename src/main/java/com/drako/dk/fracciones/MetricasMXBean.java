@@ -0,0 +1,51 @@
+package com.drako.dk.fracciones;
+
+import java.util.Map;
+
+/**
+ * Interfaz de administración JMX para consultar las métricas de operaciones de la librería.
+ * Se registra con el nombre {@value Metricas#NOMBRE_JMX} cuando las métricas están habilitadas.
+ */
+public interface MetricasMXBean {
+
+    /**
+     * Obtiene el número de operaciones realizadas por tipo de operación.
+     *
+     * @return Un mapa con el nombre de cada operación y su contador.
+     */
+    Map<String, Long> getOperaciones();
+
+    /**
+     * Obtiene el número total de operaciones aritméticas realizadas, sin las reducciones, los análisis de texto ni las
+     * conversiones decimales que se contabilizan por separado.
+     *
+     * @return El total de operaciones aritméticas.
+     */
+    long getTotalOperaciones();
+
+    /**
+     * Obtiene el número de resultados que desbordaron el rango de {@code int}.
+     *
+     * @return El número de desbordamientos.
+     */
+    long getDesbordamientos();
+
+    /**
+     * Obtiene el histograma de la longitud en bits del mayor operando de cada operación.
+     *
+     * @return El histograma, donde el índice es la longitud en bits.
+     */
+    long[] getHistogramaBits();
+
+    /**
+     * Obtiene el histograma del número de iteraciones del algoritmo de Euclides en {@link Operador#mcd(int, int)}.
+     *
+     * @return El histograma, donde el índice es el número de iteraciones.
+     */
+    long[] getHistogramaMcd();
+
+    /**
+     * Reinicia todos los contadores a cero.
+     */
+    void reiniciar();
+}
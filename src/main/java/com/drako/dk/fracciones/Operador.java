@@ -1,5 +1,7 @@
 package com.drako.dk.fracciones;
 
+import java.util.Arrays;
+
 /**
  * Esta clase proporciona métodos estáticos para realizar operaciones matemáticas con fracciones y fracciones mixtas.
  * Incluye métodos para la suma, resta, multiplicación, división, cálculo de raíces, potenciación, así como para calcular
@@ -15,12 +17,7 @@ public final class Operador {
      * @return La fracción resultante de la suma.
      */
     public static Fraccion suma(Fraccion f1, Fraccion f2) {
-        f1 = f1.getFraccionWithSign();
-        f2 = f2.getFraccionWithSign();
-        int resNum = f1.numerador * f2.denominador + f1.denominador * f2.numerador;
-        int resDen = f1.denominador * f2.denominador;
-
-        return new Fraccion(resNum, resDen).reducir();
+        return operar(Metricas.Operacion.SUMA, f1, f2);
     }
 
     /**
@@ -31,8 +28,7 @@ public final class Operador {
      * @return La fracción mixta resultante de la suma.
      */
     public static FraccionMixta suma(FraccionMixta f1, FraccionMixta f2) {
-        Fraccion resf = suma(FraccionMixta.convertToFraccion(f1), FraccionMixta.convertToFraccion(f2));
-        return Fraccion.convertToFraccionMixta(resf);
+        return operar(Metricas.Operacion.SUMA, f1, f2);
     }
 
     /**
@@ -43,12 +39,7 @@ public final class Operador {
      * @return La fracción resultante de la resta.
      */
     public static Fraccion resta(Fraccion f1, Fraccion f2) {
-        f1 = f1.getFraccionWithSign();
-        f2 = f2.getFraccionWithSign();
-        int resNum = f1.numerador * f2.denominador - f1.denominador * f2.numerador;
-        int resDen = f1.denominador * f2.denominador;
-
-        return new Fraccion(resNum, resDen).reducir();
+        return operar(Metricas.Operacion.RESTA, f1, f2);
     }
 
     /**
@@ -59,8 +50,7 @@ public final class Operador {
      * @return La fracción mixta resultante de la resta.
      */
     public static FraccionMixta resta(FraccionMixta f1, FraccionMixta f2) {
-        Fraccion resf = resta(FraccionMixta.convertToFraccion(f1), FraccionMixta.convertToFraccion(f2));
-        return Fraccion.convertToFraccionMixta(resf);
+        return operar(Metricas.Operacion.RESTA, f1, f2);
     }
 
     /**
@@ -71,12 +61,7 @@ public final class Operador {
      * @return La fracción resultante de la multiplicación.
      */
     public static Fraccion multiplicar(Fraccion f1, Fraccion f2) {
-        f1 = f1.getFraccionWithSign();
-        f2 = f2.getFraccionWithSign();
-        int resNum = (f1.numerador * f2.numerador);
-        int resDen = (f1.denominador * f2.denominador);
-
-        return new Fraccion(resNum, resDen).reducir();
+        return operar(Metricas.Operacion.MULTIPLICAR, f1, f2);
     }
 
     /**
@@ -87,8 +72,7 @@ public final class Operador {
      * @return La fracción mixta resultante de la multiplicación.
      */
     public static FraccionMixta multiplicar(FraccionMixta f1, FraccionMixta f2) {
-        Fraccion resf = multiplicar(FraccionMixta.convertToFraccion(f1), FraccionMixta.convertToFraccion(f2));
-        return Fraccion.convertToFraccionMixta(resf);
+        return operar(Metricas.Operacion.MULTIPLICAR, f1, f2);
     }
 
     /**
@@ -99,12 +83,7 @@ public final class Operador {
      * @return La fracción resultante de la división.
      */
     public static Fraccion division(Fraccion f1, Fraccion f2) {
-        f1 = f1.getFraccionWithSign();
-        f2 = f2.getFraccionWithSign();
-        int resNum = (f1.numerador * f2.denominador);
-        int resDen = (f1.denominador * f2.numerador);
-
-        return new Fraccion(resNum, resDen).reducir();
+        return operar(Metricas.Operacion.DIVISION, f1, f2);
     }
 
     /**
@@ -115,8 +94,87 @@ public final class Operador {
      * @return La fracción mixta resultante de la división.
      */
     public static FraccionMixta division(FraccionMixta f1, FraccionMixta f2) {
-        Fraccion resf = division(FraccionMixta.convertToFraccion(f1), FraccionMixta.convertToFraccion(f2));
-        return Fraccion.convertToFraccionMixta(resf);
+        return operar(Metricas.Operacion.DIVISION, f1, f2);
+    }
+
+    /**
+     * Realiza una operación binaria entre dos fracciones, registra sus métricas y emite sus eventos de JFR.
+     * <p>
+     * El numerador y el denominador se calculan con {@code long} para las métricas y se truncan a {@code int} para el
+     * resultado, igual que con la aritmética de {@code int}.
+     *
+     * @param operacion La operación: suma, resta, multiplicación o división.
+     * @param f1        La primera fracción.
+     * @param f2        La segunda fracción.
+     * @return La fracción resultante, reducida.
+     */
+    private static Fraccion operar(Metricas.Operacion operacion, Fraccion f1, Fraccion f2) {
+        EventoOperacionLenta evento = EventosJfr.iniciar();
+        f1 = f1.getFraccionWithSign();
+        f2 = f2.getFraccionWithSign();
+        long numerador;
+        long denominador;
+        switch (operacion) {
+            case SUMA:
+                numerador = (long) f1.numerador * f2.denominador + (long) f1.denominador * f2.numerador;
+                denominador = (long) f1.denominador * f2.denominador;
+                break;
+            case RESTA:
+                numerador = (long) f1.numerador * f2.denominador - (long) f1.denominador * f2.numerador;
+                denominador = (long) f1.denominador * f2.denominador;
+                break;
+            case MULTIPLICAR:
+                numerador = (long) f1.numerador * f2.numerador;
+                denominador = (long) f1.denominador * f2.denominador;
+                break;
+            case DIVISION:
+                numerador = (long) f1.numerador * f2.denominador;
+                denominador = (long) f1.denominador * f2.numerador;
+                break;
+            default:
+                throw new IllegalArgumentException("Operación no binaria: " + operacion);
+        }
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(operacion, f1, f2, numerador, denominador);
+        }
+
+        Fraccion resultado = new Fraccion((int) numerador, (int) denominador).reducir();
+        EventosJfr.finalizar(evento, operacion, f1, f2, resultado);
+        return resultado;
+    }
+
+    /**
+     * Realiza una operación binaria entre dos fracciones mixtas, registra sus métricas y emite sus eventos de JFR.
+     *
+     * @param operacion La operación: suma, resta, multiplicación o división.
+     * @param f1        La primera fracción mixta.
+     * @param f2        La segunda fracción mixta.
+     * @return La fracción mixta resultante.
+     */
+    private static FraccionMixta operar(Metricas.Operacion operacion, FraccionMixta f1, FraccionMixta f2) {
+        EventoOperacionLenta evento = EventosJfr.iniciar();
+        FraccionMixta resultado;
+        switch (operacion) {
+            case SUMA:
+                resultado = AritmeticaMixta.suma(f1, f2, false);
+                break;
+            case RESTA:
+                resultado = AritmeticaMixta.suma(f1, f2, true);
+                break;
+            case MULTIPLICAR:
+                resultado = AritmeticaMixta.multiplicar(f1, f2);
+                break;
+            case DIVISION:
+                resultado = AritmeticaMixta.division(f1, f2);
+                break;
+            default:
+                throw new IllegalArgumentException("Operación no binaria: " + operacion);
+        }
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(operacion, Math.max(EventosJfr.magnitud(f1), EventosJfr.magnitud(f2)));
+        }
+        EventosJfr.finalizar(evento, operacion, f1, f2, resultado);
+        return resultado;
     }
 
     /**
@@ -142,14 +200,40 @@ public final class Operador {
 
     /**
      * Calcula la raíz cuadrada de una fracción y devuelve el resultado como una nueva fracción reducida.
+     * Si la raíz es racional el resultado es exacto; de lo contrario se devuelve la mejor aproximación representable.
      *
      * @param f1 La fracción de la cual se calculará la raíz cuadrada.
      * @return La fracción resultante de la raíz cuadrada.
+     * @throws ArithmeticException Si la fracción es negativa.
+     * @see RaizCuadrada
      */
     public static Fraccion raiz(Fraccion f1) {
-        int resNum = (int) Math.round(Math.sqrt(f1.numerador));
-        int resDen = (int) Math.round(Math.sqrt(f1.denominador));
-        return new Fraccion(resNum, resDen).reducir();
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(Metricas.Operacion.RAIZ, Math.max(f1.numerador, f1.denominador));
+        }
+        EventoOperacionLenta evento = EventosJfr.iniciar();
+        Fraccion resultado = RaizCuadrada.raiz(f1);
+        EventosJfr.finalizar(evento, Metricas.Operacion.RAIZ, f1, resultado);
+        return resultado;
+    }
+
+    /**
+     * Calcula la raíz cuadrada de una fracción con un error absoluto máximo.
+     *
+     * @param f1          La fracción de la cual se calculará la raíz cuadrada.
+     * @param errorMaximo El error absoluto máximo permitido.
+     * @return La fracción resultante de la raíz cuadrada.
+     * @throws ArithmeticException Si la fracción es negativa.
+     * @see RaizCuadrada#raiz(Fraccion, double, int)
+     */
+    public static Fraccion raiz(Fraccion f1, double errorMaximo) {
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(Metricas.Operacion.RAIZ, Math.max(f1.numerador, f1.denominador));
+        }
+        EventoOperacionLenta evento = EventosJfr.iniciar();
+        Fraccion resultado = RaizCuadrada.raiz(f1, errorMaximo, Integer.MAX_VALUE);
+        EventosJfr.finalizar(evento, Metricas.Operacion.RAIZ, f1, resultado);
+        return resultado;
     }
 
     /**
@@ -170,11 +254,20 @@ public final class Operador {
      * @return La fracción resultante de elevar al cuadrado.
      */
     public static Fraccion potencia(Fraccion f1, double exponente) {
+        EventoOperacionLenta evento = EventosJfr.iniciar();
         f1 = f1.getFraccionWithSign();
         int resNum = (int) (Math.pow(f1.numerador, exponente));
         int resDen = (int) (Math.pow(f1.denominador, exponente));
+        if (Metricas.HABILITADAS) {
+            Metricas.registrar(Metricas.Operacion.POTENCIA, Math.max(Math.abs((long) f1.numerador), f1.denominador));
+            if (Math.abs(Math.pow(f1.numerador, exponente)) > Integer.MAX_VALUE || Math.pow(f1.denominador, exponente) > Integer.MAX_VALUE) {
+                Metricas.registrarDesbordamiento();
+            }
+        }
 
-        return new Fraccion(resNum, resDen).reducir();
+        Fraccion resultado = new Fraccion(resNum, resDen).reducir();
+        EventosJfr.finalizar(evento, Metricas.Operacion.POTENCIA, f1, resultado);
+        return resultado;
     }
 
     /**
@@ -198,14 +291,77 @@ public final class Operador {
     public static int mcd(int a, int b) {
         a = Math.abs(a);
         b = Math.abs(b);
+        int iteraciones = 0;
         while (b != 0) {
             int temp = b;
             b = a % b;
             a = temp;
+            iteraciones++;
+        }
+        if (Metricas.HABILITADAS) {
+            Metricas.registrarMcd(iteraciones);
         }
         return a;
     }
 
+    /**
+     * Calcula el Máximo Común Divisor (MCD) de dos números de tipo {@code long}.
+     *
+     * @param a El primer número.
+     * @param b El segundo número.
+     * @return El Máximo Común Divisor de los dos números.
+     */
+    public static long mcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        int iteraciones = 0;
+        while (b != 0) {
+            long temp = b;
+            b = a % b;
+            a = temp;
+            iteraciones++;
+        }
+        if (Metricas.HABILITADAS) {
+            Metricas.registrarMcd(iteraciones);
+        }
+        return a;
+    }
+
+    /**
+     * Calcula los cocientes parciales de la fracción continua de numerador/denominador, es decir, los cocientes de los
+     * pasos del algoritmo de Euclides con que {@link #mcd(long, long)} obtiene el Máximo Común Divisor. El primer
+     * cociente es la parte entera por defecto y puede ser negativo; los demás son positivos y el último es mayor que 1
+     * si hay más de uno.
+     *
+     * @param numerador   El numerador de la fracción.
+     * @param denominador El denominador de la fracción.
+     * @return Los cocientes parciales [a0; a1, ..., an].
+     * @throws ArithmeticException Si el denominador es cero o algún término es {@link Long#MIN_VALUE} con denominador
+     *                             negativo.
+     */
+    public static long[] cocientesParciales(long numerador, long denominador) {
+        if (denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        if (denominador < 0) {
+            numerador = Math.negateExact(numerador);
+            denominador = Math.negateExact(denominador);
+        }
+        // Una fracción de 64 bits tiene a lo sumo 93 cocientes parciales (sucesión de Fibonacci).
+        long[] cocientes = new long[96];
+        cocientes[0] = Math.floorDiv(numerador, denominador);
+        long a = denominador;
+        long b = Math.floorMod(numerador, denominador);
+        int iteraciones = 1;
+        while (b != 0) {
+            cocientes[iteraciones++] = a / b;
+            long temp = b;
+            b = a % b;
+            a = temp;
+        }
+        return Arrays.copyOf(cocientes, iteraciones);
+    }
+
     /**
      * Calcula el Mínimo Común Múltiplo (MCM) de dos números.
      *
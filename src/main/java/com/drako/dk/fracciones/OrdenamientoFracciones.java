@@ -0,0 +1,514 @@
+package com.drako.dk.fracciones;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Esta clase proporciona métodos estáticos para ordenar y seleccionar fracciones de forma exacta, tanto en columnas
+ * primitivas de numeradores y denominadores como en listas de {@link Fraccion}.
+ * <p>
+ * Las comparaciones se hacen mediante productos cruzados exactos, sin convertir a punto flotante. Para ordenar, cuando
+ * todos los numeradores son exactos en un {@code double}, primero se ordena por la clave {@code n / d}, que respeta el
+ * orden de las fracciones porque la división de IEEE 754 es monótona, y después se ordenan de forma exacta los tramos
+ * con claves iguales. Las entradas de al menos {@value #UMBRAL_PARALELO} elementos se ordenan con un ordenamiento por
+ * mezcla en paralelo sobre {@link ForkJoinPool#commonPool()}. Todos los ordenamientos son estables.
+ */
+public final class OrdenamientoFracciones {
+
+    /**
+     * El número de elementos a partir del cual el ordenamiento se divide en tareas paralelas.
+     */
+    public static final int UMBRAL_PARALELO = 1 << 13;
+
+    /**
+     * Comparador exacto de fracciones, incluidas las fracciones mixtas.
+     */
+    public static final Comparator<Fraccion> COMPARADOR = (f1, f2) ->
+            comparar(numerador(f1), f1.denominador, numerador(f2), f2.denominador);
+
+    private static final int UMBRAL_INSERCION = 32;
+    private static final long MAXIMO_EXACTO = 1L << 53;
+
+    private OrdenamientoFracciones() {
+    }
+
+    /**
+     * Compara dos fracciones de forma exacta mediante productos cruzados de 128 bits.
+     *
+     * @param n1 El numerador de la primera fracción.
+     * @param d1 El denominador de la primera fracción, positivo.
+     * @param n2 El numerador de la segunda fracción.
+     * @param d2 El denominador de la segunda fracción, positivo.
+     * @return Un valor negativo, cero o positivo si la primera fracción es menor, igual o mayor que la segunda.
+     */
+    static int comparar(long n1, long d1, long n2, long d2) {
+        long alto1 = Math.multiplyHigh(n1, d2);
+        long alto2 = Math.multiplyHigh(n2, d1);
+        if (alto1 != alto2) {
+            return Long.compare(alto1, alto2);
+        }
+        return Long.compareUnsigned(n1 * d2, n2 * d1);
+    }
+
+    /**
+     * Ordena de forma ascendente dos columnas paralelas de numeradores y denominadores.
+     *
+     * @param numeradores   Los numeradores, con signo.
+     * @param denominadores Los denominadores, positivos.
+     * @throws IllegalArgumentException Si las columnas tienen longitudes distintas o algún denominador no es positivo.
+     */
+    public static void ordenar(int[] numeradores, int[] denominadores) {
+        long[] n = ampliar(numeradores);
+        long[] d = ampliarDenominadores(numeradores, denominadores);
+        permutar(numeradores, denominadores, ordenarIndices(n, d));
+    }
+
+    /**
+     * Ordena una lista de fracciones de forma ascendente.
+     *
+     * @param fracciones La lista a ordenar, que debe admitir {@link ListIterator#set}.
+     */
+    public static void ordenar(List<Fraccion> fracciones) {
+        Fraccion[] elementos = fracciones.toArray(new Fraccion[0]);
+        int[] indices = ordenarIndices(numeradores(elementos), denominadores(elementos));
+        ListIterator<Fraccion> iterador = fracciones.listIterator();
+        for (int indice : indices) {
+            iterador.next();
+            iterador.set(elementos[indice]);
+        }
+    }
+
+    /**
+     * Reordena dos columnas paralelas de modo que la fracción en la posición k sea la que ocuparía esa posición si las
+     * columnas estuvieran ordenadas, las anteriores sean menores o iguales y las posteriores mayores o iguales.
+     * Usa selección introspectiva: quickselect con pivote mediana de tres y partición en tres vías, que recurre a
+     * ordenar el tramo restante si la recursión se degrada.
+     *
+     * @param numeradores   Los numeradores, con signo.
+     * @param denominadores Los denominadores, positivos.
+     * @param k             La posición a seleccionar.
+     * @throws IllegalArgumentException  Si las columnas tienen longitudes distintas o algún denominador no es positivo.
+     * @throws IndexOutOfBoundsException Si k está fuera de las columnas.
+     */
+    public static void seleccionar(int[] numeradores, int[] denominadores, int k) {
+        long[] n = ampliar(numeradores);
+        long[] d = ampliarDenominadores(numeradores, denominadores);
+        permutar(numeradores, denominadores, seleccionarIndices(n, d, k));
+    }
+
+    /**
+     * Obtiene la fracción que ocuparía la posición k si la lista estuviera ordenada, sin modificar la lista.
+     *
+     * @param fracciones La lista de fracciones.
+     * @param k          La posición a seleccionar.
+     * @return La k-ésima fracción más pequeña, contando desde 0.
+     * @throws IndexOutOfBoundsException Si k está fuera de la lista.
+     */
+    public static Fraccion seleccionar(List<Fraccion> fracciones, int k) {
+        Fraccion[] elementos = fracciones.toArray(new Fraccion[0]);
+        return elementos[seleccionarIndices(numeradores(elementos), denominadores(elementos), k)[k]];
+    }
+
+    /**
+     * Obtiene la mediana inferior de una lista de fracciones.
+     *
+     * @param fracciones La lista de fracciones, no vacía.
+     * @return La fracción en la posición (n - 1) / 2 del orden ascendente.
+     */
+    public static Fraccion mediana(List<Fraccion> fracciones) {
+        return seleccionar(fracciones, (fracciones.size() - 1) / 2);
+    }
+
+    /**
+     * Obtiene el cuantil inferior de una lista de fracciones.
+     *
+     * @param fracciones La lista de fracciones, no vacía.
+     * @param q          El cuantil, entre 0 y 1.
+     * @return La fracción en la posición ⌊q·(n - 1)⌋ del orden ascendente.
+     * @throws IllegalArgumentException Si q no está entre 0 y 1.
+     */
+    public static Fraccion cuantil(List<Fraccion> fracciones, double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("El cuantil debe estar entre 0 y 1");
+        }
+        return seleccionar(fracciones, (int) Math.floor(q * (fracciones.size() - 1)));
+    }
+
+    /**
+     * Obtiene los índices de las k fracciones más grandes de dos columnas paralelas, usando un montículo de tamaño k.
+     *
+     * @param numeradores   Los numeradores, con signo.
+     * @param denominadores Los denominadores, positivos.
+     * @param k             El número de fracciones a obtener.
+     * @return Los índices de las k fracciones más grandes, de mayor a menor; a igualdad de valor, primero el menor
+     * índice.
+     * @throws IllegalArgumentException Si las columnas tienen longitudes distintas, algún denominador no es positivo o k
+     *                                  es negativo.
+     */
+    public static int[] mayores(int[] numeradores, int[] denominadores, int k) {
+        return mayoresIndices(ampliar(numeradores), ampliarDenominadores(numeradores, denominadores), k);
+    }
+
+    /**
+     * Obtiene las k fracciones más grandes de una lista, usando un montículo de tamaño k.
+     *
+     * @param fracciones La lista de fracciones.
+     * @param k          El número de fracciones a obtener.
+     * @return Las k fracciones más grandes, de mayor a menor.
+     * @throws IllegalArgumentException Si k es negativo.
+     */
+    public static List<Fraccion> mayores(List<Fraccion> fracciones, int k) {
+        Fraccion[] elementos = fracciones.toArray(new Fraccion[0]);
+        int[] indices = mayoresIndices(numeradores(elementos), denominadores(elementos), k);
+        Fraccion[] resultado = new Fraccion[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            resultado[i] = elementos[indices[i]];
+        }
+        return List.of(resultado);
+    }
+
+    /**
+     * Calcula la permutación que ordena las fracciones de forma estable.
+     */
+    private static int[] ordenarIndices(long[] n, long[] d) {
+        int[] indices = identidad(n.length);
+        ComparadorIndices exacto = (i, j) -> comparar(n[i], d[i], n[j], d[j]);
+        if (!clavesExactas(n)) {
+            ordenar(indices, 0, indices.length, exacto);
+            return indices;
+        }
+        double[] claves = new double[n.length];
+        for (int i = 0; i < n.length; i++) {
+            claves[i] = (double) n[i] / d[i];
+        }
+        ordenar(indices, 0, indices.length, (i, j) -> Double.compare(claves[i], claves[j]));
+        // Fracciones distintas pueden tener la misma clave; los tramos de claves iguales se ordenan de forma exacta.
+        for (int inicio = 0; inicio < indices.length; ) {
+            double clave = claves[indices[inicio]];
+            int fin = inicio + 1;
+            while (fin < indices.length && claves[indices[fin]] == clave) {
+                fin++;
+            }
+            if (fin - inicio > 1) {
+                ordenar(indices, inicio, fin, exacto);
+            }
+            inicio = fin;
+        }
+        return indices;
+    }
+
+    private static int[] seleccionarIndices(long[] n, long[] d, int k) {
+        if (k < 0 || k >= n.length) {
+            throw new IndexOutOfBoundsException("Posición " + k + " fuera de [0, " + n.length + ")");
+        }
+        int[] indices = identidad(n.length);
+        ComparadorIndices exacto = (i, j) -> comparar(n[i], d[i], n[j], d[j]);
+        int izquierda = 0;
+        int derecha = indices.length;
+        int profundidad = 2 * (32 - Integer.numberOfLeadingZeros(indices.length));
+        while (derecha - izquierda > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                ordenar(indices, izquierda, derecha, exacto);
+                return indices;
+            }
+            int medio = (izquierda + derecha) >>> 1;
+            int pivote = medianaDeTres(indices[izquierda], indices[medio], indices[derecha - 1], exacto);
+            // Partición en tres vías: [izquierda, menores) < pivote, [menores, mayores) = pivote, [mayores, derecha) > pivote.
+            int menores = izquierda;
+            int mayores = derecha;
+            int i = izquierda;
+            while (i < mayores) {
+                int comparacion = exacto.comparar(indices[i], pivote);
+                if (comparacion < 0) {
+                    intercambiar(indices, i++, menores++);
+                } else if (comparacion > 0) {
+                    intercambiar(indices, i, --mayores);
+                } else {
+                    i++;
+                }
+            }
+            if (k < menores) {
+                derecha = menores;
+            } else if (k >= mayores) {
+                izquierda = mayores;
+            } else {
+                return indices;
+            }
+        }
+        insercion(indices, izquierda, derecha, exacto);
+        return indices;
+    }
+
+    private static int[] mayoresIndices(long[] n, long[] d, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k no puede ser negativo");
+        }
+        k = Math.min(k, n.length);
+        // Montículo de mínimos con las k mejores; el peor candidato queda en la raíz.
+        ComparadorIndices orden = (i, j) -> {
+            int comparacion = comparar(n[i], d[i], n[j], d[j]);
+            return comparacion != 0 ? comparacion : Integer.compare(j, i);
+        };
+        int[] monticulo = new int[k];
+        int tamano = 0;
+        for (int i = 0; i < n.length && k > 0; i++) {
+            if (tamano < k) {
+                monticulo[tamano] = i;
+                subir(monticulo, tamano++, orden);
+            } else if (orden.comparar(i, monticulo[0]) > 0) {
+                monticulo[0] = i;
+                bajar(monticulo, tamano, orden);
+            }
+        }
+        ordenar(monticulo, 0, tamano, (i, j) -> orden.comparar(j, i));
+        return monticulo;
+    }
+
+    /**
+     * Ordena de forma estable un tramo de índices, por mezcla y en paralelo si el tramo es grande.
+     */
+    private static void ordenar(int[] indices, int desde, int hasta, ComparadorIndices comparador) {
+        if (hasta - desde <= UMBRAL_INSERCION) {
+            insercion(indices, desde, hasta, comparador);
+            return;
+        }
+        int[] auxiliar = new int[hasta - desde];
+        OrdenMezcla tarea = new OrdenMezcla(indices, auxiliar, desde, hasta, comparador);
+        if (hasta - desde >= UMBRAL_PARALELO) {
+            ForkJoinPool.commonPool().invoke(tarea);
+        } else {
+            tarea.compute();
+        }
+    }
+
+    /**
+     * Tarea de ordenamiento por mezcla de un tramo de índices.
+     */
+    private static final class OrdenMezcla extends RecursiveAction {
+
+        private final int[] indices;
+        private final int[] auxiliar;
+        private final int desde;
+        private final int hasta;
+        private final ComparadorIndices comparador;
+
+        /**
+         * Crea la tarea que ordena el tramo [desde, hasta). El arreglo auxiliar tiene la longitud del tramo y su
+         * posición 0 corresponde a la posición {@code desde}.
+         */
+        OrdenMezcla(int[] indices, int[] auxiliar, int desde, int hasta, ComparadorIndices comparador) {
+            this.indices = indices;
+            this.auxiliar = auxiliar;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.comparador = comparador;
+        }
+
+        @Override
+        protected void compute() {
+            ordenarTramo(desde, hasta);
+        }
+
+        private void ordenarTramo(int inicio, int fin) {
+            if (fin - inicio <= UMBRAL_INSERCION) {
+                insercion(indices, inicio, fin, comparador);
+                return;
+            }
+            int medio = (inicio + fin) >>> 1;
+            if (fin - inicio >= UMBRAL_PARALELO) {
+                invokeAll(new Subtarea(inicio, medio), new Subtarea(medio, fin));
+            } else {
+                ordenarTramo(inicio, medio);
+                ordenarTramo(medio, fin);
+            }
+            mezclar(inicio, medio, fin);
+        }
+
+        private void mezclar(int inicio, int medio, int fin) {
+            if (comparador.comparar(indices[medio - 1], indices[medio]) <= 0) {
+                return;
+            }
+            System.arraycopy(indices, inicio, auxiliar, inicio - desde, medio - inicio);
+            int i = inicio - desde;
+            int finIzquierda = medio - desde;
+            int j = medio;
+            int k = inicio;
+            while (i < finIzquierda && j < fin) {
+                if (comparador.comparar(indices[j], auxiliar[i]) < 0) {
+                    indices[k++] = indices[j++];
+                } else {
+                    indices[k++] = auxiliar[i++];
+                }
+            }
+            System.arraycopy(auxiliar, i, indices, k, finIzquierda - i);
+        }
+
+        /**
+         * Subtarea que ordena una mitad compartiendo los arreglos de la tarea principal.
+         */
+        private final class Subtarea extends RecursiveAction {
+            private final int inicio;
+            private final int fin;
+
+            Subtarea(int inicio, int fin) {
+                this.inicio = inicio;
+                this.fin = fin;
+            }
+
+            @Override
+            protected void compute() {
+                ordenarTramo(inicio, fin);
+            }
+        }
+    }
+
+    private static void insercion(int[] indices, int desde, int hasta, ComparadorIndices comparador) {
+        for (int i = desde + 1; i < hasta; i++) {
+            int actual = indices[i];
+            int j = i - 1;
+            while (j >= desde && comparador.comparar(indices[j], actual) > 0) {
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            indices[j + 1] = actual;
+        }
+    }
+
+    private static int medianaDeTres(int a, int b, int c, ComparadorIndices comparador) {
+        if (comparador.comparar(a, b) > 0) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        if (comparador.comparar(b, c) > 0) {
+            b = c;
+            if (comparador.comparar(a, b) > 0) {
+                b = a;
+            }
+        }
+        return b;
+    }
+
+    private static void subir(int[] monticulo, int i, ComparadorIndices comparador) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (comparador.comparar(monticulo[i], monticulo[padre]) >= 0) {
+                return;
+            }
+            intercambiar(monticulo, i, padre);
+            i = padre;
+        }
+    }
+
+    private static void bajar(int[] monticulo, int tamano, ComparadorIndices comparador) {
+        int i = 0;
+        while (true) {
+            int menor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamano && comparador.comparar(monticulo[izquierdo], monticulo[menor]) < 0) {
+                menor = izquierdo;
+            }
+            if (derecho < tamano && comparador.comparar(monticulo[derecho], monticulo[menor]) < 0) {
+                menor = derecho;
+            }
+            if (menor == i) {
+                return;
+            }
+            intercambiar(monticulo, i, menor);
+            i = menor;
+        }
+    }
+
+    private static void intercambiar(int[] arreglo, int i, int j) {
+        int temp = arreglo[i];
+        arreglo[i] = arreglo[j];
+        arreglo[j] = temp;
+    }
+
+    private static int[] identidad(int tamano) {
+        int[] indices = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    private static boolean clavesExactas(long[] n) {
+        for (long valor : n) {
+            if (valor > MAXIMO_EXACTO || valor < -MAXIMO_EXACTO) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void permutar(int[] numeradores, int[] denominadores, int[] indices) {
+        int[] n = numeradores.clone();
+        int[] d = denominadores.clone();
+        for (int i = 0; i < indices.length; i++) {
+            numeradores[i] = n[indices[i]];
+            denominadores[i] = d[indices[i]];
+        }
+    }
+
+    private static long[] ampliar(int[] valores) {
+        long[] resultado = new long[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            resultado[i] = valores[i];
+        }
+        return resultado;
+    }
+
+    private static long[] ampliarDenominadores(int[] numeradores, int[] denominadores) {
+        if (numeradores.length != denominadores.length) {
+            throw new IllegalArgumentException("Las columnas deben tener la misma longitud");
+        }
+        long[] resultado = new long[denominadores.length];
+        for (int i = 0; i < denominadores.length; i++) {
+            if (denominadores[i] <= 0) {
+                throw new IllegalArgumentException("Los denominadores deben ser positivos");
+            }
+            resultado[i] = denominadores[i];
+        }
+        return resultado;
+    }
+
+    private static long[] numeradores(Fraccion[] fracciones) {
+        long[] resultado = new long[fracciones.length];
+        for (int i = 0; i < fracciones.length; i++) {
+            resultado[i] = numerador(fracciones[i]);
+        }
+        return resultado;
+    }
+
+    private static long[] denominadores(Fraccion[] fracciones) {
+        long[] resultado = new long[fracciones.length];
+        for (int i = 0; i < fracciones.length; i++) {
+            resultado[i] = fracciones[i].denominador;
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el numerador con signo de una fracción impropia equivalente, incluida la parte entera de una fracción
+     * mixta.
+     */
+    static long numerador(Fraccion fraccion) {
+        long numerador = fraccion.numerador;
+        if (fraccion instanceof FraccionMixta) {
+            numerador += (long) ((FraccionMixta) fraccion).getEntero() * fraccion.denominador;
+        }
+        return fraccion.signo == Fraccion.Signo.NEGATIVE ? -numerador : numerador;
+    }
+
+    /**
+     * Comparador de fracciones identificadas por su índice.
+     */
+    private interface ComparadorIndices {
+        int comparar(int i, int j);
+    }
+}
@@ -0,0 +1,659 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Polinomio inmutable con coeficientes racionales.
+ * <p>
+ * Los coeficientes se guardan como un arreglo de numeradores {@code long} sobre un denominador común positivo, en forma
+ * canónica: el máximo común divisor de los numeradores y el denominador es 1 y el coeficiente principal no es cero.
+ * Así las operaciones trabajan sobre enteros y su costo depende del grado y no del número de objetos creados:
+ * <ul>
+ *     <li>{@link #evaluar(Fraccion)} aplica el método de Horner sobre el numerador y el denominador del punto sin crear
+ *     objetos intermedios, y solo recurre a {@link BigInteger} si algún valor excede un {@code long}.</li>
+ *     <li>{@link #multiplicar(Polinomio)} usa el algoritmo de Karatsuba a partir de {@value #UMBRAL_KARATSUBA}
+ *     coeficientes. Si algún valor intermedio excede un {@code long}, el producto se repite con {@link BigInteger} y
+ *     solo falla si algún coeficiente final no cabe.</li>
+ *     <li>{@link #divisionConResto(Polinomio)} realiza la división larga reduciendo el resto en cada paso para que sus
+ *     coeficientes no crezcan.</li>
+ * </ul>
+ * Las operaciones entre polinomios lanzan {@link ArithmeticException} si algún coeficiente excede un {@code long}.
+ */
+public final class Polinomio {
+
+    /**
+     * El número de coeficientes del factor más corto a partir del cual la multiplicación usa Karatsuba.
+     */
+    static final int UMBRAL_KARATSUBA = 32;
+
+    /**
+     * El valor de {@link #horner(long, long)} cuando el resultado no se obtiene en {@code long} o no cabe en una
+     * Fraccion. No corresponde a ninguna fracción empaquetada, porque su denominador es cero.
+     */
+    private static final long NO_CABE = 0;
+
+    /**
+     * El polinomio cero.
+     */
+    public static final Polinomio CERO = new Polinomio(new long[0], 1);
+
+    private final long[] numeradores;
+    private final long denominador;
+
+    /**
+     * Crea un polinomio a partir de sus coeficientes.
+     *
+     * @param coeficientes Los coeficientes, desde el término independiente hasta el de mayor grado.
+     * @throws ArithmeticException Si algún numerador sobre el denominador común excede un {@code long}.
+     */
+    public Polinomio(Fraccion... coeficientes) {
+        this(Arrays.asList(coeficientes));
+    }
+
+    /**
+     * Crea un polinomio a partir de una lista de coeficientes.
+     *
+     * @param coeficientes Los coeficientes, desde el término independiente hasta el de mayor grado.
+     * @throws ArithmeticException Si algún numerador sobre el denominador común excede un {@code long}.
+     */
+    public Polinomio(List<Fraccion> coeficientes) {
+        this(numeradoresComunes(coeficientes, denominadorComun(coeficientes)), denominadorComun(coeficientes));
+    }
+
+    /**
+     * Crea un polinomio a partir de sus numeradores sobre un denominador común.
+     *
+     * @param numeradores Los numeradores, desde el término independiente hasta el de mayor grado.
+     * @param denominador El denominador común.
+     * @throws ArithmeticException Si el denominador es cero.
+     */
+    public Polinomio(long[] numeradores, long denominador) {
+        if (denominador == 0) {
+            throw new ArithmeticException("El denominador no puede ser cero");
+        }
+        int grado = grado(numeradores);
+        long mcd = denominador;
+        for (int i = 0; i <= grado && mcd != 1; i++) {
+            mcd = Operador.mcd(mcd, numeradores[i]);
+        }
+        if (denominador < 0) {
+            mcd = -mcd;
+        }
+        this.numeradores = new long[grado + 1];
+        for (int i = 0; i <= grado; i++) {
+            this.numeradores[i] = numeradores[i] / mcd;
+        }
+        this.denominador = grado < 0 ? 1 : denominador / mcd;
+    }
+
+    private static long denominadorComun(List<Fraccion> coeficientes) {
+        long comun = 1;
+        for (Fraccion coeficiente : coeficientes) {
+            long d = coeficiente.denominador;
+            comun = Math.multiplyExact(comun / Operador.mcd(comun, d), d);
+        }
+        return comun;
+    }
+
+    private static long[] numeradoresComunes(List<Fraccion> coeficientes, long comun) {
+        long[] valores = new long[coeficientes.size()];
+        for (int i = 0; i < valores.length; i++) {
+            Fraccion coeficiente = coeficientes.get(i);
+            valores[i] = Math.multiplyExact(OrdenamientoFracciones.numerador(coeficiente), comun / coeficiente.denominador);
+        }
+        return valores;
+    }
+
+    private static int grado(long[] valores) {
+        int grado = valores.length - 1;
+        while (grado >= 0 && valores[grado] == 0) {
+            grado--;
+        }
+        return grado;
+    }
+
+    /**
+     * Obtiene el grado del polinomio.
+     *
+     * @return El grado, o -1 si es el polinomio cero.
+     */
+    public int getGrado() {
+        return numeradores.length - 1;
+    }
+
+    /**
+     * Indica si el polinomio es cero.
+     *
+     * @return {@code true} si todos los coeficientes son cero.
+     */
+    public boolean isCero() {
+        return numeradores.length == 0;
+    }
+
+    /**
+     * Obtiene el denominador común de los coeficientes.
+     *
+     * @return El denominador común, siempre positivo.
+     */
+    public long getDenominador() {
+        return denominador;
+    }
+
+    /**
+     * Obtiene los numeradores de los coeficientes sobre el denominador común.
+     *
+     * @return Una copia de los numeradores, desde el término independiente hasta el de mayor grado.
+     */
+    public long[] getNumeradores() {
+        return numeradores.clone();
+    }
+
+    /**
+     * Obtiene un coeficiente del polinomio.
+     *
+     * @param grado El grado del término.
+     * @return El coeficiente reducido, o 0 si el grado es mayor que el del polinomio.
+     * @throws ArithmeticException       Si el coeficiente reducido no cabe en una Fraccion.
+     * @throws IndexOutOfBoundsException Si el grado es negativo.
+     */
+    public Fraccion getCoeficiente(int grado) {
+        if (grado < 0) {
+            throw new IndexOutOfBoundsException("Grado negativo: " + grado);
+        }
+        long numerador = grado < numeradores.length ? numeradores[grado] : 0;
+        return aFraccion(numerador, denominador);
+    }
+
+    /**
+     * Obtiene todos los coeficientes del polinomio.
+     *
+     * @return Una lista inmutable con los coeficientes reducidos, desde el término independiente hasta el de mayor
+     * grado.
+     * @throws ArithmeticException Si algún coeficiente reducido no cabe en una Fraccion.
+     */
+    public List<Fraccion> getCoeficientes() {
+        List<Fraccion> coeficientes = new ArrayList<>(numeradores.length);
+        for (long numerador : numeradores) {
+            coeficientes.add(aFraccion(numerador, denominador));
+        }
+        return Collections.unmodifiableList(coeficientes);
+    }
+
+    /**
+     * Evalúa el polinomio en un punto con el método de Horner.
+     *
+     * @param x El punto.
+     * @return El valor del polinomio, reducido.
+     * @throws ArithmeticException Si el resultado no cabe en una Fraccion.
+     */
+    public Fraccion evaluar(Fraccion x) {
+        long valor = horner(OrdenamientoFracciones.numerador(x), x.denominador);
+        return valor != NO_CABE ? desempaquetar(valor) : evaluarGrande(x).toFraccion();
+    }
+
+    /**
+     * Evalúa el polinomio en un punto con precisión arbitraria.
+     *
+     * @param x El punto.
+     * @return El valor exacto del polinomio.
+     */
+    public FraccionGrande evaluarGrande(Fraccion x) {
+        long p = OrdenamientoFracciones.numerador(x);
+        long q = x.denominador;
+        long valor = horner(p, q);
+        if (valor != NO_CABE) {
+            return new FraccionGrande((int) (valor >> 32), (int) valor);
+        }
+        BigInteger bp = BigInteger.valueOf(p);
+        BigInteger bq = BigInteger.valueOf(q);
+        BigInteger acumulado = BigInteger.ZERO;
+        BigInteger potencia = BigInteger.ONE;
+        for (int i = numeradores.length - 1; i >= 0; i--) {
+            acumulado = acumulado.multiply(bp).add(BigInteger.valueOf(numeradores[i]).multiply(potencia));
+            potencia = potencia.multiply(bq);
+        }
+        // Tras el ciclo, potencia = q^(n+1); el denominador es D·q^n.
+        return new FraccionGrande(acumulado, potencia.divide(bq).multiply(BigInteger.valueOf(denominador)));
+    }
+
+    /**
+     * Evalúa el polinomio en cada punto de un arreglo.
+     *
+     * @param puntos Los puntos.
+     * @return Los valores del polinomio, reducidos, en el mismo orden.
+     * @throws ArithmeticException Si algún resultado no cabe en una Fraccion.
+     */
+    public Fraccion[] evaluar(Fraccion[] puntos) {
+        Fraccion[] valores = new Fraccion[puntos.length];
+        for (int i = 0; i < puntos.length; i++) {
+            valores[i] = evaluar(puntos[i]);
+        }
+        return valores;
+    }
+
+    /**
+     * Evalúa el polinomio en cada punto de una columna y guarda los valores reducidos en otra, sin crear objetos por
+     * elemento salvo cuando algún valor intermedio excede un {@code long}. El destino puede ser la misma columna de
+     * entrada.
+     *
+     * @param puntos  La columna de puntos.
+     * @param destino La columna donde se guardan los valores.
+     * @throws ArithmeticException      Si algún resultado no cabe en un {@code int}.
+     * @throws IllegalArgumentException Si las columnas tienen tamaños distintos.
+     */
+    public void evaluar(ColumnaFracciones puntos, ColumnaFracciones destino) {
+        if (puntos.getTamano() != destino.getTamano()) {
+            throw new IllegalArgumentException("Las columnas deben tener el mismo tamaño");
+        }
+        for (long i = 0; i < puntos.getTamano(); i++) {
+            int p = puntos.getNumerador(i);
+            int q = puntos.getDenominador(i);
+            long valor = horner(p, q);
+            if (valor == NO_CABE) {
+                FraccionGrande grande = evaluarGrande(new Fraccion(p, q));
+                if (!grande.cabeEnInt()) {
+                    throw new ArithmeticException("El valor en " + p + "/" + q + " excede el rango de ColumnaFracciones");
+                }
+                destino.set(i, grande.getNumerador().intValue(), grande.getDenominador().intValue());
+            } else {
+                destino.set(i, (int) (valor >> 32), (int) valor);
+            }
+        }
+    }
+
+    /**
+     * Evalúa el polinomio en p/q, con q positivo, y devuelve el valor reducido empaquetado en un {@code long}, con el
+     * numerador en los 32 bits altos y el denominador en los bajos, para no crear objetos. La suma de Horner se hace
+     * sobre numeradores: acumulado = acumulado·p + a[i]·q^(n-i), y el valor es acumulado / (D·q^n).
+     *
+     * @return El valor empaquetado, o {@link #NO_CABE} si algún valor intermedio excede un {@code long} o el resultado
+     * no cabe en una Fraccion.
+     */
+    private long horner(long p, long q) {
+        int n = numeradores.length - 1;
+        if (n < 0) {
+            return 1;
+        }
+        try {
+            long acumulado = numeradores[n];
+            long potencia = 1;
+            if (q == 1) {
+                for (int i = n - 1; i >= 0; i--) {
+                    acumulado = Math.addExact(Math.multiplyExact(acumulado, p), numeradores[i]);
+                }
+            } else {
+                for (int i = n - 1; i >= 0; i--) {
+                    potencia = Math.multiplyExact(potencia, q);
+                    acumulado = Math.addExact(Math.multiplyExact(acumulado, p), Math.multiplyExact(numeradores[i], potencia));
+                }
+            }
+            long divisor = Math.multiplyExact(denominador, potencia);
+            long mcd = Operador.mcd(acumulado, divisor);
+            long numerador = acumulado / mcd;
+            long reducido = divisor / mcd;
+            if (numerador != (int) numerador || reducido != (int) reducido || numerador == Integer.MIN_VALUE) {
+                return NO_CABE;
+            }
+            return numerador << 32 | reducido;
+        } catch (ArithmeticException e) {
+            return NO_CABE;
+        }
+    }
+
+    /**
+     * Suma dos polinomios.
+     *
+     * @param otro El polinomio a sumar.
+     * @return La suma.
+     * @throws ArithmeticException Si algún coeficiente excede un {@code long}.
+     */
+    public Polinomio suma(Polinomio otro) {
+        return combinar(otro, 1);
+    }
+
+    /**
+     * Resta dos polinomios.
+     *
+     * @param otro El polinomio que se restará.
+     * @return La resta.
+     * @throws ArithmeticException Si algún coeficiente excede un {@code long}.
+     */
+    public Polinomio resta(Polinomio otro) {
+        return combinar(otro, -1);
+    }
+
+    private Polinomio combinar(Polinomio otro, int signo) {
+        long mcd = Operador.mcd(denominador, otro.denominador);
+        long factor = otro.denominador / mcd;
+        long factorOtro = denominador / mcd;
+        long[] valores = new long[Math.max(numeradores.length, otro.numeradores.length)];
+        for (int i = 0; i < numeradores.length; i++) {
+            valores[i] = Math.multiplyExact(numeradores[i], factor);
+        }
+        for (int i = 0; i < otro.numeradores.length; i++) {
+            long termino = Math.multiplyExact(otro.numeradores[i], factorOtro);
+            valores[i] = signo > 0 ? Math.addExact(valores[i], termino) : Math.subtractExact(valores[i], termino);
+        }
+        return new Polinomio(valores, Math.multiplyExact(denominador, factor));
+    }
+
+    /**
+     * Multiplica dos polinomios. Si ambos tienen al menos {@value #UMBRAL_KARATSUBA} coeficientes se usa el algoritmo
+     * de Karatsuba, que realiza O(n^1.585) productos en lugar de O(n^2).
+     *
+     * @param otro El polinomio a multiplicar.
+     * @return El producto.
+     * @throws ArithmeticException Si algún coeficiente excede un {@code long}.
+     */
+    public Polinomio multiplicar(Polinomio otro) {
+        if (isCero() || otro.isCero()) {
+            return CERO;
+        }
+        long g1 = Operador.mcd(gcdNumeradores(), otro.denominador);
+        long g2 = Operador.mcd(otro.gcdNumeradores(), denominador);
+        long[] a = dividirTodos(numeradores, g1);
+        long[] b = dividirTodos(otro.numeradores, g2);
+        return new Polinomio(multiplicar(a, b), Math.multiplyExact(denominador / g2, otro.denominador / g1));
+    }
+
+    /**
+     * Multiplica el polinomio por un escalar.
+     *
+     * @param escalar El escalar.
+     * @return El producto.
+     * @throws ArithmeticException Si algún coeficiente excede un {@code long}.
+     */
+    public Polinomio multiplicar(Fraccion escalar) {
+        long p = OrdenamientoFracciones.numerador(escalar);
+        long q = escalar.denominador;
+        long g1 = Operador.mcd(p, denominador);
+        long g2 = Operador.mcd(gcdNumeradores(), q);
+        long[] valores = new long[numeradores.length];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = Math.multiplyExact(numeradores[i] / g2, p / g1);
+        }
+        return new Polinomio(valores, Math.multiplyExact(denominador / g1, q / g2));
+    }
+
+    /**
+     * Divide el polinomio entre otro, de modo que este = cociente · divisor + resto, con el grado del resto menor que
+     * el del divisor.
+     *
+     * @param divisor El polinomio por el cual se dividirá.
+     * @return Un arreglo con el cociente y el resto, en ese orden.
+     * @throws ArithmeticException Si el divisor es cero o algún coeficiente excede un {@code long}.
+     */
+    public Polinomio[] divisionConResto(Polinomio divisor) {
+        if (divisor.isCero()) {
+            throw new ArithmeticException("División entre el polinomio cero");
+        }
+        int n = divisor.getGrado();
+        if (getGrado() < n) {
+            return new Polinomio[]{CERO, this};
+        }
+        long[] b = divisor.numeradores;
+        long principal = b[n];
+        long[] resto = numeradores.clone();
+        long denominadorResto = denominador;
+        long[] cocienteNumeradores = new long[getGrado() - n + 1];
+        long[] cocienteDenominadores = new long[cocienteNumeradores.length];
+        for (int j = getGrado(); j >= n; j--) {
+            long t = resto[j];
+            int s = j - n;
+            if (t == 0) {
+                cocienteDenominadores[s] = 1;
+                continue;
+            }
+            // c = (t / Dr) / (principal / Db); resto = (resto·lb - tc·b·x^s) / (Dr·lb), con t/principal = tc/lb.
+            long mcd = Operador.mcd(t, principal);
+            long tc = t / mcd;
+            long lb = principal / mcd;
+            if (lb < 0) {
+                tc = -tc;
+                lb = -lb;
+            }
+            long numerador = Math.multiplyExact(tc, divisor.denominador);
+            long denominadorCociente = Math.multiplyExact(denominadorResto, lb);
+            long reduccion = Operador.mcd(numerador, denominadorCociente);
+            cocienteNumeradores[s] = numerador / reduccion;
+            cocienteDenominadores[s] = denominadorCociente / reduccion;
+            if (lb != 1) {
+                for (int i = 0; i < j; i++) {
+                    resto[i] = Math.multiplyExact(resto[i], lb);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                resto[i + s] = Math.subtractExact(resto[i + s], Math.multiplyExact(tc, b[i]));
+            }
+            resto[j] = 0;
+            denominadorResto = denominadorCociente;
+            // Reduce el contenido del resto para que los coeficientes no crezcan en cada paso.
+            long contenido = denominadorResto;
+            for (int i = 0; i < j && contenido != 1; i++) {
+                contenido = Operador.mcd(contenido, resto[i]);
+            }
+            if (contenido != 1) {
+                for (int i = 0; i < j; i++) {
+                    resto[i] /= contenido;
+                }
+                denominadorResto /= contenido;
+            }
+        }
+        long comun = 1;
+        for (long d : cocienteDenominadores) {
+            comun = Math.multiplyExact(comun / Operador.mcd(comun, d), d);
+        }
+        for (int s = 0; s < cocienteNumeradores.length; s++) {
+            cocienteNumeradores[s] = Math.multiplyExact(cocienteNumeradores[s], comun / cocienteDenominadores[s]);
+        }
+        return new Polinomio[]{new Polinomio(cocienteNumeradores, comun), new Polinomio(Arrays.copyOf(resto, n), denominadorResto)};
+    }
+
+    private long gcdNumeradores() {
+        long mcd = 0;
+        for (long numerador : numeradores) {
+            mcd = Operador.mcd(mcd, numerador);
+            if (mcd == 1) {
+                break;
+            }
+        }
+        return mcd;
+    }
+
+    private static long[] dividirTodos(long[] valores, long divisor) {
+        if (divisor == 1) {
+            return valores;
+        }
+        long[] resultado = new long[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            resultado[i] = valores[i] / divisor;
+        }
+        return resultado;
+    }
+
+    /**
+     * Multiplica dos arreglos de coeficientes enteros. Las sumas y los productos intermedios de Karatsuba pueden
+     * exceder un {@code long} aunque los coeficientes finales quepan; en ese caso el producto se repite con
+     * {@link BigInteger}.
+     *
+     * @throws ArithmeticException Si algún coeficiente del producto excede un {@code long}.
+     */
+    static long[] multiplicar(long[] a, long[] b) {
+        long[] resultado = new long[a.length + b.length - 1];
+        try {
+            acumularProducto(a, 0, a.length, b, 0, b.length, resultado, 0);
+            return resultado;
+        } catch (ArithmeticException e) {
+            return multiplicarGrande(a, b);
+        }
+    }
+
+    /**
+     * Multiplica dos arreglos de coeficientes con el método escolar, acumulando cada coeficiente en {@link BigInteger}.
+     *
+     * @throws ArithmeticException Si algún coeficiente del producto excede un {@code long}.
+     */
+    private static long[] multiplicarGrande(long[] a, long[] b) {
+        long[] resultado = new long[a.length + b.length - 1];
+        for (int k = 0; k < resultado.length; k++) {
+            BigInteger suma = BigInteger.ZERO;
+            for (int i = Math.max(0, k - b.length + 1); i <= Math.min(k, a.length - 1); i++) {
+                if (a[i] != 0 && b[k - i] != 0) {
+                    suma = suma.add(BigInteger.valueOf(a[i]).multiply(BigInteger.valueOf(b[k - i])));
+                }
+            }
+            if (suma.bitLength() > 63) {
+                throw new ArithmeticException("El coeficiente de grado " + k + " del producto excede el rango de long");
+            }
+            resultado[k] = suma.longValue();
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma a resultado[desde..] el producto de a[ia, ia + la) por b[ib, ib + lb).
+     */
+    private static void acumularProducto(long[] a, int ia, int la, long[] b, int ib, int lb, long[] resultado, int desde) {
+        if (la < lb) {
+            acumularProducto(b, ib, lb, a, ia, la, resultado, desde);
+            return;
+        }
+        if (lb < UMBRAL_KARATSUBA) {
+            for (int i = 0; i < la; i++) {
+                long x = a[ia + i];
+                if (x == 0) {
+                    continue;
+                }
+                for (int j = 0; j < lb; j++) {
+                    resultado[desde + i + j] = Math.addExact(resultado[desde + i + j], Math.multiplyExact(x, b[ib + j]));
+                }
+            }
+            return;
+        }
+        if (2 * lb <= la) {
+            // Factores desbalanceados: se multiplica el corto por trozos del largo de su mismo tamaño.
+            for (int inicio = 0; inicio < la; inicio += lb) {
+                acumularProducto(a, ia + inicio, Math.min(lb, la - inicio), b, ib, lb, resultado, desde + inicio);
+            }
+            return;
+        }
+        // a = a0 + a1·x^m, b = b0 + b1·x^m; a·b = z0 + (z1 - z0 - z2)·x^m + z2·x^2m, con z1 = (a0 + a1)(b0 + b1).
+        int m = la / 2;
+        int la1 = la - m;
+        int lb1 = lb - m;
+        long[] z0 = new long[2 * m - 1];
+        long[] z2 = new long[la1 + lb1 - 1];
+        acumularProducto(a, ia, m, b, ib, m, z0, 0);
+        acumularProducto(a, ia + m, la1, b, ib + m, lb1, z2, 0);
+        long[] sumaA = sumar(a, ia, m, la1);
+        long[] sumaB = sumar(b, ib, m, lb1);
+        long[] z1 = new long[sumaA.length + sumaB.length - 1];
+        acumularProducto(sumaA, 0, sumaA.length, sumaB, 0, sumaB.length, z1, 0);
+        for (int i = 0; i < z0.length; i++) {
+            z1[i] = Math.subtractExact(z1[i], z0[i]);
+            resultado[desde + i] = Math.addExact(resultado[desde + i], z0[i]);
+        }
+        for (int i = 0; i < z2.length; i++) {
+            z1[i] = Math.subtractExact(z1[i], z2[i]);
+            resultado[desde + 2 * m + i] = Math.addExact(resultado[desde + 2 * m + i], z2[i]);
+        }
+        for (int i = 0; i < z1.length; i++) {
+            if (z1[i] != 0) {
+                resultado[desde + m + i] = Math.addExact(resultado[desde + m + i], z1[i]);
+            }
+        }
+    }
+
+    /**
+     * Suma la mitad baja v[i, i + m) y la mitad alta v[i + m, i + m + alta) de un arreglo.
+     */
+    private static long[] sumar(long[] v, int i, int m, int alta) {
+        long[] suma = Arrays.copyOfRange(v, i, i + Math.max(m, alta));
+        for (int k = 0; k < alta; k++) {
+            suma[k] = k < m ? Math.addExact(suma[k], v[i + m + k]) : v[i + m + k];
+        }
+        return suma;
+    }
+
+    private static Fraccion aFraccion(long numerador, long denominador) {
+        long mcd = Operador.mcd(numerador, denominador);
+        numerador /= mcd;
+        denominador /= mcd;
+        if (numerador != (int) numerador || denominador != (int) denominador || numerador == Integer.MIN_VALUE) {
+            throw new ArithmeticException("El valor " + numerador + "/" + denominador + " excede el rango de Fraccion");
+        }
+        return new Fraccion((int) numerador, (int) denominador);
+    }
+
+    private static Fraccion desempaquetar(long valor) {
+        return new Fraccion((int) (valor >> 32), (int) valor);
+    }
+
+    /**
+     * Compara si un objeto recibido es igual a este objeto.
+     *
+     * @param o El objeto a comparar.
+     * @return {@code true} si son iguales, {@code false} si son diferentes.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Polinomio)) {
+            return false;
+        }
+        Polinomio otro = (Polinomio) o;
+        return denominador == otro.denominador && Arrays.equals(numeradores, otro.numeradores);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(numeradores) + Long.hashCode(denominador);
+    }
+
+    /**
+     * Convierte el polinomio en una cadena, con los numeradores sobre el denominador común, por ejemplo
+     * {@code (3x^2 - 2x + 1)/4}.
+     *
+     * @return Una cadena que representa el polinomio.
+     */
+    @Override
+    public String toString() {
+        if (isCero()) {
+            return "0";
+        }
+        StringBuilder sb = new StringBuilder();
+        int terminos = 0;
+        for (int i = numeradores.length - 1; i >= 0; i--) {
+            long c = numeradores[i];
+            if (c == 0) {
+                continue;
+            }
+            terminos++;
+            if (sb.length() > 0) {
+                sb.append(c < 0 ? " - " : " + ");
+            } else if (c < 0) {
+                sb.append('-');
+            }
+            long absoluto = Math.abs(c);
+            if (absoluto != 1 || i == 0) {
+                sb.append(Long.toUnsignedString(absoluto));
+            }
+            if (i > 0) {
+                sb.append('x');
+            }
+            if (i > 1) {
+                sb.append('^').append(i);
+            }
+        }
+        if (denominador == 1) {
+            return sb.toString();
+        }
+        return (terminos > 1 ? "(" + sb + ")" : sb.toString()) + "/" + denominador;
+    }
+}
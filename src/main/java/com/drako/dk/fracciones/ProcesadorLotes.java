@@ -0,0 +1,297 @@
+package com.drako.dk.fracciones;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Etapa de un flujo reactivo que procesa los elementos en lotes pequeños con control de demanda.
+ * <p>
+ * El procesador solicita a su publicador exactamente un lote de elementos y no solicita el siguiente hasta haber
+ * entregado los resultados del lote actual. La entrega a los suscriptores usa {@link SubmissionPublisher#submit},
+ * que bloquea cuando el buffer de algún suscriptor está lleno, de modo que la memoria utilizada queda acotada por el
+ * tamaño del lote y la capacidad del buffer sin importar la longitud de la entrada.
+ * <p>
+ * Si un lote sigue incompleto {@code plazoMaximoMs} milisegundos después de recibir su primer elemento, se procesa
+ * la parte publicable de inmediato y se repone la demanda correspondiente, de modo que una fuente lenta no retiene los
+ * resultados hasta completar el lote o terminar.
+ *
+ * @param <T> El tipo de los elementos recibidos.
+ * @param <R> El tipo de los elementos publicados.
+ */
+public abstract class ProcesadorLotes<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+
+    /**
+     * El plazo por defecto tras el cual se procesa un lote incompleto, en milisegundos.
+     */
+    public static final long PLAZO_MAXIMO_MS = 20;
+
+    /**
+     * El número de elementos que se solicitan y procesan juntos.
+     */
+    protected final int tamanoLote;
+
+    /**
+     * El número máximo de tareas en que se divide un lote para procesarlo en paralelo.
+     */
+    protected final int paralelismo;
+
+    private final Executor ejecutor;
+    private final Executor temporizador;
+    private final ReentrantLock candado = new ReentrantLock();
+    private Flow.Subscription suscripcion;
+    private List<T> lote;
+    private long generacion;
+    private boolean programado;
+    private boolean terminado;
+
+    /**
+     * Crea un procesador por lotes que procesa los lotes incompletos tras {@value #PLAZO_MAXIMO_MS} milisegundos.
+     *
+     * @param ejecutor    El ejecutor usado para entregar los resultados y procesar los lotes en paralelo.
+     * @param capacidad   La capacidad máxima del buffer de cada suscriptor.
+     * @param tamanoLote  El número de elementos que se procesan juntos.
+     * @param paralelismo El número máximo de tareas en que se divide cada lote.
+     * @throws IllegalArgumentException Si el tamaño del lote o el paralelismo no son positivos.
+     */
+    protected ProcesadorLotes(Executor ejecutor, int capacidad, int tamanoLote, int paralelismo) {
+        this(ejecutor, capacidad, tamanoLote, paralelismo, PLAZO_MAXIMO_MS);
+    }
+
+    /**
+     * Crea un procesador por lotes.
+     *
+     * @param ejecutor      El ejecutor usado para entregar los resultados y procesar los lotes en paralelo.
+     * @param capacidad     La capacidad máxima del buffer de cada suscriptor.
+     * @param tamanoLote    El número de elementos que se procesan juntos.
+     * @param paralelismo   El número máximo de tareas en que se divide cada lote.
+     * @param plazoMaximoMs El tiempo máximo que un lote incompleto espera más elementos, en milisegundos, o 0 para
+     *                      esperar siempre a completarlo o a que termine el publicador.
+     * @throws IllegalArgumentException Si el tamaño del lote o el paralelismo no son positivos, o el plazo es negativo.
+     */
+    protected ProcesadorLotes(Executor ejecutor, int capacidad, int tamanoLote, int paralelismo, long plazoMaximoMs) {
+        super(ejecutor, capacidad);
+        if (tamanoLote < 1 || paralelismo < 1) {
+            throw new IllegalArgumentException("El tamaño del lote y el paralelismo deben ser positivos");
+        }
+        if (plazoMaximoMs < 0) {
+            throw new IllegalArgumentException("El plazo máximo no puede ser negativo");
+        }
+        this.ejecutor = ejecutor;
+        this.temporizador = plazoMaximoMs == 0 ? null
+                : CompletableFuture.delayedExecutor(plazoMaximoMs, TimeUnit.MILLISECONDS, ejecutor);
+        this.tamanoLote = tamanoLote;
+        this.paralelismo = paralelismo;
+        this.lote = new ArrayList<>(tamanoLote);
+    }
+
+    /**
+     * Procesa un lote de elementos.
+     *
+     * @param elementos Los elementos del lote, en el orden en que se recibieron.
+     * @return Los resultados a publicar, en orden.
+     */
+    protected abstract List<R> procesar(List<T> elementos);
+
+    /**
+     * Procesa los elementos restantes cuando el publicador termina. Por defecto no publica nada más.
+     *
+     * @return Los resultados finales a publicar.
+     */
+    protected List<R> finalizar() {
+        return List.of();
+    }
+
+    /**
+     * Indica cuántos de los elementos de un lote incompleto pueden procesarse antes de completarlo. Por defecto todos;
+     * las etapas que agrupan elementos pueden devolver un valor menor para no partir un grupo.
+     *
+     * @param recibidos El número de elementos recibidos del lote incompleto.
+     * @return El número de elementos, desde el principio del lote, que se procesan al vencer el plazo.
+     */
+    protected int publicables(int recibidos) {
+        return recibidos;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription suscripcion) {
+        if (this.suscripcion != null) {
+            suscripcion.cancel();
+            return;
+        }
+        this.suscripcion = suscripcion;
+        suscripcion.request(tamanoLote);
+    }
+
+    @Override
+    public void onNext(T elemento) {
+        candado.lock();
+        try {
+            if (terminado) {
+                return;
+            }
+            lote.add(elemento);
+            if (lote.size() >= tamanoLote) {
+                List<T> completo = lote;
+                lote = new ArrayList<>(tamanoLote);
+                generacion++;
+                if (publicar(completo)) {
+                    suscripcion.request(completo.size());
+                }
+            } else if (!programado && temporizador != null) {
+                programado = true;
+                programarVencimiento(generacion);
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        candado.lock();
+        try {
+            terminado = true;
+            closeExceptionally(error);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        candado.lock();
+        try {
+            if (terminado) {
+                return;
+            }
+            terminado = true;
+            if (!lote.isEmpty() && !publicar(lote)) {
+                return;
+            }
+            lote = new ArrayList<>();
+            try {
+                finalizar().forEach(this::submit);
+                close();
+            } catch (RuntimeException e) {
+                closeExceptionally(e);
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Programa el procesamiento del lote en curso para cuando venza su plazo.
+     *
+     * @param lote La generación del lote en curso; si se publica antes de vencer el plazo, la tarea no hace nada.
+     */
+    private void programarVencimiento(long lote) {
+        temporizador.execute(() -> vencer(lote));
+    }
+
+    /**
+     * Procesa la parte publicable de un lote incompleto cuyo plazo venció. Si otro hilo está entregando elementos o
+     * resultados, el intento se reprograma en lugar de bloquear un hilo del ejecutor esperando el candado; si el lote
+     * se completó entretanto, el plazo se cuenta de nuevo para el lote siguiente.
+     *
+     * @param generacionLote La generación del lote cuyo plazo venció.
+     */
+    private void vencer(long generacionLote) {
+        if (!candado.tryLock()) {
+            programarVencimiento(generacionLote);
+            return;
+        }
+        try {
+            programado = false;
+            if (terminado || lote.isEmpty()) {
+                return;
+            }
+            if (generacion != generacionLote) {
+                programado = true;
+                programarVencimiento(generacion);
+                return;
+            }
+            int cantidad = publicables(lote.size());
+            if (cantidad == 0) {
+                return;
+            }
+            List<T> parcial = new ArrayList<>(lote.subList(0, cantidad));
+            lote = new ArrayList<>(lote.subList(cantidad, lote.size()));
+            generacion++;
+            if (publicar(parcial)) {
+                // Se repone lo publicado para mantener un lote completo entre lo solicitado y lo recibido.
+                suscripcion.request(cantidad);
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Procesa un lote y publica sus resultados.
+     *
+     * @param elementos Los elementos del lote.
+     * @return {@code true} si el lote se publicó, {@code false} si ocurrió un error y el flujo se cerró.
+     */
+    private boolean publicar(List<T> elementos) {
+        try {
+            for (R resultado : procesar(elementos)) {
+                submit(resultado);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            terminado = true;
+            suscripcion.cancel();
+            closeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            return false;
+        }
+    }
+
+    /**
+     * Aplica una función a cada elemento de una lista, dividiendo el trabajo hasta en {@link #paralelismo} tareas y
+     * conservando el orden original. La primera parte se procesa en el hilo que llama y las demás en el ejecutor.
+     *
+     * @param elementos Los elementos a transformar.
+     * @param funcion   La función a aplicar.
+     * @param <A>       El tipo de los elementos.
+     * @param <B>       El tipo de los resultados.
+     * @return Los resultados en el mismo orden que los elementos.
+     */
+    protected <A, B> List<B> mapearEnParalelo(List<A> elementos, Function<A, B> funcion) {
+        int partes = Math.min(paralelismo, elementos.size());
+        if (partes <= 1) {
+            List<B> resultados = new ArrayList<>(elementos.size());
+            for (A elemento : elementos) {
+                resultados.add(funcion.apply(elemento));
+            }
+            return resultados;
+        }
+        List<CompletableFuture<List<B>>> tareas = new ArrayList<>(partes - 1);
+        for (int i = 1; i < partes; i++) {
+            List<A> parte = elementos.subList(i * elementos.size() / partes, (i + 1) * elementos.size() / partes);
+            tareas.add(CompletableFuture.supplyAsync(() -> {
+                List<B> resultados = new ArrayList<>(parte.size());
+                for (A elemento : parte) {
+                    resultados.add(funcion.apply(elemento));
+                }
+                return resultados;
+            }, ejecutor));
+        }
+        List<B> resultados = new ArrayList<>(elementos.size());
+        for (A elemento : elementos.subList(0, elementos.size() / partes)) {
+            resultados.add(funcion.apply(elemento));
+        }
+        for (CompletableFuture<List<B>> tarea : tareas) {
+            resultados.addAll(tarea.join());
+        }
+        return resultados;
+    }
+}
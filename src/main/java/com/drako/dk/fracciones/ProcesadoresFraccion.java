@@ -0,0 +1,343 @@
+package com.drako.dk.fracciones;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.BinaryOperator;
+
+/**
+ * Esta clase proporciona métodos estáticos para crear etapas de flujos reactivos ({@link java.util.concurrent.Flow})
+ * que aplican operaciones de {@link Operador} a secuencias de fracciones con control de demanda.
+ * <p>
+ * Todas las etapas procesan los elementos en lotes de {@code tamanoLote} elementos y mantienen acotada la memoria sin
+ * importar la longitud de la entrada. Un lote incompleto se procesa tras {@value ProcesadorLotes#PLAZO_MAXIMO_MS}
+ * milisegundos sin completarse. Las variantes sin ejecutor usan {@link ForkJoinPool#commonPool()}, un lote de
+ * {@value #TAMANO_LOTE} elementos, el buffer por defecto de {@link Flow} y paralelismo 1.
+ */
+public final class ProcesadoresFraccion {
+
+    /**
+     * El tamaño de lote por defecto.
+     */
+    public static final int TAMANO_LOTE = 256;
+
+    private ProcesadoresFraccion() {
+    }
+
+    /**
+     * Crea una etapa que aplica una operación entre cada fracción recibida y una fracción constante.
+     *
+     * @param operacion La operación a aplicar, por ejemplo {@code Operador::suma}.
+     * @param constante La fracción constante usada como segundo operando.
+     * @return El procesador que publica los resultados en el orden de entrada.
+     */
+    public static ProcesadorLotes<Fraccion, Fraccion> mapear(BinaryOperator<Fraccion> operacion, Fraccion constante) {
+        return mapear(operacion, constante, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), TAMANO_LOTE, 1);
+    }
+
+    /**
+     * Crea una etapa que aplica una operación entre cada fracción recibida y una fracción constante.
+     *
+     * @param operacion   La operación a aplicar, por ejemplo {@code Operador::suma}.
+     * @param constante   La fracción constante usada como segundo operando.
+     * @param ejecutor    El ejecutor usado para entregar los resultados y procesar los lotes en paralelo.
+     * @param capacidad   La capacidad máxima del buffer de cada suscriptor.
+     * @param tamanoLote  El número de elementos que se procesan juntos.
+     * @param paralelismo El número máximo de tareas en que se divide cada lote.
+     * @return El procesador que publica los resultados en el orden de entrada.
+     */
+    public static ProcesadorLotes<Fraccion, Fraccion> mapear(BinaryOperator<Fraccion> operacion, Fraccion constante,
+                                                             Executor ejecutor, int capacidad, int tamanoLote, int paralelismo) {
+        return new ProcesadorLotes<>(ejecutor, capacidad, tamanoLote, paralelismo) {
+            @Override
+            protected List<Fraccion> procesar(List<Fraccion> elementos) {
+                return mapearEnParalelo(elementos, f -> operacion.apply(f, constante));
+            }
+        };
+    }
+
+    /**
+     * Crea una etapa que publica la suma acumulada de las fracciones recibidas. Si alguna suma parcial reducida no cabe
+     * en una fracción, el flujo termina con una {@link ArithmeticException}.
+     *
+     * @return El procesador que publica cada suma parcial.
+     */
+    public static ProcesadorLotes<Fraccion, Fraccion> sumaAcumulada() {
+        return sumaAcumulada(ForkJoinPool.commonPool(), Flow.defaultBufferSize(), TAMANO_LOTE);
+    }
+
+    /**
+     * Crea una etapa que publica la suma acumulada de las fracciones recibidas. La suma se acumula en {@code long} y se
+     * reduce tras cada elemento; si alguna suma parcial no cabe en una fracción, el flujo termina con una
+     * {@link ArithmeticException} en lugar de publicar un valor desbordado.
+     *
+     * @param ejecutor   El ejecutor usado para entregar los resultados.
+     * @param capacidad  La capacidad máxima del buffer de cada suscriptor.
+     * @param tamanoLote El número de elementos que se procesan juntos.
+     * @return El procesador que publica cada suma parcial.
+     */
+    public static ProcesadorLotes<Fraccion, Fraccion> sumaAcumulada(Executor ejecutor, int capacidad, int tamanoLote) {
+        return new ProcesadorLotes<>(ejecutor, capacidad, tamanoLote, 1) {
+            private long numerador;
+            private long denominador = 1;
+
+            @Override
+            protected List<Fraccion> procesar(List<Fraccion> elementos) {
+                List<Fraccion> resultados = new ArrayList<>(elementos.size());
+                for (Fraccion elemento : elementos) {
+                    Fraccion sumando = elemento.getFraccionWithSign();
+                    // Con ambos términos en el rango de int, los productos caben en long; solo la suma puede desbordar.
+                    long suma = Math.addExact(numerador * sumando.denominador, sumando.numerador * denominador);
+                    long producto = denominador * sumando.denominador;
+                    long mcd = Operador.mcd(suma, producto);
+                    numerador = suma / mcd;
+                    denominador = producto / mcd;
+                    if (numerador != (int) numerador || denominador != (int) denominador) {
+                        throw new ArithmeticException("La suma acumulada " + numerador + "/" + denominador
+                                + " excede el rango de Fraccion");
+                    }
+                    resultados.add(new Fraccion((int) numerador, (int) denominador));
+                }
+                return resultados;
+            }
+        };
+    }
+
+    /**
+     * Crea una etapa que agrupa las fracciones recibidas en ventanas consecutivas de tamaño fijo y publica la
+     * agregación de cada ventana. Si al terminar queda una ventana incompleta, también se publica su agregación.
+     *
+     * @param tamanoVentana El número de fracciones de cada ventana.
+     * @param agregacion    La operación con la que se combinan las fracciones de una ventana, por ejemplo {@code Operador::suma}.
+     * @return El procesador que publica una fracción por ventana.
+     */
+    public static ProcesadorLotes<Fraccion, Fraccion> ventana(int tamanoVentana, BinaryOperator<Fraccion> agregacion) {
+        return ventana(tamanoVentana, agregacion, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), 1);
+    }
+
+    /**
+     * Crea una etapa que agrupa las fracciones recibidas en ventanas consecutivas de tamaño fijo y publica la
+     * agregación de cada ventana. Cada lote contiene un número entero de ventanas, por lo que las ventanas de un mismo
+     * lote se agregan en paralelo.
+     *
+     * @param tamanoVentana El número de fracciones de cada ventana.
+     * @param agregacion    La operación con la que se combinan las fracciones de una ventana.
+     * @param ejecutor      El ejecutor usado para entregar los resultados y procesar los lotes en paralelo.
+     * @param capacidad     La capacidad máxima del buffer de cada suscriptor.
+     * @param paralelismo   El número máximo de tareas en que se divide cada lote.
+     * @return El procesador que publica una fracción por ventana.
+     * @throws IllegalArgumentException Si el tamaño de la ventana no es positivo.
+     */
+    public static ProcesadorLotes<Fraccion, Fraccion> ventana(int tamanoVentana, BinaryOperator<Fraccion> agregacion,
+                                                              Executor ejecutor, int capacidad, int paralelismo) {
+        if (tamanoVentana < 1) {
+            throw new IllegalArgumentException("El tamaño de la ventana debe ser positivo");
+        }
+        int ventanasPorLote = Math.max(1, TAMANO_LOTE / tamanoVentana);
+        return new ProcesadorLotes<>(ejecutor, capacidad, ventanasPorLote * tamanoVentana, paralelismo) {
+            @Override
+            protected List<Fraccion> procesar(List<Fraccion> elementos) {
+                List<List<Fraccion>> ventanas = new ArrayList<>();
+                for (int i = 0; i < elementos.size(); i += tamanoVentana) {
+                    ventanas.add(elementos.subList(i, Math.min(i + tamanoVentana, elementos.size())));
+                }
+                return mapearEnParalelo(ventanas, v -> v.stream().reduce(agregacion).orElseThrow());
+            }
+
+            @Override
+            protected int publicables(int recibidos) {
+                // Al vencer el plazo solo se agregan las ventanas completas.
+                return recibidos - recibidos % tamanoVentana;
+            }
+        };
+    }
+
+    /**
+     * Crea un publicador que combina por pares las fracciones de dos publicadores aplicando una operación.
+     * El publicador termina cuando cualquiera de las dos entradas se agota.
+     *
+     * @param izquierda La fuente de los primeros operandos.
+     * @param derecha   La fuente de los segundos operandos.
+     * @param operacion La operación a aplicar a cada par, por ejemplo {@code Operador::multiplicar}.
+     * @return El publicador de los resultados.
+     */
+    public static Flow.Publisher<Fraccion> combinar(Flow.Publisher<Fraccion> izquierda, Flow.Publisher<Fraccion> derecha,
+                                                    BinaryOperator<Fraccion> operacion) {
+        return combinar(izquierda, derecha, operacion, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), TAMANO_LOTE);
+    }
+
+    /**
+     * Crea un publicador que combina por pares las fracciones de dos publicadores aplicando una operación.
+     * Cada entrada mantiene a lo sumo {@code tamanoLote} elementos solicitados o en espera de su pareja.
+     *
+     * @param izquierda  La fuente de los primeros operandos.
+     * @param derecha    La fuente de los segundos operandos.
+     * @param operacion  La operación a aplicar a cada par.
+     * @param ejecutor   El ejecutor usado para entregar los resultados.
+     * @param capacidad  La capacidad máxima del buffer de cada suscriptor.
+     * @param tamanoLote El número máximo de elementos pendientes por entrada.
+     * @return El publicador de los resultados.
+     */
+    public static Flow.Publisher<Fraccion> combinar(Flow.Publisher<Fraccion> izquierda, Flow.Publisher<Fraccion> derecha,
+                                                    BinaryOperator<Fraccion> operacion, Executor ejecutor,
+                                                    int capacidad, int tamanoLote) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño del lote debe ser positivo");
+        }
+        Combinador combinador = new Combinador(operacion, ejecutor, capacidad, tamanoLote);
+        izquierda.subscribe(combinador.izquierda);
+        derecha.subscribe(combinador.derecha);
+        return combinador;
+    }
+
+    /**
+     * Publicador que empareja los elementos de dos entradas.
+     */
+    private static final class Combinador extends SubmissionPublisher<Fraccion> {
+
+        private final BinaryOperator<Fraccion> operacion;
+        private final int tamanoLote;
+        private final Entrada izquierda = new Entrada();
+        private final Entrada derecha = new Entrada();
+        private boolean terminado;
+        private boolean drenando;
+        private boolean repetir;
+
+        Combinador(BinaryOperator<Fraccion> operacion, Executor ejecutor, int capacidad, int tamanoLote) {
+            super(ejecutor, capacidad);
+            this.operacion = operacion;
+            this.tamanoLote = tamanoLote;
+        }
+
+        /**
+         * Empareja los elementos disponibles, publica los resultados y repone la demanda de cada entrada.
+         * Solo un hilo a la vez publica resultados y lo hace sin retener el candado, porque {@link #submit} puede
+         * bloquearse hasta que los suscriptores consuman y las entradas deben poder seguir encolando mientras tanto.
+         */
+        private void drenar() {
+            synchronized (this) {
+                if (drenando) {
+                    repetir = true;
+                    return;
+                }
+                drenando = true;
+            }
+            while (true) {
+                Fraccion primero;
+                Fraccion segundo;
+                synchronized (this) {
+                    if (terminado) {
+                        drenando = false;
+                        return;
+                    }
+                    if (izquierda.cola.isEmpty() || derecha.cola.isEmpty()) {
+                        if ((izquierda.completa && izquierda.cola.isEmpty()) || (derecha.completa && derecha.cola.isEmpty())) {
+                            drenando = false;
+                            terminar(null);
+                            return;
+                        }
+                        izquierda.reponer();
+                        derecha.reponer();
+                        if (!repetir) {
+                            drenando = false;
+                            return;
+                        }
+                        repetir = false;
+                        continue;
+                    }
+                    primero = izquierda.cola.poll();
+                    segundo = derecha.cola.poll();
+                }
+                try {
+                    submit(operacion.apply(primero, segundo));
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        drenando = false;
+                        if (!terminado) {
+                            terminar(e);
+                        }
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void terminar(Throwable error) {
+            terminado = true;
+            izquierda.cancelar();
+            derecha.cancelar();
+            if (error == null) {
+                close();
+            } else {
+                closeExceptionally(error);
+            }
+        }
+
+        /**
+         * Suscriptor a una de las dos entradas.
+         */
+        private final class Entrada implements Flow.Subscriber<Fraccion> {
+
+            private final ArrayDeque<Fraccion> cola = new ArrayDeque<>();
+            private Flow.Subscription suscripcion;
+            private long pendientes;
+            private boolean completa;
+
+            @Override
+            public void onSubscribe(Flow.Subscription suscripcion) {
+                synchronized (Combinador.this) {
+                    if (this.suscripcion != null || terminado) {
+                        suscripcion.cancel();
+                        return;
+                    }
+                    this.suscripcion = suscripcion;
+                    reponer();
+                }
+            }
+
+            @Override
+            public void onNext(Fraccion elemento) {
+                synchronized (Combinador.this) {
+                    pendientes--;
+                    cola.add(elemento);
+                }
+                drenar();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                synchronized (Combinador.this) {
+                    if (!terminado) {
+                        terminar(error);
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                synchronized (Combinador.this) {
+                    completa = true;
+                }
+                drenar();
+            }
+
+            private void reponer() {
+                long faltantes = tamanoLote - cola.size() - pendientes;
+                if (suscripcion != null && !completa && faltantes >= Math.max(1, tamanoLote / 2)) {
+                    pendientes += faltantes;
+                    suscripcion.request(faltantes);
+                }
+            }
+
+            private void cancelar() {
+                if (suscripcion != null) {
+                    suscripcion.cancel();
+                }
+            }
+        }
+    }
+}
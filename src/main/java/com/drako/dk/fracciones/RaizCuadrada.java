@@ -0,0 +1,286 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+
+/**
+ * Esta clase proporciona métodos estáticos para calcular la raíz cuadrada de fracciones.
+ * Detecta cuadrados perfectos mediante filtros de residuos cuadráticos y la raíz entera, devuelve el resultado exacto
+ * cuando la raíz es racional y, en caso contrario, aproxima la raíz con la iteración de Newton sobre racionales hasta
+ * alcanzar una cota de error o un límite para el denominador.
+ */
+public final class RaizCuadrada {
+
+    /**
+     * Máscara de bits con los residuos cuadráticos módulo 64.
+     */
+    private static final long RESIDUOS_64;
+
+    /**
+     * Residuos cuadráticos módulo 63.
+     */
+    private static final boolean[] RESIDUOS_63 = new boolean[63];
+
+    /**
+     * Residuos cuadráticos módulo 65.
+     */
+    private static final boolean[] RESIDUOS_65 = new boolean[65];
+
+    /**
+     * Residuos cuadráticos módulo 11.
+     */
+    private static final boolean[] RESIDUOS_11 = new boolean[11];
+
+    /**
+     * La mayor raíz entera posible de un valor {@code long}.
+     */
+    private static final long RAIZ_MAXIMA = 3037000499L;
+
+    static {
+        long residuos = 0;
+        for (int i = 0; i < 64; i++) {
+            residuos |= 1L << ((i * i) % 64);
+        }
+        RESIDUOS_64 = residuos;
+        for (int i = 0; i < 63; i++) {
+            RESIDUOS_63[(i * i) % 63] = true;
+        }
+        for (int i = 0; i < 65; i++) {
+            RESIDUOS_65[(i * i) % 65] = true;
+        }
+        for (int i = 0; i < 11; i++) {
+            RESIDUOS_11[(i * i) % 11] = true;
+        }
+    }
+
+    private RaizCuadrada() {
+    }
+
+    /**
+     * Verifica si un número es un cuadrado perfecto.
+     * Los filtros de residuos cuadráticos descartan la mayoría de los valores que no son cuadrados sin calcular la raíz.
+     *
+     * @param n El número a verificar.
+     * @return {@code true} si el número es un cuadrado perfecto, {@code false} de lo contrario.
+     */
+    public static boolean esCuadradoPerfecto(long n) {
+        if (n < 0) {
+            return false;
+        }
+        if ((RESIDUOS_64 >>> n & 1) == 0) {
+            return false;
+        }
+        if (!RESIDUOS_63[(int) (n % 63)] || !RESIDUOS_65[(int) (n % 65)] || !RESIDUOS_11[(int) (n % 11)]) {
+            return false;
+        }
+        long raiz = raizEntera(n);
+        return raiz * raiz == n;
+    }
+
+    /**
+     * Calcula la raíz cuadrada entera de un número, es decir, el mayor entero cuyo cuadrado no excede al número.
+     *
+     * @param n El número del cual se calculará la raíz entera.
+     * @return La raíz cuadrada entera del número.
+     * @throws ArithmeticException Si el número es negativo.
+     */
+    public static long raizEntera(long n) {
+        if (n < 0) {
+            throw new ArithmeticException("No existe la raíz cuadrada real de un número negativo");
+        }
+        long raiz = Math.min((long) Math.sqrt((double) n), RAIZ_MAXIMA);
+        while (raiz * raiz > n) {
+            raiz--;
+        }
+        while (raiz < RAIZ_MAXIMA && (raiz + 1) * (raiz + 1) <= n) {
+            raiz++;
+        }
+        return raiz;
+    }
+
+    /**
+     * Calcula la raíz cuadrada exacta de una fracción cuando esta es racional.
+     *
+     * @param fraccion La fracción de la cual se calculará la raíz cuadrada.
+     * @return La raíz cuadrada reducida, o {@code null} si la raíz no es racional.
+     * @throws ArithmeticException Si la fracción es negativa.
+     */
+    public static Fraccion raizExacta(Fraccion fraccion) {
+        Fraccion reducida = validar(fraccion);
+        long numerador = reducida.numerador;
+        long denominador = reducida.denominador;
+        if (!esCuadradoPerfecto(numerador) || !esCuadradoPerfecto(denominador)) {
+            return null;
+        }
+        return new Fraccion((int) raizEntera(numerador), (int) raizEntera(denominador));
+    }
+
+    /**
+     * Calcula la raíz cuadrada de una fracción con la mayor precisión representable.
+     * Si la raíz es racional se devuelve el valor exacto; de lo contrario se itera hasta que el siguiente paso ya no
+     * pueda representarse en una fracción.
+     *
+     * @param fraccion La fracción de la cual se calculará la raíz cuadrada.
+     * @return La raíz cuadrada exacta o la mejor aproximación alcanzada.
+     * @throws ArithmeticException Si la fracción es negativa.
+     */
+    public static Fraccion raiz(Fraccion fraccion) {
+        return raiz(fraccion, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calcula la raíz cuadrada de una fracción con un error máximo y un límite para el denominador.
+     * Si la raíz es racional se devuelve el valor exacto. De lo contrario se usa que la raíz de a/b es igual a la raíz
+     * de a·b dividida entre b, y se aplica la iteración de Newton y' = (y + N/y) / 2 sobre racionales para N = a·b,
+     * comenzando por encima de la raíz. Así cada aproximación excede a la raíz y su error queda acotado por y - N/y.
+     * La iteración termina al alcanzar el error solicitado o cuando el siguiente paso excede el límite del denominador.
+     * Si ya la primera aproximación excede ese límite, se devuelve la fracción más cercana a la raíz entre las de
+     * denominador admisible.
+     *
+     * @param fraccion       La fracción de la cual se calculará la raíz cuadrada.
+     * @param errorMaximo    El error absoluto máximo permitido; 0 para iterar hasta el límite del denominador.
+     * @param maxDenominador El mayor denominador permitido en el resultado.
+     * @return La raíz cuadrada exacta o la aproximación alcanzada.
+     * @throws ArithmeticException      Si la fracción es negativa.
+     * @throws IllegalArgumentException Si el error máximo es negativo o el límite del denominador no es positivo.
+     */
+    public static Fraccion raiz(Fraccion fraccion, double errorMaximo, int maxDenominador) {
+        if (errorMaximo < 0 || maxDenominador < 1) {
+            throw new IllegalArgumentException("El error máximo no puede ser negativo y el denominador máximo debe ser positivo");
+        }
+        Fraccion exacta = raizExacta(fraccion);
+        if (exacta != null) {
+            return exacta;
+        }
+        Fraccion reducida = fraccion.reducir();
+        long b = reducida.denominador;
+        long n = reducida.numerador * b;
+
+        long p = raizEntera(n) + 1;
+        long q = 1;
+        long[] aproximacion = escalar(p, q, b);
+        if (aproximacion == null || aproximacion[1] > maxDenominador) {
+            return masCercana(n, b, maxDenominador);
+        }
+
+        while (cotaError(p, q, n) / b > errorMaximo) {
+            long siguienteP, siguienteQ;
+            try {
+                siguienteP = Math.addExact(Math.multiplyExact(p, p), Math.multiplyExact(Math.multiplyExact(q, q), n));
+                siguienteQ = Math.multiplyExact(2 * p, q);
+            } catch (ArithmeticException e) {
+                break;
+            }
+            long mcd = Operador.mcd(siguienteP, siguienteQ);
+            siguienteP /= mcd;
+            siguienteQ /= mcd;
+            long[] siguiente = escalar(siguienteP, siguienteQ, b);
+            if (siguiente == null || siguiente[1] > maxDenominador) {
+                break;
+            }
+            p = siguienteP;
+            q = siguienteQ;
+            aproximacion = siguiente;
+        }
+        return new Fraccion((int) aproximacion[0], (int) aproximacion[1]);
+    }
+
+    /**
+     * Encuentra la fracción más cercana a la raíz irracional de n dividida entre b, con denominador acotado.
+     * <p>
+     * Como b divide a n, la raíz es el irracional cuadrático (0 + √n)/b y su fracción continua se obtiene de forma
+     * exacta con la recurrencia P' = a·Q - P, Q' = (n - P'²)/Q, sin aproximar la raíz con punto flotante. El recorrido
+     * avanza por las convergentes mientras el denominador y el numerador sigan siendo admisibles y al final elige entre
+     * la última convergente y la mejor semiconvergente admisible, igual que {@link SternBrocot}.
+     *
+     * @param n              El radicando, múltiplo de b y que no es un cuadrado perfecto.
+     * @param b              El divisor de la raíz.
+     * @param maxDenominador El mayor denominador permitido.
+     * @return La fracción reducida más cercana a √n / b.
+     */
+    private static Fraccion masCercana(long n, long b, long maxDenominador) {
+        long r = raizEntera(n);
+        long pc = 0, qc = b;
+        long p0 = 0, q0 = 1, p1 = 1, q1 = 0;
+        while (true) {
+            // Para Q > 0, el cociente parcial ⌊(P + √n)/Q⌋ coincide con ⌊(P + ⌊√n⌋)/Q⌋.
+            long a = (pc + r) / qc;
+            if (q1 != 0) {
+                long limite = (maxDenominador - q0) / q1;
+                if (p1 != 0) {
+                    limite = Math.min(limite, (Integer.MAX_VALUE - p0) / p1);
+                }
+                if (a > limite) {
+                    // El cociente completo es (P + √n)/Q, así que la semiconvergente de índice k es más cercana que la
+                    // convergente si y solo si (2k·q1 + q0)·Q - q1·P > q1·√n.
+                    if (limite > 0) {
+                        BigInteger lado = BigInteger.valueOf(2 * limite * q1 + q0).multiply(BigInteger.valueOf(qc))
+                                .subtract(BigInteger.valueOf(q1).multiply(BigInteger.valueOf(pc)));
+                        BigInteger q1Cuadrado = BigInteger.valueOf(q1).multiply(BigInteger.valueOf(q1));
+                        if (lado.signum() > 0 && lado.multiply(lado).compareTo(q1Cuadrado.multiply(BigInteger.valueOf(n))) > 0) {
+                            p1 = limite * p1 + p0;
+                            q1 = limite * q1 + q0;
+                        }
+                    }
+                    return new Fraccion((int) p1, (int) q1);
+                }
+            }
+            long p2 = a * p1 + p0;
+            long q2 = a * q1 + q0;
+            p0 = p1;
+            q0 = q1;
+            p1 = p2;
+            q1 = q2;
+            pc = a * qc - pc;
+            qc = (n - pc * pc) / qc;
+        }
+    }
+
+    /**
+     * Divide la aproximación p/q entre b y reduce el resultado.
+     *
+     * @param p El numerador de la aproximación.
+     * @param q El denominador de la aproximación.
+     * @param b El divisor.
+     * @return El numerador y denominador reducidos, o {@code null} si no pueden representarse en una fracción.
+     */
+    private static long[] escalar(long p, long q, long b) {
+        long mcd = Operador.mcd(p, b);
+        long numerador = p / mcd;
+        long denominador;
+        try {
+            denominador = Math.multiplyExact(q, b / mcd);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        if (numerador > Integer.MAX_VALUE || denominador > Integer.MAX_VALUE) {
+            return null;
+        }
+        return new long[]{numerador, denominador};
+    }
+
+    /**
+     * Calcula la cota superior del error de una aproximación p/q que excede a la raíz de n, dada por y - n/y.
+     *
+     * @param p El numerador de la aproximación.
+     * @param q El denominador de la aproximación.
+     * @param n El radicando.
+     * @return La cota del error de la aproximación.
+     */
+    private static double cotaError(long p, long q, long n) {
+        return (double) p / q - ((double) n * q) / p;
+    }
+
+    /**
+     * Valida que la fracción no sea negativa y la devuelve reducida.
+     *
+     * @param fraccion La fracción a validar.
+     * @return La fracción reducida.
+     * @throws ArithmeticException Si la fracción es negativa.
+     */
+    private static Fraccion validar(Fraccion fraccion) {
+        if (fraccion.signo == Fraccion.Signo.NEGATIVE && fraccion.numerador != 0) {
+            throw new ArithmeticException("No existe la raíz cuadrada real de una fracción negativa");
+        }
+        return fraccion.reducir();
+    }
+}
@@ -0,0 +1,185 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Esta clase proporciona métodos estáticos para sumar exactamente series racionales largas mediante división binaria.
+ * <p>
+ * En lugar de acumular la suma término a término, cuyo costo crece con el tamaño del denominador acumulado, el rango de
+ * índices se divide recursivamente en mitades y cada mitad se resume con los productos P y Q, el denominador común B de
+ * sus factores propios y el numerador T, de modo que la suma parcial es {@code T / (B·Q)}. Con {@code g = mcd(B1, B2)},
+ * las mitades se combinan con {@code P = P1·P2}, {@code Q = Q1·Q2}, {@code B = B1·(B2/g)} y
+ * {@code T = (B2/g)·Q2·T1 + (B1/g)·P1·T2}, lo que mantiene los operandos de las multiplicaciones equilibrados y permite
+ * aprovechar la multiplicación rápida de {@link BigInteger}. B es así el mínimo común múltiplo de los b(n) y no su
+ * producto, por lo que en series como la armónica no crece más que el denominador de la suma; si todos los b(n) valen 1,
+ * como en las series de Taylor, B se omite y la combinación es la forma clásica P/Q/T. Los subrangos grandes se reparten
+ * entre los hilos de un {@link ForkJoinPool} y la fracción resultante se reduce una sola vez al final.
+ */
+public final class SerieRacional {
+
+    /**
+     * El tamaño de rango por debajo del cual los subrangos se suman en el mismo hilo.
+     */
+    static final long UMBRAL_PARALELO = 1 << 11;
+
+    private SerieRacional() {
+    }
+
+    /**
+     * Suma los términos de una serie en el rango de índices [inicio, fin) usando el pool común.
+     *
+     * @param termino El generador de los términos de la serie.
+     * @param inicio  El índice del primer término, incluido.
+     * @param fin     El índice del último término, excluido.
+     * @return La suma exacta y reducida de la serie.
+     * @throws IllegalArgumentException Si el rango está invertido.
+     * @throws ArithmeticException      Si algún denominador es cero.
+     */
+    public static FraccionGrande sumar(TerminoSerie termino, long inicio, long fin) {
+        return sumar(termino, inicio, fin, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Suma los términos de una serie en el rango de índices [inicio, fin).
+     *
+     * @param termino El generador de los términos de la serie.
+     * @param inicio  El índice del primer término, incluido.
+     * @param fin     El índice del último término, excluido.
+     * @param pool    El pool en el que se suman los subrangos en paralelo.
+     * @return La suma exacta y reducida de la serie.
+     * @throws IllegalArgumentException Si el rango está invertido.
+     * @throws ArithmeticException      Si algún denominador es cero.
+     */
+    public static FraccionGrande sumar(TerminoSerie termino, long inicio, long fin, ForkJoinPool pool) {
+        return sumar(n -> hoja(termino, n), inicio, fin, pool);
+    }
+
+    /**
+     * Suma una serie cuyos términos son fracciones independientes en el rango de índices [inicio, fin).
+     *
+     * @param termino La función que devuelve el término de cada índice.
+     * @param inicio  El índice del primer término, incluido.
+     * @param fin     El índice del último término, excluido.
+     * @return La suma exacta y reducida de la serie.
+     * @throws IllegalArgumentException Si el rango está invertido.
+     * @throws ArithmeticException      Si algún denominador es cero.
+     */
+    public static FraccionGrande sumarFracciones(LongFunction<Fraccion> termino, long inicio, long fin) {
+        return sumar(n -> {
+            Fraccion fraccion = termino.apply(n);
+            if (fraccion.denominador == 0) {
+                throw new ArithmeticException("El término " + n + " tiene denominador cero");
+            }
+            long numerador = fraccion.signo == Fraccion.Signo.NEGATIVE ? -(long) fraccion.numerador : fraccion.numerador;
+            return new Segmento(BigInteger.ONE, BigInteger.ONE, BigInteger.valueOf(fraccion.denominador),
+                    BigInteger.valueOf(numerador));
+        }, inicio, fin, ForkJoinPool.commonPool());
+    }
+
+    private static FraccionGrande sumar(LongFunction<Segmento> hojas, long inicio, long fin, ForkJoinPool pool) {
+        if (fin < inicio) {
+            throw new IllegalArgumentException("El índice final no puede ser menor que el inicial");
+        }
+        if (fin == inicio) {
+            return FraccionGrande.CERO;
+        }
+        Segmento segmento = pool.invoke(new Division(hojas, inicio, fin));
+        return new FraccionGrande(segmento.t, segmento.b.multiply(segmento.q));
+    }
+
+    /**
+     * Calcula el resumen de un rango de forma secuencial.
+     *
+     * @param hojas  La función que resume cada término.
+     * @param inicio El índice inicial, incluido.
+     * @param fin    El índice final, excluido.
+     * @return El resumen del rango.
+     */
+    private static Segmento dividir(LongFunction<Segmento> hojas, long inicio, long fin) {
+        if (fin - inicio == 1) {
+            return hojas.apply(inicio);
+        }
+        long medio = inicio + (fin - inicio) / 2;
+        return dividir(hojas, inicio, medio).combinar(dividir(hojas, medio, fin));
+    }
+
+    private static Segmento hoja(TerminoSerie termino, long n) {
+        long b = termino.b(n);
+        long q = termino.q(n);
+        if (b == 0 || q == 0) {
+            throw new ArithmeticException("El término " + n + " tiene denominador cero");
+        }
+        BigInteger p = BigInteger.valueOf(termino.p(n));
+        return new Segmento(p, BigInteger.valueOf(q), BigInteger.valueOf(b), BigInteger.valueOf(termino.a(n)).multiply(p));
+    }
+
+    /**
+     * Resumen de un rango de términos: la suma del rango es T / (B·Q) y P/Q es el producto de sus factores acumulados.
+     */
+    private static final class Segmento {
+        private final BigInteger p;
+        private final BigInteger q;
+        private final BigInteger b;
+        private final BigInteger t;
+
+        Segmento(BigInteger p, BigInteger q, BigInteger b, BigInteger t) {
+            this.p = p;
+            this.q = q;
+            this.b = b;
+            this.t = t;
+        }
+
+        Segmento combinar(Segmento derecho) {
+            // Los factores de cada lado que llevan la suma al denominador común lcm(B1, B2); valen 1 si B1 o B2 es 1.
+            BigInteger factorIzquierdo = derecho.b;
+            BigInteger factorDerecho = this.b;
+            if (!this.b.equals(BigInteger.ONE) && !derecho.b.equals(BigInteger.ONE)) {
+                BigInteger mcd = this.b.gcd(derecho.b);
+                if (!mcd.equals(BigInteger.ONE)) {
+                    factorIzquierdo = derecho.b.divide(mcd);
+                    factorDerecho = this.b.divide(mcd);
+                }
+            }
+            BigInteger t = multiplicar(factorIzquierdo, multiplicar(derecho.q, this.t))
+                    .add(multiplicar(factorDerecho, multiplicar(p, derecho.t)));
+            return new Segmento(multiplicar(p, derecho.p), multiplicar(q, derecho.q), multiplicar(b, factorIzquierdo), t);
+        }
+
+        private static BigInteger multiplicar(BigInteger factor, BigInteger valor) {
+            if (factor.equals(BigInteger.ONE)) {
+                return valor;
+            }
+            return valor.equals(BigInteger.ONE) ? factor : factor.multiply(valor);
+        }
+    }
+
+    /**
+     * Tarea que divide un rango grande en dos mitades que se calculan en paralelo.
+     */
+    private static final class Division extends RecursiveTask<Segmento> {
+        private final LongFunction<Segmento> hojas;
+        private final long inicio;
+        private final long fin;
+
+        Division(LongFunction<Segmento> hojas, long inicio, long fin) {
+            this.hojas = hojas;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        protected Segmento compute() {
+            if (fin - inicio <= UMBRAL_PARALELO) {
+                return dividir(hojas, inicio, fin);
+            }
+            long medio = inicio + (fin - inicio) / 2;
+            Division izquierda = new Division(hojas, inicio, medio);
+            izquierda.fork();
+            Segmento derecho = new Division(hojas, medio, fin).compute();
+            return izquierda.join().combinar(derecho);
+        }
+    }
+}
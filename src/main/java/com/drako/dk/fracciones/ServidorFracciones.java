@@ -0,0 +1,393 @@
+package com.drako.dk.fracciones;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor HTTP embebible que evalúa lotes de operaciones con fracciones mediante {@link Operador}.
+ * <p>
+ * El servidor escucha únicamente en la interfaz local y atiende las siguientes rutas:
+ * <ul>
+ *     <li>{@code POST /evaluar} con {@code Content-Type: text/plain}: cada línea del cuerpo es una expresión aceptada
+ *     por {@link Evaluador}. La respuesta contiene una línea por expresión con la fracción resultante o
+ *     {@code ERROR: <mensaje>}.</li>
+ *     <li>{@code POST /evaluar} con {@code Content-Type: application/octet-stream}: el cuerpo es una secuencia de
+ *     registros binarios de 17 bytes (operador ASCII y los enteros de 32 bits numerador1, denominador1, numerador2 y
+ *     denominador2). La respuesta contiene por cada registro el numerador con signo y el denominador del resultado,
+ *     o dos ceros si la operación falló o su resultado no está definido, como en una división entre cero. Un registro
+ *     incompleto al final del cuerpo se descarta.</li>
+ *     <li>{@code GET /metricas}: devuelve las métricas de latencia del servidor en texto.</li>
+ * </ul>
+ * Los resultados se escriben en la respuesta a medida que se evalúan, sin esperar a leer el lote completo. Por eso una
+ * solicitud que excede el tamaño máximo a mitad del cuerpo, o que termina con un registro binario incompleto, ya tiene
+ * una respuesta 200 en curso: se contabiliza como rechazada y no como atendida.
+ * Cada solicitud se atiende en un hilo virtual cuando la plataforma los ofrece, o en un grupo de hilos en caso
+ * contrario.
+ */
+public final class ServidorFracciones implements AutoCloseable {
+
+    /**
+     * El tamaño máximo de solicitud por defecto: 16 MiB.
+     */
+    public static final long TAMANO_MAXIMO_POR_DEFECTO = 16L * 1024 * 1024;
+
+    /**
+     * El tamaño en bytes de un registro binario de solicitud.
+     */
+    public static final int TAMANO_REGISTRO = 17;
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final long tamanoMaximo;
+
+    private final LongAdder solicitudes = new LongAdder();
+    private final LongAdder solicitudesRechazadas = new LongAdder();
+    private final LongAdder operaciones = new LongAdder();
+    private final LongAdder latenciaTotal = new LongAdder();
+    private final LongAccumulator latenciaMaxima = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Crea un servidor en un puerto libre de la interfaz local con el tamaño máximo de solicitud por defecto.
+     *
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorFracciones() throws IOException {
+        this(0, TAMANO_MAXIMO_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un servidor en la interfaz local.
+     *
+     * @param puerto       El puerto en el que escuchará el servidor, o 0 para elegir un puerto libre.
+     * @param tamanoMaximo El tamaño máximo en bytes del cuerpo de una solicitud.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorFracciones(int puerto, long tamanoMaximo) throws IOException {
+        if (tamanoMaximo <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de solicitud debe ser positivo");
+        }
+        this.tamanoMaximo = tamanoMaximo;
+        this.ejecutor = crearEjecutor();
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        this.servidor.setExecutor(ejecutor);
+        this.servidor.createContext("/evaluar", this::atenderEvaluacion);
+        this.servidor.createContext("/metricas", this::atenderMetricas);
+    }
+
+    /**
+     * Inicia el servidor.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Detiene el servidor y libera el ejecutor de solicitudes.
+     */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     *
+     * @return El puerto local del servidor.
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Obtiene el número de solicitudes de evaluación atendidas.
+     *
+     * @return El número de solicitudes atendidas.
+     */
+    public long getSolicitudes() {
+        return solicitudes.sum();
+    }
+
+    /**
+     * Obtiene el número de solicitudes rechazadas por exceder el tamaño máximo o por ser inválidas.
+     *
+     * @return El número de solicitudes rechazadas.
+     */
+    public long getSolicitudesRechazadas() {
+        return solicitudesRechazadas.sum();
+    }
+
+    /**
+     * Obtiene el número de operaciones evaluadas en todas las solicitudes.
+     *
+     * @return El número de operaciones evaluadas.
+     */
+    public long getOperaciones() {
+        return operaciones.sum();
+    }
+
+    /**
+     * Obtiene la latencia promedio de las solicitudes de evaluación.
+     *
+     * @return La latencia promedio en nanosegundos.
+     */
+    public long getLatenciaPromedioNanos() {
+        long total = solicitudes.sum();
+        return total == 0 ? 0 : latenciaTotal.sum() / total;
+    }
+
+    /**
+     * Obtiene la mayor latencia observada en una solicitud de evaluación.
+     *
+     * @return La latencia máxima en nanosegundos.
+     */
+    public long getLatenciaMaximaNanos() {
+        return latenciaMaxima.get();
+    }
+
+    private void atenderEvaluacion(HttpExchange intercambio) throws IOException {
+        long inicio = System.nanoTime();
+        try (intercambio) {
+            if (!"POST".equals(intercambio.getRequestMethod())) {
+                rechazar(intercambio, 405);
+                return;
+            }
+            String longitud = intercambio.getRequestHeaders().getFirst("Content-Length");
+            if (longitud != null && excedeLimite(longitud)) {
+                rechazar(intercambio, 413);
+                return;
+            }
+            String tipo = intercambio.getRequestHeaders().getFirst("Content-Type");
+            InputStream cuerpo = new CuerpoLimitado(intercambio.getRequestBody(), tamanoMaximo);
+            boolean completa;
+            if (tipo != null && tipo.startsWith("application/octet-stream")) {
+                intercambio.getResponseHeaders().set("Content-Type", "application/octet-stream");
+                intercambio.sendResponseHeaders(200, 0);
+                completa = evaluarBinario(cuerpo, intercambio.getResponseBody());
+            } else {
+                intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                intercambio.sendResponseHeaders(200, 0);
+                completa = evaluarTexto(cuerpo, intercambio.getResponseBody());
+            }
+            if (!completa) {
+                solicitudesRechazadas.increment();
+                return;
+            }
+            solicitudes.increment();
+            long latencia = System.nanoTime() - inicio;
+            latenciaTotal.add(latencia);
+            latenciaMaxima.accumulate(latencia);
+        }
+    }
+
+    private boolean excedeLimite(String longitud) {
+        try {
+            return Long.parseLong(longitud.trim()) > tamanoMaximo;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Evalúa las expresiones de un cuerpo de texto y escribe una línea de resultado por cada una.
+     *
+     * @param cuerpo El cuerpo de la solicitud.
+     * @param salida El cuerpo de la respuesta.
+     * @return {@code true} si se leyó el cuerpo completo, o {@code false} si excedió el tamaño máximo.
+     * @throws IOException Si falla la lectura o la escritura.
+     */
+    private boolean evaluarTexto(InputStream cuerpo, OutputStream salida) throws IOException {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(cuerpo, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        try {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                try {
+                    escritor.write(Evaluador.evaluar(linea).toString());
+                } catch (RuntimeException e) {
+                    escritor.write("ERROR: " + e.getMessage());
+                }
+                escritor.write('\n');
+                operaciones.increment();
+                if (!lector.ready()) {
+                    escritor.flush();
+                }
+            }
+        } catch (LimiteExcedidoException e) {
+            escritor.write("ERROR: " + e.getMessage() + '\n');
+            escritor.flush();
+            return false;
+        }
+        escritor.flush();
+        return true;
+    }
+
+    /**
+     * Evalúa los registros de un cuerpo binario y escribe el resultado de cada uno.
+     *
+     * @param cuerpo El cuerpo de la solicitud.
+     * @param salida El cuerpo de la respuesta.
+     * @return {@code true} si el cuerpo contenía solo registros completos, o {@code false} si terminó con un registro
+     * incompleto o excedió el tamaño máximo.
+     * @throws IOException Si falla la lectura o la escritura.
+     */
+    private boolean evaluarBinario(InputStream cuerpo, OutputStream salida) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(cuerpo, TAMANO_BUFFER));
+        DataOutputStream escritor = new DataOutputStream(new BufferedOutputStream(salida, TAMANO_BUFFER));
+        try {
+            while (true) {
+                int operador = entrada.read();
+                if (operador < 0) {
+                    break;
+                }
+                Fraccion f1 = new Fraccion(entrada.readInt(), entrada.readInt());
+                Fraccion f2 = new Fraccion(entrada.readInt(), entrada.readInt());
+                Fraccion resultado;
+                try {
+                    resultado = Evaluador.operar((char) operador, f1, f2).getFraccionWithSign();
+                } catch (RuntimeException e) {
+                    resultado = null;
+                }
+                if (resultado == null || resultado.denominador == 0) {
+                    escritor.writeInt(0);
+                    escritor.writeInt(0);
+                } else {
+                    escritor.writeInt(resultado.numerador);
+                    escritor.writeInt(resultado.denominador);
+                }
+                operaciones.increment();
+                if (entrada.available() == 0) {
+                    escritor.flush();
+                }
+            }
+        } catch (EOFException | LimiteExcedidoException e) {
+            escritor.flush();
+            return false;
+        }
+        escritor.flush();
+        return true;
+    }
+
+    private void atenderMetricas(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!"GET".equals(intercambio.getRequestMethod())) {
+                rechazar(intercambio, 405);
+                return;
+            }
+            String metricas = "solicitudes " + getSolicitudes() + '\n'
+                    + "solicitudes_rechazadas " + getSolicitudesRechazadas() + '\n'
+                    + "operaciones " + getOperaciones() + '\n'
+                    + "latencia_promedio_ns " + getLatenciaPromedioNanos() + '\n'
+                    + "latencia_maxima_ns " + getLatenciaMaximaNanos() + '\n';
+            byte[] bytes = metricas.getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            intercambio.sendResponseHeaders(200, bytes.length);
+            intercambio.getResponseBody().write(bytes);
+        }
+    }
+
+    private void rechazar(HttpExchange intercambio, int codigo) throws IOException {
+        solicitudesRechazadas.increment();
+        intercambio.sendResponseHeaders(codigo, -1);
+    }
+
+    /**
+     * Crea el ejecutor de solicitudes: un hilo virtual por solicitud si la plataforma lo permite, o un grupo de hilos
+     * de tamaño variable en caso contrario.
+     *
+     * @return El ejecutor de solicitudes.
+     */
+    private static ExecutorService crearEjecutor() {
+        try {
+            Method metodo = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) metodo.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(tarea -> {
+                Thread hilo = new Thread(tarea, "dk-fracciones-http");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+
+    /**
+     * Excepción que indica que el cuerpo de una solicitud excedió el tamaño máximo.
+     */
+    private static final class LimiteExcedidoException extends IOException {
+        LimiteExcedidoException(long limite) {
+            super("La solicitud excede el tamaño máximo de " + limite + " bytes");
+        }
+    }
+
+    /**
+     * Flujo de entrada que falla al leer más bytes que el límite indicado.
+     */
+    private static final class CuerpoLimitado extends FilterInputStream {
+
+        private final long limite;
+        private long leidos;
+
+        CuerpoLimitado(InputStream entrada, long limite) {
+            super(entrada);
+            this.limite = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                contar(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int desplazamiento, int longitud) throws IOException {
+            int n = super.read(b, desplazamiento, longitud);
+            if (n > 0) {
+                contar(n);
+            }
+            return n;
+        }
+
+        private void contar(int n) throws LimiteExcedidoException {
+            leidos += n;
+            if (leidos > limite) {
+                throw new LimiteExcedidoException(limite);
+            }
+        }
+    }
+}
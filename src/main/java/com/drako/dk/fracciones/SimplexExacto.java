@@ -0,0 +1,670 @@
+package com.drako.dk.fracciones;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resuelve programas lineales de forma exacta con el método símplex en dos fases y la regla de Bland.
+ * <p>
+ * Las variables son no negativas y cada restricción se escala a coeficientes enteros. La tabla se guarda por filas en
+ * un arreglo plano de {@code long} junto con un denominador común D, y cada pivote usa la eliminación que preserva
+ * enteros (Bareiss): para cada fila i distinta de la fila pivote r y columna pivote s,
+ * <pre>
+ * T'[i][j] = (T[r][s] · T[i][j] - T[i][s] · T[r][j]) / D,   D' = T[r][s]
+ * </pre>
+ * donde la división es siempre exacta. Así no se calcula ningún MCD durante el recorrido y los valores crecen como los
+ * determinantes de la base en lugar de como los productos de denominadores. Los productos se calculan en 128 bits y
+ * solo si un valor de la tabla deja de caber en un {@code long}, la tabla se convierte a {@link BigInteger} y el
+ * recorrido continúa con precisión arbitraria.
+ * <p>
+ * La regla de Bland elige siempre la variable de menor índice que entra o sale de la base, lo que garantiza que el
+ * método termina incluso en problemas degenerados.
+ */
+public final class SimplexExacto {
+
+    /**
+     * El tipo de una restricción.
+     */
+    public enum Relacion {
+        /**
+         * a·x ≤ b
+         */
+        MENOR_IGUAL,
+        /**
+         * a·x = b
+         */
+        IGUAL,
+        /**
+         * a·x ≥ b
+         */
+        MAYOR_IGUAL
+    }
+
+    /**
+     * El resultado de resolver un programa lineal.
+     */
+    public enum Estado {
+        /**
+         * Se encontró una solución óptima.
+         */
+        OPTIMO,
+        /**
+         * El objetivo puede mejorarse sin límite.
+         */
+        NO_ACOTADO,
+        /**
+         * Ningún punto cumple todas las restricciones.
+         */
+        INFACTIBLE
+    }
+
+    private final int variables;
+    private final List<BigInteger[]> filas = new ArrayList<>();
+    private final List<Relacion> relaciones = new ArrayList<>();
+    private BigInteger[] objetivo;
+    private BigInteger escalaObjetivo = BigInteger.ONE;
+    private boolean maximizar = true;
+
+    /**
+     * Crea un programa lineal sin restricciones y con objetivo nulo.
+     *
+     * @param variables El número de variables, todas no negativas.
+     * @throws IllegalArgumentException Si el número de variables no es positivo.
+     */
+    public SimplexExacto(int variables) {
+        if (variables < 1) {
+            throw new IllegalArgumentException("El número de variables debe ser positivo");
+        }
+        this.variables = variables;
+        this.objetivo = new BigInteger[variables];
+        Arrays.fill(objetivo, BigInteger.ZERO);
+    }
+
+    /**
+     * Establece un objetivo a maximizar.
+     *
+     * @param coeficientes Los coeficientes del objetivo, uno por variable.
+     * @return Este programa lineal.
+     * @throws IllegalArgumentException Si el número de coeficientes no coincide con el de variables.
+     */
+    public SimplexExacto maximizar(Fraccion... coeficientes) {
+        establecerObjetivo(coeficientes);
+        maximizar = true;
+        return this;
+    }
+
+    /**
+     * Establece un objetivo a minimizar.
+     *
+     * @param coeficientes Los coeficientes del objetivo, uno por variable.
+     * @return Este programa lineal.
+     * @throws IllegalArgumentException Si el número de coeficientes no coincide con el de variables.
+     */
+    public SimplexExacto minimizar(Fraccion... coeficientes) {
+        establecerObjetivo(coeficientes);
+        maximizar = false;
+        return this;
+    }
+
+    /**
+     * Agrega una restricción.
+     *
+     * @param coeficientes Los coeficientes de la restricción, uno por variable.
+     * @param relacion     El tipo de la restricción.
+     * @param limite       El lado derecho de la restricción.
+     * @return Este programa lineal.
+     * @throws IllegalArgumentException Si el número de coeficientes no coincide con el de variables.
+     */
+    public SimplexExacto restriccion(Fraccion[] coeficientes, Relacion relacion, Fraccion limite) {
+        Fraccion[] todos = Arrays.copyOf(coeficientes, coeficientes.length + 1);
+        todos[coeficientes.length] = limite;
+        BigInteger[] fila = new BigInteger[variables + 1];
+        escalar(todos, fila, coeficientes.length);
+        filas.add(fila);
+        relaciones.add(relacion);
+        return this;
+    }
+
+    /**
+     * Agrega una restricción con coeficientes enteros.
+     *
+     * @param coeficientes Los coeficientes de la restricción, uno por variable.
+     * @param relacion     El tipo de la restricción.
+     * @param limite       El lado derecho de la restricción.
+     * @return Este programa lineal.
+     * @throws IllegalArgumentException Si el número de coeficientes no coincide con el de variables.
+     */
+    public SimplexExacto restriccion(long[] coeficientes, Relacion relacion, long limite) {
+        validarLongitud(coeficientes.length);
+        BigInteger[] fila = new BigInteger[variables + 1];
+        for (int j = 0; j < variables; j++) {
+            fila[j] = BigInteger.valueOf(coeficientes[j]);
+        }
+        fila[variables] = BigInteger.valueOf(limite);
+        filas.add(fila);
+        relaciones.add(relacion);
+        return this;
+    }
+
+    /**
+     * Obtiene el número de restricciones.
+     *
+     * @return El número de restricciones.
+     */
+    public int getRestricciones() {
+        return filas.size();
+    }
+
+    /**
+     * Resuelve el programa lineal.
+     *
+     * @return El resultado, con la solución y el valor óptimo si el estado es {@link Estado#OPTIMO}.
+     */
+    public Resultado resolver() {
+        int m = filas.size();
+        // Columnas: variables, holguras o excedentes, artificiales y lado derecho.
+        int holguras = 0;
+        int artificiales = 0;
+        for (int i = 0; i < m; i++) {
+            Relacion relacion = relacionNormalizada(i);
+            if (relacion != Relacion.IGUAL) {
+                holguras++;
+            }
+            if (relacion != Relacion.MENOR_IGUAL) {
+                artificiales++;
+            }
+        }
+        int primeraArtificial = variables + holguras;
+        int columnas = primeraArtificial + artificiales + 1;
+        int ld = columnas - 1;
+
+        // Fila 0: objetivo de la fase 2. Fila 1: objetivo de la fase 1 (minimizar la suma de artificiales).
+        BigInteger[][] tabla = new BigInteger[m + 2][columnas];
+        for (BigInteger[] fila : tabla) {
+            Arrays.fill(fila, BigInteger.ZERO);
+        }
+        for (int j = 0; j < variables; j++) {
+            tabla[0][j] = maximizar ? objetivo[j].negate() : objetivo[j];
+        }
+        int[] base = new int[m + 2];
+        int holgura = variables;
+        int artificial = primeraArtificial;
+        for (int i = 0; i < m; i++) {
+            BigInteger[] fila = filas.get(i);
+            boolean negar = fila[variables].signum() < 0;
+            BigInteger[] destino = tabla[i + 2];
+            for (int j = 0; j < variables; j++) {
+                destino[j] = negar ? fila[j].negate() : fila[j];
+            }
+            destino[ld] = negar ? fila[variables].negate() : fila[variables];
+            Relacion relacion = relacionNormalizada(i);
+            if (relacion == Relacion.MENOR_IGUAL) {
+                destino[holgura] = BigInteger.ONE;
+                base[i + 2] = holgura++;
+            } else {
+                if (relacion == Relacion.MAYOR_IGUAL) {
+                    destino[holgura++] = BigInteger.ONE.negate();
+                }
+                destino[artificial] = BigInteger.ONE;
+                base[i + 2] = artificial++;
+                for (int j = 0; j < primeraArtificial; j++) {
+                    tabla[1][j] = tabla[1][j].subtract(destino[j]);
+                }
+                tabla[1][ld] = tabla[1][ld].subtract(destino[ld]);
+            }
+        }
+
+        Tabla t = Tabla.crear(tabla);
+        int[] iteraciones = new int[1];
+        if (artificiales > 0) {
+            t = optimizar(t, 1, base, primeraArtificial, iteraciones);
+            if (t.signo(1, ld) != 0) {
+                return new Resultado(Estado.INFACTIBLE, null, null, iteraciones[0], t.isGrande());
+            }
+            // Saca de la base las artificiales que quedaron con valor cero.
+            for (int i = 2; i < m + 2; i++) {
+                if (base[i] < primeraArtificial) {
+                    continue;
+                }
+                for (int j = 0; j < primeraArtificial; j++) {
+                    if (t.signo(i, j) != 0) {
+                        if (t.signo(i, j) < 0) {
+                            t.negarFila(i);
+                        }
+                        t = t.pivotar(i, j);
+                        base[i] = j;
+                        iteraciones[0]++;
+                        break;
+                    }
+                }
+                // Si toda la fila es cero en las demás columnas, la restricción es redundante y la artificial queda
+                // en la base con valor cero sin volver a participar.
+            }
+        }
+        Tabla optima = optimizar(t, 0, base, primeraArtificial, iteraciones);
+        if (optima == null) {
+            return new Resultado(Estado.NO_ACOTADO, null, null, iteraciones[0], t.isGrande());
+        }
+        t = optima;
+
+        BigInteger denominador = t.denominador();
+        FraccionGrande[] solucion = new FraccionGrande[variables];
+        Arrays.fill(solucion, FraccionGrande.CERO);
+        for (int i = 2; i < m + 2; i++) {
+            if (base[i] < variables) {
+                solucion[base[i]] = new FraccionGrande(t.valor(i, ld), denominador);
+            }
+        }
+        BigInteger valor = t.valor(0, ld);
+        FraccionGrande optimo = new FraccionGrande(maximizar ? valor : valor.negate(),
+                denominador.multiply(escalaObjetivo));
+        return new Resultado(Estado.OPTIMO, optimo, solucion, iteraciones[0], t.isGrande());
+    }
+
+    /**
+     * Aplica pivotes con la regla de Bland hasta que ninguna columna mejore la fila objetivo indicada.
+     *
+     * @return La tabla final, o {@code null} si el objetivo no está acotado.
+     */
+    private static Tabla optimizar(Tabla t, int filaObjetivo, int[] base, int columnasPermitidas, int[] iteraciones) {
+        int ld = t.columnas - 1;
+        while (true) {
+            int entra = -1;
+            for (int j = 0; j < columnasPermitidas; j++) {
+                if (t.signo(filaObjetivo, j) < 0) {
+                    entra = j;
+                    break;
+                }
+            }
+            if (entra < 0) {
+                return t;
+            }
+            int sale = -1;
+            for (int i = 2; i < t.filas; i++) {
+                if (t.signo(i, entra) <= 0) {
+                    continue;
+                }
+                int comparacion = sale < 0 ? -1 : t.compararCocientes(i, sale, entra, ld);
+                if (comparacion < 0 || (comparacion == 0 && base[i] < base[sale])) {
+                    sale = i;
+                }
+            }
+            if (sale < 0) {
+                return null;
+            }
+            t = t.pivotar(sale, entra);
+            base[sale] = entra;
+            iteraciones[0]++;
+        }
+    }
+
+    private Relacion relacionNormalizada(int restriccion) {
+        Relacion relacion = relaciones.get(restriccion);
+        if (filas.get(restriccion)[variables].signum() >= 0 || relacion == Relacion.IGUAL) {
+            return relacion;
+        }
+        return relacion == Relacion.MENOR_IGUAL ? Relacion.MAYOR_IGUAL : Relacion.MENOR_IGUAL;
+    }
+
+    private void establecerObjetivo(Fraccion[] coeficientes) {
+        BigInteger[] fila = new BigInteger[variables];
+        escalaObjetivo = escalar(coeficientes, fila, coeficientes.length);
+        objetivo = fila;
+    }
+
+    /**
+     * Escala una fila de fracciones a enteros multiplicándola por el mínimo común múltiplo de sus denominadores.
+     *
+     * @return El factor de escala.
+     */
+    private BigInteger escalar(Fraccion[] fracciones, BigInteger[] destino, int coeficientes) {
+        validarLongitud(coeficientes);
+        BigInteger escala = BigInteger.ONE;
+        for (Fraccion fraccion : fracciones) {
+            BigInteger d = BigInteger.valueOf(fraccion.denominador);
+            escala = escala.divide(escala.gcd(d)).multiply(d);
+        }
+        for (int j = 0; j < fracciones.length; j++) {
+            Fraccion fraccion = fracciones[j];
+            destino[j] = BigInteger.valueOf(OrdenamientoFracciones.numerador(fraccion))
+                    .multiply(escala.divide(BigInteger.valueOf(fraccion.denominador)));
+        }
+        return escala;
+    }
+
+    private void validarLongitud(int coeficientes) {
+        if (coeficientes != variables) {
+            throw new IllegalArgumentException("Se esperaban " + variables + " coeficientes y se recibieron " + coeficientes);
+        }
+    }
+
+    /**
+     * El resultado de resolver un programa lineal.
+     */
+    public static final class Resultado {
+
+        private final Estado estado;
+        private final FraccionGrande valor;
+        private final FraccionGrande[] solucion;
+        private final int iteraciones;
+        private final boolean precisionArbitraria;
+
+        private Resultado(Estado estado, FraccionGrande valor, FraccionGrande[] solucion, int iteraciones,
+                          boolean precisionArbitraria) {
+            this.estado = estado;
+            this.valor = valor;
+            this.solucion = solucion;
+            this.iteraciones = iteraciones;
+            this.precisionArbitraria = precisionArbitraria;
+        }
+
+        /**
+         * Obtiene el estado del resultado.
+         *
+         * @return El estado del resultado.
+         */
+        public Estado getEstado() {
+            return estado;
+        }
+
+        /**
+         * Obtiene el valor óptimo del objetivo.
+         *
+         * @return El valor óptimo.
+         * @throws IllegalStateException Si el programa no tiene solución óptima.
+         */
+        public FraccionGrande getValor() {
+            verificarOptimo();
+            return valor;
+        }
+
+        /**
+         * Obtiene una solución óptima.
+         *
+         * @return Una copia de los valores de las variables.
+         * @throws IllegalStateException Si el programa no tiene solución óptima.
+         */
+        public FraccionGrande[] getSolucion() {
+            verificarOptimo();
+            return solucion.clone();
+        }
+
+        /**
+         * Obtiene el valor de una variable en la solución óptima.
+         *
+         * @param variable El índice de la variable.
+         * @return El valor de la variable.
+         * @throws IllegalStateException Si el programa no tiene solución óptima.
+         */
+        public FraccionGrande getValor(int variable) {
+            verificarOptimo();
+            return solucion[variable];
+        }
+
+        /**
+         * Obtiene el número de pivotes realizados en ambas fases.
+         *
+         * @return El número de iteraciones.
+         */
+        public int getIteraciones() {
+            return iteraciones;
+        }
+
+        /**
+         * Indica si la tabla tuvo que convertirse a {@link BigInteger} porque algún valor excedió un {@code long}.
+         *
+         * @return {@code true} si se usó precisión arbitraria.
+         */
+        public boolean isPrecisionArbitraria() {
+            return precisionArbitraria;
+        }
+
+        private void verificarOptimo() {
+            if (estado != Estado.OPTIMO) {
+                throw new IllegalStateException("El programa lineal no tiene solución óptima: " + estado);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return estado == Estado.OPTIMO ? "OPTIMO " + valor + " " + Arrays.toString(solucion) : estado.name();
+        }
+    }
+
+    /**
+     * La tabla del símplex con denominador común positivo D: el valor racional de cada celda es T[i][j] / D.
+     */
+    private abstract static class Tabla {
+        final int filas;
+        final int columnas;
+
+        Tabla(int filas, int columnas) {
+            this.filas = filas;
+            this.columnas = columnas;
+        }
+
+        static Tabla crear(BigInteger[][] tabla) {
+            for (BigInteger[] fila : tabla) {
+                for (BigInteger valor : fila) {
+                    if (valor.bitLength() > 63) {
+                        return new TablaGrande(tabla, BigInteger.ONE);
+                    }
+                }
+            }
+            return new TablaLong(tabla);
+        }
+
+        abstract int signo(int fila, int columna);
+
+        /**
+         * Compara T[f1][ld] / T[f1][s] con T[f2][ld] / T[f2][s], con T[f1][s] y T[f2][s] positivos.
+         */
+        abstract int compararCocientes(int f1, int f2, int s, int ld);
+
+        /**
+         * Pivotea sobre T[r][s], que debe ser positivo.
+         *
+         * @return Esta tabla, o una tabla de precisión arbitraria si algún valor no cabe en un {@code long}.
+         */
+        abstract Tabla pivotar(int r, int s);
+
+        abstract void negarFila(int fila);
+
+        abstract BigInteger valor(int fila, int columna);
+
+        abstract BigInteger denominador();
+
+        abstract boolean isGrande();
+    }
+
+    /**
+     * Tabla con valores {@code long} en un arreglo plano por filas. El pivote escribe en un segundo arreglo que se
+     * reutiliza en cada iteración, de modo que la tabla anterior sigue intacta si hay que promoverla.
+     */
+    private static final class TablaLong extends Tabla {
+        private long[] datos;
+        private long[] siguiente;
+        private long d = 1;
+        private boolean desborde;
+
+        TablaLong(BigInteger[][] tabla) {
+            super(tabla.length, tabla[0].length);
+            datos = new long[filas * columnas];
+            siguiente = new long[filas * columnas];
+            for (int i = 0; i < filas; i++) {
+                for (int j = 0; j < columnas; j++) {
+                    datos[i * columnas + j] = tabla[i][j].longValue();
+                }
+            }
+        }
+
+        @Override
+        int signo(int fila, int columna) {
+            return Long.signum(datos[fila * columnas + columna]);
+        }
+
+        @Override
+        int compararCocientes(int f1, int f2, int s, int ld) {
+            return OrdenamientoFracciones.comparar(datos[f1 * columnas + ld], datos[f1 * columnas + s],
+                    datos[f2 * columnas + ld], datos[f2 * columnas + s]);
+        }
+
+        @Override
+        Tabla pivotar(int r, int s) {
+            int filaPivote = r * columnas;
+            long p = datos[filaPivote + s];
+            for (int i = 0; i < filas; i++) {
+                int fila = i * columnas;
+                if (i == r) {
+                    System.arraycopy(datos, fila, siguiente, fila, columnas);
+                    continue;
+                }
+                long f = datos[fila + s];
+                for (int j = 0; j < columnas; j++) {
+                    long x = datos[fila + j];
+                    long y = datos[filaPivote + j];
+                    if (x == 0 && (f == 0 || y == 0)) {
+                        siguiente[fila + j] = 0;
+                        continue;
+                    }
+                    long valor = combinar(p, x, f, y);
+                    if (desborde) {
+                        desborde = false;
+                        return promover().pivotar(r, s);
+                    }
+                    siguiente[fila + j] = valor;
+                }
+            }
+            long[] temporal = datos;
+            datos = siguiente;
+            siguiente = temporal;
+            d = p;
+            return this;
+        }
+
+        /**
+         * Calcula (p·x - f·y) / D con la diferencia exacta en 128 bits. Si el cociente no cabe en un {@code long},
+         * marca el desborde.
+         */
+        private long combinar(long p, long x, long f, long y) {
+            long bajo1 = p * x, alto1 = Math.multiplyHigh(p, x);
+            long bajo2 = f * y, alto2 = Math.multiplyHigh(f, y);
+            long bajo = bajo1 - bajo2;
+            long alto = alto1 - alto2 - (Long.compareUnsigned(bajo1, bajo2) < 0 ? 1 : 0);
+            if (alto == (bajo >> 63)) {
+                return d == 1 ? bajo : bajo / d;
+            }
+            // Los productos intermedios exceden 64 bits aunque el resultado, un determinante menor, puede caber.
+            BigInteger cociente = BigInteger.valueOf(alto).shiftLeft(64)
+                    .add(BigInteger.valueOf(bajo >>> 1).shiftLeft(1).add(BigInteger.valueOf(bajo & 1)))
+                    .divide(BigInteger.valueOf(d));
+            if (cociente.bitLength() > 63) {
+                desborde = true;
+                return 0;
+            }
+            return cociente.longValue();
+        }
+
+        @Override
+        void negarFila(int fila) {
+            for (int j = fila * columnas; j < (fila + 1) * columnas; j++) {
+                datos[j] = -datos[j];
+            }
+        }
+
+        @Override
+        BigInteger valor(int fila, int columna) {
+            return BigInteger.valueOf(datos[fila * columnas + columna]);
+        }
+
+        @Override
+        BigInteger denominador() {
+            return BigInteger.valueOf(d);
+        }
+
+        @Override
+        boolean isGrande() {
+            return false;
+        }
+
+        private TablaGrande promover() {
+            BigInteger[][] tabla = new BigInteger[filas][columnas];
+            for (int i = 0; i < filas; i++) {
+                for (int j = 0; j < columnas; j++) {
+                    tabla[i][j] = BigInteger.valueOf(datos[i * columnas + j]);
+                }
+            }
+            return new TablaGrande(tabla, BigInteger.valueOf(d));
+        }
+    }
+
+    /**
+     * Tabla con valores de precisión arbitraria.
+     */
+    private static final class TablaGrande extends Tabla {
+        private final BigInteger[][] datos;
+        private BigInteger d;
+
+        TablaGrande(BigInteger[][] datos, BigInteger d) {
+            super(datos.length, datos[0].length);
+            this.datos = datos;
+            this.d = d;
+        }
+
+        @Override
+        int signo(int fila, int columna) {
+            return datos[fila][columna].signum();
+        }
+
+        @Override
+        int compararCocientes(int f1, int f2, int s, int ld) {
+            return datos[f1][ld].multiply(datos[f2][s]).compareTo(datos[f2][ld].multiply(datos[f1][s]));
+        }
+
+        @Override
+        Tabla pivotar(int r, int s) {
+            BigInteger p = datos[r][s];
+            BigInteger[] filaPivote = datos[r];
+            for (int i = 0; i < filas; i++) {
+                if (i == r) {
+                    continue;
+                }
+                BigInteger[] fila = datos[i];
+                BigInteger f = fila[s];
+                for (int j = 0; j < columnas; j++) {
+                    BigInteger valor = fila[j].multiply(p);
+                    if (f.signum() != 0 && filaPivote[j].signum() != 0) {
+                        valor = valor.subtract(f.multiply(filaPivote[j]));
+                    }
+                    fila[j] = valor.divide(d);
+                }
+            }
+            d = p;
+            return this;
+        }
+
+        @Override
+        void negarFila(int fila) {
+            for (int j = 0; j < columnas; j++) {
+                datos[fila][j] = datos[fila][j].negate();
+            }
+        }
+
+        @Override
+        BigInteger valor(int fila, int columna) {
+            return datos[fila][columna];
+        }
+
+        @Override
+        BigInteger denominador() {
+            return d;
+        }
+
+        @Override
+        boolean isGrande() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.drako.dk.fracciones;
+
+/**
+ * Esta clase proporciona métodos estáticos para encontrar la fracción más cercana a un número con un denominador
+ * acotado, recorriendo el árbol de Stern-Brocot.
+ * <p>
+ * El recorrido avanza por tramos completos de la fracción continua del número en lugar de un mediante a la vez, por
+ * lo que requiere O(log n) pasos para un denominador máximo n y no necesita memoria adicional. Es la alternativa a
+ * {@link IndiceFarey} cuando la cota del denominador es demasiado grande para precalcular la sucesión de Farey.
+ */
+public final class SternBrocot {
+
+    /**
+     * El número de bits con los que se representa exactamente la parte fraccionaria.
+     */
+    private static final int BITS_FRACCION = 62;
+
+    private SternBrocot() {
+    }
+
+    /**
+     * Encuentra la fracción más cercana a un número entre las fracciones con denominador no mayor que el indicado.
+     *
+     * @param x              El número a aproximar.
+     * @param maxDenominador El mayor denominador permitido.
+     * @return La fracción reducida más cercana al número.
+     * @throws IllegalArgumentException Si el número no es finito o el denominador máximo no es positivo.
+     * @throws ArithmeticException      Si el resultado no cabe en una fracción.
+     */
+    public static Fraccion masCercana(double x, int maxDenominador) {
+        long[] resultado = new long[2];
+        masCercana(x, maxDenominador, resultado);
+        return new Fraccion((int) resultado[0], (int) resultado[1]);
+    }
+
+    /**
+     * Encuentra las fracciones más cercanas a un arreglo de números sin crear objetos.
+     *
+     * @param valores        Los números a aproximar.
+     * @param maxDenominador El mayor denominador permitido.
+     * @param numeradores    El arreglo donde se escriben los numeradores con signo.
+     * @param denominadores  El arreglo donde se escriben los denominadores.
+     * @throws IllegalArgumentException Si algún número no es finito, el denominador máximo no es positivo o los arreglos
+     *                                  de salida son más cortos que el de entrada.
+     * @throws ArithmeticException      Si algún resultado no cabe en una fracción.
+     */
+    public static void masCercanas(double[] valores, int maxDenominador, int[] numeradores, int[] denominadores) {
+        if (numeradores.length < valores.length || denominadores.length < valores.length) {
+            throw new IllegalArgumentException("Los arreglos de salida son más cortos que el de entrada");
+        }
+        long[] resultado = new long[2];
+        for (int i = 0; i < valores.length; i++) {
+            masCercana(valores[i], maxDenominador, resultado);
+            numeradores[i] = (int) resultado[0];
+            denominadores[i] = (int) resultado[1];
+        }
+    }
+
+    /**
+     * Encuentra la fracción más cercana y escribe su numerador con signo y su denominador en el arreglo de salida.
+     *
+     * @param x              El número a aproximar.
+     * @param maxDenominador El mayor denominador permitido.
+     * @param resultado      El arreglo de dos elementos donde se escribe el resultado.
+     */
+    private static void masCercana(double x, int maxDenominador, long[] resultado) {
+        if (!Double.isFinite(x)) {
+            throw new IllegalArgumentException("El número debe ser finito: " + x);
+        }
+        if (maxDenominador < 1) {
+            throw new IllegalArgumentException("El denominador máximo debe ser positivo");
+        }
+        boolean negativo = x < 0;
+        double absoluto = Math.abs(x);
+        double entero = Math.floor(absoluto);
+        if (entero > Integer.MAX_VALUE) {
+            throw new ArithmeticException("El número " + x + " excede el rango de Fraccion");
+        }
+        long numerador = (long) Math.scalb(absoluto - entero, BITS_FRACCION);
+        fraccionMasCercana(numerador, 1L << BITS_FRACCION, maxDenominador, resultado);
+
+        long total = (long) entero * resultado[1] + resultado[0];
+        if (total > Integer.MAX_VALUE) {
+            throw new ArithmeticException("El número " + x + " excede el rango de Fraccion");
+        }
+        resultado[0] = negativo ? -total : total;
+    }
+
+    /**
+     * Encuentra la fracción con denominador acotado más cercana a p/q, con 0 ≤ p < q, avanzando por los cocientes de
+     * su fracción continua y comprobando al final la semiconvergente admisible de mayor denominador. La elección entre
+     * esa semiconvergente y la última convergente se decide de forma exacta; si ambas están a la misma distancia se
+     * elige la convergente, que tiene menor denominador.
+     *
+     * @param p              El numerador del valor.
+     * @param q              El denominador del valor.
+     * @param maxDenominador El mayor denominador permitido.
+     * @param resultado      El arreglo donde se escriben el numerador y el denominador.
+     */
+    static void fraccionMasCercana(long p, long q, long maxDenominador, long[] resultado) {
+        long p0 = 0, q0 = 1, p1 = 1, q1 = 0;
+        while (q != 0) {
+            long a = p / q;
+            if (q1 != 0 && a > (maxDenominador - q0) / q1) {
+                long k = (maxDenominador - q0) / q1;
+                long semiNumerador = k * p1 + p0;
+                long semiDenominador = k * q1 + q0;
+                // Con p/q como cociente completo restante, el valor es (p1·p + p0·q)/(q1·p + q0·q). La semiconvergente y
+                // la convergente quedan a lados opuestos del valor y a distancia 1/(q1·semiDenominador) entre sí, por lo
+                // que la semiconvergente es más cercana si y solo si (2k·q1 + q0)·q > q1·p, comparado en 128 bits.
+                if (OrdenamientoFracciones.comparar(q, q1, p, 2 * k * q1 + q0) > 0) {
+                    p1 = semiNumerador;
+                    q1 = semiDenominador;
+                }
+                break;
+            }
+            long p2 = a * p1 + p0;
+            long q2 = a * q1 + q0;
+            p0 = p1;
+            q0 = q1;
+            p1 = p2;
+            q1 = q2;
+            long r = p - a * q;
+            p = q;
+            q = r;
+        }
+        resultado[0] = p1;
+        resultado[1] = q1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.drako.dk.fracciones;
+
+/**
+ * Interfaz que describe los términos de una serie racional para su suma por división binaria.
+ * <p>
+ * El término n de la serie, para n a partir del índice inicial i, es
+ * {@code a(n)/b(n) · p(i)·p(i+1)···p(n) / (q(i)·q(i+1)···q(n))}. Las series cuyos términos son fracciones
+ * independientes solo necesitan definir {@link #a(long)} y {@link #b(long)}; las series hipergeométricas, como las de
+ * Taylor, expresan el cociente entre términos consecutivos mediante {@link #p(long)} y {@link #q(long)}.
+ */
+public interface TerminoSerie {
+
+    /**
+     * Obtiene el numerador del factor propio del término n.
+     *
+     * @param n El índice del término.
+     * @return El numerador del factor propio; 1 por defecto.
+     */
+    default long a(long n) {
+        return 1;
+    }
+
+    /**
+     * Obtiene el denominador del factor propio del término n.
+     *
+     * @param n El índice del término.
+     * @return El denominador del factor propio, distinto de cero; 1 por defecto.
+     */
+    default long b(long n) {
+        return 1;
+    }
+
+    /**
+     * Obtiene el numerador del factor acumulado que aporta el término n.
+     *
+     * @param n El índice del término.
+     * @return El numerador del factor acumulado; 1 por defecto.
+     */
+    default long p(long n) {
+        return 1;
+    }
+
+    /**
+     * Obtiene el denominador del factor acumulado que aporta el término n.
+     *
+     * @param n El índice del término.
+     * @return El denominador del factor acumulado, distinto de cero; 1 por defecto.
+     */
+    default long q(long n) {
+        return 1;
+    }
+}
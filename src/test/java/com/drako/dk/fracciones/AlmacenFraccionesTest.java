@@ -0,0 +1,266 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenFraccionesTest {
+    @TempDir
+    Path directorio;
+
+    @Test
+    void escribirLeerTest() throws IOException {
+        Path archivo = directorio.resolve("fracciones.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 4)) {
+            for (int i = 0; i < 10; i++) {
+                escritor.agregar(new Fraccion(i, 3));
+            }
+            escritor.agregar(5, -7);
+            assertEquals(11, escritor.getTamano());
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo)) {
+            assertEquals(11, almacen.getTamano());
+            assertEquals(3, almacen.getNumeroBloques());
+            assertEquals(new Fraccion(7, 3), almacen.get(7));
+            assertEquals(-5, almacen.getNumerador(10));
+            assertEquals(7, almacen.getDenominador(10));
+            assertEquals(new Fraccion(-5, 7), almacen.getMinimo(2));
+            assertEquals(new Fraccion(9, 3), almacen.getMaximo(2));
+            assertEquals(8, almacen.getInicioBloque(2));
+            assertEquals(3, almacen.getTamanoBloque(2));
+            assertTrue(almacen.verificar());
+            assertThrows(IndexOutOfBoundsException.class, () -> almacen.get(11));
+        }
+    }
+
+    @Test
+    void buscarTest() throws IOException {
+        Path archivo = directorio.resolve("rango.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 100)) {
+            for (int i = 0; i < 1000; i++) {
+                escritor.agregar(i, 7);
+            }
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo)) {
+            List<Long> indices = new ArrayList<>();
+            long encontradas = almacen.buscar(new Fraccion(100, 1), new Fraccion(2857, 20), indices::add);
+            // 700/7 = 100 y 999/7 ≈ 142.71 < 2857/20 = 142.85
+            assertEquals(300, encontradas);
+            assertEquals(700L, indices.get(0));
+            assertEquals(999L, indices.get(indices.size() - 1));
+
+            assertEquals(1, almacen.buscar(new Fraccion(1, 7), new Fraccion(1, 7), i -> assertEquals(1L, i)));
+            assertEquals(0, almacen.buscar(new Fraccion(-2, 1), new Fraccion(-1, 1), i -> fail()));
+        }
+    }
+
+    @Test
+    void agregarDespuesDeCerrarTest() throws IOException {
+        Path archivo = directorio.resolve("agregar.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 8)) {
+            escritor.agregar(new Fraccion(1, 2));
+        }
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 8)) {
+            assertEquals(1, escritor.getTamano());
+            escritor.agregar(new Fraccion(3, 4));
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo)) {
+            assertEquals(2, almacen.getTamano());
+            assertEquals(new Fraccion(1, 2), almacen.get(0));
+            assertEquals(new Fraccion(3, 4), almacen.get(1));
+            assertTrue(almacen.verificar());
+        }
+    }
+
+    @Test
+    void recuperacionTest() throws IOException {
+        Path archivo = directorio.resolve("recuperacion.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 4)) {
+            for (int i = 0; i < 6; i++) {
+                escritor.agregar(i, 1);
+            }
+        }
+        long confirmado = Files.size(archivo);
+
+        // Simula una terminación abrupta: un bloque escrito sin índice y un pie a medias.
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            canal.write(ByteBuffer.allocate(8 * 4 + 13));
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo)) {
+            assertEquals(6, almacen.getTamano());
+            assertEquals(new Fraccion(5, 1), almacen.get(5));
+        }
+
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 4)) {
+            assertEquals(6, escritor.getTamano());
+            escritor.agregar(6, 1);
+        }
+        assertTrue(Files.size(archivo) > confirmado);
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo)) {
+            assertEquals(7, almacen.getTamano());
+            assertEquals(new Fraccion(6, 1), almacen.get(6));
+            assertTrue(almacen.verificar());
+        }
+    }
+
+    @Test
+    void copiarTest() throws IOException {
+        Path archivo = directorio.resolve("copiar.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 3)) {
+            for (int i = 1; i <= 7; i++) {
+                escritor.agregar(1, i);
+            }
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo);
+             ColumnaFracciones columna = new ColumnaFracciones(4)) {
+            almacen.copiar(2, columna);
+            assertEquals(new Fraccion(1, 3), columna.get(0));
+            assertEquals(new Fraccion(1, 6), columna.get(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> almacen.copiar(5, columna));
+        }
+    }
+
+    @Test
+    void numeradorMinimoTest() throws IOException {
+        Path archivo = directorio.resolve("minimo.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 4)) {
+            assertThrows(ArithmeticException.class, () -> escritor.agregar(Integer.MIN_VALUE, 1));
+            assertThrows(ArithmeticException.class, () -> escritor.agregar(Integer.MIN_VALUE, 3));
+            assertThrows(ArithmeticException.class, () -> escritor.agregar(Integer.MIN_VALUE, -1));
+            assertThrows(ArithmeticException.class, () -> escritor.agregar(1, Integer.MIN_VALUE));
+            escritor.agregar(-Integer.MAX_VALUE, 1);
+            assertEquals(1, escritor.getTamano());
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo);
+             ColumnaFracciones columna = new ColumnaFracciones(1)) {
+            almacen.copiar(0, columna);
+            assertEquals(-Integer.MAX_VALUE, columna.getNumerador(0));
+        }
+    }
+
+    @Test
+    void archivoInvalidoTest() throws IOException {
+        Path archivo = directorio.resolve("invalido.dkf");
+        Files.write(archivo, new byte[64]);
+        assertThrows(IOException.class, () -> AlmacenFracciones.abrir(archivo));
+        assertThrows(IOException.class, () -> new EscritorFracciones(archivo));
+    }
+
+    @Test
+    void cerrarTest() throws IOException {
+        Path archivo = directorio.resolve("cerrar.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo)) {
+            escritor.agregar(new Fraccion(1, 2));
+        }
+        AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo);
+        almacen.close();
+        assertTrue(almacen.isLiberado());
+        assertThrows(IllegalStateException.class, () -> almacen.get(0));
+
+        // Cerrar durante una búsqueda libera las regiones cuando la búsqueda termina.
+        AlmacenFracciones enBusqueda = AlmacenFracciones.abrir(archivo);
+        enBusqueda.buscar(new Fraccion(0, 1), new Fraccion(1, 1), indice -> {
+            enBusqueda.close();
+            assertFalse(enBusqueda.isLiberado());
+        });
+        assertTrue(enBusqueda.isLiberado());
+    }
+
+    @Test
+    void confirmacionesFrecuentesTest() throws IOException {
+        Path archivo = directorio.resolve("frecuentes.dkf");
+        int confirmaciones = 500;
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 8)) {
+            for (int i = 0; i < confirmaciones; i++) {
+                escritor.agregar(i, 1);
+                escritor.confirmar();
+            }
+        }
+        // Cada confirmación agrega solo su bloque, su entrada del índice y su pie.
+        long maximo = FormatoAlmacen.TAMANO_CABECERA
+                + (long) confirmaciones * (8 + FormatoAlmacen.TAMANO_ENTRADA + FormatoAlmacen.TAMANO_PIE);
+        assertTrue(Files.size(archivo) <= maximo, Files.size(archivo) + " > " + maximo);
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo, true)) {
+            assertEquals(confirmaciones, almacen.getTamano());
+            assertEquals(confirmaciones, almacen.getNumeroBloques());
+            assertEquals(new Fraccion(321, 1), almacen.get(321));
+        }
+    }
+
+    @Test
+    void indiceDanadoTest() throws IOException {
+        Path archivo = directorio.resolve("danado.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 2)) {
+            escritor.agregar(1, 2);
+            escritor.agregar(3, 4);
+            escritor.confirmar();
+            escritor.agregar(5, 6);
+        }
+        // El primer segmento empieza después de la cabecera y del primer bloque; se daña su primera entrada.
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{0x7F}), FormatoAlmacen.TAMANO_CABECERA + 16 + 8);
+        }
+        assertThrows(IOException.class, () -> AlmacenFracciones.abrir(archivo));
+        assertThrows(IOException.class, () -> new EscritorFracciones(archivo));
+    }
+
+    @Test
+    void bloqueDanadoTest() throws IOException {
+        Path archivo = directorio.resolve("bloque.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 4)) {
+            for (int i = 0; i < 8; i++) {
+                escritor.agregar(i, 5);
+            }
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{0x7F}), FormatoAlmacen.TAMANO_CABECERA + 4);
+        }
+        try (AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo)) {
+            assertFalse(almacen.verificar());
+        }
+        assertThrows(IOException.class, () -> AlmacenFracciones.abrir(archivo, true));
+    }
+
+    @Test
+    void cerrarConLectoresTest() throws Exception {
+        Path archivo = directorio.resolve("lectores.dkf");
+        try (EscritorFracciones escritor = new EscritorFracciones(archivo, 1024)) {
+            for (int i = 0; i < 4096; i++) {
+                escritor.agregar(i, 3);
+            }
+        }
+        for (int intento = 0; intento < 20; intento++) {
+            AlmacenFracciones almacen = AlmacenFracciones.abrir(archivo);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            CompletableFuture<Void> lector = CompletableFuture.runAsync(() -> {
+                try {
+                    for (long i = 0; ; i = (i + 1) % almacen.getTamano()) {
+                        assertEquals(3, almacen.getDenominador(i));
+                        almacen.buscar(new Fraccion(1, 1), new Fraccion(2, 1), indice -> { });
+                    }
+                } catch (IllegalStateException e) {
+                    // El almacén se cerró mientras se leía.
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            Thread.yield();
+            almacen.close();
+            lector.join();
+            assertNull(error.get());
+            assertTrue(almacen.isLiberado());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AritmeticaMixtaTest {
+    @Test
+    void sumaConAcarreoTest() {
+        FraccionMixta suma = Operador.suma(new FraccionMixta(3, 4, 1), new FraccionMixta(1, 2, 2));
+        assertEquals(4, suma.getEntero());
+        assertEquals(1, suma.getNumerador());
+        assertEquals(4, suma.getDenominador());
+        assertEquals(Fraccion.Signo.POSITIVE, suma.getSigno());
+    }
+
+    @Test
+    void restaConPrestamoTest() {
+        FraccionMixta resta = Operador.resta(new FraccionMixta(1, 4, 5), new FraccionMixta(1, 2, 2));
+        assertEquals(2, resta.getEntero());
+        assertEquals(3, resta.getNumerador());
+        assertEquals(4, resta.getDenominador());
+        assertEquals(Fraccion.Signo.POSITIVE, resta.getSigno());
+    }
+
+    @Test
+    void cambioDeSignoTest() {
+        FraccionMixta resta = Operador.resta(new FraccionMixta(1, 2, 2), new FraccionMixta(1, 4, 5));
+        assertEquals(2, resta.getEntero());
+        assertEquals(3, resta.getNumerador());
+        assertEquals(4, resta.getDenominador());
+        assertEquals(Fraccion.Signo.NEGATIVE, resta.getSigno());
+
+        FraccionMixta suma = Operador.suma(new FraccionMixta(1, 3, -1), new FraccionMixta(1, 3, 1));
+        assertEquals(0, suma.getEntero());
+        assertEquals(0, suma.getNumerador());
+        assertEquals(1, suma.getDenominador());
+        assertEquals(Fraccion.Signo.POSITIVE, suma.getSigno());
+
+        FraccionMixta producto = Operador.multiplicar(new FraccionMixta(1, 2, -1), new FraccionMixta(1, 3, 2));
+        assertEquals(3, producto.getEntero());
+        assertEquals(1, producto.getNumerador());
+        assertEquals(2, producto.getDenominador());
+        assertEquals(Fraccion.Signo.NEGATIVE, producto.getSigno());
+    }
+
+    @Test
+    void parteEnteraGrandeTest() {
+        FraccionMixta grande = new FraccionMixta(1, 3, 1_000_000_000);
+        FraccionMixta suma = Operador.suma(grande, new FraccionMixta(1, 2, 1));
+        assertEquals(1_000_000_001, suma.getEntero());
+        assertEquals(5, suma.getNumerador());
+        assertEquals(6, suma.getDenominador());
+
+        FraccionMixta producto = Operador.multiplicar(grande, new FraccionMixta(1, 2, 0));
+        assertEquals(500_000_000, producto.getEntero());
+        assertEquals(1, producto.getNumerador());
+        assertEquals(6, producto.getDenominador());
+
+        FraccionMixta cociente = Operador.division(grande, new FraccionMixta(0, 1, 2));
+        assertEquals(500_000_000, cociente.getEntero());
+        assertEquals(1, cociente.getNumerador());
+        assertEquals(6, cociente.getDenominador());
+
+        FraccionMixta reducida = new FraccionMixta(6, 4, 2_000_000_000).reducir();
+        assertEquals(2_000_000_001, reducida.getEntero());
+        assertEquals(1, reducida.getNumerador());
+        assertEquals(2, reducida.getDenominador());
+    }
+
+    @Test
+    void desbordamientoTest() {
+        FraccionMixta grande = new FraccionMixta(0, 1, Integer.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> Operador.suma(grande, new FraccionMixta(0, 1, 1)));
+        assertThrows(ArithmeticException.class, () -> Operador.multiplicar(grande, grande));
+        assertThrows(ArithmeticException.class, () -> Operador.division(grande, new FraccionMixta(1, 2, 0)));
+        assertThrows(ArithmeticException.class,
+                () -> Operador.suma(new FraccionMixta(1, 65_537, 0), new FraccionMixta(1, 65_539, 0)));
+    }
+
+    @Test
+    void divisionEntreCeroTest() {
+        assertThrows(ArithmeticException.class, () -> Operador.division(new FraccionMixta(1, 2, 1), new FraccionMixta()));
+    }
+
+    @Test
+    void coincideConConversionTest() {
+        Random aleatorio = new Random(34);
+        for (int i = 0; i < 2000; i++) {
+            FraccionMixta f1 = aleatoria(aleatorio);
+            FraccionMixta f2 = aleatoria(aleatorio);
+            Fraccion g1 = FraccionMixta.convertToFraccion(f1);
+            Fraccion g2 = FraccionMixta.convertToFraccion(f2);
+            assertMismoValor(Operador.suma(g1, g2), Operador.suma(f1, f2));
+            assertMismoValor(Operador.resta(g1, g2), Operador.resta(f1, f2));
+            assertMismoValor(Operador.multiplicar(g1, g2), Operador.multiplicar(f1, f2));
+            if (g2.getNumerador() != 0) {
+                assertMismoValor(Operador.division(g1, g2), Operador.division(f1, f2));
+            }
+        }
+    }
+
+    private static void assertMismoValor(Fraccion esperado, FraccionMixta actual) {
+        long numerador = (long) actual.getEntero() * actual.getDenominador() + actual.getNumerador();
+        long signoEsperado = esperado.getSigno() == Fraccion.Signo.NEGATIVE ? -1 : 1;
+        long signoActual = actual.getSigno() == Fraccion.Signo.NEGATIVE ? -1 : 1;
+        assertEquals(signoEsperado * esperado.getNumerador() * actual.getDenominador(),
+                signoActual * numerador * esperado.getDenominador(), actual.toString());
+    }
+
+    private static FraccionMixta aleatoria(Random aleatorio) {
+        int denominador = 1 + aleatorio.nextInt(12);
+        return new FraccionMixta(aleatorio.nextInt(denominador), denominador, aleatorio.nextInt(21) - 10);
+    }
+}
@@ -0,0 +1,144 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheOperadorTest {
+
+    @Test
+    void operacionesTest() {
+        CacheOperador cache = new CacheOperador(64);
+        Fraccion a = new Fraccion(1, 2);
+        Fraccion b = new Fraccion(-2, 3);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Operador.suma(a, b), cache.suma(a, b));
+            assertEquals(Operador.resta(a, b), cache.resta(a, b));
+            assertEquals(Operador.multiplicar(a, b), cache.multiplicar(a, b));
+            assertEquals(Operador.division(a, b), cache.division(a, b));
+            assertEquals(Operador.suma(a, b), cache.operar('+', a, b));
+            assertEquals(Operador.division(a, b), cache.operar(':', a, b));
+        }
+        assertEquals(4, cache.getFallos());
+        assertEquals(8, cache.getAciertos());
+        assertEquals(8.0 / 12, cache.getTasaAciertos(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> cache.operar('%', a, b));
+    }
+
+    @Test
+    void claveCanonicaTest() {
+        CacheOperador cache = new CacheOperador(64);
+        Fraccion esperado = cache.suma(new Fraccion(-1, 2), new Fraccion(1, 3));
+        // Mismo valor con el signo en el denominador.
+        assertEquals(esperado, cache.suma(new Fraccion(1, -2), new Fraccion(1, 3)));
+        assertEquals(1, cache.getAciertos());
+        // Operandos en otro orden u otra operación son otra entrada.
+        cache.suma(new Fraccion(1, 3), new Fraccion(-1, 2));
+        cache.resta(new Fraccion(-1, 2), new Fraccion(1, 3));
+        assertEquals(3, cache.getFallos());
+    }
+
+    @Test
+    void operandosEquivalentesTest() {
+        CacheOperador cache = new CacheOperador(64);
+        Fraccion esperado = cache.multiplicar(new Fraccion(1, 2), new Fraccion(-3, 4));
+        assertEquals(esperado, cache.multiplicar(new Fraccion(2, 4), new Fraccion(6, -8)));
+        assertEquals(esperado, cache.multiplicar(new Fraccion(50, 100), new Fraccion(-30, 40)));
+        assertEquals(2, cache.getAciertos());
+        assertEquals(cache.suma(new Fraccion(0, 1), new Fraccion(1, 3)), cache.suma(new Fraccion(0, 7), new Fraccion(2, 6)));
+        assertEquals(3, cache.getAciertos());
+
+        // El resultado se calcula con los operandos reducidos, sin el desbordamiento de los productos sin reducir.
+        Fraccion grande = new Fraccion(1 << 20, 1 << 21);
+        assertEquals(new Fraccion(1, 4), cache.multiplicar(grande, grande));
+    }
+
+    @Test
+    void fraccionMixtaTest() {
+        CacheOperador cache = new CacheOperador(16);
+        Fraccion resultado = cache.multiplicar(new FraccionMixta(1, 2, 1), new Fraccion(2, 3));
+        assertTrue(resultado.isEquivalente(new Fraccion(1, 1)));
+        assertEquals(resultado, cache.multiplicar(new Fraccion(3, 2), new Fraccion(2, 3)));
+        assertEquals(1, cache.getAciertos());
+    }
+
+    @Test
+    void resultadoIndependienteTest() {
+        CacheOperador cache = new CacheOperador(16);
+        cache.suma(new Fraccion(1, 4), new Fraccion(1, 4)).setNumerador(9);
+        Fraccion resultado = cache.suma(new Fraccion(1, 4), new Fraccion(1, 4));
+        assertEquals("1/2", resultado.toString());
+        resultado.setNumerador(7);
+        assertEquals("1/2", cache.suma(new Fraccion(1, 4), new Fraccion(1, 4)).toString());
+    }
+
+    @Test
+    void capacidadTest() {
+        assertEquals(CacheOperador.VIAS, new CacheOperador(1).getCapacidad());
+        assertEquals(128, new CacheOperador(100).getCapacidad());
+        assertThrows(IllegalArgumentException.class, () -> new CacheOperador(0));
+    }
+
+    @Test
+    void desalojoTest() {
+        CacheOperador cache = new CacheOperador(CacheOperador.VIAS);
+        Fraccion caliente = new Fraccion(1, 7);
+        cache.suma(caliente, caliente);
+        for (int i = 1; i <= 100; i++) {
+            cache.suma(new Fraccion(i, 101), new Fraccion(1, 2));
+            // La entrada usada con frecuencia conserva su bit de referencia y sobrevive al reloj.
+            cache.suma(caliente, caliente);
+        }
+        assertEquals(101, cache.getFallos());
+        assertEquals(100, cache.getAciertos());
+        assertEquals(101 - CacheOperador.VIAS, cache.getDesalojos());
+    }
+
+    @Test
+    void limpiarTest() {
+        CacheOperador cache = new CacheOperador(16);
+        cache.suma(new Fraccion(1, 2), new Fraccion(1, 2));
+        cache.limpiar();
+        assertEquals(0, cache.getFallos());
+        cache.suma(new Fraccion(1, 2), new Fraccion(1, 2));
+        assertEquals(1, cache.getFallos());
+        assertEquals(0, cache.getAciertos());
+        assertTrue(cache.toString().startsWith("CacheOperador[capacidad=16, aciertos=0, fallos=1"));
+    }
+
+    @Test
+    void concurrenteTest() throws Exception {
+        CacheOperador cache = new CacheOperador(256);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long semilla = t;
+                tareas.add(ejecutor.submit(() -> {
+                    Random aleatorio = new Random(semilla);
+                    for (int i = 0; i < 20_000; i++) {
+                        Fraccion a = new Fraccion(aleatorio.nextInt(40) - 20, aleatorio.nextInt(20) + 1);
+                        Fraccion b = new Fraccion((aleatorio.nextInt(20) + 1) * (aleatorio.nextBoolean() ? 1 : -1),
+                                aleatorio.nextInt(20) + 1);
+                        char operador = "+-*:".charAt(aleatorio.nextInt(4));
+                        assertEquals(Evaluador.operar(operador, a, b), cache.operar(operador, a, b));
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+        assertEquals(80_000, cache.getAciertos() + cache.getFallos());
+        assertTrue(cache.getAciertos() > 0);
+    }
+}
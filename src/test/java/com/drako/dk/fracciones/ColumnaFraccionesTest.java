@@ -0,0 +1,148 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnaFraccionesTest {
+    @Test
+    void getSetTest() {
+        try (ColumnaFracciones columna = new ColumnaFracciones(3)) {
+            assertEquals(3, columna.getTamano());
+            assertEquals(new Fraccion(0, 1), columna.get(0));
+            columna.set(1, new Fraccion(-3, 4));
+            columna.set(2, 5, -6);
+            assertEquals(-3, columna.getNumerador(1));
+            assertEquals(4, columna.getDenominador(1));
+            assertEquals(new Fraccion(-5, 6), columna.get(2));
+            assertThrows(IndexOutOfBoundsException.class, () -> columna.get(3));
+            assertThrows(ArithmeticException.class, () -> columna.set(0, 1, 0));
+        }
+    }
+
+    @Test
+    void operacionesTest() {
+        try (ColumnaFracciones a = ColumnaFracciones.de(new Fraccion(1, 2), new Fraccion(2, 3), new Fraccion(-3, 4));
+             ColumnaFracciones b = ColumnaFracciones.de(new Fraccion(1, 3), new Fraccion(1, 6), new Fraccion(3, 8));
+             ColumnaFracciones destino = new ColumnaFracciones(3)) {
+            ColumnaFracciones.suma(a, b, destino);
+            assertEquals(new Fraccion(5, 6), destino.get(0));
+            assertEquals(new Fraccion(5, 6), destino.get(1));
+            assertEquals(new Fraccion(-3, 8), destino.get(2));
+
+            ColumnaFracciones.resta(a, b, destino);
+            assertEquals(new Fraccion(1, 6), destino.get(0));
+            assertEquals(new Fraccion(1, 2), destino.get(1));
+            assertEquals(new Fraccion(-9, 8), destino.get(2));
+
+            ColumnaFracciones.multiplicar(a, b, destino);
+            assertEquals(new Fraccion(1, 6), destino.get(0));
+            assertEquals(new Fraccion(1, 9), destino.get(1));
+            assertEquals(new Fraccion(-9, 32), destino.get(2));
+
+            ColumnaFracciones.division(a, b, a);
+            assertEquals(new Fraccion(3, 2), a.get(0));
+            assertEquals(new Fraccion(4, 1), a.get(1));
+            assertEquals(new Fraccion(-2, 1), a.get(2));
+
+            byte[] comparacion = new byte[3];
+            ColumnaFracciones.comparar(a, b, comparacion);
+            assertArrayEquals(new byte[]{1, 1, -1}, comparacion);
+
+            b.set(1, new Fraccion(0, 1));
+            assertThrows(ArithmeticException.class, () -> ColumnaFracciones.division(a, b, destino));
+            assertThrows(IllegalArgumentException.class, () -> ColumnaFracciones.suma(a, b.rebanada(0, 2), destino));
+        }
+    }
+
+    @Test
+    void reducirTest() {
+        try (ColumnaFracciones columna = ColumnaFracciones.de(new Fraccion(4, 8), new Fraccion(-6, 9), new Fraccion(0, 5))) {
+            columna.reducir();
+            assertEquals(new Fraccion(1, 2), columna.get(0));
+            assertEquals(new Fraccion(-2, 3), columna.get(1));
+            assertEquals(new Fraccion(0, 1), columna.get(2));
+        }
+    }
+
+    @Test
+    void rebanadaTest() {
+        int tamano = 10_000;
+        try (ColumnaFracciones columna = new ColumnaFracciones(tamano)) {
+            for (int i = 0; i < tamano; i++) {
+                columna.set(i, 2 * i, 4);
+            }
+            int partes = 4;
+            CompletableFuture<?>[] tareas = new CompletableFuture<?>[partes];
+            for (int p = 0; p < partes; p++) {
+                ColumnaFracciones rebanada = columna.rebanada((long) p * tamano / partes, (long) (p + 1) * tamano / partes);
+                tareas[p] = CompletableFuture.runAsync(rebanada::reducir);
+            }
+            CompletableFuture.allOf(tareas).join();
+            for (int i = 0; i < tamano; i++) {
+                assertEquals(new Fraccion(i, 2).reducir(), columna.get(i));
+            }
+            assertEquals(new Fraccion(7, 2), columna.get(7));
+            assertEquals(new Fraccion(4, 1), columna.get(8));
+
+            ColumnaFracciones rebanada = columna.rebanada(100, 200);
+            rebanada.set(0, new Fraccion(1, 3));
+            assertEquals(new Fraccion(1, 3), columna.get(100));
+            rebanada.close();
+            assertEquals(new Fraccion(1, 3), columna.get(100));
+            assertThrows(IndexOutOfBoundsException.class, () -> columna.rebanada(5, tamano + 1));
+        }
+    }
+
+    @Test
+    void cerrarTest() {
+        ColumnaFracciones columna = ColumnaFracciones.de(new Fraccion(1, 2));
+        ColumnaFracciones rebanada = columna.rebanada(0, 1);
+        columna.close();
+        assertTrue(columna.isLiberada());
+        columna.close();
+        assertThrows(IllegalStateException.class, () -> columna.get(0));
+        assertThrows(IllegalStateException.class, () -> rebanada.get(0));
+    }
+
+    @Test
+    void cerrarConLectoresTest() throws InterruptedException {
+        for (int ronda = 0; ronda < 20; ronda++) {
+            ColumnaFracciones columna = new ColumnaFracciones(1 << 16);
+            AtomicReference<Throwable> fallo = new AtomicReference<>();
+            Thread lector = new Thread(() -> {
+                try {
+                    while (true) {
+                        for (long i = 0; i < columna.getTamano(); i++) {
+                            assertEquals(1, columna.getDenominador(i));
+                        }
+                    }
+                } catch (IllegalStateException e) {
+                    // La columna se cerró durante la lectura.
+                } catch (Throwable e) {
+                    fallo.set(e);
+                }
+            });
+            lector.start();
+            Thread.sleep(1);
+            columna.close();
+            lector.join();
+            assertNull(fallo.get());
+            assertTrue(columna.isLiberada());
+        }
+    }
+
+    @Test
+    void numeradorMinimoTest() {
+        try (ColumnaFracciones columna = new ColumnaFracciones(1)) {
+            assertThrows(ArithmeticException.class, () -> columna.set(0, Integer.MIN_VALUE, 1));
+            assertThrows(ArithmeticException.class, () -> columna.set(0, Integer.MIN_VALUE, -1));
+            assertThrows(ArithmeticException.class, () -> columna.set(0, 1, Integer.MIN_VALUE));
+            columna.set(0, Integer.MIN_VALUE + 1, 1);
+            assertEquals(Integer.MIN_VALUE + 1, columna.getNumerador(0));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextoAcotadoTest {
+
+    @Test
+    void resultadoExactoTest() {
+        ContextoAcotado contexto = new ContextoAcotado(1000);
+        assertEquals("5/6", contexto.suma(new Fraccion(1, 2), new Fraccion(1, 3)).toString());
+        assertEquals("-1/6", contexto.resta(new Fraccion(1, 3), new Fraccion(1, 2)).toString());
+        assertEquals("1/3", contexto.multiplicar(new Fraccion(2, 4), new Fraccion(2, 3)).toString());
+        assertEquals("-3/4", contexto.division(new Fraccion(1, 2), new Fraccion(-2, 3)).toString());
+        assertEquals(4, contexto.getOperaciones());
+        assertEquals(0, contexto.getRedondeos());
+        assertEquals(0, contexto.getErrorAcumulado());
+    }
+
+    @Test
+    void masCercanaTest() {
+        ContextoAcotado contexto = new ContextoAcotado(100);
+        // 355/113 es la mejor aproximación de pi con denominador hasta 16603; con 100 es 311/99.
+        Fraccion resultado = contexto.redondear(3141592653589793L, 1000000000000000L);
+        assertEquals("311/99", resultado.toString());
+        assertEquals(1, contexto.getRedondeos());
+        assertEquals(Math.abs(Math.PI - 311.0 / 99), contexto.getErrorMaximo(), 1e-15);
+        assertEquals("-311/99", contexto.redondear(-3141592653589793L, 1000000000000000L).toString());
+        assertEquals("-311/99", contexto.redondear(3141592653589793L, -1000000000000000L).toString());
+    }
+
+    @Test
+    void toleranciaTest() {
+        // La fracción de menor denominador a 1e-3 de pi es 201/64, no la más cercana con denominador 1000.
+        ContextoAcotado contexto = new ContextoAcotado(1000, 1e-3);
+        assertEquals("201/64", contexto.redondear(3141592653589793L, 1000000000000000L).toString());
+        ContextoAcotado estricto = new ContextoAcotado(1000, 1e-7);
+        // Ninguna fracción con denominador hasta 1000 está a 1e-7: se usa la más cercana.
+        assertEquals("355/113", estricto.redondear(3141592653589793L, 1000000000000000L).toString());
+        assertEquals("22/7", new ContextoAcotado(1000, 2e-3).redondear(3141592653589793L, 1000000000000000L).toString());
+        assertEquals("3", new ContextoAcotado(1000, 0.2).redondear(3141592653589793L, 1000000000000000L).toString());
+        assertEquals("0", new ContextoAcotado(1000, 0.01).redondear(1, 1000).toString());
+    }
+
+    @Test
+    void errorExactoTest() {
+        // El error es menor que la precisión de un double cerca de 1, pero se registra sin cancelación.
+        ContextoAcotado contexto = new ContextoAcotado(Integer.MAX_VALUE);
+        Fraccion resultado = contexto.multiplicar(new Fraccion(2147483646, 2147483647), new Fraccion(2147483645, 2147483646));
+        assertEquals("2147483645/2147483647", resultado.toString());
+        assertEquals(0, contexto.getRedondeos());
+
+        contexto.suma(new Fraccion(1, 2147483647), new Fraccion(1, 2147483646));
+        assertEquals(1, contexto.getRedondeos());
+        assertTrue(contexto.getErrorMaximo() > 0);
+        assertTrue(contexto.getErrorMaximo() < 1e-18);
+    }
+
+    @Test
+    void iteracionAcotadaTest() {
+        // x(k+1) = x(k) * 7/5 - x(k)^2 / 3 duplica el tamaño de la fracción exacta en cada paso.
+        ContextoAcotado contexto = new ContextoAcotado(1 << 20);
+        Fraccion x = new Fraccion(1, 3);
+        double esperado = 1.0 / 3;
+        for (int i = 0; i < 10_000; i++) {
+            x = contexto.resta(contexto.multiplicar(x, new Fraccion(7, 5)),
+                    contexto.division(contexto.multiplicar(x, x), new Fraccion(3, 1)));
+            esperado = esperado * 7 / 5 - esperado * esperado / 3;
+            assertTrue(x.denominador <= 1 << 20);
+        }
+        assertEquals(esperado, x.toFloat(), 1e-6);
+        assertEquals(40_000, contexto.getOperaciones());
+        assertTrue(contexto.getRedondeos() > 0);
+        assertTrue(contexto.getErrorMaximo() <= 1.0 / (1 << 20));
+        contexto.reiniciar();
+        assertEquals(0, contexto.getOperaciones());
+        assertEquals(0, contexto.getErrorAcumulado());
+    }
+
+    @Test
+    void rangoNumeradorTest() {
+        // Con valores mayores que 1 el denominador se limita para que el numerador quepa en un int.
+        ContextoAcotado contexto = new ContextoAcotado(Integer.MAX_VALUE, 1e-15);
+        Fraccion resultado = contexto.redondear(75294717238907480L, 62745597703768644L);
+        assertEquals(75294717238907480.0 / 62745597703768644L, resultado.toFloat(), 1e-6);
+    }
+
+    @Test
+    void empateExactoTest() {
+        // El valor es el punto medio exacto entre la convergente 13159923/777659230 y la semiconvergente
+        // 14435726/853050247; comparando distancias en double se elegía la semiconvergente.
+        ContextoAcotado contexto = new ContextoAcotado(898924408);
+        assertEquals("13159923/777659230", contexto.redondear(22452151131301961L, 1326764796466659620L).toString());
+    }
+
+    @Test
+    void limiteDeToleranciaTest() {
+        // 1/3 está exactamente a 2^-55 de (2^55 + 3)/(3·2^55), pero la distancia en double excede la tolerancia.
+        ContextoAcotado contexto = new ContextoAcotado(Integer.MAX_VALUE, 0x1p-55);
+        assertEquals("1/3", contexto.redondear((1L << 55) + 3, 3L << 55).toString());
+    }
+
+    @Test
+    void sumaMixtaGrandeTest() {
+        // Los productos cruzados de los numeradores impropios exceden un long, pero el resultado está en rango.
+        FraccionMixta grande = new FraccionMixta(1, Integer.MAX_VALUE, Fraccion.Signo.POSITIVE, 1 << 30);
+        FraccionMixta negativa = new FraccionMixta(1, Integer.MAX_VALUE, Fraccion.Signo.NEGATIVE, (1 << 30) - 1);
+        ContextoAcotado contexto = new ContextoAcotado(1000);
+        assertEquals("0", contexto.resta(grande, grande).toString());
+        assertEquals("1", contexto.suma(grande, negativa).toString());
+        assertThrows(ArithmeticException.class, () -> contexto.suma(grande, grande));
+    }
+
+    @Test
+    void erroresTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ContextoAcotado(0));
+        assertThrows(IllegalArgumentException.class, () -> new ContextoAcotado(10, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ContextoAcotado(10, Double.NaN));
+        ContextoAcotado contexto = new ContextoAcotado(10);
+        assertThrows(ArithmeticException.class, () -> contexto.division(new Fraccion(1, 2), new Fraccion(0, 1)));
+        assertThrows(ArithmeticException.class, () -> contexto.redondear(1L << 40, 1));
+        assertEquals("7/3", contexto.redondear(new FraccionMixta(1, 3, 2)).toString());
+    }
+}
@@ -0,0 +1,50 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextoFijoTest {
+    @Test
+    void valueOfTest() {
+        ContextoFijo pulgadas = new ContextoFijo(64);
+        assertEquals(24, pulgadas.valueOf(new Fraccion(3, 8)).getUnidades());
+        assertEquals(-24, pulgadas.valueOf(new Fraccion(-3, 8)).getUnidades());
+        assertEquals(192, pulgadas.valueOf(3).getUnidades());
+        assertThrows(ArithmeticException.class, () -> pulgadas.valueOf(new Fraccion(1, 3)));
+        assertThrows(ArithmeticException.class, () -> pulgadas.valueOf(1, 0));
+    }
+
+    @Test
+    void redondeoTest() {
+        assertEquals(33, new ContextoFijo(100, RoundingMode.HALF_EVEN).valueOf(1, 3).getUnidades());
+        assertEquals(67, new ContextoFijo(100, RoundingMode.HALF_EVEN).valueOf(2, 3).getUnidades());
+        assertEquals(-67, new ContextoFijo(100, RoundingMode.HALF_EVEN).valueOf(-2, 3).getUnidades());
+        assertEquals(-66, new ContextoFijo(100, RoundingMode.DOWN).valueOf(-2, 3).getUnidades());
+        assertEquals(-67, new ContextoFijo(100, RoundingMode.FLOOR).valueOf(-2, 3).getUnidades());
+        assertEquals(-66, new ContextoFijo(100, RoundingMode.CEILING).valueOf(2, -3).getUnidades());
+
+        // 1/8 en octavos de octavo: 0.5 unidades de 1/16 empata
+        assertEquals(0, new ContextoFijo(16, RoundingMode.HALF_EVEN).valueOf(1, 32).getUnidades());
+        assertEquals(1, new ContextoFijo(16, RoundingMode.HALF_UP).valueOf(1, 32).getUnidades());
+        assertEquals(0, new ContextoFijo(16, RoundingMode.HALF_DOWN).valueOf(1, 32).getUnidades());
+        assertEquals(2, new ContextoFijo(16, RoundingMode.HALF_EVEN).valueOf(3, 32).getUnidades());
+    }
+
+    @Test
+    void productoGrandeTest() {
+        ContextoFijo contexto = new ContextoFijo(1_000_000_007L, RoundingMode.HALF_EVEN);
+        FraccionFija grande = contexto.deUnidades(Long.MAX_VALUE / 3);
+        assertEquals(grande, grande.multiplicar(contexto.valueOf(1)));
+        assertEquals(grande, grande.division(contexto.valueOf(1)));
+        assertThrows(ArithmeticException.class, () -> grande.multiplicar(contexto.valueOf(4)));
+    }
+
+    @Test
+    void constructorInvalidoTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ContextoFijo(0));
+        assertThrows(IllegalArgumentException.class, () -> new ContextoFijo(-64));
+    }
+}
@@ -0,0 +1,155 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluadorLotesTest {
+
+    @Test
+    void procesarTest() throws IOException {
+        StringWriter salida = new StringWriter();
+        EvaluadorLotes.Resumen resumen = new EvaluadorLotes().procesar(
+                new StringReader("1/2 + 1/4\n\n# comentario\n3/4 * 2\n1/0\n"), salida);
+        String[] lineas = salida.toString().split("\n");
+        assertEquals(3, lineas.length);
+        assertEquals("3/4", lineas[0]);
+        assertEquals("3/2", lineas[1]);
+        assertTrue(lineas[2].startsWith("ERROR: "));
+        assertEquals(3, resumen.getLineas());
+        assertEquals(1, resumen.getErrores());
+        assertTrue(resumen.toString().startsWith("lineas 3\nerrores 1\n"));
+    }
+
+    @Test
+    void ordenTest() throws IOException {
+        StringBuilder entrada = new StringBuilder();
+        StringBuilder esperado = new StringBuilder();
+        for (int i = 1; i <= 5000; i++) {
+            entrada.append(i).append("/7 + 1/7\n");
+            esperado.append(Operador.suma(new Fraccion(i, 7), new Fraccion(1, 7)).reducir()).append('\n');
+        }
+        StringWriter salida = new StringWriter();
+        EvaluadorLotes.Resumen resumen = new EvaluadorLotes(4, 7, EvaluadorLotes.Formato.FRACCION, 0)
+                .procesar(new StringReader(entrada.toString()), salida);
+        assertEquals(esperado.toString(), salida.toString());
+        assertEquals(5000, resumen.getLineas());
+        assertEquals(0, resumen.getErrores());
+        assertTrue(resumen.getLatenciaMaximaNanos() >= resumen.getLatenciaPromedioNanos());
+    }
+
+    @Test
+    void anidamientoExcesivoTest() {
+        // Sin límite de anidamiento la recursión desborda la pila del hilo evaluador.
+        String anidada = "(".repeat(200_000) + "1/2" + ")".repeat(200_000);
+        StringWriter salida = new StringWriter();
+        EvaluadorLotes.Resumen resumen = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> new EvaluadorLotes(2, 1, EvaluadorLotes.Formato.FRACCION, 0)
+                        .procesar(new StringReader(anidada + "\n1/2 + 1/2\n"), salida));
+        String[] lineas = salida.toString().split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].startsWith("ERROR: "));
+        assertEquals("1", lineas[1]);
+        assertEquals(1, resumen.getErrores());
+    }
+
+    @Test
+    void falloDelLectorTest() {
+        Reader entrada = new Reader() {
+            private boolean leido;
+
+            @Override
+            public int read(char[] destino, int desde, int longitud) {
+                if (leido) {
+                    throw new IllegalStateException("fallo simulado");
+                }
+                leido = true;
+                "1/2\n".getChars(0, 4, destino, desde);
+                return 4;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> assertTimeoutPreemptively(
+                Duration.ofSeconds(30), () -> new EvaluadorLotes(2, 1, EvaluadorLotes.Formato.FRACCION, 0)
+                        .procesar(entrada, new StringWriter())));
+        assertEquals("fallo simulado", e.getMessage());
+    }
+
+    @Test
+    void formatosTest() throws IOException {
+        assertEquals("1 3/4\n", procesar(EvaluadorLotes.Formato.MIXTA, "7/4"));
+        assertEquals("0.333\n", procesar(EvaluadorLotes.Formato.DECIMAL, "1/3"));
+        assertEquals("0.1(6)\n", procesar(EvaluadorLotes.Formato.PERIODICO, "1/6"));
+        assertEquals("1/2 + 1/2\t1\n", procesar(EvaluadorLotes.Formato.TSV, "1/2 + 1/2"));
+    }
+
+    @Test
+    void constructorTest() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluadorLotes(0, 1, EvaluadorLotes.Formato.FRACCION, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluadorLotes(1, 0, EvaluadorLotes.Formato.FRACCION, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluadorLotes(1, 1, EvaluadorLotes.Formato.FRACCION, -1));
+    }
+
+    @Test
+    void ejecutarArchivosTest(@TempDir Path directorio) throws IOException {
+        Path a = Files.writeString(directorio.resolve("a.txt"), "1/2 + 1/3\n2 * 3/4");
+        Path b = Files.writeString(directorio.resolve("b.txt"), "raiz(9/4)\n");
+        Path resultado = directorio.resolve("resultado.txt");
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        int codigo = EvaluadorLotes.ejecutar(new String[]{"-o", resultado.toString(), "-f", "mixta", "-h", "2",
+                a.toString(), "-", b.toString()}, entrada("5/4\n"), new ByteArrayOutputStream(), new PrintStream(errores));
+        assertEquals(0, codigo);
+        assertEquals(List.of("5/6", "1 1/2", "1 1/4", "1 1/2"), Files.readAllLines(resultado));
+        assertTrue(errores.toString(StandardCharsets.UTF_8).contains("lineas 4\n"));
+    }
+
+    @Test
+    void ejecutarEntradaEstandarTest() {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        int codigo = EvaluadorLotes.ejecutar(new String[]{"-q", "-f", "decimal", "-d", "2"}, entrada("1/3\n2/3\n"),
+                salida, new PrintStream(errores));
+        assertEquals(0, codigo);
+        assertEquals("0.33\n0.67\n", salida.toString(StandardCharsets.UTF_8));
+        assertEquals("", errores.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ejecutarErroresTest(@TempDir Path directorio) {
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        PrintStream impresora = new PrintStream(errores);
+        assertEquals(2, EvaluadorLotes.ejecutar(new String[]{"-x"}, entrada(""), new ByteArrayOutputStream(), impresora));
+        assertEquals(2, EvaluadorLotes.ejecutar(new String[]{"-f", "romano"}, entrada(""), new ByteArrayOutputStream(), impresora));
+        assertEquals(2, EvaluadorLotes.ejecutar(new String[]{"-h"}, entrada(""), new ByteArrayOutputStream(), impresora));
+        assertEquals(1, EvaluadorLotes.ejecutar(new String[]{directorio.resolve("no-existe.txt").toString()},
+                entrada(""), new ByteArrayOutputStream(), impresora));
+        assertTrue(errores.toString(StandardCharsets.UTF_8).contains("Uso: "));
+    }
+
+    private static String procesar(EvaluadorLotes.Formato formato, String expresion) throws IOException {
+        StringWriter salida = new StringWriter();
+        new EvaluadorLotes(2, 16, formato, 3).procesar(new StringReader(expresion), salida);
+        return salida.toString();
+    }
+
+    private static ByteArrayInputStream entrada(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluadorTest {
+    @Test
+    void evaluarTest() {
+        assertEquals("5/6", Evaluador.evaluar("1/2 + 1/3").toString());
+        assertEquals("2/3", Evaluador.evaluar("1/2 / 3/4").toString());
+        assertEquals("2/3", Evaluador.evaluar("1/2 : 3/4").toString());
+        assertEquals("3/4", Evaluador.evaluar("1/2 + 1/2 * 1/2").toString());
+        assertEquals("1/2", Evaluador.evaluar("(1/2 + 1/2) * 1/2").toString());
+        assertEquals("-1/4", Evaluador.evaluar("1/4 - 1/2").toString());
+        assertEquals("3/4", Evaluador.evaluar("1/4 - -1/2").toString());
+        assertEquals("-1/2", Evaluador.evaluar("-(1/2)").toString());
+        assertEquals("3/2", Evaluador.evaluar("raiz(9/4)").toString());
+        assertEquals("9/4", Evaluador.evaluar("2/1/4").toString());
+        assertEquals("7", Evaluador.evaluar("7").toString());
+    }
+
+    @Test
+    void operarTest() {
+        Fraccion resultado = Evaluador.operar('*', new Fraccion(2, 3), new Fraccion(3, 4));
+        assertEquals(1, resultado.getNumerador());
+        assertEquals(2, resultado.getDenominador());
+
+        assertThrows(IllegalArgumentException.class, () -> Evaluador.operar('%', new Fraccion(1, 2), new Fraccion(1, 2)));
+    }
+
+    @Test
+    void evaluarInvalidoTest() {
+        assertThrows(NumberFormatException.class, () -> Evaluador.evaluar("1/2 +"));
+        assertThrows(NumberFormatException.class, () -> Evaluador.evaluar("(1/2"));
+        assertThrows(NumberFormatException.class, () -> Evaluador.evaluar("1/2 3/4"));
+        assertThrows(ArithmeticException.class, () -> Evaluador.evaluar("raiz(-1/4)"));
+    }
+
+    @Test
+    void anidamientoTest() {
+        int n = Evaluador.MAX_ANIDAMIENTO;
+        assertEquals(new Fraccion(1, 2), Evaluador.evaluar("(".repeat(n) + "1/2" + ")".repeat(n)));
+        assertThrows(NumberFormatException.class,
+                () -> Evaluador.evaluar("(".repeat(n + 1) + "1/2" + ")".repeat(n + 1)));
+        assertThrows(NumberFormatException.class, () -> Evaluador.evaluar("-(".repeat(100_000) + "1"));
+        assertThrows(NumberFormatException.class, () -> Evaluador.evaluar("raiz(".repeat(100_000) + "1"));
+    }
+}
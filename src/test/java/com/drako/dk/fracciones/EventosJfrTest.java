@@ -0,0 +1,64 @@
+package com.drako.dk.fracciones;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventosJfrTest {
+    @Test
+    void operandosGrandesTest() throws Exception {
+        List<RecordedEvent> eventos = grabar("com.drako.dk.fracciones.OperandosGrandes", () -> {
+            Operador.suma(new Fraccion(1, 2), new Fraccion(1, 3));
+            Operador.multiplicar(new Fraccion(1, 1 << 29), new Fraccion(3, 4));
+        });
+
+        List<RecordedEvent> multiplicaciones = eventos.stream()
+                .filter(e -> e.getString("operacion").equals("MULTIPLICAR"))
+                .collect(Collectors.toList());
+        assertEquals(1, multiplicaciones.size());
+        assertEquals(30, multiplicaciones.get(0).getInt("bitsOperando1"));
+        assertEquals(3, multiplicaciones.get(0).getInt("bitsOperando2"));
+        assertTrue(eventos.stream().noneMatch(e -> e.getString("operacion").equals("SUMA")));
+    }
+
+    @Test
+    void parseoTest() throws Exception {
+        List<RecordedEvent> eventos = grabar("com.drako.dk.fracciones.OperandosGrandes", () -> new Fraccion("1/1000000000"));
+
+        assertTrue(eventos.stream().anyMatch(e -> e.getString("operacion").equals("PARSEO") && e.getInt("bitsOperando2") == 30));
+    }
+
+    @Test
+    void operacionLentaTest() throws Exception {
+        List<RecordedEvent> eventos = grabar("com.drako.dk.fracciones.OperacionLenta", () -> Operador.raiz(new Fraccion(2, 1)));
+
+        assertTrue(eventos.stream().anyMatch(e -> e.getString("operacion").equals("RAIZ")));
+    }
+
+    private static List<RecordedEvent> grabar(String evento, Runnable accion) throws Exception {
+        Path archivo = Files.createTempFile("fracciones", ".jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(evento).withThreshold(Duration.ZERO);
+            grabacion.start();
+            accion.run();
+            grabacion.stop();
+            grabacion.dump(archivo);
+            // Solo se conservan los eventos del hilo de la prueba, no los de tareas de otras pruebas aún en curso.
+            long hilo = Thread.currentThread().getId();
+            return RecordingFile.readAllEvents(archivo).stream()
+                    .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == hilo)
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
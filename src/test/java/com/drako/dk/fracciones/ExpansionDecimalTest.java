@@ -0,0 +1,97 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpansionDecimalTest {
+    @Test
+    void notacionPeriodicaTest() {
+        assertEquals("0.1(6)", new ExpansionDecimal(new Fraccion(1, 6)).toString());
+        assertEquals("0.25", new ExpansionDecimal(new Fraccion(1, 4)).toString());
+        assertEquals("-2.(142857)", new ExpansionDecimal(new Fraccion(-15, 7)).toString());
+        assertEquals("3", new ExpansionDecimal(new Fraccion(6, 2)).toString());
+        assertEquals("0", new ExpansionDecimal(new Fraccion(0, 5)).toString());
+        assertEquals("2.8(3)", new ExpansionDecimal(new FraccionMixta(5, 6, 2)).toString());
+        assertEquals("-1.(09)", new ExpansionDecimal(new FraccionMixta(1, 11, -1)).toString());
+    }
+
+    @Test
+    void periodoTest() {
+        ExpansionDecimal septimo = new ExpansionDecimal(new Fraccion(1, 7));
+        assertEquals(0, septimo.getPreperiodo());
+        assertEquals(6, septimo.getPeriodo());
+        assertFalse(septimo.isFinita());
+
+        ExpansionDecimal finita = new ExpansionDecimal(new Fraccion(3, 40));
+        assertEquals(3, finita.getPreperiodo());
+        assertEquals(0, finita.getPeriodo());
+        assertTrue(finita.isFinita());
+
+        assertEquals(96, new ExpansionDecimal(new Fraccion(1, 97)).getPeriodo());
+        assertEquals(42, new ExpansionDecimal(new Fraccion(1, 49)).getPeriodo());
+        assertEquals(16, new ExpansionDecimal(new Fraccion(1, 17 * 8)).getPeriodo());
+        assertEquals(3, new ExpansionDecimal(new Fraccion(1, 17 * 8)).getPreperiodo());
+
+        for (int d = 1; d < 500; d++) {
+            assertEquals(periodoIngenuo(d), new ExpansionDecimal(new Fraccion(1, d)).getPeriodo(), "1/" + d);
+        }
+    }
+
+    @Test
+    void digitosTest() {
+        PrimitiveIterator.OfInt digitos = new ExpansionDecimal(new Fraccion(1, 8)).digitos();
+        assertEquals(1, digitos.nextInt());
+        assertEquals(2, digitos.nextInt());
+        assertEquals(5, digitos.nextInt());
+        assertFalse(digitos.hasNext());
+
+        PrimitiveIterator.OfInt periodicos = new ExpansionDecimal(new Fraccion(2, 3)).digitos();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(6, periodicos.nextInt());
+        }
+        assertTrue(periodicos.hasNext());
+    }
+
+    @Test
+    void toStringDecimalesTest() {
+        assertEquals("0.167", new ExpansionDecimal(new Fraccion(1, 6)).toString(3));
+        assertEquals("0.166", new ExpansionDecimal(new Fraccion(1, 6)).toString(3, RoundingMode.DOWN));
+        assertEquals("1.00", new ExpansionDecimal(new Fraccion(999, 1000)).toString(2));
+        assertEquals("10", new ExpansionDecimal(new Fraccion(19, 2)).toString(0));
+        assertEquals("-0.33", new ExpansionDecimal(new Fraccion(-1, 3)).toString(2));
+        assertEquals("0.00", new ExpansionDecimal(new Fraccion(-1, 1000)).toString(2));
+        assertEquals("0.12", new ExpansionDecimal(new Fraccion(1, 8)).toString(2, RoundingMode.HALF_EVEN));
+        assertEquals("0.38", new ExpansionDecimal(new Fraccion(3, 8)).toString(2, RoundingMode.HALF_EVEN));
+        assertEquals("-0.12", new ExpansionDecimal(new Fraccion(-1, 8)).toString(2, RoundingMode.CEILING));
+        assertEquals("0.125", new ExpansionDecimal(new Fraccion(1, 8)).toString(3, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> new ExpansionDecimal(new Fraccion(1, 3)).toString(3, RoundingMode.UNNECESSARY));
+        assertThrows(IllegalArgumentException.class, () -> new ExpansionDecimal(new Fraccion(1, 3)).toString(-1));
+
+        for (RoundingMode modo : new RoundingMode[]{RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN}) {
+            for (int n = -40; n <= 40; n++) {
+                BigDecimal esperado = BigDecimal.valueOf(n).divide(BigDecimal.valueOf(16), 2, modo);
+                String obtenido = new ExpansionDecimal(new Fraccion(n, 16)).toString(2, modo);
+                assertEquals(0, esperado.compareTo(new BigDecimal(obtenido)), n + "/16 " + modo);
+            }
+        }
+    }
+
+    private static int periodoIngenuo(int d) {
+        while (d % 2 == 0) d /= 2;
+        while (d % 5 == 0) d /= 5;
+        if (d == 1) return 0;
+        int k = 1;
+        long x = 10 % d;
+        while (x != 1) {
+            x = x * 10 % d;
+            k++;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,128 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FraccionContinuaTest {
+
+    @Test
+    void constructorTest() {
+        FraccionContinua fc = new FraccionContinua(new Fraccion(415, 93));
+        assertArrayEquals(new long[]{4, 2, 6, 7}, fc.getCocientes());
+        assertEquals(4, fc.getLongitud());
+        assertEquals(6, fc.getCociente(2));
+        assertEquals("[4; 2, 6, 7]", fc.toString());
+
+        assertEquals("[-5; 1, 1, 6, 7]", new FraccionContinua(new Fraccion(-415, 93)).toString());
+        assertEquals("[2]", new FraccionContinua(4, 2).toString());
+        assertEquals(new FraccionContinua(7, 3), new FraccionContinua(new FraccionMixta(1, 3, 2)));
+    }
+
+    @Test
+    void constructorCocientesTest() {
+        assertEquals(FraccionContinua.deCocientes(4, 2, 6, 7), new FraccionContinua(415, 93));
+        // Un último cociente 1 se absorbe en el anterior.
+        assertArrayEquals(new long[]{4, 2, 6, 7}, FraccionContinua.deCocientes(4, 2, 6, 6, 1).getCocientes());
+        assertArrayEquals(new long[]{2}, FraccionContinua.deCocientes(1, 1).getCocientes());
+        assertThrows(IllegalArgumentException.class, () -> FraccionContinua.deCocientes());
+        assertThrows(IllegalArgumentException.class, () -> FraccionContinua.deCocientes(1, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> FraccionContinua.deCocientes(1, -2));
+    }
+
+    @Test
+    void getCocientesDevuelveCopiaTest() {
+        FraccionContinua fc = new FraccionContinua(415, 93);
+        fc.getCocientes()[0] = 99;
+        assertEquals(4, fc.getCociente(0));
+    }
+
+    @Test
+    void convergentesTest() {
+        List<String> convergentes = new ArrayList<>();
+        new FraccionContinua(415, 93).convergentes().forEachRemaining(f -> convergentes.add(f.toString()));
+        assertEquals(List.of("4", "9/2", "58/13", "415/93"), convergentes);
+
+        Iterator<Fraccion> iterador = FraccionContinua.deCocientes(3).convergentes();
+        assertEquals("3", iterador.next().toString());
+        assertFalse(iterador.hasNext());
+        assertThrows(NoSuchElementException.class, iterador::next);
+    }
+
+    @Test
+    void convergentesPerezosasTest() {
+        // La fracción completa no cabe en un int, pero las primeras convergentes sí.
+        FraccionContinua fc = FraccionContinua.deCocientes(1, 2, 3, 4_000_000_000L);
+        Iterator<Fraccion> iterador = fc.convergentes();
+        assertEquals("1", iterador.next().toString());
+        assertEquals("3/2", iterador.next().toString());
+        assertEquals("10/7", iterador.next().toString());
+        assertThrows(ArithmeticException.class, iterador::next);
+        assertEquals(new FraccionGrande(40_000_000_003L, 28_000_000_002L), fc.toFraccionGrande());
+    }
+
+    @Test
+    void semiconvergentesTest() {
+        List<String> fracciones = new ArrayList<>();
+        FraccionContinua.deCocientes(0, 2, 3).semiconvergentes().forEachRemaining(f -> fracciones.add(f.toString()));
+        // 3/7 = [0; 2, 3]: convergentes 0, 1/2, 3/7 y semiconvergentes 1/1, 1/3, 2/5.
+        assertEquals(List.of("0", "1", "1/2", "1/3", "2/5", "3/7"), fracciones);
+    }
+
+    @Test
+    void toFraccionTest() {
+        Fraccion fraccion = FraccionContinua.deCocientes(-5, 1, 1, 6, 7).toFraccion();
+        assertTrue(fraccion.isEquivalente(new Fraccion(-415, 93)));
+        assertEquals(new FraccionGrande(-415, 93), new FraccionContinua(-415, 93).toFraccionGrande());
+        assertThrows(ArithmeticException.class, () -> FraccionContinua.deCocientes(4_000_000_000L).toFraccion());
+    }
+
+    @Test
+    void compareToTest() {
+        assertTrue(new FraccionContinua(1, 3).compareTo(new FraccionContinua(1, 2)) < 0);
+        assertTrue(new FraccionContinua(1, 1).compareTo(new FraccionContinua(2, 3)) > 0);
+        assertTrue(new FraccionContinua(3, 1).compareTo(new FraccionContinua(7, 2)) < 0);
+        assertEquals(0, new FraccionContinua(2, 4).compareTo(new FraccionContinua(1, 2)));
+    }
+
+    @Test
+    void compararTest() {
+        assertTrue(FraccionContinua.comparar(1, 3, 1, 2) < 0);
+        assertTrue(FraccionContinua.comparar(-1, 2, -1, 3) < 0);
+        assertEquals(0, FraccionContinua.comparar(2, 4, -1, -2));
+        assertTrue(FraccionContinua.comparar(Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MAX_VALUE - 1, Long.MAX_VALUE - 2) < 0);
+        assertTrue(FraccionContinua.comparar(new FraccionMixta(1, 2, 1), new Fraccion(4, 3)) > 0);
+        assertThrows(ArithmeticException.class, () -> FraccionContinua.comparar(1, 0, 1, 2));
+    }
+
+    @Test
+    void compararAleatorioTest() {
+        Random aleatorio = new Random(39);
+        for (int i = 0; i < 10_000; i++) {
+            long n1 = aleatorio.nextInt(2001) - 1000, d1 = aleatorio.nextInt(200) + 1;
+            long n2 = aleatorio.nextInt(2001) - 1000, d2 = aleatorio.nextInt(200) + 1;
+            int esperado = Long.signum(n1 * d2 - n2 * d1);
+            assertEquals(esperado, Integer.signum(FraccionContinua.comparar(n1, d1, n2, d2)));
+            assertEquals(esperado, Integer.signum(new FraccionContinua(n1, d1).compareTo(new FraccionContinua(n2, d2))));
+        }
+    }
+
+    @Test
+    void compararGrandesTest() {
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            long n1 = aleatorio.nextLong(), d1 = aleatorio.nextLong() >>> 1 | 1;
+            long n2 = aleatorio.nextLong(), d2 = aleatorio.nextLong() >>> 1 | 1;
+            int esperado = BigInteger.valueOf(n1).multiply(BigInteger.valueOf(d2))
+                    .compareTo(BigInteger.valueOf(n2).multiply(BigInteger.valueOf(d1)));
+            assertEquals(esperado, Integer.signum(FraccionContinua.comparar(n1, d1, n2, d2)));
+        }
+    }
+}
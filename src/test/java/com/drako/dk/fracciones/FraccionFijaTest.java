@@ -0,0 +1,70 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FraccionFijaTest {
+    private final ContextoFijo pulgadas = new ContextoFijo(64);
+
+    @Test
+    void sumaRestaTest() {
+        FraccionFija f1 = pulgadas.valueOf(new Fraccion(3, 8));
+        FraccionFija f2 = pulgadas.valueOf(new Fraccion(5, 16));
+        assertEquals(44, f1.suma(f2).getUnidades());
+        assertEquals(new Fraccion(11, 16), f1.suma(f2).toFraccion());
+        assertEquals(new Fraccion(1, 16), f1.resta(f2).toFraccion());
+        assertEquals("-1/16", f2.resta(f1).toString());
+        assertThrows(ArithmeticException.class, () -> pulgadas.deUnidades(Long.MAX_VALUE).suma(pulgadas.deUnidades(1)));
+    }
+
+    @Test
+    void multiplicarDivisionTest() {
+        FraccionFija f1 = pulgadas.valueOf(new Fraccion(3, 8));
+        FraccionFija f2 = pulgadas.valueOf(new Fraccion(1, 2));
+        assertEquals(new Fraccion(3, 16), f1.multiplicar(f2).toFraccion());
+        assertEquals(new Fraccion(3, 4), f1.division(f2).toFraccion());
+        assertEquals(new Fraccion(9, 8), f1.multiplicar(3).toFraccion());
+
+        FraccionFija f3 = pulgadas.valueOf(new Fraccion(3, 64));
+        assertThrows(ArithmeticException.class, () -> f3.multiplicar(f2.multiplicar(f2)));
+        assertThrows(ArithmeticException.class, () -> f1.division(pulgadas.valueOf(0)));
+
+        ContextoFijo centavos = new ContextoFijo(100, RoundingMode.HALF_EVEN);
+        FraccionFija precio = centavos.valueOf(1999, 100);
+        assertEquals(666, precio.division(centavos.valueOf(3)).getUnidades());
+        assertEquals(300, precio.multiplicar(centavos.valueOf(15, 100)).getUnidades());
+    }
+
+    @Test
+    void contextosDistintosTest() {
+        FraccionFija f1 = pulgadas.valueOf(1);
+        FraccionFija f2 = new ContextoFijo(100).valueOf(1);
+        assertThrows(IllegalArgumentException.class, () -> f1.suma(f2));
+        assertNotEquals(f1, f2);
+        assertEquals(f2, f1.convertir(new ContextoFijo(100)));
+        assertEquals(pulgadas.valueOf(1), pulgadas.valueOf(1));
+        assertThrows(ArithmeticException.class, () -> pulgadas.deUnidades(1).convertir(new ContextoFijo(100)));
+    }
+
+    @Test
+    void conversionTest() {
+        FraccionFija fraccion = pulgadas.deUnidades(-84);
+        assertEquals(new Fraccion(-21, 16), fraccion.toFraccion());
+        assertEquals(new FraccionGrande(-21, 16), fraccion.toFraccionGrande());
+        assertEquals(-1.3125, fraccion.toDouble());
+        assertEquals("-21/16", fraccion.toString());
+        assertThrows(ArithmeticException.class, () -> pulgadas.deUnidades(Long.MAX_VALUE).toFraccion());
+    }
+
+    @Test
+    void sumarTest() {
+        long[] unidades = new long[1000];
+        for (int i = 0; i < unidades.length; i++) {
+            unidades[i] = i;
+        }
+        assertEquals(new Fraccion(499500, 64).reducir(), pulgadas.sumar(unidades).toFraccion());
+    }
+}
@@ -0,0 +1,46 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FraccionGrandeTest {
+    @Test
+    void constructorTest() {
+        FraccionGrande fraccion = new FraccionGrande(6, -8);
+        assertEquals(BigInteger.valueOf(-3), fraccion.getNumerador());
+        assertEquals(BigInteger.valueOf(4), fraccion.getDenominador());
+        assertEquals(-1, fraccion.signum());
+        assertThrows(ArithmeticException.class, () -> new FraccionGrande(1, 0));
+    }
+
+    @Test
+    void operacionesTest() {
+        FraccionGrande f1 = new FraccionGrande(1, 2);
+        FraccionGrande f2 = new FraccionGrande(1, 3);
+        assertEquals(new FraccionGrande(5, 6), f1.suma(f2));
+        assertEquals(new FraccionGrande(1, 6), f1.resta(f2));
+        assertEquals(new FraccionGrande(1, 6), f1.multiplicar(f2));
+        assertEquals(new FraccionGrande(3, 2), f1.division(f2));
+        assertTrue(f1.compareTo(f2) > 0);
+    }
+
+    @Test
+    void conversionTest() {
+        FraccionGrande fraccion = FraccionGrande.valueOf(new Fraccion(-5, 9));
+        assertEquals("-5/9", fraccion.toString());
+        assertEquals(new Fraccion(-5, 9), fraccion.toFraccion());
+        assertEquals(-5.0 / 9, fraccion.toDouble(), 1e-15);
+
+        FraccionGrande grande = new FraccionGrande(BigInteger.ONE, BigInteger.TWO.pow(40));
+        assertFalse(grande.cabeEnInt());
+        assertThrows(ArithmeticException.class, grande::toFraccion);
+        assertEquals(Math.pow(2, -40), grande.toDouble());
+
+        FraccionGrande enorme = new FraccionGrande(BigInteger.TEN.pow(400).add(BigInteger.ONE), BigInteger.TEN.pow(399));
+        assertEquals(10.0, enorme.toDouble(), 1e-12);
+        assertEquals("7", new FraccionGrande(14, 2).toString());
+    }
+}
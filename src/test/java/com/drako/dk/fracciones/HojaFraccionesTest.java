@@ -0,0 +1,158 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HojaFraccionesTest {
+
+    @Test
+    void definirTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        hoja.definir("A", new Fraccion(1, 2));
+        hoja.definir("B", new FraccionMixta(1, 3, 1));
+        hoja.definir("C", '+', "A", "B");
+        hoja.definir("D", '*', "C", "A");
+        assertEquals("11/6", hoja.getValor("C").toString());
+        assertEquals("11/12", hoja.getValor("D").toString());
+        assertEquals(4, hoja.getTamano());
+        assertTrue(hoja.contiene("D"));
+        assertFalse(hoja.contiene("E"));
+    }
+
+    @Test
+    void recalculoIncrementalTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        hoja.definir("A", new Fraccion(1, 2));
+        hoja.definir("B", new Fraccion(1, 3));
+        hoja.definir("X", new Fraccion(5, 1));
+        hoja.definir("C", '+', "A", "B");
+        hoja.definir("D", '-', "C", "B");
+        hoja.definir("Y", '*', "X", "X");
+
+        long antes = hoja.getRecalculos();
+        assertEquals(2, hoja.definir("A", new Fraccion(3, 4)));
+        assertEquals(3, hoja.getRecalculos() - antes);
+        assertEquals("13/12", hoja.getValor("C").toString());
+        assertEquals("3/4", hoja.getValor("D").toString());
+        assertEquals("25", hoja.getValor("Y").toString());
+    }
+
+    @Test
+    void corteTempranoTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        AtomicInteger evaluaciones = new AtomicInteger();
+        hoja.definir("A", new Fraccion(2, 1));
+        hoja.definir("B", valores -> Operador.multiplicar(valores[0], new Fraccion(0, 1)), "A");
+        hoja.definir("C", valores -> {
+            evaluaciones.incrementAndGet();
+            return Operador.suma(valores[0], new Fraccion(1, 1));
+        }, "B");
+        evaluaciones.set(0);
+        // B sigue valiendo 0, por lo que C no se recalcula.
+        assertEquals(1, hoja.definir("A", new Fraccion(7, 3)));
+        assertEquals(0, evaluaciones.get());
+        // Un valor equivalente no cambia la celda.
+        assertEquals(0, hoja.definir("A", new Fraccion(14, 6)));
+    }
+
+    @Test
+    void diamanteTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        AtomicInteger evaluaciones = new AtomicInteger();
+        hoja.definir("A", new Fraccion(1, 1));
+        hoja.definir("B", '+', "A", "A");
+        hoja.definir("C", '*', "A", "A");
+        hoja.definir("D", valores -> {
+            evaluaciones.incrementAndGet();
+            return Operador.suma(valores[0], valores[1]);
+        }, "B", "C");
+        evaluaciones.set(0);
+        assertEquals(3, hoja.definir("A", new Fraccion(3, 1)));
+        assertEquals(1, evaluaciones.get());
+        assertEquals("15", hoja.getValor("D").toString());
+    }
+
+    @Test
+    void redefinirTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        hoja.definir("A", new Fraccion(1, 1));
+        hoja.definir("B", '+', "A", "A");
+        hoja.definir("C", '+', "B", "A");
+        hoja.definir("D", '+', "C", "C");
+        assertEquals("6", hoja.getValor("D").toString());
+        // B pasa a ser una entrada y luego una fórmula sobre D: su nivel sube.
+        hoja.definir("B", new Fraccion(5, 1));
+        assertEquals("12", hoja.getValor("D").toString());
+        hoja.definir("E", new Fraccion(1, 2));
+        hoja.definir("C", '*', "E", "A");
+        assertEquals("1", hoja.getValor("D").toString());
+        hoja.definir("B", '+', "D", "D");
+        assertEquals("2", hoja.getValor("B").toString());
+        hoja.definir("A", new Fraccion(4, 1));
+        assertEquals("4", hoja.getValor("D").toString());
+        assertEquals("8", hoja.getValor("B").toString());
+    }
+
+    @Test
+    void cicloTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        hoja.definir("A", new Fraccion(1, 1));
+        hoja.definir("B", '+', "A", "A");
+        hoja.definir("C", '+', "B", "A");
+        assertThrows(IllegalArgumentException.class, () -> hoja.definir("A", '+', "C", "C"));
+        assertThrows(IllegalArgumentException.class, () -> hoja.definir("B", '+', "B", "A"));
+        assertThrows(IllegalArgumentException.class, () -> hoja.definir("D", '+', "A", "Z"));
+        assertThrows(IllegalArgumentException.class, () -> hoja.definir("D", '%', "A", "B"));
+        assertThrows(IllegalArgumentException.class, () -> hoja.getValor("Z"));
+        // La hoja no cambia tras un error.
+        assertEquals("3", hoja.getValor("C").toString());
+    }
+
+    @Test
+    void errorTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        hoja.definir("A", new Fraccion(1, 1));
+        hoja.definir("B", new Fraccion(0, 1));
+        hoja.definir("C", '/', "A", "B");
+        hoja.definir("D", '+', "C", "A");
+        assertTrue(hoja.isError("C"));
+        assertTrue(hoja.isError("D"));
+        assertThrows(ArithmeticException.class, () -> hoja.getValor("D"));
+        hoja.definir("B", new Fraccion(1, 2));
+        assertFalse(hoja.isError("D"));
+        assertEquals("3", hoja.getValor("D").toString());
+    }
+
+    @Test
+    void actualizarParaleloTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        int n = 2000;
+        Map<String, Fraccion> valores = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            valores.put("E" + i, new Fraccion(i, 1));
+        }
+        hoja.actualizar(valores);
+        for (int i = 0; i < n; i++) {
+            hoja.definir("F" + i, '*', "E" + i, "E" + i);
+            hoja.definir("G" + i, '+', "F" + i, "E" + i);
+        }
+        valores.replaceAll((nombre, valor) -> Operador.suma(valor, new Fraccion(1, 1)));
+        assertEquals(2 * n, hoja.actualizar(valores));
+        for (int i = 0; i < n; i++) {
+            assertEquals(String.valueOf((i + 1) * (i + 1) + i + 1), hoja.getValor("G" + i).toString());
+        }
+    }
+
+    @Test
+    void getValorDevuelveCopiaTest() {
+        HojaFracciones hoja = new HojaFracciones();
+        hoja.definir("A", new Fraccion(1, 2));
+        hoja.getValor("A").setNumerador(7);
+        assertEquals("1/2", hoja.getValor("A").toString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceFareyTest {
+    @Test
+    void sucesionTest() {
+        IndiceFarey indice = new IndiceFarey(5);
+        int[][] esperado = {{0, 1}, {1, 5}, {1, 4}, {1, 3}, {2, 5}, {1, 2}, {3, 5}, {2, 3}, {3, 4}, {4, 5}, {1, 1}};
+        assertEquals(esperado.length, indice.getTamano());
+        for (int i = 0; i < esperado.length; i++) {
+            assertEquals(esperado[i][0], indice.getNumerador(i));
+            assertEquals(esperado[i][1], indice.getDenominador(i));
+        }
+        assertEquals(5, indice.getMaxDenominador());
+        assertEquals(304193, new IndiceFarey(1000).getTamano());
+    }
+
+    @Test
+    void masCercanaTest() {
+        IndiceFarey indice = new IndiceFarey(64);
+        assertEquals(new Fraccion(1, 3), indice.masCercana(0.3333));
+        assertEquals(new Fraccion(-7, 2), indice.masCercana(-3.5));
+        assertEquals(new Fraccion(0, 1), indice.masCercana(0.001));
+        assertEquals(new Fraccion(2, 1), indice.masCercana(1.9999));
+        assertEquals(new Fraccion(22, 7), new IndiceFarey(10).masCercana(Math.PI));
+        assertEquals(new Fraccion(355, 113), new IndiceFarey(200).masCercana(Math.PI));
+        assertThrows(IllegalArgumentException.class, () -> indice.masCercana(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> indice.indiceMasCercano(1.5));
+        assertThrows(ArithmeticException.class, () -> indice.masCercana(1e12));
+    }
+
+    @Test
+    void fuerzaBrutaTest() {
+        IndiceFarey indice = new IndiceFarey(64);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble();
+            int posicion = indice.indiceMasCercano(x);
+            double obtenido = Math.abs(x - (double) indice.getNumerador(posicion) / indice.getDenominador(posicion));
+            assertEquals(distanciaMinima(x, 64), obtenido, 1e-15);
+        }
+    }
+
+    @Test
+    void masCercanasTest() {
+        IndiceFarey indice = new IndiceFarey(1000);
+        double[] valores = {0.5, -0.125, 2.718281828, 0.0, 1.0};
+        int[] numeradores = new int[5];
+        int[] denominadores = new int[5];
+        indice.masCercanas(valores, numeradores, denominadores);
+
+        assertArrayEquals(new int[]{1, -1, 1457, 0, 1}, numeradores);
+        assertArrayEquals(new int[]{2, 8, 536, 1, 1}, denominadores);
+        assertThrows(IllegalArgumentException.class, () -> indice.masCercanas(valores, new int[2], new int[2]));
+    }
+
+    static double distanciaMinima(double x, int maxDenominador) {
+        double minima = Double.MAX_VALUE;
+        for (int d = 1; d <= maxDenominador; d++) {
+            long n = Math.round(x * d);
+            minima = Math.min(minima, Math.abs(x - (double) n / d));
+        }
+        return minima;
+    }
+}
@@ -0,0 +1,268 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.drako.dk.fracciones.JsonFracciones.Formato.CADENA;
+import static com.drako.dk.fracciones.JsonFracciones.Formato.OBJETO;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFraccionesTest {
+
+    @Test
+    void escribirCadenaTest() {
+        assertEquals("\"3/4\"", escribir(new Fraccion(3, 4), CADENA));
+        assertEquals("\"-3/4\"", escribir(new Fraccion(-3, 4), CADENA));
+        assertEquals("\"6/2\"", escribir(new Fraccion(6, 2), CADENA));
+        assertEquals("\"0/5\"", escribir(new Fraccion(0, 5), CADENA));
+        assertEquals("\"-1 1/2\"", escribir(new FraccionMixta(-1, 2, 1), CADENA));
+        assertEquals("\"2 0/1\"", escribir(new FraccionMixta(0, 1, 2), CADENA));
+        assertEquals("\"2147483647/1\"", escribir(new Fraccion(Integer.MAX_VALUE, 1), CADENA));
+    }
+
+    @Test
+    void escribirObjetoTest() {
+        assertEquals("{\"n\":3,\"d\":4}", escribir(new Fraccion(3, 4), OBJETO));
+        assertEquals("{\"n\":-3,\"d\":4}", escribir(new Fraccion(3, -4), OBJETO));
+        assertEquals("{\"e\":-1,\"n\":1,\"d\":2}", escribir(new FraccionMixta(-1, 2, 1), OBJETO));
+        assertEquals("{\"e\":0,\"n\":-1,\"d\":2}", escribir(new FraccionMixta(-1, 2, 0), OBJETO));
+    }
+
+    @Test
+    void leerTest() {
+        assertEquals(new Fraccion(3, 4), leer("\"3/4\""));
+        assertEquals(new Fraccion(-3, 4), leer("  \"-3/4\""));
+        assertEquals(new Fraccion(5, 1), leer("\"5\""));
+        assertEquals(new Fraccion(-7, 1), leer("-7"));
+        assertEquals(new FraccionMixta(-1, 2, 1), leer("\"-1 1/2\""));
+        assertEquals(new FraccionMixta(3, 4, 1), leer("\"1/3/4\""));
+        assertEquals(new Fraccion(-3, 4), leer("{\"d\":4, \"n\":-3}"));
+        assertEquals(new Fraccion(9, 1), leer("{ \"n\" : 9 }"));
+        assertEquals(new FraccionMixta(-1, 2, 1), leer("{\"e\":-1,\"n\":1,\"d\":2}"));
+        assertEquals(new FraccionMixta(-1, 2, 0), leer("{\"e\":0,\"n\":-1,\"d\":2}"));
+        assertInstanceOf(FraccionMixta.class, leer("\"2 0/1\""));
+        assertFalse(leer("\"3/2\"") instanceof FraccionMixta);
+    }
+
+    @Test
+    void leerAvanzaPosicionTest() {
+        ByteBuffer buffer = ascii("\"1/2\" {\"n\":3,\"d\":4}");
+        assertEquals(new Fraccion(1, 2), JsonFracciones.leer(buffer));
+        assertEquals(5, buffer.position());
+        assertEquals(new Fraccion(3, 4), JsonFracciones.leer(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void leerInvalidoTest() {
+        String[] invalidos = {"", "\"3/\"", "\"3/4", "\"a\"", "{\"n\":1,\"x\":2}", "{\"n\":1,\"n\":2}", "{\"d\":2}",
+                "{\"e\":1,\"n\":-1,\"d\":2}", "\"1 2\"", "2147483648", "{\"n\":1", "[1,2", "true", "\"1 1/2/3\""};
+        for (String invalido : invalidos) {
+            assertThrows(NumberFormatException.class, () -> {
+                ByteBuffer buffer = ascii(invalido);
+                if (invalido.startsWith("[")) {
+                    JsonFracciones.leerArreglo(buffer);
+                } else {
+                    JsonFracciones.leer(buffer);
+                }
+            }, invalido);
+        }
+    }
+
+    @Test
+    void arregloTest() {
+        Fraccion[] fracciones = {new Fraccion(1, 2), new FraccionMixta(-1, 3, 2), new Fraccion(-5, 1)};
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        JsonFracciones.escribirArreglo(fracciones, CADENA, buffer);
+        assertEquals("[\"1/2\",\"-2 1/3\",\"-5/1\"]", new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+        buffer.flip();
+        assertArrayEquals(fracciones, JsonFracciones.leerArreglo(buffer));
+
+        assertArrayEquals(fracciones, JsonFracciones.leerArreglo(ascii(" [ 1/2 ] ".replace("1/2",
+                "{\"n\":1,\"d\":2} , {\"e\":-2,\"n\":1,\"d\":3},\"-5\""))));
+        assertEquals(0, JsonFracciones.leerArreglo(ascii("[ ]")).length);
+    }
+
+    @Test
+    void desbordeTest() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put((byte) 'x');
+        assertThrows(BufferOverflowException.class, () -> JsonFracciones.escribir(new Fraccion(12345, 6789), CADENA, buffer));
+        assertEquals(1, buffer.position());
+        assertThrows(BufferOverflowException.class,
+                () -> JsonFracciones.escribirArreglo(new Fraccion[]{new Fraccion(1, 2), new Fraccion(3, 4)}, OBJETO, buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void idaYVueltaAleatoriaTest() {
+        Random random = new Random(46);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (int i = 0; i < 10000; i++) {
+            Fraccion fraccion = aleatoria(random);
+            for (JsonFracciones.Formato formato : JsonFracciones.Formato.values()) {
+                buffer.clear();
+                JsonFracciones.escribir(fraccion, formato, buffer);
+                buffer.flip();
+                assertEquals(fraccion, JsonFracciones.leer(buffer), fraccion + " " + formato);
+            }
+        }
+    }
+
+    @Test
+    void valoresExtremosTest() throws IOException {
+        int maximo = Integer.MAX_VALUE;
+        Fraccion[] extremos = {new Fraccion(maximo, maximo), new Fraccion(-maximo, maximo), new Fraccion(maximo, -1),
+                new FraccionMixta(maximo, maximo, maximo), new FraccionMixta(-maximo, maximo, maximo),
+                new FraccionMixta(-maximo, maximo, 0)};
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (Fraccion fraccion : extremos) {
+            for (JsonFracciones.Formato formato : JsonFracciones.Formato.values()) {
+                buffer.clear();
+                JsonFracciones.escribir(fraccion, formato, buffer);
+                buffer.flip();
+                assertEquals(fraccion, JsonFracciones.leer(buffer), fraccion + " " + formato);
+            }
+        }
+
+        // El valor absoluto de Integer.MIN_VALUE no cabe en un int, así que no se escribe nada.
+        Fraccion[] fuera = {new Fraccion(Integer.MIN_VALUE, 3), new Fraccion(1, Integer.MIN_VALUE),
+                new FraccionMixta(1, 2, Integer.MIN_VALUE)};
+        for (Fraccion fraccion : fuera) {
+            for (JsonFracciones.Formato formato : JsonFracciones.Formato.values()) {
+                buffer.clear().put((byte) 'x');
+                assertThrows(ArithmeticException.class, () -> JsonFracciones.escribir(fraccion, formato, buffer));
+                assertEquals(1, buffer.position());
+                assertThrows(ArithmeticException.class,
+                        () -> JsonFracciones.escribirArreglo(new Fraccion[]{new Fraccion(1, 2), fraccion}, formato, buffer));
+                assertEquals(1, buffer.position());
+            }
+        }
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (JsonFracciones.Escritor escritor = new JsonFracciones.Escritor(Channels.newChannel(salida), OBJETO)) {
+            escritor.escribir(new Fraccion(1, 2));
+            assertThrows(ArithmeticException.class, () -> escritor.escribir(fuera[0]));
+            assertEquals(1, escritor.getCantidad());
+        }
+        assertEquals(1, JsonFracciones.leerArreglo(ByteBuffer.wrap(salida.toByteArray())).length);
+    }
+
+    @Test
+    void escritorLectorTest() throws IOException {
+        Random random = new Random(47);
+        // Más de un buffer completo para cruzar los límites de lectura y escritura.
+        Fraccion[] fracciones = new Fraccion[20000];
+        for (int i = 0; i < fracciones.length; i++) {
+            fracciones[i] = aleatoria(random);
+        }
+        for (JsonFracciones.Formato formato : JsonFracciones.Formato.values()) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            try (JsonFracciones.Escritor escritor = new JsonFracciones.Escritor(Channels.newChannel(salida), formato)) {
+                escritor.escribir(fracciones);
+                assertEquals(fracciones.length, escritor.getCantidad());
+            }
+            byte[] bytes = salida.toByteArray();
+            assertTrue(bytes.length > JsonFracciones.TAMANO_BUFFER);
+            assertArrayEquals(fracciones, JsonFracciones.leerArreglo(ByteBuffer.wrap(bytes)));
+
+            try (JsonFracciones.Lector lector = new JsonFracciones.Lector(new CanalPorTrozos(bytes, 7))) {
+                Fraccion[] leidas = new Fraccion[fracciones.length + 1];
+                assertEquals(fracciones.length, lector.leer(leidas, 0, leidas.length));
+                assertNull(lector.siguiente());
+                for (int i = 0; i < fracciones.length; i++) {
+                    assertEquals(fracciones[i], leidas[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void lectorVacioEIncompletoTest() throws IOException {
+        try (JsonFracciones.Lector lector = new JsonFracciones.Lector(new CanalPorTrozos(" [ ] ".getBytes(StandardCharsets.US_ASCII), 1))) {
+            assertNull(lector.siguiente());
+        }
+        try (JsonFracciones.Escritor escritor = new JsonFracciones.Escritor(Channels.newChannel(new ByteArrayOutputStream()), CADENA)) {
+            assertEquals(0, escritor.getCantidad());
+        }
+        try (JsonFracciones.Lector lector = new JsonFracciones.Lector(new CanalPorTrozos("[\"1/2\",12".getBytes(StandardCharsets.US_ASCII), 3))) {
+            assertEquals(new Fraccion(1, 2), lector.siguiente());
+            assertThrows(NumberFormatException.class, lector::siguiente);
+        }
+        try (JsonFracciones.Lector lector = new JsonFracciones.Lector(Channels.newChannel(new ByteArrayInputStream("[-12]".getBytes(StandardCharsets.US_ASCII))))) {
+            assertEquals(new Fraccion(-12, 1), lector.siguiente());
+            assertNull(lector.siguiente());
+        }
+    }
+
+    private static Fraccion aleatoria(Random random) {
+        int numerador = random.nextBoolean() ? random.nextInt(100) : random.nextInt(Integer.MAX_VALUE);
+        int denominador = 1 + random.nextInt(random.nextBoolean() ? 100 : Integer.MAX_VALUE - 1);
+        Fraccion.Signo signo = random.nextBoolean() ? Fraccion.Signo.NEGATIVE : Fraccion.Signo.POSITIVE;
+        if (numerador == 0) {
+            signo = Fraccion.Signo.POSITIVE;
+        }
+        if (random.nextInt(3) == 0) {
+            return new FraccionMixta(numerador, denominador, signo, 1 + random.nextInt(1000));
+        }
+        return new Fraccion(numerador, denominador, signo);
+    }
+
+    private static String escribir(Fraccion fraccion, JsonFracciones.Formato formato) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        JsonFracciones.escribir(fraccion, formato, buffer);
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+    }
+
+    private static Fraccion leer(String json) {
+        return JsonFracciones.leer(ascii(json));
+    }
+
+    private static ByteBuffer ascii(String texto) {
+        return ByteBuffer.wrap(texto.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Canal que entrega los datos en trozos de tamaño fijo, para cortar los valores en cualquier punto.
+     */
+    private static final class CanalPorTrozos implements ReadableByteChannel {
+        private final byte[] datos;
+        private final int trozo;
+        private int posicion;
+        private boolean abierto = true;
+
+        CanalPorTrozos(byte[] datos, int trozo) {
+            this.datos = datos;
+            this.trozo = trozo;
+        }
+
+        @Override
+        public int read(ByteBuffer destino) {
+            if (posicion == datos.length) {
+                return -1;
+            }
+            int n = Math.min(trozo, Math.min(destino.remaining(), datos.length - posicion));
+            destino.put(datos, posicion, n);
+            posicion += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return abierto;
+        }
+
+        @Override
+        public void close() {
+            abierto = false;
+        }
+    }
+}
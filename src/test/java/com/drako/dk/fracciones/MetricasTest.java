@@ -0,0 +1,96 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasTest {
+    @BeforeEach
+    void reiniciar() {
+        assertTrue(Metricas.HABILITADAS);
+        Metricas.reiniciar();
+    }
+
+    @Test
+    void contadoresTest() {
+        Operador.suma(new Fraccion(1, 2), new Fraccion(1, 3));
+        Operador.suma(new Fraccion(1, 4), new Fraccion(1, 4));
+        Operador.multiplicar(new Fraccion(2, 3), new Fraccion(3, 4));
+        new Fraccion("3/4");
+
+        Metricas.Instantanea instantanea = Metricas.instantanea();
+        assertEquals(2, instantanea.getOperaciones(Metricas.Operacion.SUMA));
+        assertEquals(1, instantanea.getOperaciones(Metricas.Operacion.MULTIPLICAR));
+        assertEquals(1, instantanea.getOperaciones(Metricas.Operacion.PARSEO));
+        assertEquals(3, instantanea.getOperaciones(Metricas.Operacion.REDUCIR));
+        assertEquals(0, instantanea.getDesbordamientos());
+        // La reducción y el análisis de texto no se suman al total de operaciones aritméticas.
+        assertEquals(3, instantanea.getTotalOperaciones());
+    }
+
+    @Test
+    void histogramasTest() {
+        Operador.mcd(24, 36);
+        Operador.suma(new Fraccion(1, 2), new Fraccion(1, 255));
+
+        Metricas.Instantanea instantanea = Metricas.instantanea();
+        assertEquals(1, instantanea.getHistogramaMcd()[3]);
+        assertEquals(1, instantanea.getHistogramaBits()[8]);
+        assertEquals(Metricas.CUBETAS_BITS, instantanea.getHistogramaBits().length);
+
+        // Los cocientes parciales no son un cálculo del MCD.
+        Operador.cocientesParciales(415, 93);
+        assertArrayEquals(instantanea.getHistogramaMcd(), Metricas.instantanea().getHistogramaMcd());
+    }
+
+    @Test
+    void cacheSinMcdTest() {
+        CacheOperador cache = new CacheOperador(16);
+        cache.suma(new Fraccion(1, 2), new Fraccion(1, 3));
+        cache.suma(new Fraccion(2, 4), new Fraccion(1, 3));
+        long[] histograma = Metricas.instantanea().getHistogramaMcd();
+
+        // Los operandos ya reducidos aciertan sin calcular el MCD.
+        assertEquals(new Fraccion(5, 6), cache.suma(new Fraccion(1, 2), new Fraccion(1, 3)));
+        assertEquals(2, cache.getAciertos());
+        assertArrayEquals(histograma, Metricas.instantanea().getHistogramaMcd());
+    }
+
+    @Test
+    void desbordamientosTest() {
+        Operador.multiplicar(new Fraccion(100000, 1), new Fraccion(100000, 1));
+        Operador.potencia(new Fraccion(100000, 1), 2.0);
+
+        assertEquals(2, Metricas.instantanea().getDesbordamientos());
+    }
+
+    @Test
+    void operacionesPorSegundoTest() throws InterruptedException {
+        Metricas.Instantanea anterior = Metricas.instantanea();
+        Operador.resta(new Fraccion(3, 4), new Fraccion(1, 2));
+        Thread.sleep(5);
+        Metricas.Instantanea actual = Metricas.instantanea();
+
+        assertTrue(actual.operacionesPorSegundo(anterior) > 0);
+        assertEquals(0, anterior.operacionesPorSegundo(anterior));
+    }
+
+    @Test
+    void jmxTest() throws Exception {
+        Operador.division(new Fraccion(2, 3), new Fraccion(3, 4));
+
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName(Metricas.NOMBRE_JMX);
+        assertTrue(servidor.isRegistered(nombre));
+        assertEquals(0L, servidor.getAttribute(nombre, "Desbordamientos"));
+        assertEquals(1L, servidor.getAttribute(nombre, "TotalOperaciones"));
+
+        servidor.invoke(nombre, "reiniciar", null, null);
+        assertEquals(0, Metricas.instantanea().getTotalOperaciones());
+    }
+}
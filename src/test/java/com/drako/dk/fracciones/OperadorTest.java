@@ -84,6 +84,12 @@ class OperadorTest {
         assertEquals(1, raiz2.getEntero());
         assertEquals(1, raiz2.getNumerador());
         assertEquals(2, raiz2.getDenominador());
+
+        Fraccion raiz3 = Operador.raiz(new Fraccion(2, 1), 1e-4);
+        assertEquals(577, raiz3.getNumerador());
+        assertEquals(408, raiz3.getDenominador());
+
+        assertThrows(ArithmeticException.class, () -> Operador.raiz(new Fraccion(-9, 4)));
     }
 
     @Test
@@ -118,6 +124,19 @@ class OperadorTest {
 
         int mcd2 = Operador.mcd(17, 23);
         assertEquals(1, mcd2);
+
+        long mcd3 = Operador.mcd(6_000_000_000L, 4_000_000_000L);
+        assertEquals(2_000_000_000L, mcd3);
+    }
+
+    @Test
+    void cocientesParcialesTest() {
+        assertArrayEquals(new long[]{4, 2, 6, 7}, Operador.cocientesParciales(415, 93));
+        assertArrayEquals(new long[]{-5, 1, 1, 6, 7}, Operador.cocientesParciales(-415, 93));
+        assertArrayEquals(new long[]{-5, 1, 1, 6, 7}, Operador.cocientesParciales(415, -93));
+        assertArrayEquals(new long[]{3}, Operador.cocientesParciales(6, 2));
+        assertArrayEquals(new long[]{0, 2}, Operador.cocientesParciales(1, 2));
+        assertThrows(ArithmeticException.class, () -> Operador.cocientesParciales(1, 0));
     }
 
     @Test
@@ -0,0 +1,142 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdenamientoFraccionesTest {
+    private static final Comparator<Fraccion> EXACTO = Comparator.comparing(FraccionGrande::valueOf);
+
+    @Test
+    void compararTest() {
+        assertTrue(OrdenamientoFracciones.COMPARADOR.compare(new Fraccion(1, 3), new Fraccion(1, 2)) < 0);
+        assertTrue(OrdenamientoFracciones.COMPARADOR.compare(new Fraccion(-1, 2), new Fraccion(-1, 3)) < 0);
+        assertEquals(0, OrdenamientoFracciones.COMPARADOR.compare(new Fraccion(2, 4), new Fraccion(1, 2)));
+        assertTrue(OrdenamientoFracciones.COMPARADOR.compare(new FraccionMixta(1, 2, 1), new Fraccion(4, 3)) > 0);
+
+        // Valores que comparten la misma clave double.
+        Fraccion a = new Fraccion(2147483646, 2147483647);
+        Fraccion b = new Fraccion(2147483645, 2147483646);
+        assertEquals((double) 2147483646 / 2147483647, (double) 2147483645 / 2147483646);
+        assertTrue(OrdenamientoFracciones.COMPARADOR.compare(b, a) < 0);
+    }
+
+    @Test
+    void ordenarColumnasTest() {
+        int[] numeradores = {2147483646, 1, -1, 2147483645, 2, 0};
+        int[] denominadores = {2147483647, 3, 2, 2147483646, 6, 5};
+        OrdenamientoFracciones.ordenar(numeradores, denominadores);
+        assertArrayEquals(new int[]{-1, 0, 1, 2, 2147483645, 2147483646}, numeradores);
+        assertArrayEquals(new int[]{2, 5, 3, 6, 2147483646, 2147483647}, denominadores);
+        assertThrows(IllegalArgumentException.class, () -> OrdenamientoFracciones.ordenar(new int[]{1}, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> OrdenamientoFracciones.ordenar(new int[]{1}, new int[]{1, 2}));
+    }
+
+    @Test
+    void ordenarListaTest() {
+        Random aleatorio = new Random(38);
+        for (int tamano : new int[]{0, 1, 31, 1000, 3 * OrdenamientoFracciones.UMBRAL_PARALELO}) {
+            List<Fraccion> fracciones = aleatorias(aleatorio, tamano);
+            List<Fraccion> esperado = new ArrayList<>(fracciones);
+            esperado.sort(EXACTO);
+            OrdenamientoFracciones.ordenar(fracciones);
+            assertEquals(esperado, fracciones);
+        }
+    }
+
+    @Test
+    void ordenarMixtasTest() {
+        List<Fraccion> fracciones = new ArrayList<>(List.of(new FraccionMixta(0, 1, 2_000_000_000),
+                new Fraccion(7, 2), new FraccionMixta(1, 3, -1_000_000_000), new FraccionMixta(1, 2, 1)));
+        OrdenamientoFracciones.ordenar(fracciones);
+        assertEquals(new FraccionMixta(1, 3, -1_000_000_000), fracciones.get(0));
+        assertEquals(new FraccionMixta(1, 2, 1), fracciones.get(1));
+        assertEquals(new Fraccion(7, 2), fracciones.get(2));
+        assertEquals(new FraccionMixta(0, 1, 2_000_000_000), fracciones.get(3));
+    }
+
+    @Test
+    void estabilidadTest() {
+        Fraccion a = new Fraccion(1, 2);
+        Fraccion b = new Fraccion(2, 4);
+        Fraccion c = new Fraccion(3, 6);
+        List<Fraccion> fracciones = new ArrayList<>(List.of(b, new Fraccion(1, 1), c, a));
+        OrdenamientoFracciones.ordenar(fracciones);
+        assertSame(b, fracciones.get(0));
+        assertSame(c, fracciones.get(1));
+        assertSame(a, fracciones.get(2));
+    }
+
+    @Test
+    void seleccionarTest() {
+        Random aleatorio = new Random(380);
+        List<Fraccion> fracciones = aleatorias(aleatorio, 5001);
+        List<Fraccion> ordenadas = new ArrayList<>(fracciones);
+        ordenadas.sort(EXACTO);
+        for (int k : new int[]{0, 1, 17, 2500, 4999, 5000}) {
+            assertEquals(0, EXACTO.compare(ordenadas.get(k), OrdenamientoFracciones.seleccionar(fracciones, k)));
+        }
+        assertEquals(0, EXACTO.compare(ordenadas.get(2500), OrdenamientoFracciones.mediana(fracciones)));
+        assertEquals(0, EXACTO.compare(ordenadas.get(4500), OrdenamientoFracciones.cuantil(fracciones, 0.9)));
+        assertThrows(IndexOutOfBoundsException.class, () -> OrdenamientoFracciones.seleccionar(fracciones, 5001));
+        assertThrows(IllegalArgumentException.class, () -> OrdenamientoFracciones.cuantil(fracciones, 1.5));
+
+        int[] numeradores = new int[1000];
+        int[] denominadores = new int[1000];
+        Arrays.fill(denominadores, 1);
+        for (int i = 0; i < numeradores.length; i++) {
+            numeradores[i] = (i * 7919) % 1000;
+        }
+        OrdenamientoFracciones.seleccionar(numeradores, denominadores, 300);
+        assertEquals(300, numeradores[300]);
+        for (int i = 0; i < 300; i++) {
+            assertTrue(numeradores[i] < 300);
+        }
+        for (int i = 301; i < 1000; i++) {
+            assertTrue(numeradores[i] > 300);
+        }
+    }
+
+    @Test
+    void seleccionarIgualesTest() {
+        int[] numeradores = new int[10_000];
+        int[] denominadores = new int[10_000];
+        Arrays.fill(numeradores, 3);
+        Arrays.fill(denominadores, 7);
+        numeradores[42] = 1;
+        OrdenamientoFracciones.seleccionar(numeradores, denominadores, 0);
+        assertEquals(1, numeradores[0]);
+    }
+
+    @Test
+    void mayoresTest() {
+        int[] numeradores = {1, 5, 3, 2, 10, 1};
+        int[] denominadores = {2, 6, 4, 3, 12, 2};
+        assertArrayEquals(new int[]{1, 4, 2}, OrdenamientoFracciones.mayores(numeradores, denominadores, 3));
+        assertArrayEquals(new int[0], OrdenamientoFracciones.mayores(numeradores, denominadores, 0));
+        assertEquals(6, OrdenamientoFracciones.mayores(numeradores, denominadores, 10).length);
+
+        Random aleatorio = new Random(3800);
+        List<Fraccion> fracciones = aleatorias(aleatorio, 2000);
+        List<Fraccion> ordenadas = new ArrayList<>(fracciones);
+        ordenadas.sort(EXACTO.reversed());
+        List<Fraccion> mayores = OrdenamientoFracciones.mayores(fracciones, 25);
+        for (int i = 0; i < 25; i++) {
+            assertEquals(0, EXACTO.compare(ordenadas.get(i), mayores.get(i)));
+        }
+    }
+
+    private static List<Fraccion> aleatorias(Random aleatorio, int tamano) {
+        List<Fraccion> fracciones = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            fracciones.add(new Fraccion(aleatorio.nextInt(2001) - 1000, 1 + aleatorio.nextInt(500)));
+        }
+        return fracciones;
+    }
+}
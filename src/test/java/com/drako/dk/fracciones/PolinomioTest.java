@@ -0,0 +1,198 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolinomioTest {
+
+    @Test
+    void formaCanonicaTest() {
+        Polinomio p = new Polinomio(new Fraccion(1, 4), new Fraccion(-1, 2), new Fraccion(3, 4), new Fraccion(0, 1));
+        assertEquals(2, p.getGrado());
+        assertEquals(4, p.getDenominador());
+        assertArrayEquals(new long[]{1, -2, 3}, p.getNumeradores());
+        assertEquals("(3x^2 - 2x + 1)/4", p.toString());
+        assertEquals("-1/2", p.getCoeficiente(1).toString());
+        assertEquals("0", p.getCoeficiente(5).toString());
+        assertEquals(p, new Polinomio(new long[]{-2, 4, -6, 0}, -8));
+        assertEquals(p.hashCode(), new Polinomio(new long[]{-2, 4, -6, 0}, -8).hashCode());
+        assertEquals(List.of(new Fraccion(1, 4), new Fraccion(-1, 2), new Fraccion(3, 4)).toString(),
+                p.getCoeficientes().toString());
+        assertTrue(new Polinomio(new long[]{0, 0}, 7).isCero());
+        assertEquals(-1, Polinomio.CERO.getGrado());
+        assertEquals("0", Polinomio.CERO.toString());
+        assertEquals("-x^3/2", new Polinomio(new long[]{0, 0, 0, -1}, 2).toString());
+    }
+
+    @Test
+    void coeficientesMixtosTest() {
+        Polinomio p = new Polinomio(List.of(new FraccionMixta(1, 2, 1), new Fraccion(1, 3)));
+        assertEquals("(2x + 9)/6", p.toString());
+    }
+
+    @Test
+    void evaluarTest() {
+        // 3/4 x^2 - 1/2 x + 1/4
+        Polinomio p = new Polinomio(new Fraccion(1, 4), new Fraccion(-1, 2), new Fraccion(3, 4));
+        assertEquals("1/4", p.evaluar(new Fraccion(0, 1)).toString());
+        assertEquals("1/2", p.evaluar(new Fraccion(1, 1)).toString());
+        // 3/4 · 4/9 - 1/2 · 2/3 + 1/4 = 1/3 - 1/3 + 1/4
+        assertEquals("1/4", p.evaluar(new Fraccion(2, 3)).toString());
+        assertEquals("3/2", p.evaluar(new Fraccion(-1, 1)).toString());
+        assertEquals("0", Polinomio.CERO.evaluar(new Fraccion(5, 7)).toString());
+        assertEquals("19/16", p.evaluar(new FraccionMixta(1, 2, 1)).toString());
+    }
+
+    @Test
+    void evaluarDesbordeTest() {
+        // x^20 en 1000/999: los valores intermedios exceden un long.
+        long[] coeficientes = new long[21];
+        coeficientes[20] = 1;
+        Polinomio p = new Polinomio(coeficientes, 1);
+        FraccionGrande valor = p.evaluarGrande(new Fraccion(1000, 999));
+        assertEquals(BigInteger.valueOf(1000).pow(20), valor.getNumerador());
+        assertEquals(BigInteger.valueOf(999).pow(20), valor.getDenominador());
+        assertThrows(ArithmeticException.class, () -> p.evaluar(new Fraccion(1000, 999)));
+        // (999x - 1000)·x^12 se anula en 1000/999, aunque 999^13 excede un long.
+        long[] anulado = new long[14];
+        anulado[12] = -1000;
+        anulado[13] = 999;
+        Polinomio q = new Polinomio(anulado, 1);
+        assertEquals("0", q.evaluar(new Fraccion(1000, 999)).toString());
+        assertEquals(FraccionGrande.CERO, q.evaluarGrande(new Fraccion(1000, 999)));
+    }
+
+    @Test
+    void evaluarLoteTest() {
+        Polinomio p = new Polinomio(new Fraccion(1, 4), new Fraccion(-1, 2), new Fraccion(3, 4));
+        Fraccion[] puntos = {new Fraccion(0, 1), new Fraccion(2, 3), new Fraccion(-1, 1)};
+        Fraccion[] valores = p.evaluar(puntos);
+        for (int i = 0; i < puntos.length; i++) {
+            assertEquals(p.evaluar(puntos[i]).toString(), valores[i].toString());
+        }
+        try (ColumnaFracciones columna = ColumnaFracciones.de(puntos);
+             ColumnaFracciones destino = new ColumnaFracciones(puntos.length);
+             ColumnaFracciones corta = new ColumnaFracciones(1)) {
+            p.evaluar(columna, destino);
+            for (int i = 0; i < puntos.length; i++) {
+                assertEquals(valores[i].toString(), destino.get(i).toString());
+            }
+            p.evaluar(columna, columna);
+            assertEquals(3, columna.getNumerador(2));
+            assertEquals(2, columna.getDenominador(2));
+            assertThrows(IllegalArgumentException.class, () -> p.evaluar(columna, corta));
+        }
+    }
+
+    @Test
+    void sumaRestaTest() {
+        Polinomio p = new Polinomio(new Fraccion(1, 2), new Fraccion(1, 3));
+        Polinomio q = new Polinomio(new Fraccion(1, 2), new Fraccion(-1, 3), new Fraccion(1, 6));
+        assertEquals("(x^2 + 6)/6", p.suma(q).toString());
+        assertEquals("(-x^2 + 4x)/6", p.resta(q).toString());
+        assertTrue(p.resta(p).isCero());
+    }
+
+    @Test
+    void multiplicarTest() {
+        // (x + 1/2)(x - 1/2) = x^2 - 1/4
+        Polinomio p = new Polinomio(new Fraccion(1, 2), new Fraccion(1, 1));
+        Polinomio q = new Polinomio(new Fraccion(-1, 2), new Fraccion(1, 1));
+        assertEquals("(4x^2 - 1)/4", p.multiplicar(q).toString());
+        assertEquals("(2x + 1)/4", p.multiplicar(new Fraccion(1, 2)).toString());
+        assertTrue(p.multiplicar(Polinomio.CERO).isCero());
+    }
+
+    @Test
+    void karatsubaTest() {
+        Random random = new Random(45);
+        int[][] tamanos = {{40, 40}, {64, 33}, {100, 35}, {200, 150}, {31, 90}, {257, 129}};
+        for (int[] tamano : tamanos) {
+            long[] a = aleatorio(random, tamano[0]);
+            long[] b = aleatorio(random, tamano[1]);
+            long[] esperado = new long[a.length + b.length - 1];
+            for (int i = 0; i < a.length; i++) {
+                for (int j = 0; j < b.length; j++) {
+                    esperado[i + j] += a[i] * b[j];
+                }
+            }
+            assertArrayEquals(esperado, Polinomio.multiplicar(a, b));
+            Polinomio p = new Polinomio(a, 3);
+            Polinomio q = new Polinomio(b, 5);
+            assertEquals(new Polinomio(esperado, 15), p.multiplicar(q));
+        }
+    }
+
+    @Test
+    void multiplicarDesbordeTest() {
+        Polinomio p = new Polinomio(new long[]{Long.MAX_VALUE, 1}, 1);
+        assertThrows(ArithmeticException.class, () -> p.multiplicar(p));
+    }
+
+    @Test
+    void karatsubaDesbordeIntermedioTest() {
+        // Las sumas a_i + a_(i+m) de Karatsuba valen ±2^63, pero cada coeficiente final a_k + a_(k-33) cabe.
+        long[] a = new long[40];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i % 2 == 0 ? 1L << 62 : -(1L << 62);
+        }
+        long[] b = new long[34];
+        b[0] = 1;
+        b[33] = 1;
+        long[] esperado = new long[a.length + b.length - 1];
+        for (int k = 0; k < esperado.length; k++) {
+            esperado[k] = (k < a.length ? a[k] : 0) + (k >= 33 && k - 33 < a.length ? a[k - 33] : 0);
+        }
+        assertArrayEquals(esperado, Polinomio.multiplicar(a, b));
+        assertEquals(new Polinomio(esperado, 1), new Polinomio(a, 1).multiplicar(new Polinomio(b, 1)));
+    }
+
+    @Test
+    void divisionConRestoTest() {
+        // (x^3 - 2x^2 + 1/2) / (2x - 1) = x^2/2 - 3x/4 - 3/8, resto 1/8
+        Polinomio a = new Polinomio(new Fraccion(1, 2), new Fraccion(0, 1), new Fraccion(-2, 1), new Fraccion(1, 1));
+        Polinomio b = new Polinomio(new Fraccion(-1, 1), new Fraccion(2, 1));
+        Polinomio[] resultado = a.divisionConResto(b);
+        assertEquals("(4x^2 - 6x - 3)/8", resultado[0].toString());
+        assertEquals("1/8", resultado[1].toString());
+        assertEquals(a, resultado[0].multiplicar(b).suma(resultado[1]));
+
+        Polinomio[] menor = b.divisionConResto(a);
+        assertTrue(menor[0].isCero());
+        assertEquals(b, menor[1]);
+        assertThrows(ArithmeticException.class, () -> a.divisionConResto(Polinomio.CERO));
+    }
+
+    @Test
+    void divisionExactaAleatoriaTest() {
+        Random random = new Random(46);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            Polinomio b = new Polinomio(aleatorioNoNulo(random, 1 + random.nextInt(4)), 1 + random.nextInt(6));
+            Polinomio c = new Polinomio(aleatorio(random, 1 + random.nextInt(5)), 1 + random.nextInt(6));
+            Polinomio r = new Polinomio(aleatorio(random, b.getGrado()), 1 + random.nextInt(6));
+            Polinomio a = c.multiplicar(b).suma(r);
+            Polinomio[] resultado = a.divisionConResto(b);
+            assertEquals(c, resultado[0], a + " / " + b);
+            assertEquals(r, resultado[1], a + " / " + b);
+        }
+    }
+
+    private static long[] aleatorio(Random random, int longitud) {
+        long[] valores = new long[longitud];
+        for (int i = 0; i < longitud; i++) {
+            valores[i] = random.nextInt(2001) - 1000;
+        }
+        return valores;
+    }
+
+    private static long[] aleatorioNoNulo(Random random, int longitud) {
+        long[] valores = aleatorio(random, longitud);
+        valores[longitud - 1] = 1 + random.nextInt(9);
+        return valores;
+    }
+}
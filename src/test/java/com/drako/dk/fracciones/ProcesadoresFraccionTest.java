@@ -0,0 +1,137 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcesadoresFraccionTest {
+    @Test
+    void mapearTest() throws Exception {
+        ProcesadorLotes<Fraccion, Fraccion> procesador = ProcesadoresFraccion.mapear(Operador::multiplicar, new Fraccion(1, 2),
+                ForkJoinPool.commonPool(), 8, 16, 4);
+        List<Fraccion> resultados = ejecutar(procesador, 1000);
+
+        assertEquals(1000, resultados.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Operador.multiplicar(new Fraccion(i, 1), new Fraccion(1, 2)), resultados.get(i));
+        }
+    }
+
+    @Test
+    void sumaAcumuladaTest() throws Exception {
+        List<Fraccion> resultados = ejecutar(ProcesadoresFraccion.sumaAcumulada(ForkJoinPool.commonPool(), 4, 3), 10);
+
+        assertEquals(10, resultados.size());
+        assertEquals("0", resultados.get(0).toString());
+        assertEquals("3", resultados.get(2).toString());
+        assertEquals("45", resultados.get(9).toString());
+    }
+
+    @Test
+    void sumaAcumuladaDesbordeTest() {
+        ProcesadorLotes<Fraccion, Fraccion> procesador = ProcesadoresFraccion.sumaAcumulada();
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> ejecutar(procesador, 0, new Fraccion(Integer.MAX_VALUE, 1), new Fraccion(1, 1)));
+        assertInstanceOf(ArithmeticException.class, error.getCause());
+    }
+
+    @Test
+    void loteIncompletoTest() throws Exception {
+        SubmissionPublisher<Fraccion> fuente = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 4);
+        ProcesadorLotes<Fraccion, Fraccion> procesador = ProcesadoresFraccion.ventana(2, Operador::suma,
+                ForkJoinPool.commonPool(), 8, 1);
+        fuente.subscribe(procesador);
+        BlockingQueue<Fraccion> resultados = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> fin = procesador.consume(resultados::add);
+        for (int i = 1; i <= 5; i++) {
+            fuente.submit(new Fraccion(i, 1));
+        }
+
+        // La fuente sigue abierta: las ventanas completas se publican al vencer el plazo, no al terminar.
+        assertEquals(new Fraccion(3, 1), resultados.poll(10, TimeUnit.SECONDS));
+        assertEquals(new Fraccion(7, 1), resultados.poll(10, TimeUnit.SECONDS));
+        assertNull(resultados.poll(3 * ProcesadorLotes.PLAZO_MAXIMO_MS, TimeUnit.MILLISECONDS));
+
+        fuente.submit(new Fraccion(6, 1));
+        assertEquals(new Fraccion(11, 1), resultados.poll(10, TimeUnit.SECONDS));
+        fuente.submit(new Fraccion(7, 1));
+        fuente.close();
+        fin.get(10, TimeUnit.SECONDS);
+        assertEquals(new Fraccion(7, 1), resultados.poll());
+        assertTrue(resultados.isEmpty());
+    }
+
+    @Test
+    void ventanaTest() throws Exception {
+        List<Fraccion> resultados = ejecutar(ProcesadoresFraccion.ventana(4, Operador::suma, ForkJoinPool.commonPool(), 8, 2), 1030);
+
+        assertEquals(258, resultados.size());
+        assertEquals("6", resultados.get(0).toString());
+        assertEquals("22", resultados.get(1).toString());
+        assertEquals(Evaluador.evaluar("1028 + 1029"), resultados.get(257));
+    }
+
+    @Test
+    void combinarTest() throws Exception {
+        SubmissionPublisher<Fraccion> izquierda = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 4);
+        SubmissionPublisher<Fraccion> derecha = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 4);
+        Flow.Publisher<Fraccion> combinado = ProcesadoresFraccion.combinar(izquierda, derecha, Operador::suma,
+                ForkJoinPool.commonPool(), 4, 8);
+        List<Fraccion> resultados = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> fin = ((SubmissionPublisher<Fraccion>) combinado).consume(resultados::add);
+
+        CompletableFuture<Void> productorDerecho = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 200; i++) {
+                derecha.submit(new Fraccion(1, 2));
+            }
+            derecha.close();
+        });
+        for (int i = 0; i < 300; i++) {
+            izquierda.submit(new Fraccion(i, 1));
+            if (i == 199) {
+                productorDerecho.get(10, TimeUnit.SECONDS);
+            }
+        }
+        izquierda.close();
+        fin.get(10, TimeUnit.SECONDS);
+
+        assertEquals(200, resultados.size());
+        assertEquals(new Fraccion(1, 2), resultados.get(0));
+        assertEquals(new Fraccion(399, 2), resultados.get(199));
+    }
+
+    @Test
+    void errorTest() {
+        ProcesadorLotes<Fraccion, Fraccion> procesador = ProcesadoresFraccion.mapear((f, c) -> Operador.raiz(f), new Fraccion());
+        ExecutionException error = assertThrows(ExecutionException.class, () -> ejecutar(procesador, 3, new Fraccion(-1, 4)));
+        assertInstanceOf(ArithmeticException.class, error.getCause());
+    }
+
+    private static List<Fraccion> ejecutar(ProcesadorLotes<Fraccion, Fraccion> procesador, int cantidad, Fraccion... extra) throws Exception {
+        SubmissionPublisher<Fraccion> fuente = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 4);
+        fuente.subscribe(procesador);
+        List<Fraccion> resultados = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> fin = procesador.consume(resultados::add);
+        for (int i = 0; i < cantidad; i++) {
+            fuente.submit(new Fraccion(i, 1));
+        }
+        for (Fraccion fraccion : extra) {
+            fuente.submit(fraccion);
+        }
+        fuente.close();
+        fin.get(10, TimeUnit.SECONDS);
+        return resultados;
+    }
+}
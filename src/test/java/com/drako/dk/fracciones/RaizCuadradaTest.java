@@ -0,0 +1,102 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RaizCuadradaTest {
+    @Test
+    void esCuadradoPerfectoTest() {
+        assertTrue(RaizCuadrada.esCuadradoPerfecto(0));
+        assertTrue(RaizCuadrada.esCuadradoPerfecto(1));
+        assertTrue(RaizCuadrada.esCuadradoPerfecto(144));
+        assertTrue(RaizCuadrada.esCuadradoPerfecto(3037000499L * 3037000499L));
+        assertFalse(RaizCuadrada.esCuadradoPerfecto(2));
+        assertFalse(RaizCuadrada.esCuadradoPerfecto(143));
+        assertFalse(RaizCuadrada.esCuadradoPerfecto(-4));
+        assertFalse(RaizCuadrada.esCuadradoPerfecto(Long.MAX_VALUE));
+
+        for (long i = 0; i < 2000; i++) {
+            assertEquals(RaizCuadrada.raizEntera(i) * RaizCuadrada.raizEntera(i) == i, RaizCuadrada.esCuadradoPerfecto(i));
+        }
+    }
+
+    @Test
+    void raizEnteraTest() {
+        assertEquals(0, RaizCuadrada.raizEntera(0));
+        assertEquals(3, RaizCuadrada.raizEntera(15));
+        assertEquals(4, RaizCuadrada.raizEntera(16));
+        assertEquals(3037000499L, RaizCuadrada.raizEntera(Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> RaizCuadrada.raizEntera(-1));
+    }
+
+    @Test
+    void raizExactaTest() {
+        Fraccion raiz = RaizCuadrada.raizExacta(new Fraccion(18, 8));
+        assertEquals(3, raiz.getNumerador());
+        assertEquals(2, raiz.getDenominador());
+
+        assertNull(RaizCuadrada.raizExacta(new Fraccion(2, 1)));
+        assertThrows(ArithmeticException.class, () -> RaizCuadrada.raizExacta(new Fraccion(-9, 4)));
+    }
+
+    @Test
+    void raizAproximadaTest() {
+        Fraccion raiz = RaizCuadrada.raiz(new Fraccion(2, 1));
+        assertEquals(665857, raiz.getNumerador());
+        assertEquals(470832, raiz.getDenominador());
+
+        Fraccion acotada = RaizCuadrada.raiz(new Fraccion(2, 1), 1e-4, Integer.MAX_VALUE);
+        assertEquals(577, acotada.getNumerador());
+        assertEquals(408, acotada.getDenominador());
+
+        Fraccion limitada = RaizCuadrada.raiz(new Fraccion(2, 1), 0, 100);
+        assertEquals(17, limitada.getNumerador());
+        assertEquals(12, limitada.getDenominador());
+
+        Fraccion tercio = RaizCuadrada.raiz(new Fraccion(1, 3), 1e-9, Integer.MAX_VALUE);
+        assertEquals(Math.sqrt(1.0 / 3), (double) tercio.getNumerador() / tercio.getDenominador(), 1e-9);
+    }
+
+    @Test
+    void raizDenominadorPequenoTest() {
+        // La primera aproximación de Newton ya excede el denominador máximo.
+        assertEquals(new Fraccion(1, 2), RaizCuadrada.raiz(new Fraccion(1, 3), 0, 2));
+        assertEquals(new Fraccion(1, 2), RaizCuadrada.raiz(new Fraccion(2, 7), 0, 5));
+        // √(5/3) ≈ 1.2910 está más cerca de la semiconvergente 3/2 que de la convergente 1.
+        assertEquals(new Fraccion(3, 2), RaizCuadrada.raiz(new Fraccion(5, 3), 0, 2));
+        assertEquals(new Fraccion(577, 1), RaizCuadrada.raiz(new Fraccion(1000000, 3), 0, 1));
+        assertEquals(new Fraccion(0, 1), RaizCuadrada.raiz(new Fraccion(1, 1000), 0, 1));
+
+        for (int d = 2; d <= 40; d++) {
+            if (RaizCuadrada.esCuadradoPerfecto(d)) {
+                continue;
+            }
+            // Denominador de la primera aproximación de Newton, ⌊√d⌋ + 1 entre d.
+            long primera = d / Operador.mcd(RaizCuadrada.raizEntera(d) + 1, d);
+            for (int maximo = 1; maximo < primera; maximo++) {
+                Fraccion raiz = RaizCuadrada.raiz(new Fraccion(1, d), 0, maximo);
+                assertTrue(raiz.getDenominador() <= maximo);
+                assertEquals(masCercanaIngenua(Math.sqrt(1.0 / d), maximo),
+                        (double) raiz.getNumerador() / raiz.getDenominador(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void raizArgumentosInvalidosTest() {
+        assertThrows(IllegalArgumentException.class, () -> RaizCuadrada.raiz(new Fraccion(2, 1), -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> RaizCuadrada.raiz(new Fraccion(2, 1), 0, 0));
+    }
+
+    private static double masCercanaIngenua(double x, int maximo) {
+        double mejor = 0;
+        for (int q = 1; q <= maximo; q++) {
+            double candidato = (double) Math.round(x * q) / q;
+            if (Math.abs(candidato - x) < Math.abs(mejor - x)) {
+                mejor = candidato;
+            }
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,99 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerieRacionalTest {
+    @Test
+    void armonicaTest() {
+        TerminoSerie armonica = new TerminoSerie() {
+            @Override
+            public long b(long n) {
+                return n;
+            }
+        };
+        assertEquals(new FraccionGrande(25, 12), SerieRacional.sumar(armonica, 1, 5));
+        // Más términos que el umbral paralelo, para combinar subrangos calculados en hilos distintos.
+        int n = (int) SerieRacional.UMBRAL_PARALELO + 500;
+        assertEquals(sumaIngenua(n), SerieRacional.sumar(armonica, 1, n + 1));
+        assertEquals(FraccionGrande.CERO, SerieRacional.sumar(armonica, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> SerieRacional.sumar(armonica, 3, 2));
+    }
+
+    @Test
+    void exponencialTest() {
+        TerminoSerie e = new TerminoSerie() {
+            @Override
+            public long q(long n) {
+                return Math.max(n, 1);
+            }
+        };
+        FraccionGrande suma = SerieRacional.sumar(e, 0, 30);
+        assertEquals(Math.E, suma.toDouble(), 1e-15);
+    }
+
+    @Test
+    void logaritmoTest() {
+        // log 2 = Σ 1/(n·2^n): cada término tiene factor propio 1/n y factor acumulado 1/2.
+        TerminoSerie log2 = new TerminoSerie() {
+            @Override
+            public long b(long n) {
+                return n;
+            }
+
+            @Override
+            public long q(long n) {
+                return 2;
+            }
+        };
+        FraccionGrande esperado = FraccionGrande.CERO;
+        for (int n = 1; n <= 200; n++) {
+            esperado = esperado.suma(new FraccionGrande(BigInteger.ONE, BigInteger.valueOf(n).shiftLeft(n)));
+        }
+        FraccionGrande suma = SerieRacional.sumar(log2, 1, 201);
+        assertEquals(esperado, suma);
+        assertEquals(Math.log(2), suma.toDouble(), 1e-15);
+    }
+
+    @Test
+    void sumarFraccionesTest() {
+        int[] llamadas = new int[1];
+        FraccionGrande suma = SerieRacional.sumarFracciones(n -> {
+            llamadas[0]++;
+            return new Fraccion(n % 2 == 0 ? 1 : -1, (int) (2 * n + 1));
+        }, 0, 1000);
+        assertEquals(Math.PI / 4, suma.toDouble(), 1e-3);
+        assertEquals(1000, llamadas[0]);
+
+        FraccionGrande pequena = SerieRacional.sumarFracciones(n -> new Fraccion(-1, 4), 0, 3);
+        assertEquals(new FraccionGrande(-3, 4), pequena);
+    }
+
+    @Test
+    void denominadorCeroTest() {
+        TerminoSerie invalida = new TerminoSerie() {
+            @Override
+            public long b(long n) {
+                return n;
+            }
+        };
+        assertThrows(ArithmeticException.class, () -> SerieRacional.sumar(invalida, 0, 10));
+    }
+
+    private static FraccionGrande sumaIngenua(int n) {
+        BigInteger numerador = BigInteger.ZERO;
+        BigInteger denominador = BigInteger.ONE;
+        for (int i = 1; i <= n; i++) {
+            BigInteger k = BigInteger.valueOf(i);
+            numerador = numerador.multiply(k).add(denominador);
+            denominador = denominador.multiply(k);
+            BigInteger mcd = numerador.gcd(denominador);
+            numerador = numerador.divide(mcd);
+            denominador = denominador.divide(mcd);
+        }
+        return new FraccionGrande(numerador, denominador);
+    }
+}
@@ -0,0 +1,149 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServidorFraccionesTest {
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @Test
+    void evaluarTextoTest() throws Exception {
+        try (ServidorFracciones servidor = new ServidorFracciones()) {
+            servidor.iniciar();
+            HttpResponse<String> respuesta = cliente.send(solicitud(servidor, "text/plain",
+                    HttpRequest.BodyPublishers.ofString("1/2 + 1/3\n\n2/3 * 3/4\n1/2 +\n")), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, respuesta.statusCode());
+            String[] lineas = respuesta.body().split("\n");
+            assertEquals(3, lineas.length);
+            assertEquals("5/6", lineas[0]);
+            assertEquals("1/2", lineas[1]);
+            assertTrue(lineas[2].startsWith("ERROR: "));
+            assertEquals(1, servidor.getSolicitudes());
+            assertEquals(3, servidor.getOperaciones());
+            assertTrue(servidor.getLatenciaMaximaNanos() > 0);
+        }
+    }
+
+    @Test
+    void evaluarBinarioTest() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream datos = new DataOutputStream(bytes);
+        escribirRegistro(datos, '-', 1, 4, 1, 2);
+        escribirRegistro(datos, '/', 2, 3, 3, 4);
+        escribirRegistro(datos, '%', 1, 2, 1, 2);
+        assertEquals(3 * ServidorFracciones.TAMANO_REGISTRO, bytes.size());
+
+        try (ServidorFracciones servidor = new ServidorFracciones()) {
+            servidor.iniciar();
+            HttpResponse<byte[]> respuesta = cliente.send(solicitud(servidor, "application/octet-stream",
+                    HttpRequest.BodyPublishers.ofByteArray(bytes.toByteArray())), HttpResponse.BodyHandlers.ofByteArray());
+
+            assertEquals(200, respuesta.statusCode());
+            ByteBuffer resultado = ByteBuffer.wrap(respuesta.body());
+            assertEquals(24, resultado.remaining());
+            assertEquals(-1, resultado.getInt());
+            assertEquals(4, resultado.getInt());
+            assertEquals(8, resultado.getInt());
+            assertEquals(9, resultado.getInt());
+            assertEquals(0, resultado.getInt());
+            assertEquals(0, resultado.getInt());
+        }
+    }
+
+    @Test
+    void divisionEntreCeroTest() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream datos = new DataOutputStream(bytes);
+        escribirRegistro(datos, ':', 1, 2, 0, 1);
+        escribirRegistro(datos, '*', 1, 2, 2, 3);
+
+        try (ServidorFracciones servidor = new ServidorFracciones()) {
+            servidor.iniciar();
+            HttpResponse<byte[]> respuesta = cliente.send(solicitud(servidor, "application/octet-stream",
+                    HttpRequest.BodyPublishers.ofByteArray(bytes.toByteArray())), HttpResponse.BodyHandlers.ofByteArray());
+
+            ByteBuffer resultado = ByteBuffer.wrap(respuesta.body());
+            assertEquals(16, resultado.remaining());
+            assertEquals(0, resultado.getInt());
+            assertEquals(0, resultado.getInt());
+            assertEquals(1, resultado.getInt());
+            assertEquals(3, resultado.getInt());
+        }
+    }
+
+    @Test
+    void registroIncompletoTest() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream datos = new DataOutputStream(bytes);
+        escribirRegistro(datos, '+', 1, 2, 1, 3);
+        datos.writeByte('+');
+        datos.writeInt(1);
+
+        try (ServidorFracciones servidor = new ServidorFracciones()) {
+            servidor.iniciar();
+            HttpResponse<byte[]> respuesta = cliente.send(solicitud(servidor, "application/octet-stream",
+                    HttpRequest.BodyPublishers.ofByteArray(bytes.toByteArray())), HttpResponse.BodyHandlers.ofByteArray());
+
+            assertEquals(200, respuesta.statusCode());
+            assertEquals(8, respuesta.body().length);
+            assertEquals(0, servidor.getSolicitudes());
+            assertEquals(1, servidor.getSolicitudesRechazadas());
+            assertEquals(1, servidor.getOperaciones());
+        }
+    }
+
+    @Test
+    void limiteTamanoTest() throws Exception {
+        try (ServidorFracciones servidor = new ServidorFracciones(0, 16)) {
+            servidor.iniciar();
+            HttpResponse<String> respuesta = cliente.send(solicitud(servidor, "text/plain",
+                    HttpRequest.BodyPublishers.ofString("1/2 + 1/3\n1/2 + 1/3\n")), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(413, respuesta.statusCode());
+            assertEquals(1, servidor.getSolicitudesRechazadas());
+        }
+    }
+
+    @Test
+    void metricasTest() throws Exception {
+        try (ServidorFracciones servidor = new ServidorFracciones()) {
+            servidor.iniciar();
+            cliente.send(solicitud(servidor, "text/plain", HttpRequest.BodyPublishers.ofString("1/2 + 1/3\n")), HttpResponse.BodyHandlers.discarding());
+
+            HttpResponse<String> metricas = cliente.send(HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + "/metricas")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, metricas.statusCode());
+            assertTrue(metricas.body().contains("solicitudes 1\n"));
+            assertTrue(metricas.body().contains("operaciones 1\n"));
+
+            HttpResponse<String> metodo = cliente.send(HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + "/evaluar")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, metodo.statusCode());
+        }
+    }
+
+    private static HttpRequest solicitud(ServidorFracciones servidor, String tipo, HttpRequest.BodyPublisher cuerpo) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + "/evaluar"))
+                .header("Content-Type", tipo)
+                .POST(cuerpo)
+                .build();
+    }
+
+    private static void escribirRegistro(DataOutputStream datos, char operador, int n1, int d1, int n2, int d2) throws Exception {
+        datos.writeByte(operador);
+        datos.writeInt(n1);
+        datos.writeInt(d1);
+        datos.writeInt(n2);
+        datos.writeInt(d2);
+    }
+}
@@ -0,0 +1,190 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.drako.dk.fracciones.SimplexExacto.Relacion.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimplexExactoTest {
+
+    @Test
+    void maximizarTest() {
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .maximizar(new Fraccion(3, 1), new Fraccion(5, 1))
+                .restriccion(new long[]{1, 0}, MENOR_IGUAL, 4)
+                .restriccion(new long[]{0, 2}, MENOR_IGUAL, 12)
+                .restriccion(new long[]{3, 2}, MENOR_IGUAL, 18)
+                .resolver();
+        assertEquals(SimplexExacto.Estado.OPTIMO, resultado.getEstado());
+        assertEquals("36", resultado.getValor().toString());
+        assertEquals("2", resultado.getValor(0).toString());
+        assertEquals("6", resultado.getValor(1).toString());
+        assertFalse(resultado.isPrecisionArbitraria());
+    }
+
+    @Test
+    void minimizarConIgualdadTest() {
+        // min 2x + 3y con x + y ≥ 4, x - y = 1: x = 5/2, y = 3/2.
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .minimizar(new Fraccion(2, 1), new Fraccion(3, 1))
+                .restriccion(new long[]{1, 1}, MAYOR_IGUAL, 4)
+                .restriccion(new long[]{1, -1}, IGUAL, 1)
+                .resolver();
+        assertEquals(SimplexExacto.Estado.OPTIMO, resultado.getEstado());
+        assertEquals("19/2", resultado.getValor().toString());
+        assertEquals("5/2", resultado.getValor(0).toString());
+        assertEquals("3/2", resultado.getValor(1).toString());
+    }
+
+    @Test
+    void ladoDerechoNegativoTest() {
+        // -x - y ≤ -2 equivale a x + y ≥ 2.
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .minimizar(new Fraccion(1, 1), new Fraccion(2, 1))
+                .restriccion(new long[]{-1, -1}, MENOR_IGUAL, -2)
+                .resolver();
+        assertEquals("2", resultado.getValor().toString());
+        assertEquals("2", resultado.getValor(0).toString());
+        assertEquals("0", resultado.getValor(1).toString());
+    }
+
+    @Test
+    void coeficientesFraccionariosTest() {
+        // max x/2 + y/3 con x/3 + y/4 ≤ 1/2 y x ≤ 1: x = 1, y = 2/3.
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .maximizar(new Fraccion(1, 2), new Fraccion(1, 3))
+                .restriccion(new Fraccion[]{new Fraccion(1, 3), new Fraccion(1, 4)}, MENOR_IGUAL, new Fraccion(1, 2))
+                .restriccion(new Fraccion[]{new Fraccion(1, 1), new Fraccion(0, 1)}, MENOR_IGUAL, new Fraccion(1, 1))
+                .resolver();
+        assertEquals("13/18", resultado.getValor().toString());
+        assertEquals("1", resultado.getValor(0).toString());
+        assertEquals("2/3", resultado.getValor(1).toString());
+    }
+
+    @Test
+    void infactibleTest() {
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .maximizar(new Fraccion(1, 1), new Fraccion(1, 1))
+                .restriccion(new long[]{1, 1}, MENOR_IGUAL, 1)
+                .restriccion(new long[]{1, 1}, MAYOR_IGUAL, 2)
+                .resolver();
+        assertEquals(SimplexExacto.Estado.INFACTIBLE, resultado.getEstado());
+        assertThrows(IllegalStateException.class, resultado::getValor);
+        assertThrows(IllegalStateException.class, resultado::getSolucion);
+    }
+
+    @Test
+    void noAcotadoTest() {
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .maximizar(new Fraccion(1, 1), new Fraccion(0, 1))
+                .restriccion(new long[]{1, -1}, MAYOR_IGUAL, 1)
+                .resolver();
+        assertEquals(SimplexExacto.Estado.NO_ACOTADO, resultado.getEstado());
+        assertEquals("NO_ACOTADO", resultado.toString());
+    }
+
+    @Test
+    void degeneradoTest() {
+        // El ejemplo de Beale cicla con la regla del mayor coeficiente; la regla de Bland termina.
+        SimplexExacto.Resultado resultado = new SimplexExacto(4)
+                .minimizar(new Fraccion(-3, 4), new Fraccion(20, 1), new Fraccion(-1, 2), new Fraccion(6, 1))
+                .restriccion(new Fraccion[]{new Fraccion(1, 4), new Fraccion(-8, 1), new Fraccion(-1, 1),
+                        new Fraccion(9, 1)}, MENOR_IGUAL, new Fraccion(0, 1))
+                .restriccion(new Fraccion[]{new Fraccion(1, 2), new Fraccion(-12, 1), new Fraccion(-1, 2),
+                        new Fraccion(3, 1)}, MENOR_IGUAL, new Fraccion(0, 1))
+                .restriccion(new long[]{0, 0, 1, 0}, MENOR_IGUAL, 1)
+                .resolver();
+        assertEquals(SimplexExacto.Estado.OPTIMO, resultado.getEstado());
+        assertEquals("-5/4", resultado.getValor().toString());
+        assertEquals("1", resultado.getValor(0).toString());
+        assertEquals("1", resultado.getValor(2).toString());
+    }
+
+    @Test
+    void restriccionRedundanteTest() {
+        SimplexExacto.Resultado resultado = new SimplexExacto(2)
+                .maximizar(new Fraccion(1, 1), new Fraccion(1, 1))
+                .restriccion(new long[]{1, 1}, IGUAL, 3)
+                .restriccion(new long[]{2, 2}, IGUAL, 6)
+                .restriccion(new long[]{1, 0}, MENOR_IGUAL, 1)
+                .resolver();
+        assertEquals(SimplexExacto.Estado.OPTIMO, resultado.getEstado());
+        assertEquals("3", resultado.getValor().toString());
+    }
+
+    @Test
+    void precisionArbitrariaTest() {
+        // Los menores de 2x2 de estos coeficientes exceden un long, así que la tabla se promueve.
+        long[][] a = {
+                {1000000000007L, 999999999989L, 3},
+                {5, 1000000000039L, 999999999937L},
+                {999999999959L, 7, 1000000000061L}
+        };
+        long[] x = {1, 2, 3};
+        SimplexExacto simplex = new SimplexExacto(3).minimizar(new Fraccion(1, 1), new Fraccion(1, 1), new Fraccion(1, 1));
+        for (long[] fila : a) {
+            simplex.restriccion(fila, IGUAL, fila[0] * x[0] + fila[1] * x[1] + fila[2] * x[2]);
+        }
+        SimplexExacto.Resultado resultado = simplex.resolver();
+        assertEquals(SimplexExacto.Estado.OPTIMO, resultado.getEstado());
+        assertTrue(resultado.isPrecisionArbitraria());
+        assertEquals("6", resultado.getValor().toString());
+        for (int j = 0; j < 3; j++) {
+            assertEquals(String.valueOf(x[j]), resultado.getValor(j).toString());
+        }
+    }
+
+    @Test
+    void solucionFactibleAleatoriaTest() {
+        Random random = new Random(44);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            int n = 2 + random.nextInt(4);
+            int m = 1 + random.nextInt(5);
+            Fraccion[] c = new Fraccion[n];
+            for (int j = 0; j < n; j++) {
+                c[j] = new Fraccion(1 + random.nextInt(9), 1 + random.nextInt(5));
+            }
+            long[][] a = new long[m + 1][n];
+            long[] b = new long[m + 1];
+            SimplexExacto simplex = new SimplexExacto(n).maximizar(c);
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    a[i][j] = random.nextInt(10);
+                }
+                b[i] = random.nextInt(50);
+                simplex.restriccion(a[i], MENOR_IGUAL, b[i]);
+            }
+            // Una cota sobre la suma garantiza que el problema está acotado.
+            Arrays.fill(a[m], 1);
+            b[m] = 100;
+            simplex.restriccion(a[m], MENOR_IGUAL, b[m]);
+            SimplexExacto.Resultado resultado = simplex.resolver();
+            assertEquals(SimplexExacto.Estado.OPTIMO, resultado.getEstado());
+            FraccionGrande[] solucion = resultado.getSolucion();
+            FraccionGrande valor = FraccionGrande.CERO;
+            for (int j = 0; j < n; j++) {
+                assertTrue(solucion[j].signum() >= 0);
+                valor = valor.suma(FraccionGrande.valueOf(c[j]).multiplicar(solucion[j]));
+            }
+            assertEquals(resultado.getValor(), valor);
+            for (int i = 0; i <= m; i++) {
+                FraccionGrande lado = FraccionGrande.CERO;
+                for (int j = 0; j < n; j++) {
+                    lado = lado.suma(solucion[j].multiplicar(new FraccionGrande(a[i][j], 1)));
+                }
+                assertTrue(lado.compareTo(new FraccionGrande(b[i], 1)) <= 0);
+            }
+        }
+    }
+
+    @Test
+    void longitudInvalidaTest() {
+        SimplexExacto simplex = new SimplexExacto(2);
+        assertThrows(IllegalArgumentException.class, () -> simplex.maximizar(new Fraccion(1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> simplex.restriccion(new long[]{1, 2, 3}, IGUAL, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SimplexExacto(0));
+    }
+}
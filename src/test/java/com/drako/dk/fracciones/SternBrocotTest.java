@@ -0,0 +1,56 @@
+package com.drako.dk.fracciones;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SternBrocotTest {
+    @Test
+    void masCercanaTest() {
+        assertEquals(new Fraccion(22, 7), SternBrocot.masCercana(Math.PI, 10));
+        assertEquals(new Fraccion(355, 113), SternBrocot.masCercana(Math.PI, 1000));
+        assertEquals(new Fraccion(-1, 3), SternBrocot.masCercana(-0.3333, 64));
+        assertEquals(new Fraccion(0, 1), SternBrocot.masCercana(1e-300, 1_000_000));
+        assertEquals(new Fraccion(1, 1), SternBrocot.masCercana(0.99999, 10));
+        assertEquals(new Fraccion(3, 8), SternBrocot.masCercana(0.375, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> SternBrocot.masCercana(Double.POSITIVE_INFINITY, 10));
+        assertThrows(IllegalArgumentException.class, () -> SternBrocot.masCercana(0.5, 0));
+    }
+
+    @Test
+    void coincideConFareyTest() {
+        IndiceFarey indice = new IndiceFarey(1000);
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextDouble() * 20 - 10;
+            Fraccion farey = indice.masCercana(x);
+            Fraccion stern = SternBrocot.masCercana(x, 1000);
+            assertEquals(farey, stern, "x = " + x);
+        }
+    }
+
+    @Test
+    void fuerzaBrutaTest() {
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            double x = random.nextDouble();
+            Fraccion f = SternBrocot.masCercana(x, 5000);
+            assertEquals(IndiceFareyTest.distanciaMinima(x, 5000), Math.abs(x - (double) f.getNumerador() / f.getDenominador()), 1e-15);
+        }
+    }
+
+    @Test
+    void masCercanasTest() {
+        double[] valores = {Math.sqrt(2), -Math.E};
+        int[] numeradores = new int[2];
+        int[] denominadores = new int[2];
+        SternBrocot.masCercanas(valores, 100, numeradores, denominadores);
+
+        assertEquals(140, numeradores[0]);
+        assertEquals(99, denominadores[0]);
+        assertEquals(-193, numeradores[1]);
+        assertEquals(71, denominadores[1]);
+    }
+}